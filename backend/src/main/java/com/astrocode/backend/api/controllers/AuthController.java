@@ -8,6 +8,7 @@ import com.astrocode.backend.api.dto.auth.ResendVerificationRequest;
 import com.astrocode.backend.api.dto.auth.ResetPasswordRequest;
 import com.astrocode.backend.config.ClientIpResolver;
 import com.astrocode.backend.config.LoginRateLimiter;
+import com.astrocode.backend.domain.model.AuthenticatedUser;
 import com.astrocode.backend.domain.services.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,6 +18,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -112,12 +114,15 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "Logout", description = "Encerra sessão no cliente (tokens invalidados ao rotacionar refresh)")
+    @Operation(summary = "Logout", description = "Encerra a sessão; autenticado, revoga o refresh token e os access tokens já emitidos")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Logout realizado")
     })
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout() {
+    public ResponseEntity<Void> logout(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            authService.logout(user.id());
+        }
         return ResponseEntity.ok().build();
     }
 }
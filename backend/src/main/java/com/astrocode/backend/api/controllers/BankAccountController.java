@@ -2,7 +2,7 @@ package com.astrocode.backend.api.controllers;
 
 import com.astrocode.backend.api.dto.account.BankAccountRequest;
 import com.astrocode.backend.api.dto.account.BankAccountResponse;
-import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.AuthenticatedUser;
 import com.astrocode.backend.domain.services.BankAccountService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -40,8 +40,8 @@ public class BankAccountController {
             @RequestBody @Valid BankAccountRequest request,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        var bankAccount = bankAccountService.create(request, user.getId());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        var bankAccount = bankAccountService.create(request, user.id());
 
         var response = new BankAccountResponse(
                 bankAccount.getId(),
@@ -61,8 +61,8 @@ public class BankAccountController {
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Lista de contas")})
     @GetMapping
     public ResponseEntity<List<BankAccountResponse>> getAll(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        var bankAccounts = bankAccountService.findAllByUserId(user.getId());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        var bankAccounts = bankAccountService.findAllByUserId(user.id());
 
         List<BankAccountResponse> response = bankAccounts.stream()
                 .map(account -> new BankAccountResponse(
@@ -90,8 +90,8 @@ public class BankAccountController {
             @RequestBody @Valid BankAccountRequest request,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        var bankAccount = bankAccountService.update(id, request, user);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        var bankAccount = bankAccountService.update(id, request, user.id());
 
         var response = new BankAccountResponse(
                 bankAccount.getId(),
@@ -116,8 +116,8 @@ public class BankAccountController {
             @PathVariable UUID id,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        bankAccountService.delete(id, user);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        bankAccountService.delete(id, user.id());
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,7 +1,7 @@
 package com.astrocode.backend.api.controllers;
 
 import com.astrocode.backend.api.dto.category.CategoryResponse;
-import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.AuthenticatedUser;
 import com.astrocode.backend.domain.services.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -31,8 +31,8 @@ public class CategoryController {
     @ApiResponse(responseCode = "200", description = "Lista de categorias")
     @GetMapping
     public ResponseEntity<List<CategoryResponse>> getAllCategories(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        var categories = categoryService.findAllByUserId(user.getId());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        var categories = categoryService.findAllByUserId(user.id());
         
         List<CategoryResponse> response = categories.stream()
                 .map(category -> new CategoryResponse(
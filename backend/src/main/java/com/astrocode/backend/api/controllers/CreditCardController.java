@@ -4,9 +4,7 @@ import com.astrocode.backend.api.dto.creditcard.CreditCardBillResponse;
 import com.astrocode.backend.api.dto.creditcard.CreditCardRequest;
 import com.astrocode.backend.api.dto.creditcard.CreditCardResponse;
 import com.astrocode.backend.api.dto.creditcard.PayBillRequest;
-import com.astrocode.backend.domain.entities.CreditCard;
-import com.astrocode.backend.domain.entities.CreditCardBill;
-import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.AuthenticatedUser;
 import com.astrocode.backend.domain.model.enums.BillStatus;
 import com.astrocode.backend.domain.services.CreditCardService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -45,10 +43,9 @@ public class CreditCardController {
             @RequestBody @Valid CreditCardRequest request,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        var creditCard = creditCardService.create(request, user.getId());
-        var response = toResponse(creditCard);
-        URI location = URI.create("/api/credit-cards/" + creditCard.getId());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        var response = creditCardService.create(request, user.id());
+        URI location = URI.create("/api/credit-cards/" + response.id());
         return ResponseEntity.created(location).body(response);
     }
 
@@ -56,10 +53,8 @@ public class CreditCardController {
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Lista de cartões")})
     @GetMapping
     public ResponseEntity<List<CreditCardResponse>> list(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        var creditCards = creditCardService.findAllByUserId(user.getId());
-        var response = creditCards.stream().map(this::toResponse).toList();
-        return ResponseEntity.ok(response);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return ResponseEntity.ok(creditCardService.findAllByUserId(user.id()));
     }
 
     @Operation(summary = "Atualizar cartão")
@@ -74,9 +69,8 @@ public class CreditCardController {
             @RequestBody @Valid CreditCardRequest request,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        var creditCard = creditCardService.update(id, request, user.getId());
-        return ResponseEntity.ok(toResponse(creditCard));
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return ResponseEntity.ok(creditCardService.update(id, request, user.id()));
     }
 
     @Operation(summary = "Excluir cartão")
@@ -90,8 +84,8 @@ public class CreditCardController {
             @PathVariable UUID id,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        creditCardService.delete(id, user.getId());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        creditCardService.delete(id, user.id());
         return ResponseEntity.noContent().build();
     }
 
@@ -105,9 +99,8 @@ public class CreditCardController {
             @PathVariable UUID id,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        var bill = creditCardService.getCurrentBill(id, user.getId());
-        return ResponseEntity.ok(toBillResponse(bill));
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return ResponseEntity.ok(creditCardService.getCurrentBill(id, user.id()));
     }
 
     @Operation(summary = "Histórico de faturas")
@@ -117,10 +110,8 @@ public class CreditCardController {
             @PathVariable UUID id,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        var bills = creditCardService.getBillHistory(id, user.getId());
-        var response = bills.stream().map(this::toBillResponse).toList();
-        return ResponseEntity.ok(response);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return ResponseEntity.ok(creditCardService.getBillHistory(id, user.id()));
     }
 
     @Operation(summary = "Pagar fatura")
@@ -136,36 +127,7 @@ public class CreditCardController {
             @RequestBody @Valid PayBillRequest request,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        var updatedBill = creditCardService.payBill(billId, request, user.getId());
-        return ResponseEntity.ok(toBillResponse(updatedBill));
-    }
-
-    private CreditCardResponse toResponse(CreditCard cc) {
-        return new CreditCardResponse(
-                cc.getId(),
-                cc.getName(),
-                cc.getCreditLimit(),
-                cc.getClosingDay(),
-                cc.getDueDay(),
-                cc.getColor(),
-                cc.getCurrentBillAmount(),
-                cc.getCreatedAt()
-        );
-    }
-
-    private CreditCardBillResponse toBillResponse(CreditCardBill bill) {
-        return new CreditCardBillResponse(
-                bill.getId(),
-                bill.getCreditCard().getId(),
-                bill.getMonth(),
-                bill.getYear(),
-                bill.getTotalAmount(),
-                bill.getStatus().name(),
-                bill.getDueDate(),
-                bill.getClosingDate(),
-                bill.getPaidDate(),
-                bill.getCreatedAt()
-        );
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return ResponseEntity.ok(creditCardService.payBill(billId, request, user.id()));
     }
 }
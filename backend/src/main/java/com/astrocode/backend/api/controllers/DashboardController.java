@@ -1,7 +1,7 @@
 package com.astrocode.backend.api.controllers;
 
 import com.astrocode.backend.api.dto.dashboard.DashboardResponse;
-import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.AuthenticatedUser;
 import com.astrocode.backend.domain.services.DashboardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -29,8 +29,8 @@ public class DashboardController {
     @ApiResponse(responseCode = "200", description = "Dados do dashboard")
     @GetMapping
     public ResponseEntity<DashboardResponse> getDashboard(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        var dashboardData = dashboardService.getDashboardData(user.getId());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        var dashboardData = dashboardService.getDashboardData(user.id());
         return ResponseEntity.ok(dashboardData);
     }
 }
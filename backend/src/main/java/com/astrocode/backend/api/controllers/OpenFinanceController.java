@@ -2,7 +2,7 @@ package com.astrocode.backend.api.controllers;
 
 import com.astrocode.backend.api.dto.account.BankAccountResponse;
 import com.astrocode.backend.domain.entities.BankAccount;
-import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.AuthenticatedUser;
 import com.astrocode.backend.domain.services.OpenFinanceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -35,11 +35,11 @@ public class OpenFinanceController {
             @ApiResponse(responseCode = "503", description = "Open Finance não configurado")
     })
     @GetMapping("/connect-token")
-    public ResponseEntity<Map<String, String>> getConnectToken(@AuthenticationPrincipal User user) {
+    public ResponseEntity<Map<String, String>> getConnectToken(@AuthenticationPrincipal AuthenticatedUser user) {
         if (user == null) {
             return ResponseEntity.status(401).build();
         }
-        String token = openFinanceService.createConnectToken(user.getId());
+        String token = openFinanceService.createConnectToken(user.id());
         return ResponseEntity.ok(Map.of("accessToken", token));
     }
 
@@ -50,7 +50,7 @@ public class OpenFinanceController {
     })
     @PostMapping("/sync")
     public ResponseEntity<List<BankAccountResponse>> syncAccounts(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestBody Map<String, String> body
     ) {
         if (user == null) {
@@ -60,7 +60,7 @@ public class OpenFinanceController {
         if (itemId == null || itemId.isBlank()) {
             return ResponseEntity.badRequest().build();
         }
-        List<BankAccount> accounts = openFinanceService.syncAccountsFromPluggy(user.getId(), itemId);
+        List<BankAccount> accounts = openFinanceService.syncAccountsFromPluggy(user.id(), itemId);
         List<BankAccountResponse> response = accounts.stream()
                 .map(a -> new BankAccountResponse(
                         a.getId(),
@@ -3,7 +3,7 @@ package com.astrocode.backend.api.controllers;
 import com.astrocode.backend.api.dto.openfinance.OpenFinanceWaitlistRequest;
 import com.astrocode.backend.config.ClientIpResolver;
 import com.astrocode.backend.config.LoginRateLimiter;
-import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.AuthenticatedUser;
 import com.astrocode.backend.domain.services.OpenFinanceWaitlistService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
@@ -38,7 +38,7 @@ public class OpenFinanceWaitlistController {
     @PostMapping("/waitlist")
     public ResponseEntity<Void> join(
             @RequestBody @Valid OpenFinanceWaitlistRequest body,
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             HttpServletRequest httpRequest) {
         String clientIp = clientIpResolver.getClientIp(httpRequest);
         var bucket = loginRateLimiter.getBucketForIp("of-wait:" + clientIp);
@@ -47,7 +47,7 @@ public class OpenFinanceWaitlistController {
                     .header(HttpHeaders.RETRY_AFTER, "60")
                     .build();
         }
-        waitlistService.join(body.email(), user);
+        waitlistService.join(body.email(), user != null ? user.id() : null);
         return ResponseEntity.accepted().build();
     }
 }
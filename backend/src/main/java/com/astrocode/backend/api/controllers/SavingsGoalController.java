@@ -4,8 +4,7 @@ import com.astrocode.backend.api.dto.goal.SavingsGoalContributeRequest;
 import com.astrocode.backend.api.dto.goal.SavingsGoalRequest;
 import com.astrocode.backend.api.dto.goal.SavingsGoalWithdrawRequest;
 import com.astrocode.backend.api.dto.goal.SavingsGoalResponse;
-import com.astrocode.backend.domain.entities.SavingsGoal;
-import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.AuthenticatedUser;
 import com.astrocode.backend.domain.services.SavingsGoalService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,8 +16,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.net.URI;
 import java.util.List;
 import java.util.UUID;
@@ -45,11 +42,10 @@ public class SavingsGoalController {
             @RequestBody @Valid SavingsGoalRequest request,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        var savingsGoal = savingsGoalService.create(request, user.getId());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        var response = savingsGoalService.create(request, user.id());
 
-        var response = toResponse(savingsGoal);
-        URI location = URI.create("/api/goals/" + savingsGoal.getId());
+        URI location = URI.create("/api/goals/" + response.id());
         return ResponseEntity.created(location).body(response);
     }
 
@@ -57,14 +53,8 @@ public class SavingsGoalController {
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Lista de metas")})
     @GetMapping
     public ResponseEntity<List<SavingsGoalResponse>> getAll(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        var savingsGoals = savingsGoalService.findAllByUserId(user.getId());
-
-        List<SavingsGoalResponse> response = savingsGoals.stream()
-                .map(this::toResponse)
-                .toList();
-
-        return ResponseEntity.ok(response);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return ResponseEntity.ok(savingsGoalService.findAllByUserId(user.id()));
     }
 
     @Operation(summary = "Atualizar meta", description = "Atualiza meta de poupança existente")
@@ -78,11 +68,8 @@ public class SavingsGoalController {
             @RequestBody @Valid SavingsGoalRequest request,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        var savingsGoal = savingsGoalService.update(id, request, user);
-
-        var response = toResponse(savingsGoal);
-        return ResponseEntity.ok(response);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return ResponseEntity.ok(savingsGoalService.update(id, request, user.id()));
     }
 
     @Operation(summary = "Contribuir", description = "Transfere valor da conta bancária para a meta")
@@ -97,11 +84,8 @@ public class SavingsGoalController {
             @RequestBody @Valid SavingsGoalContributeRequest request,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        var savingsGoal = savingsGoalService.contribute(id, request, user);
-
-        var response = toResponse(savingsGoal);
-        return ResponseEntity.ok(response);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return ResponseEntity.ok(savingsGoalService.contribute(id, request, user.id()));
     }
 
     @Operation(summary = "Sacar", description = "Transfere valor da meta de volta para a conta bancária")
@@ -116,11 +100,8 @@ public class SavingsGoalController {
             @RequestBody @Valid SavingsGoalWithdrawRequest request,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        var savingsGoal = savingsGoalService.withdraw(id, request, user);
-
-        var response = toResponse(savingsGoal);
-        return ResponseEntity.ok(response);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return ResponseEntity.ok(savingsGoalService.withdraw(id, request, user.id()));
     }
 
     @Operation(summary = "Excluir meta", description = "Exclui meta de poupança")
@@ -133,39 +114,8 @@ public class SavingsGoalController {
             @PathVariable UUID id,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        savingsGoalService.delete(id, user);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        savingsGoalService.delete(id, user.id());
         return ResponseEntity.noContent().build();
     }
-
-    private SavingsGoalResponse toResponse(SavingsGoal savingsGoal) {
-        BigDecimal progressPercentage = calculateProgressPercentage(
-                savingsGoal.getCurrentAmount(),
-                savingsGoal.getTargetAmount()
-        );
-
-        return new SavingsGoalResponse(
-                savingsGoal.getId(),
-                savingsGoal.getName(),
-                savingsGoal.getTargetAmount(),
-                savingsGoal.getCurrentAmount(),
-                savingsGoal.getColor(),
-                progressPercentage,
-                savingsGoal.getStatus().name(),
-                savingsGoal.getEndDate(),
-                savingsGoal.getCreatedAt(),
-                savingsGoal.getUpdatedAt()
-        );
-    }
-
-    private BigDecimal calculateProgressPercentage(BigDecimal currentAmount, BigDecimal targetAmount) {
-        if (targetAmount == null || targetAmount.compareTo(BigDecimal.ZERO) == 0) {
-            return BigDecimal.ZERO;
-        }
-
-        return currentAmount
-                .divide(targetAmount, 4, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(100))
-                .setScale(2, RoundingMode.HALF_UP);
-    }
 }
@@ -2,7 +2,7 @@ package com.astrocode.backend.api.controllers;
 
 import com.astrocode.backend.api.dto.subscription.PlanInfo;
 import com.astrocode.backend.api.dto.subscription.SubscriptionResponse;
-import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.AuthenticatedUser;
 import com.astrocode.backend.domain.services.SubscriptionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -45,11 +45,11 @@ public class SubscriptionController {
     })
     @SecurityRequirement(name = "bearer-jwt")
     @GetMapping("/me")
-    public ResponseEntity<SubscriptionResponse> getMe(@AuthenticationPrincipal User user) {
+    public ResponseEntity<SubscriptionResponse> getMe(@AuthenticationPrincipal AuthenticatedUser user) {
         if (user == null) {
             return ResponseEntity.status(401).build();
         }
-        var subscription = subscriptionService.getSubscriptionOrThrow(user.getId());
+        var subscription = subscriptionService.getSubscriptionOrThrow(user.id());
         return ResponseEntity.ok(subscriptionService.toResponse(subscription));
     }
 
@@ -62,11 +62,11 @@ public class SubscriptionController {
     })
     @SecurityRequirement(name = "bearer-jwt")
     @PostMapping("/cancel")
-    public ResponseEntity<Void> cancel(@AuthenticationPrincipal User user) {
+    public ResponseEntity<Void> cancel(@AuthenticationPrincipal AuthenticatedUser user) {
         if (user == null) {
             return ResponseEntity.status(401).build();
         }
-        subscriptionService.cancelSubscription(user.getId());
+        subscriptionService.cancelSubscription(user.id());
         return ResponseEntity.noContent().build();
     }
 }
@@ -3,7 +3,7 @@ package com.astrocode.backend.api.controllers;
 import com.astrocode.backend.api.dto.subscription.PaymentRequest;
 import com.astrocode.backend.api.dto.subscription.PaymentResponse;
 import com.astrocode.backend.api.dto.subscription.SubscriptionStatusResponse;
-import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.AuthenticatedUser;
 import com.astrocode.backend.domain.services.MercadoPagoWebhookService;
 import com.astrocode.backend.domain.services.SubscriptionService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -38,23 +38,23 @@ public class SubscriptionsController {
     @SecurityRequirement(name = "bearer-jwt")
     @PostMapping("/process-payment")
     public ResponseEntity<PaymentResponse> processPayment(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestBody @Valid PaymentRequest request) {
         if (user == null) {
             return ResponseEntity.status(401).build();
         }
-        log.info("[CHECKOUT] Processando pagamento para userId={} planId={}", user.getId(), request.planId());
-        return ResponseEntity.ok(subscriptionService.processPayment(user.getId(), request));
+        log.info("[CHECKOUT] Processando pagamento para userId={} planId={}", user.id(), request.planId());
+        return ResponseEntity.ok(subscriptionService.processPayment(user.id(), request));
     }
 
     @Operation(summary = "Status da assinatura (resumo)")
     @SecurityRequirement(name = "bearer-jwt")
     @GetMapping("/status")
-    public ResponseEntity<SubscriptionStatusResponse> getStatus(@AuthenticationPrincipal User user) {
+    public ResponseEntity<SubscriptionStatusResponse> getStatus(@AuthenticationPrincipal AuthenticatedUser user) {
         if (user == null) {
             return ResponseEntity.status(401).build();
         }
-        return ResponseEntity.ok(subscriptionService.getStatus(user.getId()));
+        return ResponseEntity.ok(subscriptionService.getStatus(user.id()));
     }
 
     @Operation(summary = "Webhook Mercado Pago", description = "Público — validação de assinatura (x-signature)")
@@ -1,13 +1,19 @@
 package com.astrocode.backend.api.controllers;
 
 import com.astrocode.backend.api.dto.transaction.MonthlySummaryResponse;
+import com.astrocode.backend.api.dto.transaction.TransactionBatchRequest;
+import com.astrocode.backend.api.dto.transaction.TransactionCursorPageResponse;
 import com.astrocode.backend.api.dto.transaction.TransactionRequest;
 import com.astrocode.backend.api.dto.transaction.TransactionResponse;
+import com.astrocode.backend.api.dto.transaction.TransactionTrendResponse;
 import com.astrocode.backend.api.dto.transaction.TransactionUpdateRequest;
-import com.astrocode.backend.domain.entities.Transaction;
-import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.AuthenticatedUser;
+import com.astrocode.backend.domain.model.TransactionCursor;
+import com.astrocode.backend.domain.model.enums.ExportFormat;
 import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.domain.services.TransactionExportService;
 import com.astrocode.backend.domain.services.TransactionService;
+import com.astrocode.backend.domain.services.TransactionTrendService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -16,14 +22,22 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.constraints.Max;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
 
@@ -35,9 +49,15 @@ import java.util.UUID;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionTrendService transactionTrendService;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 TransactionExportService transactionExportService,
+                                 TransactionTrendService transactionTrendService) {
         this.transactionService = transactionService;
+        this.transactionExportService = transactionExportService;
+        this.transactionTrendService = transactionTrendService;
     }
 
     @Operation(summary = "Criar transação", description = "Cria nova transação e atualiza saldo da conta")
@@ -50,15 +70,29 @@ public class TransactionController {
             @RequestBody @Valid TransactionRequest request,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        var transaction = transactionService.create(request, user.getId());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        var response = transactionService.create(request, user.id());
 
-        var response = toResponse(transaction);
-
-        URI location = URI.create("/api/transactions/" + transaction.getId());
+        URI location = URI.create("/api/transactions/" + response.id());
         return ResponseEntity.created(location).body(response);
     }
 
+    @Operation(summary = "Criar transações em lote",
+            description = "Cria até 100 transações numa única operação; falha em qualquer item cancela o lote inteiro")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Transações criadas"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos em algum item"),
+            @ApiResponse(responseCode = "422", description = "Saldo ou limite do cartão insuficiente")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<TransactionResponse>> createBatch(
+            @RequestBody @Valid TransactionBatchRequest request,
+            Authentication authentication
+    ) {
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return ResponseEntity.status(HttpStatus.CREATED).body(transactionService.createBatch(request.items(), user.id()));
+    }
+
     @Operation(summary = "Listar transações", description = "Lista transações com filtros opcionais (year, month, bankAccountId, type) e paginação (page, size)")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Lista paginada de transações")})
     @GetMapping
@@ -74,14 +108,76 @@ public class TransactionController {
         if (page < 0 || size < 1 || size > 100) {
             throw new IllegalArgumentException("page deve ser >= 0 e size entre 1 e 100");
         }
-        User user = (User) authentication.getPrincipal();
-        var pageable = PageRequest.of(page, size, Sort.by("date").descending().and(Sort.by("createdAt").descending()));
-        var result = transactionService.findAllByUserIdPaginated(user.getId(), year, month, bankAccountId, type, pageable);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        var pageable = PageRequest.of(page, size);
+        var response = transactionService.findAllByUserIdPaginated(user.id(), year, month, bankAccountId, type, pageable);
+        return ResponseEntity.ok(response);
+    }
 
-        Page<TransactionResponse> response = result.map(this::toResponse);
+    @Operation(summary = "Listar transações por cursor",
+            description = "Paginação por cursor (keyset), sem contagem total. Envie cursor vazio na primeira página e o nextCursor retornado nas seguintes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de transações com cursor da próxima página"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    @GetMapping(params = "cursor")
+    public ResponseEntity<TransactionCursorPageResponse> getAllByCursor(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) UUID bankAccountId,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") @Max(100) int size,
+            Authentication authentication
+    ) {
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("size deve estar entre 1 e 100");
+        }
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        var slice = transactionService.findAllByUserIdAfterCursor(
+                user.id(), year, month, bankAccountId, type, TransactionCursor.decode(cursor), size);
+
+        var content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? TransactionCursor.of(content.getLast()).encode()
+                : null;
+        var response = new TransactionCursorPageResponse(
+                content,
+                nextCursor,
+                slice.hasNext()
+        );
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Exportar transações",
+            description = "Exporta as transações do período em CSV ou NDJSON, escritas em streaming (sem carregar o histórico em memória)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo de exportação"),
+            @ApiResponse(responseCode = "400", description = "Período inválido")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            Authentication authentication
+    ) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate deve ser anterior ou igual a endDate");
+        }
+        UUID userId = ((AuthenticatedUser) authentication.getPrincipal()).id();
+        StreamingResponseBody body = out -> transactionExportService.export(userId, startDate, endDate, format, out);
+
+        var mediaType = format == ExportFormat.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        var filename = "transacoes_" + startDate + "_" + endDate + (format == ExportFormat.CSV ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     @Operation(summary = "Resumo mensal", description = "Retorna resumo de gastos por categoria no período")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Resumo mensal")})
     @GetMapping("/analytics/monthly-summary")
@@ -90,11 +186,27 @@ public class TransactionController {
             @RequestParam int month,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        var summary = transactionService.getMonthlySummary(user.getId(), year, month);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        var summary = transactionService.getMonthlySummary(user.id(), year, month);
         return ResponseEntity.ok(summary);
     }
 
+    @Operation(summary = "Tendência mensal",
+            description = "Receitas, despesas e totais por categoria mês a mês entre 'from' e 'to' (yyyy-MM, até 24 meses), em colunas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Série mensal"),
+            @ApiResponse(responseCode = "400", description = "Intervalo inválido")
+    })
+    @GetMapping("/analytics/trend")
+    public ResponseEntity<TransactionTrendResponse> getTrend(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            Authentication authentication
+    ) {
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return ResponseEntity.ok(transactionTrendService.getTrend(user.id(), from, to));
+    }
+
     @Operation(summary = "Atualizar transação", description = "Atualiza transação existente e reconcilia saldo da conta")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Transação atualizada"),
@@ -106,10 +218,8 @@ public class TransactionController {
             @RequestBody @Valid TransactionUpdateRequest request,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        var transaction = transactionService.update(id, request, user.getId());
-
-        return ResponseEntity.ok(toResponse(transaction));
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return ResponseEntity.ok(transactionService.update(id, request, user.id()));
     }
 
     @Operation(summary = "Excluir transação", description = "Exclui transação e reverte saldo da conta")
@@ -122,32 +232,8 @@ public class TransactionController {
             @PathVariable UUID id,
             Authentication authentication
     ) {
-        User user = (User) authentication.getPrincipal();
-        transactionService.delete(id, user.getId());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        transactionService.delete(id, user.id());
         return ResponseEntity.noContent().build();
     }
-
-    private TransactionResponse toResponse(Transaction transaction) {
-        var bankAccountId = transaction.getBankAccount() != null ? transaction.getBankAccount().getId() : null;
-        var creditCardId = transaction.getCreditCard() != null ? transaction.getCreditCard().getId() : null;
-        var creditCardName = transaction.getCreditCard() != null ? transaction.getCreditCard().getName() : null;
-        var creditCardBillId = transaction.getCreditCardBill() != null ? transaction.getCreditCardBill().getId() : null;
-
-        return new TransactionResponse(
-                transaction.getId(),
-                transaction.getName(),
-                transaction.getAmount(),
-                transaction.getDate(),
-                transaction.getType().name(),
-                bankAccountId,
-                transaction.getCategory().getId(),
-                creditCardId,
-                creditCardName,
-                creditCardBillId,
-                transaction.getIsRecurring() != null ? transaction.getIsRecurring() : false,
-                transaction.getFrequency() != null ? transaction.getFrequency().name() : null,
-                transaction.getCreatedAt(),
-                transaction.getUpdatedAt()
-        );
-    }
 }
@@ -0,0 +1,74 @@
+package com.astrocode.backend.api.controllers;
+
+import com.astrocode.backend.api.dto.transaction.TransactionImportJobResponse;
+import com.astrocode.backend.domain.model.AuthenticatedUser;
+import com.astrocode.backend.domain.model.enums.ImportFormat;
+import com.astrocode.backend.domain.services.TransactionImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.UUID;
+
+@Tag(name = "Transações", description = "CRUD de transações financeiras com filtros")
+@SecurityRequirement(name = "bearer-jwt")
+@RestController
+@RequestMapping("/api/transactions/import")
+public class TransactionImportController {
+
+    private final TransactionImportService transactionImportService;
+
+    public TransactionImportController(TransactionImportService transactionImportService) {
+        this.transactionImportService = transactionImportService;
+    }
+
+    @Operation(summary = "Importar extrato",
+            description = "Agenda a importação de um arquivo CSV ou OFX para a conta informada. Acompanhe pelo status da importação")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Importação agendada"),
+            @ApiResponse(responseCode = "400", description = "Arquivo vazio ou fila de importações cheia"),
+            @ApiResponse(responseCode = "403", description = "Conta de outro usuário")
+    })
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<TransactionImportJobResponse> importFile(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam UUID bankAccountId,
+            @RequestParam(required = false) ImportFormat format,
+            Authentication authentication
+    ) throws IOException {
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        var job = transactionImportService.submit(user.id(), bankAccountId, file, format);
+
+        URI location = URI.create("/api/transactions/import/" + job.jobId());
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @Operation(summary = "Status da importação", description = "Progresso (linhas processadas) e resultado de uma importação")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status da importação"),
+            @ApiResponse(responseCode = "404", description = "Importação não encontrada ou expirada")
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<TransactionImportJobResponse> getStatus(
+            @PathVariable UUID jobId,
+            Authentication authentication
+    ) {
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return ResponseEntity.ok(transactionImportService.getJob(jobId, user.id()));
+    }
+}
@@ -9,6 +9,8 @@ import com.astrocode.backend.api.dto.user.WhatsappVerifyRequest;
 import com.astrocode.backend.config.ClientIpResolver;
 import com.astrocode.backend.config.LoginRateLimiter;
 import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.AuthenticatedUser;
+import com.astrocode.backend.domain.services.RequestUserCache;
 import com.astrocode.backend.domain.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -40,11 +42,14 @@ public class UserController {
     private final UserService userService;
     private final LoginRateLimiter loginRateLimiter;
     private final ClientIpResolver clientIpResolver;
+    private final RequestUserCache requestUserCache;
 
     public UserController(UserService userService,
                           LoginRateLimiter loginRateLimiter,
-                          ClientIpResolver clientIpResolver) {
+                          ClientIpResolver clientIpResolver,
+                          RequestUserCache requestUserCache) {
         this.userService = userService;
+        this.requestUserCache = requestUserCache;
         this.loginRateLimiter = loginRateLimiter;
         this.clientIpResolver = clientIpResolver;
     }
@@ -56,7 +61,8 @@ public class UserController {
     })
     @SecurityRequirement(name = "bearer-jwt")
     @GetMapping("/me")
-    public ResponseEntity<UserResponse> getMe(@AuthenticationPrincipal User user) {
+    public ResponseEntity<UserResponse> getMe(@AuthenticationPrincipal AuthenticatedUser principal) {
+        var user = loadUser(principal);
         if (user == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -71,8 +77,9 @@ public class UserController {
     })
     @SecurityRequirement(name = "bearer-jwt")
     @PatchMapping("/me")
-    public ResponseEntity<UserResponse> updateMe(@AuthenticationPrincipal User user,
+    public ResponseEntity<UserResponse> updateMe(@AuthenticationPrincipal AuthenticatedUser principal,
                                                   @RequestBody @Valid UpdateProfileRequest request) {
+        var user = loadUser(principal);
         if (user == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -81,13 +88,13 @@ public class UserController {
 
     @SecurityRequirement(name = "bearer-jwt")
     @PostMapping("/me/whatsapp/request")
-    public ResponseEntity<?> requestWhatsapp(@AuthenticationPrincipal User user,
+    public ResponseEntity<?> requestWhatsapp(@AuthenticationPrincipal AuthenticatedUser user,
                                                @RequestBody @Valid WhatsappPhoneRequest request) {
         if (user == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         try {
-            userService.requestWhatsappVerification(user, request.phone());
+            userService.requestWhatsappVerification(user.id(), request.phone());
             return ResponseEntity.accepted().build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -96,13 +103,13 @@ public class UserController {
 
     @SecurityRequirement(name = "bearer-jwt")
     @PostMapping("/me/whatsapp/verify")
-    public ResponseEntity<?> verifyWhatsapp(@AuthenticationPrincipal User user,
+    public ResponseEntity<?> verifyWhatsapp(@AuthenticationPrincipal AuthenticatedUser user,
                                             @RequestBody @Valid WhatsappVerifyRequest request) {
         if (user == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         try {
-            userService.verifyWhatsapp(user, request.code());
+            userService.verifyWhatsapp(user.id(), request.code());
             return ResponseEntity.ok().build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -144,12 +151,18 @@ public class UserController {
     })
     @SecurityRequirement(name = "bearer-jwt")
     @DeleteMapping("/me")
-    public ResponseEntity<Void> deleteMe(@AuthenticationPrincipal User user,
+    public ResponseEntity<Void> deleteMe(@AuthenticationPrincipal AuthenticatedUser principal,
                                          @RequestBody @Valid DeleteAccountRequest request) {
+        var user = loadUser(principal);
         if (user == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         userService.deleteCurrentUser(user, request.password());
         return ResponseEntity.noContent().build();
     }
+
+    /** Entidade completa do usuário autenticado; o principal traz só id, e-mail e plano. */
+    private User loadUser(AuthenticatedUser principal) {
+        return principal != null ? requestUserCache.findByIdWithSubscription(principal.id()).orElse(null) : null;
+    }
 }
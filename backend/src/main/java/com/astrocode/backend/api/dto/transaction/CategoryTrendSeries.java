@@ -0,0 +1,13 @@
+package com.astrocode.backend.api.dto.transaction;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public record CategoryTrendSeries(
+        UUID categoryId,
+        String categoryName,
+        String type,
+        List<BigDecimal> totals
+) {
+}
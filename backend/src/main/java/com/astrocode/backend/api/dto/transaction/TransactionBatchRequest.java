@@ -0,0 +1,14 @@
+package com.astrocode.backend.api.dto.transaction;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TransactionBatchRequest(
+        @NotEmpty(message = "Informe ao menos uma transação")
+        @Size(max = 100, message = "Máximo de 100 transações por lote")
+        List<@Valid TransactionRequest> items
+) {
+}
@@ -0,0 +1,10 @@
+package com.astrocode.backend.api.dto.transaction;
+
+import java.util.List;
+
+public record TransactionCursorPageResponse(
+        List<TransactionResponse> content,
+        String nextCursor,
+        boolean hasNext
+) {
+}
@@ -0,0 +1,16 @@
+package com.astrocode.backend.api.dto.transaction;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record TransactionImportJobResponse(
+        UUID jobId,
+        String status,
+        String fileName,
+        int processedRows,
+        int importedRows,
+        String error,
+        OffsetDateTime createdAt,
+        OffsetDateTime finishedAt
+) {
+}
@@ -0,0 +1,15 @@
+package com.astrocode.backend.api.dto.transaction;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Série mensal em colunas: o índice {@code i} de cada lista corresponde a {@code months[i]}.
+ */
+public record TransactionTrendResponse(
+        List<String> months,
+        List<BigDecimal> income,
+        List<BigDecimal> expense,
+        List<CategoryTrendSeries> categories
+) {
+}
@@ -0,0 +1,34 @@
+package com.astrocode.backend.config;
+
+import com.astrocode.backend.domain.model.BalanceReconciliationReport;
+import com.astrocode.backend.domain.services.BalanceReconciliationService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint {@code /actuator/reconciliation}: GET devolve o último relatório; POST {@code {"fix": false}} executa
+ * uma reconciliação agora. Fora de {@code management.endpoints.web.exposure.include} por padrão, já que
+ * qualquer usuário autenticado alcançaria o actuator.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+public class BalanceReconciliationEndpoint {
+
+    private final BalanceReconciliationService balanceReconciliationService;
+
+    public BalanceReconciliationEndpoint(BalanceReconciliationService balanceReconciliationService) {
+        this.balanceReconciliationService = balanceReconciliationService;
+    }
+
+    @ReadOperation
+    public BalanceReconciliationReport lastReport() {
+        return balanceReconciliationService.lastReport();
+    }
+
+    @WriteOperation
+    public BalanceReconciliationReport reconcile(boolean fix) {
+        return balanceReconciliationService.reconcile(fix);
+    }
+}
@@ -1,8 +1,11 @@
 package com.astrocode.backend.config;
 
-import com.astrocode.backend.domain.entities.User;
-import com.astrocode.backend.domain.repositories.UserRepository;
+import com.astrocode.backend.domain.model.AuthenticatedUser;
+import com.astrocode.backend.domain.model.enums.PlanType;
+import com.astrocode.backend.domain.services.AuthStateRegistry;
 import com.astrocode.backend.domain.services.JwtService;
+import com.astrocode.backend.domain.services.RequestUserCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -16,6 +19,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
@@ -25,11 +29,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final RequestUserCache requestUserCache;
+    private final AuthStateRegistry authStateRegistry;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtService jwtService, RequestUserCache requestUserCache, AuthStateRegistry authStateRegistry) {
         this.jwtService = jwtService;
-        this.userRepository = userRepository;
+        this.requestUserCache = requestUserCache;
+        this.authStateRegistry = authStateRegistry;
     }
 
     private static final String AUTH_COOKIE_NAME = "auth_token";
@@ -62,13 +68,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             var userId = jwtService.extractUserIdFromClaims(claims);
 
             if (email != null && userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    var userOpt = userRepository.findByIdWithSubscription(userId);
-
-                    if (userOpt.isPresent()) {
-                        var user = userOpt.get();
+                    var principal = resolvePrincipal(claims, userId, email);
 
+                    if (principal.isPresent()) {
                         var authToken = new UsernamePasswordAuthenticationToken(
-                                user,
+                                principal.get(),
                                 null,
                                 null
                         );
@@ -87,4 +91,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * No modo stateless, o principal é montado dos claims (id, e-mail e plano, sem consultar o banco);
+     * tokens revogados são recusados e tokens anteriores a uma troca de plano caem na leitura do usuário.
+     */
+    private Optional<AuthenticatedUser> resolvePrincipal(Claims claims, UUID userId, String email) {
+        if (authStateRegistry.isEnabled()) {
+            var state = authStateRegistry.check(userId, claims.getIssuedAt());
+            if (state == AuthStateRegistry.TokenState.REVOKED) {
+                return Optional.empty();
+            }
+            if (state == AuthStateRegistry.TokenState.VALID) {
+                return Optional.of(new AuthenticatedUser(userId, email,
+                        PlanType.valueOf(jwtService.extractPlanFromClaims(claims)),
+                        jwtService.extractPlanExpiresAtFromClaims(claims)));
+            }
+        }
+        return requestUserCache.findByIdWithSubscription(userId).map(AuthenticatedUser::from);
+    }
 }
@@ -1,7 +1,7 @@
 package com.astrocode.backend.domain.PlanAccess;
 
-import com.astrocode.backend.domain.entities.User;
 import com.astrocode.backend.domain.exceptions.PlanUpgradeRequiredException;
+import com.astrocode.backend.domain.model.AuthenticatedUser;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.springframework.security.access.AccessDeniedException;
 import org.aspectj.lang.annotation.Around;
@@ -17,7 +17,7 @@ public class PlanAccessAspect {
     @Around("@annotation(requiresPro)")
     public Object checkPlanAccess(ProceedingJoinPoint joinPoint, RequiresPro requiresPro) throws Throwable {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !(auth.getPrincipal() instanceof User user)) {
+        if (auth == null || !(auth.getPrincipal() instanceof AuthenticatedUser user)) {
             throw new AccessDeniedException("Autenticação necessária para acessar este recurso");
         }
 
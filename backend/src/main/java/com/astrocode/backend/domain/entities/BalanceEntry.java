@@ -0,0 +1,36 @@
+package com.astrocode.backend.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Lançamento de saldo de uma conta (positivo = entrada). Mapeia para a tabela 'balance_entries';
+ * inserido e compactado apenas via {@code BalanceLedgerService}, nunca atualizado.
+ */
+@Entity
+@Table(name = "balance_entries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @Column(name = "bank_account_id", nullable = false, updatable = false)
+    private UUID bankAccountId;
+
+    @Column(name = "amount", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "created_at", nullable = false, updatable = false, insertable = false)
+    private OffsetDateTime createdAt;
+}
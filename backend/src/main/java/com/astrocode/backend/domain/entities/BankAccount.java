@@ -9,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Formula;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -43,8 +44,15 @@ public class BankAccount {
     @Column(name = "initial_balance", nullable = false, precision = 15, scale = 2)
     private BigDecimal initialBalance;
 
-    @NotNull
-    @Column(name = "current_balance", nullable = false, precision = 15, scale = 2)
+    /**
+     * Saldo consolidado até a última compactação de {@code balance_entries}. Fora da criação só é gravado
+     * por SQL ({@code BalanceLedgerService}); alterações de saldo entram como lançamentos.
+     */
+    @Column(name = "balance_snapshot", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal balanceSnapshot;
+
+    /** Saldo atual (snapshot + lançamentos pendentes), calculado ao carregar a conta; não é persistido. */
+    @Formula("balance_snapshot + COALESCE((SELECT SUM(e.amount) FROM balance_entries e WHERE e.bank_account_id = id), 0)")
     private BigDecimal currentBalance;
 
     @NotNull
@@ -82,6 +90,9 @@ public class BankAccount {
 
     @PrePersist
     protected void onCreate() {
+        if (balanceSnapshot == null) {
+            balanceSnapshot = currentBalance != null ? currentBalance : initialBalance;
+        }
         OffsetDateTime now = OffsetDateTime.now();
         createdAt = now;
         updatedAt = now;
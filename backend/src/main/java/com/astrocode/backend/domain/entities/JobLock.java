@@ -0,0 +1,32 @@
+package com.astrocode.backend.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/** Lease de um job agendado; escrito só pelos comandos de {@code JobLockRepository}. */
+@Entity
+@Table(name = "job_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobLock {
+
+    @Id
+    @Column(name = "name", nullable = false, length = 64)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private OffsetDateTime lockedUntil;
+
+    @Column(name = "locked_at", nullable = false)
+    private OffsetDateTime lockedAt;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+}
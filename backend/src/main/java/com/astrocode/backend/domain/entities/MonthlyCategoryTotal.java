@@ -0,0 +1,54 @@
+package com.astrocode.backend.domain.entities;
+
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Soma e quantidade de transações por usuário, mês, tipo, categoria e vínculo com meta.
+ * Mapeia para a tabela 'monthly_category_totals'; escrita apenas via {@code MonthlyTotalsService}.
+ */
+@Entity
+@Table(name = "monthly_category_totals", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "year", "month", "type", "category_id", "goal_flag"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyCategoryTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "year", nullable = false)
+    private Integer year;
+
+    @Column(name = "month", nullable = false)
+    private Integer month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private TransactionType type;
+
+    @Column(name = "category_id", nullable = false)
+    private UUID categoryId;
+
+    @Column(name = "goal_flag", nullable = false)
+    private Boolean goalFlag;
+
+    @Column(name = "total", nullable = false, precision = 15, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "count", nullable = false)
+    private Long count;
+}
@@ -89,6 +89,10 @@ public class Transaction {
     @JoinColumn(name = "parent_transaction_id")
     private Transaction parentTransaction;
 
+    /** Início do próximo período ainda sem filha (só em pais recorrentes); o job de recorrência lê só os vencidos. */
+    @Column(name = "next_occurrence_date")
+    private LocalDate nextOccurrenceDate;
+
     @NotNull
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
@@ -0,0 +1,39 @@
+package com.astrocode.backend.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Quantidade de transações do usuário no mês (pela data da transação), base da cota do plano Free.
+ * Mapeia para a tabela 'transaction_monthly_usage'; escrita apenas via {@code MonthlyTotalsService}.
+ */
+@Entity
+@Table(name = "transaction_monthly_usage", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "year", "month"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionMonthlyUsage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "year", nullable = false)
+    private Integer year;
+
+    @Column(name = "month", nullable = false)
+    private Integer month;
+
+    @Column(name = "used", nullable = false)
+    private Integer used;
+}
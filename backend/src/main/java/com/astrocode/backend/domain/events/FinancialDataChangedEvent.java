@@ -0,0 +1,10 @@
+package com.astrocode.backend.domain.events;
+
+import java.util.UUID;
+
+/**
+ * Publicado quando saldo ou transações do usuário mudam; ouvintes reagem após o commit
+ * (ex.: invalidação do cache do dashboard).
+ */
+public record FinancialDataChangedEvent(UUID userId) {
+}
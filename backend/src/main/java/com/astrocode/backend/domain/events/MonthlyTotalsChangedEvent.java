@@ -0,0 +1,16 @@
+package com.astrocode.backend.domain.events;
+
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Publicado quando {@code monthly_category_totals} muda para o usuário.
+ * {@code months} vazio significa que qualquer mês pode ter mudado (exclusão de conta, reconstrução).
+ */
+public record MonthlyTotalsChangedEvent(UUID userId, Set<YearMonth> months) {
+
+    public static MonthlyTotalsChangedEvent allMonths(UUID userId) {
+        return new MonthlyTotalsChangedEvent(userId, Set.of());
+    }
+}
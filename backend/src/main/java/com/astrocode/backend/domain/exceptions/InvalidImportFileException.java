@@ -0,0 +1,16 @@
+package com.astrocode.backend.domain.exceptions;
+
+/**
+ * Extrato importado com formato inválido (cabeçalho, coluna obrigatória, valor, data ou tipo).
+ * A mensagem indica a linha ou transação e é mostrada ao usuário no status da importação.
+ */
+public class InvalidImportFileException extends RuntimeException {
+
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+
+    public InvalidImportFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
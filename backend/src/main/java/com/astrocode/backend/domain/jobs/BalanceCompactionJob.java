@@ -0,0 +1,40 @@
+package com.astrocode.backend.domain.jobs;
+
+import com.astrocode.backend.domain.services.BalanceLedgerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consolida os lançamentos de {@code balance_entries} em {@code bank_accounts.balance_snapshot}, em lotes
+ * (cada um numa transação curta), mantendo pequena a soma feita a cada leitura de saldo.
+ */
+@Component
+public class BalanceCompactionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceCompactionJob.class);
+    private static final int CHUNK_SIZE = 5_000;
+
+    private final BalanceLedgerService balanceLedgerService;
+
+    public BalanceCompactionJob(BalanceLedgerService balanceLedgerService) {
+        this.balanceLedgerService = balanceLedgerService;
+    }
+
+    /** @return quantidade de lançamentos consolidados */
+    @Scheduled(fixedDelayString = "${app.balance.compaction-interval:PT5M}")
+    @ExclusiveJob(name = "balance-compaction", lockAtMostFor = "PT10M", lockAtLeastFor = "PT1M")
+    public int compact() {
+        int total = 0;
+        int moved;
+        do {
+            moved = balanceLedgerService.compact(CHUNK_SIZE);
+            total += moved;
+        } while (moved == CHUNK_SIZE);
+        if (total > 0) {
+            log.info("Livro-razão de saldo: {} lançamentos consolidados no snapshot", total);
+        }
+        return total;
+    }
+}
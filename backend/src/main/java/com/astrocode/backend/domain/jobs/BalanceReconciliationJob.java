@@ -0,0 +1,29 @@
+package com.astrocode.backend.domain.jobs;
+
+import com.astrocode.backend.domain.services.BalanceReconciliationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconciliação diária dos saldos das contas contra as transações. Só ajusta as divergências com
+ * {@code app.balance.reconciliation.auto-fix=true}; caso contrário apenas registra o relatório.
+ */
+@Component
+public class BalanceReconciliationJob {
+
+    private final BalanceReconciliationService balanceReconciliationService;
+    private final boolean autoFix;
+
+    public BalanceReconciliationJob(BalanceReconciliationService balanceReconciliationService,
+                                    @Value("${app.balance.reconciliation.auto-fix:false}") boolean autoFix) {
+        this.balanceReconciliationService = balanceReconciliationService;
+        this.autoFix = autoFix;
+    }
+
+    @Scheduled(cron = "${app.balance.reconciliation.cron:0 0 5 * * *}")
+    @ExclusiveJob(name = "balance-reconciliation", lockAtMostFor = "PT2H", lockAtLeastFor = "PT1M")
+    public void reconcile() {
+        balanceReconciliationService.reconcile(autoFix);
+    }
+}
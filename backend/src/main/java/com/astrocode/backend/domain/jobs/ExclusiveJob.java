@@ -0,0 +1,24 @@
+package com.astrocode.backend.domain.jobs;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Executa o job em uma só réplica por rodada (lease em {@code job_locks}); as demais pulam a rodada.
+ * Durações no formato ISO-8601 (ex.: {@code PT10M}).
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ExclusiveJob {
+
+    /** Nome do lease; único por job. */
+    String name();
+
+    /** Posse máxima: se a instância morrer no meio, outra réplica assume depois desse prazo. Deve cobrir a rodada mais longa. */
+    String lockAtMostFor();
+
+    /** Posse mínima após o início, mesmo que a rodada termine antes; cobre diferença de relógio entre réplicas. */
+    String lockAtLeastFor() default "PT0S";
+}
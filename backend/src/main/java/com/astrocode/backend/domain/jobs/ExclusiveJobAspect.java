@@ -0,0 +1,60 @@
+package com.astrocode.backend.domain.jobs;
+
+import com.astrocode.backend.domain.services.JobLockService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Envolve os métodos {@link ExclusiveJob} com o lease do job. A ordem 0 o deixa por fora do {@code @Transactional} do job,
+ * para que o lease só seja encerrado depois do commit da rodada. Rodada pulada devolve 0/false/null.
+ */
+@Aspect
+@Component
+@Order(0)
+@ConditionalOnProperty(name = "app.jobs.lock.enabled", havingValue = "true", matchIfMissing = true)
+public class ExclusiveJobAspect {
+
+    private static final Logger log = LoggerFactory.getLogger(ExclusiveJobAspect.class);
+
+    private final JobLockService jobLockService;
+
+    public ExclusiveJobAspect(JobLockService jobLockService) {
+        this.jobLockService = jobLockService;
+    }
+
+    @Around("@annotation(exclusiveJob)")
+    public Object runExclusive(ProceedingJoinPoint joinPoint, ExclusiveJob exclusiveJob) throws Throwable {
+        var owner = jobLockService.tryAcquire(exclusiveJob.name(), Duration.parse(exclusiveJob.lockAtMostFor()));
+        if (owner.isEmpty()) {
+            log.info("Job {}: lease ativo em outra instância; rodada ignorada", exclusiveJob.name());
+            return skipped(((MethodSignature) joinPoint.getSignature()).getReturnType());
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            jobLockService.release(exclusiveJob.name(), owner.get(), Duration.parse(exclusiveJob.lockAtLeastFor()));
+        }
+    }
+
+    private static Object skipped(Class<?> returnType) {
+        if (returnType == int.class) {
+            return 0;
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        if (returnType == boolean.class) {
+            return false;
+        }
+        return null;
+    }
+}
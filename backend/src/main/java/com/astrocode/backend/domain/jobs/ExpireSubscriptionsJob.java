@@ -5,7 +5,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 /** Expira assinaturas pagas vencidas (diário 01:00, fuso {@link #SCHEDULE_ZONE}). */
 @Component
@@ -22,10 +21,10 @@ public class ExpireSubscriptionsJob {
     }
 
     @Scheduled(cron = "0 0 1 * * ?", zone = SCHEDULE_ZONE)
-    @Transactional
+    @ExclusiveJob(name = "expire-subscriptions", lockAtMostFor = "PT10M", lockAtLeastFor = "PT1M")
     public void expireSubscriptions() {
         log.info("Iniciando job de expiração de assinaturas (zone={})", SCHEDULE_ZONE);
-        subscriptionService.expireSubscriptions();
-        log.info("Job de expiração de assinaturas concluído");
+        int expired = subscriptionService.expireSubscriptions();
+        log.info("Job de expiração de assinaturas concluído: {} assinatura(s) rebaixada(s)", expired);
     }
 }
@@ -1,21 +1,24 @@
 package com.astrocode.backend.domain.jobs;
 
-import com.astrocode.backend.domain.entities.SavingsGoal;
-import com.astrocode.backend.domain.model.enums.GoalStatus;
 import com.astrocode.backend.domain.repositories.SavingsGoalRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * Expira metas ativas vencidas em lotes de {@link #CHUNK_SIZE}, cada um num UPDATE próprio
+ * (travas curtas, memória independente da quantidade de metas vencidas).
+ */
 @Component
 public class GoalExpirationJob {
 
     private static final Logger log = LoggerFactory.getLogger(GoalExpirationJob.class);
+    static final int CHUNK_SIZE = 500;
 
     private final SavingsGoalRepository savingsGoalRepository;
 
@@ -23,17 +26,20 @@ public class GoalExpirationJob {
         this.savingsGoalRepository = savingsGoalRepository;
     }
 
+    /** @return quantidade de metas expiradas */
     @Scheduled(cron = "0 0 1 * * ?") // 1h da manhã todo dia
-    @Transactional
-    public void expireOverdueGoals() {
-        var expired = savingsGoalRepository.findByStatusAndEndDateBeforeAndDeletedAtIsNull(
-                GoalStatus.ACTIVE, LocalDate.now());
-        expired.forEach(g -> {
-            g.setStatus(GoalStatus.EXPIRED);
-            log.info("Goal expired: id={}, name={}", g.getId(), g.getName());
-        });
-        if (!expired.isEmpty()) {
-            savingsGoalRepository.saveAll(expired);
-        }
+    @ExclusiveJob(name = "goal-expiration", lockAtMostFor = "PT10M", lockAtLeastFor = "PT1M")
+    public int expireOverdueGoals() {
+        var today = LocalDate.now();
+        int total = 0;
+        List<UUID> expired;
+        do {
+            expired = savingsGoalRepository.expireOverdue(today, CHUNK_SIZE);
+            if (!expired.isEmpty()) {
+                total += expired.size();
+                log.info("AUDITORIA metas expiradas: quantidade={} ids={}", expired.size(), expired);
+            }
+        } while (expired.size() == CHUNK_SIZE);
+        return total;
     }
 }
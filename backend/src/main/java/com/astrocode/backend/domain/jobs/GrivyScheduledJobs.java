@@ -1,7 +1,6 @@
 package com.astrocode.backend.domain.jobs;
 
 import com.astrocode.backend.domain.entities.DataDeletionRequest;
-import com.astrocode.backend.domain.entities.ScheduledMarketingEmail;
 import com.astrocode.backend.domain.entities.User;
 import com.astrocode.backend.domain.repositories.DataDeletionRequestRepository;
 import com.astrocode.backend.domain.repositories.ScheduledMarketingEmailRepository;
@@ -17,6 +16,7 @@ import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Processa e-mails de marketing agendados, campanha de reativação e exclusão de dados.
@@ -42,21 +42,22 @@ public class GrivyScheduledJobs {
         this.deletionRequestRepository = deletionRequestRepository;
     }
 
+    /** Enfileira no outbox os e-mails agendados vencidos, um job por transação; o envio fica com o despachante. */
     @Scheduled(cron = "0 */15 * * * *")
-    @Transactional
+    @ExclusiveJob(name = "marketing-queue", lockAtMostFor = "PT14M", lockAtLeastFor = "PT1M")
     public void processMarketingQueue() {
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-        List<ScheduledMarketingEmail> due = scheduledMarketingEmailRepository.findDue(now);
-        for (ScheduledMarketingEmail job : due) {
+        for (UUID jobId : scheduledMarketingEmailRepository.findDueIds(now)) {
             try {
-                emailMarketingService.processScheduledJob(job);
+                emailMarketingService.processScheduledJob(jobId);
             } catch (Exception e) {
-                log.warn("[MAIL] Job {} falhou: {}", job.getId(), e.getMessage());
+                log.warn("[MAIL] Job {} falhou: {}", jobId, e.getMessage());
             }
         }
     }
 
     @Scheduled(cron = "0 0 3 * * *")
+    @ExclusiveJob(name = "pending-deletions", lockAtMostFor = "PT30M", lockAtLeastFor = "PT1M")
     @Transactional
     public void processPendingDeletions() {
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
@@ -84,6 +85,7 @@ public class GrivyScheduledJobs {
 
     /** Diário: usuários sem login há 14+ dias; não reenvia se já enviou nos últimos 30 dias. */
     @Scheduled(cron = "0 40 11 * * *")
+    @ExclusiveJob(name = "reactivation-campaign", lockAtMostFor = "PT1H", lockAtLeastFor = "PT1M")
     @Transactional
     public void sendReactivationCampaign() {
         OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC).minusDays(14);
@@ -0,0 +1,215 @@
+package com.astrocode.backend.domain.jobs;
+
+import com.astrocode.backend.domain.repositories.MailOutboxRepository;
+import com.astrocode.backend.domain.repositories.MailOutboxRepository.ClaimedEmail;
+import com.astrocode.backend.domain.services.MailService;
+import com.astrocode.backend.infrastructure.email.EmailMessage;
+import com.astrocode.backend.infrastructure.email.ResendEmailClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Despacha o outbox de e-mails ({@code mail_outbox}). Cada rodada reivindica lotes com {@code FOR UPDATE SKIP LOCKED}
+ * (réplicas dividem o trabalho sem {@link ExclusiveJob}) e envia fora de transação: pelo endpoint de lote do provedor
+ * quando há, senão um a um em threads virtuais, no máximo {@code concurrency} simultâneos. Lote recusado pelo provedor
+ * (400/422, nada enviado) cai para o envio um a um, para um endereço inválido não travar os demais; qualquer outra
+ * falha do lote (429, 5xx, rede) devolve todo o lote à fila, porque o provedor pode ter enviado parte dele.
+ * O resultado é gravado por lote: nenhuma conexão fica presa durante o HTTP. Falhas voltam à fila com backoff, em vez
+ * de esperar na thread. Entrega ao menos uma vez: se a instância cair entre o envio e o registro, ou se um lote com
+ * resultado incerto voltar em outra composição, a mensagem pode ser enviada de novo. A chave de idempotência do envio
+ * avulso é o id da mensagem; a do lote só cobre o reenvio do mesmo lote.
+ * <p>
+ * Métricas: {@code mail.outbox.backlog} (pendentes), {@code mail.outbox.sent}, {@code mail.outbox.failures}
+ * (tag {@code outcome}: retry ou dead) e {@code mail.outbox.delivery} (duração de cada envio).
+ */
+@Component
+public class MailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+    private static final int PURGE_CHUNK_SIZE = 1_000;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailService mailService;
+    private final int batchSize;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final Duration retention;
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter deadCounter;
+    private final Timer deliveryTimer;
+
+    public MailOutboxDispatcher(MailOutboxRepository mailOutboxRepository,
+                                MailService mailService,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                                @Value("${app.mail.outbox.concurrency:8}") int concurrency,
+                                @Value("${app.mail.outbox.max-attempts:5}") int maxAttempts,
+                                @Value("${app.mail.outbox.lease:PT5M}") Duration lease,
+                                @Value("${app.mail.outbox.retry-backoff:PT1M}") Duration retryBackoff,
+                                @Value("${app.mail.outbox.retention:P7D}") Duration retention) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailService = mailService;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.retryBackoff = retryBackoff;
+        this.retention = retention;
+        meterRegistry.gauge("mail.outbox.backlog", backlog);
+        this.sentCounter = Counter.builder("mail.outbox.sent").register(meterRegistry);
+        this.retryCounter = Counter.builder("mail.outbox.failures").tag("outcome", "retry").register(meterRegistry);
+        this.deadCounter = Counter.builder("mail.outbox.failures").tag("outcome", "dead").register(meterRegistry);
+        this.deliveryTimer = Timer.builder("mail.outbox.delivery").register(meterRegistry);
+    }
+
+    /** @return quantidade de e-mails enviados na rodada */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:PT5S}", initialDelayString = "${app.mail.outbox.poll-interval:PT5S}")
+    public int dispatch() {
+        int sent = 0;
+        List<ClaimedEmail> claimed;
+        do {
+            claimed = mailOutboxRepository.claim(batchSize, lease.toMillis());
+            if (!claimed.isEmpty()) {
+                sent += sendBatch(claimed);
+            }
+        } while (claimed.size() == batchSize);
+        backlog.set(mailOutboxRepository.countPending());
+        if (sent > 0) {
+            log.info("[MAIL] Outbox: {} e-mail(s) enviado(s); {} pendente(s)", sent, backlog.get());
+        }
+        return sent;
+    }
+
+    /** Remove diariamente as mensagens enviadas há mais de {@code app.mail.outbox.retention} (corpos com dados pessoais). */
+    @Scheduled(cron = "0 20 4 * * *")
+    @ExclusiveJob(name = "mail-outbox-purge", lockAtMostFor = "PT30M", lockAtLeastFor = "PT1M")
+    public int purgeSent() {
+        var before = OffsetDateTime.now().minus(retention);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = mailOutboxRepository.purgeSent(before, PURGE_CHUNK_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_CHUNK_SIZE);
+        if (total > 0) {
+            log.info("[MAIL] Outbox: {} mensagem(ns) enviada(s) removida(s)", total);
+        }
+        return total;
+    }
+
+    private int sendBatch(List<ClaimedEmail> batch) {
+        if (!mailService.supportsBatch()) {
+            return sendEach(batch);
+        }
+        int sent = 0;
+        for (int from = 0; from < batch.size(); from += MailService.MAX_BATCH_SIZE) {
+            var chunk = batch.subList(from, Math.min(from + MailService.MAX_BATCH_SIZE, batch.size()));
+            try {
+                deliveryTimer.record(() -> mailService.deliverBatch(chunk.stream().map(MailOutboxDispatcher::message).toList()));
+            } catch (Exception e) {
+                if (ResendEmailClient.isRejected(e)) {
+                    log.warn("[MAIL] Outbox: lote de {} recusado ({}); enviando um a um", chunk.size(), e.getMessage());
+                    sent += sendEach(chunk);
+                } else {
+                    log.warn("[MAIL] Outbox: lote de {} falhou ({}); volta à fila", chunk.size(), e.getMessage());
+                    chunk.forEach(email -> recordFailure(email, e));
+                }
+                continue;
+            }
+            mailOutboxRepository.markSent(chunk.stream().map(ClaimedEmail::getId).toList());
+            sentCounter.increment(chunk.size());
+            sent += chunk.size();
+        }
+        return sent;
+    }
+
+    /** Envios avulsos concorrentes, cada um com seu resultado (um endereço inválido não derruba os demais). */
+    private int sendEach(List<ClaimedEmail> batch) {
+        var permits = new Semaphore(concurrency);
+        Map<UUID, Exception> failures = new ConcurrentHashMap<>();
+        List<UUID> delivered = new ArrayList<>(batch.size());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<UUID>> results = new ArrayList<>(batch.size());
+            for (var email : batch) {
+                results.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        deliveryTimer.record(() -> mailService.deliver(message(email)));
+                        return email.getId();
+                    } catch (Exception e) {
+                        failures.put(email.getId(), e);
+                        return null;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (var result : results) {
+                try {
+                    var id = result.get();
+                    if (id != null) {
+                        delivered.add(id);
+                    }
+                } catch (Exception e) {
+                    log.warn("[MAIL] Envio do outbox interrompido: {}", e.getMessage());
+                }
+            }
+        }
+        if (!delivered.isEmpty()) {
+            mailOutboxRepository.markSent(delivered);
+            sentCounter.increment(delivered.size());
+        }
+        for (var email : batch) {
+            var failure = failures.get(email.getId());
+            if (failure != null) {
+                recordFailure(email, failure);
+            }
+        }
+        return delivered.size();
+    }
+
+    /** A chave de idempotência é o id da mensagem: reenvio após queda da instância não duplica no provedor. */
+    private static EmailMessage message(ClaimedEmail email) {
+        return new EmailMessage(email.getToEmail(), email.getSubject(), email.getHtmlBody(), email.getTextBody(),
+                "outbox-" + email.getId());
+    }
+
+    private void recordFailure(ClaimedEmail email, Exception failure) {
+        boolean dead = email.getAttempts() >= maxAttempts;
+        var backoff = retryBackoff.multipliedBy(1L << Math.min(email.getAttempts() - 1, 6));
+        var message = String.valueOf(failure.getMessage());
+        mailOutboxRepository.markFailed(email.getId(),
+                message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message,
+                maxAttempts, backoff.toMillis());
+        (dead ? deadCounter : retryCounter).increment();
+        if (dead) {
+            log.error("[MAIL] Outbox: mensagem {} descartada após {} tentativas: {}", email.getId(), email.getAttempts(), message);
+        } else {
+            log.warn("[MAIL] Outbox: tentativa {} da mensagem {} falhou; nova tentativa em {}", email.getAttempts(),
+                    email.getId(), backoff);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.astrocode.backend.domain.jobs;
+
+import com.astrocode.backend.domain.events.MonthlyTotalsChangedEvent;
+import com.astrocode.backend.domain.repositories.MonthlyCategoryTotalRepository;
+import com.astrocode.backend.domain.repositories.TransactionMonthlyUsageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Confere {@code monthly_category_totals} contra as transações e reconstrói o agregado (e o contador de uso mensal)
+ * dos usuários com divergência.
+ */
+@Component
+public class MonthlyTotalsVerificationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthlyTotalsVerificationJob.class);
+    private static final int MAX_LOGGED_ROWS = 20;
+
+    private final MonthlyCategoryTotalRepository monthlyCategoryTotalRepository;
+    private final TransactionMonthlyUsageRepository transactionMonthlyUsageRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MonthlyTotalsVerificationJob(MonthlyCategoryTotalRepository monthlyCategoryTotalRepository,
+                                        TransactionMonthlyUsageRepository transactionMonthlyUsageRepository,
+                                        ApplicationEventPublisher eventPublisher) {
+        this.monthlyCategoryTotalRepository = monthlyCategoryTotalRepository;
+        this.transactionMonthlyUsageRepository = transactionMonthlyUsageRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** @return quantidade de chaves divergentes encontradas */
+    @Scheduled(cron = "0 30 4 * * *")
+    @ExclusiveJob(name = "monthly-totals-verification", lockAtMostFor = "PT1H", lockAtLeastFor = "PT1M")
+    @Transactional
+    public int verifyAndRebuild() {
+        var drift = monthlyCategoryTotalRepository.findDrift();
+        if (drift.isEmpty()) {
+            log.info("Agregado mensal consistente com as transações");
+            return 0;
+        }
+
+        Set<UUID> users = new LinkedHashSet<>();
+        int logged = 0;
+        for (Object[] row : drift) {
+            users.add((UUID) row[0]);
+            if (logged++ < MAX_LOGGED_ROWS) {
+                log.warn("Divergência no agregado mensal: userId={} {}/{} type={} categoryId={} meta={} total esperado={} gravado={} count esperado={} gravado={}",
+                        row[0], row[2], row[1], row[3], row[4], row[5], row[6], row[7], row[8], row[9]);
+            }
+        }
+        for (UUID userId : users) {
+            monthlyCategoryTotalRepository.deleteByUserId(userId);
+            monthlyCategoryTotalRepository.rebuildForUserId(userId);
+            transactionMonthlyUsageRepository.deleteByUserId(userId);
+            transactionMonthlyUsageRepository.rebuildForUserId(userId);
+            eventPublisher.publishEvent(MonthlyTotalsChangedEvent.allMonths(userId));
+        }
+        log.warn("AUDITORIA agregado mensal reconstruído: {} chaves divergentes em {} usuários", drift.size(), users.size());
+        return drift.size();
+    }
+}
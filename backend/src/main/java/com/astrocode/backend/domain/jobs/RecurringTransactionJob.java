@@ -1,30 +1,47 @@
 package com.astrocode.backend.domain.jobs;
 
-import com.astrocode.backend.domain.entities.Transaction;
 import com.astrocode.backend.domain.exceptions.InsufficientBalanceException;
-import com.astrocode.backend.domain.model.enums.RecurrenceFrequency;
 import com.astrocode.backend.domain.repositories.TransactionRepository;
+import com.astrocode.backend.domain.repositories.TransactionRepository.DueRecurrence;
 import com.astrocode.backend.domain.services.MailService;
+import com.astrocode.backend.domain.services.RecurringTransactionService;
 import com.astrocode.backend.domain.services.TransactionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.time.LocalDate;
-import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Job que executa diariamente para gerar transações filhas a partir de transações pai recorrentes.
- * Roda às 00:05 AM e cria transações para o mês/ano atual que ainda não existem.
+ * Roda às 00:05 AM e cria as filhas dos períodos (mês, ou ano para YEARLY) vencidos que ainda não existem.
+ * <p>
+ * Só os pais vencidos ({@code next_occurrence_date <= hoje}) são lidos, pelo índice parcial: o custo acompanha o
+ * trabalho devido, não o total de pais recorrentes. Eles são divididos em partições por hash do usuário
+ * ({@code app.recurring.partitions}), processadas em paralelo por um pool limitado ({@code app.recurring.parallelism}):
+ * falha ou espera de lock de um usuário só atrasa a própria partição. Cada lote de uma partição é gerado em conjunto
+ * numa transação curta ({@link RecurringTransactionService#generate}). Só as filhas cuja conta não cobre o débito, as de
+ * usuário sem cota no mês (ou um lote que falhou por inteiro) passam pelo caminho linha a linha, que isola a falha e
+ * avisa o usuário por e-mail.
+ * Partição que falha é refeita do início (pais já atendidos não estão mais vencidos), até {@code app.recurring.max-attempts}.
  */
 @Component
 public class RecurringTransactionJob {
@@ -32,100 +49,195 @@ public class RecurringTransactionJob {
     private static final Logger log = LoggerFactory.getLogger(RecurringTransactionJob.class);
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int CHUNK_SIZE = 500;
+    private static final long RETRY_BACKOFF_MS = 500;
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
 
     private final TransactionRepository transactionRepository;
+    private final RecurringTransactionService recurringTransactionService;
     private final TransactionService transactionService;
     private final MailService mailService;
+    private final MeterRegistry meterRegistry;
+    private final int partitions;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final Counter generatedCounter;
+    private final Counter retryCounter;
+    private final AtomicInteger completedPartitions = new AtomicInteger();
 
     public RecurringTransactionJob(
             TransactionRepository transactionRepository,
+            RecurringTransactionService recurringTransactionService,
             TransactionService transactionService,
-            MailService mailService
+            MailService mailService,
+            MeterRegistry meterRegistry,
+            @Value("${app.recurring.partitions:16}") int partitions,
+            @Value("${app.recurring.parallelism:2}") int parallelism,
+            @Value("${app.recurring.max-attempts:3}") int maxAttempts
     ) {
         this.transactionRepository = transactionRepository;
+        this.recurringTransactionService = recurringTransactionService;
         this.transactionService = transactionService;
         this.mailService = mailService;
+        this.meterRegistry = meterRegistry;
+        this.partitions = partitions;
+        this.parallelism = parallelism;
+        this.maxAttempts = maxAttempts;
+        this.generatedCounter = Counter.builder("recurring.children.generated").register(meterRegistry);
+        this.retryCounter = Counter.builder("recurring.partition.retries").register(meterRegistry);
+        meterRegistry.gauge("recurring.partitions.completed", completedPartitions);
     }
 
+    /** @return quantidade de transações filhas geradas */
     @Scheduled(cron = "0 5 0 * * ?")
-    @Transactional(rollbackFor = Exception.class)
-    public void generateRecurringTransactions() {
-        log.info("Iniciando job de geração de transações recorrentes");
+    @ExclusiveJob(name = "recurring-transactions", lockAtMostFor = "PT2H", lockAtLeastFor = "PT1M")
+    public int generateRecurringTransactions() {
+        log.info("Iniciando job de geração de transações recorrentes ({} partições, {} em paralelo)", partitions, parallelism);
 
         var today = LocalDate.now();
-        int currentYear = today.getYear();
-        int currentMonth = today.getMonthValue();
+        long start = System.nanoTime();
+        completedPartitions.set(0);
         int generated = 0;
-        int pageNum = 0;
-        Page<Transaction> page;
-
-        do {
-            page = transactionRepository.findParentRecurringTransactions(
-                    PageRequest.of(pageNum++, 100, Sort.by("id")));
-            var parents = page.getContent();
-            if (parents.isEmpty() && pageNum == 1) {
-                log.debug("Nenhuma transação pai recorrente encontrada");
-                break;
+        int failed = 0;
+        var executor = Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name("grivy-recurring-", 0).factory());
+        try {
+            List<Future<Integer>> results = new ArrayList<>(partitions);
+            for (int partition = 0; partition < partitions; partition++) {
+                int current = partition;
+                results.add(executor.submit(() -> runPartition(today, current)));
+            }
+            for (var result : results) {
+                try {
+                    generated += result.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Job de recorrência interrompido");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Job concluído. {} transação(ões) recorrente(s) gerada(s) em {} ms ({}/s); {} partição(ões) com falha",
+                generated, elapsedMs, elapsedMs > 0 ? generated * 1000L / elapsedMs : generated, failed);
+        return generated;
+    }
 
-            for (Transaction parent : parents) {
+    /** Uma partição, com nova tentativa do início em caso de falha; devolve as filhas geradas em todas as tentativas. */
+    private int runPartition(LocalDate today, int partition) throws InterruptedException {
+        var generated = new AtomicInteger();
+        for (int attempt = 1; ; attempt++) {
+            var sample = Timer.start(meterRegistry);
             try {
-                var frequency = parent.getFrequency() != null ? parent.getFrequency() : RecurrenceFrequency.MONTHLY;
-                LocalDate targetDate;
-                LocalDate rangeStart;
-                LocalDate rangeEnd;
-
-                if (frequency == RecurrenceFrequency.YEARLY) {
-                    var parentDate = parent.getDate();
-                    int day = Math.min(parentDate.getDayOfMonth(),
-                            YearMonth.of(currentYear, parentDate.getMonthValue()).lengthOfMonth());
-                    targetDate = LocalDate.of(currentYear, parentDate.getMonthValue(), day);
-                    rangeStart = LocalDate.of(currentYear, 1, 1);
-                    rangeEnd = LocalDate.of(currentYear, 12, 31);
-                } else {
-                    int day = Math.min(parent.getDate().getDayOfMonth(),
-                            YearMonth.of(currentYear, currentMonth).lengthOfMonth());
-                    targetDate = LocalDate.of(currentYear, currentMonth, day);
-                    rangeStart = LocalDate.of(currentYear, currentMonth, 1);
-                    rangeEnd = rangeStart.withDayOfMonth(rangeStart.lengthOfMonth());
+                generatePartition(today, partition, generated);
+                long elapsedNs = sample.stop(partitionTimer("success"));
+                log.info("Partição {}/{} concluída: {} gerada(s) em {} ms ({}/{} partições)", partition + 1, partitions,
+                        generated.get(), TimeUnit.NANOSECONDS.toMillis(elapsedNs), completedPartitions.incrementAndGet(), partitions);
+                return generated.get();
+            } catch (RuntimeException e) {
+                sample.stop(partitionTimer("failure"));
+                if (attempt >= maxAttempts) {
+                    log.error("Partição {}/{} falhou após {} tentativa(s): {}", partition + 1, partitions, attempt, e.getMessage());
+                    throw e;
                 }
+                retryCounter.increment();
+                log.warn("Partição {}/{} falhou (tentativa {}/{}): {}; repetindo", partition + 1, partitions, attempt, maxAttempts, e.getMessage());
+                Thread.sleep(RETRY_BACKOFF_MS * attempt);
+            }
+        }
+    }
 
-                var exists = transactionRepository.existsChildForParentInDateRange(
-                        parent.getId(), rangeStart, rangeEnd
-                );
+    /**
+     * Passadas sobre os pais vencidos da partição até nenhuma avançar: pais com mais de um período vencido (ex.: job
+     * parado por dias) recuperam um período por passada, tudo na mesma execução. Filhas recusadas no período corrente
+     * ficam para a execução de amanhã; as de período já encerrado são puladas, como antes.
+     */
+    private void generatePartition(LocalDate today, int partition, AtomicInteger generated) {
+        Set<UUID> retryTomorrow = new HashSet<>();
+        boolean advanced;
+        do {
+            advanced = false;
+            UUID after = FIRST_ID;
+            List<DueRecurrence> due;
+            do {
+                due = transactionRepository.findDueRecurringParents(today, partitions, partition, after, CHUNK_SIZE);
+                if (due.isEmpty()) {
+                    break;
+                }
+                after = due.getLast().getParentId();
+                var pending = due.stream().filter(d -> !retryTomorrow.contains(d.getParentId())).toList();
+                if (pending.isEmpty()) {
+                    continue;
+                }
 
-                if (!exists) {
-                    try {
-                        var child = transactionService.createRecurringChild(parent, targetDate);
-                        if (child != null) {
-                            generated++;
-                            log.debug("Transação recorrente gerada: {} (pai: {})", targetDate, parent.getId());
-                        } else {
-                            log.warn("Skipping recurring child for credit card transaction id={}", parent.getId());
-                        }
-                    } catch (InsufficientBalanceException e) {
-                        var user = parent.getUser();
-                        var toEmail = user != null ? user.getEmail() : null;
-                        if (toEmail != null) {
-                            var fmt = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"));
-                            var amountFormatted = fmt.format(parent.getAmount() != null ? parent.getAmount() : BigDecimal.ZERO);
-                            var dateFormatted = targetDate.format(DATE_FORMATTER);
-                            mailService.sendRecurringExpenseNotAddedDueToInsufficientBalance(
-                                    toEmail,
-                                    parent.getName(),
-                                    amountFormatted,
-                                    dateFormatted
-                            );
-                        }
-                        log.warn("Transação recorrente não registrada (saldo insuficiente) para pai {}: {} | email enviado para {}", parent.getId(), parent.getName(), toEmail);
+                List<DueRecurrence> rowByRow;
+                try {
+                    var outcome = recurringTransactionService.generate(today, pending);
+                    record(generated, outcome.generated());
+                    advanced |= outcome.advanced() > 0;
+                    rowByRow = outcome.rejected();
+                } catch (Exception e) {
+                    log.warn("Lote de recorrências falhou ({}); gerando linha a linha {} pai(s)", e.getMessage(), pending.size());
+                    rowByRow = pending;
+                }
+                for (var recurrence : rowByRow) {
+                    boolean hasChild = recurrence.getHasChild() || childExists(recurrence);
+                    if (!hasChild && createChild(recurrence)) {
+                        record(generated, 1);
+                        advanced = true;
+                    } else if (hasChild || !recurrence.getPeriodEnd().isAfter(today)) {
+                        recurringTransactionService.skip(List.of(recurrence.getParentId()));
+                        advanced = true;
+                    } else {
+                        retryTomorrow.add(recurrence.getParentId());
                     }
                 }
-            } catch (Exception e) {
-                log.warn("Erro ao gerar transação recorrente para pai {}: {}", parent.getId(), e.getMessage());
-            }
-            }
-        } while (page.hasNext());
+            } while (due.size() == CHUNK_SIZE);
+        } while (advanced);
+    }
+
+    private void record(AtomicInteger generated, int count) {
+        generated.addAndGet(count);
+        generatedCounter.increment(count);
+    }
 
-        log.info("Job concluído. {} transação(ões) recorrente(s) gerada(s)", generated);
+    private Timer partitionTimer(String outcome) {
+        return Timer.builder("recurring.partition.duration").tag("outcome", outcome).register(meterRegistry);
+    }
+
+    /**
+     * {@code hasChild} vem da leitura do lote; se o lote falhou por filhas gravadas por outra execução (divergência entre
+     * aceitas e inseridas), ele está desatualizado e a filha duplicada debitaria a conta duas vezes.
+     */
+    private boolean childExists(DueRecurrence recurrence) {
+        return transactionRepository.existsChildForParentInDateRange(
+                recurrence.getParentId(), recurrence.getPeriodStart(), recurrence.getPeriodEnd().minusDays(1));
+    }
+
+    private boolean createChild(DueRecurrence recurrence) {
+        try {
+            transactionService.createRecurringChild(recurrence.getParentId(), recurrence.getTargetDate());
+            log.debug("Transação recorrente gerada: {} (pai: {})", recurrence.getTargetDate(), recurrence.getParentId());
+            return true;
+        } catch (InsufficientBalanceException e) {
+            var toEmail = recurrence.getUserEmail();
+            if (toEmail != null) {
+                var fmt = NumberFormat.getCurrencyInstance(Locale.of("pt", "BR"));
+                mailService.sendRecurringExpenseNotAddedDueToInsufficientBalance(
+                        toEmail,
+                        recurrence.getName(),
+                        fmt.format(recurrence.getAmount()),
+                        recurrence.getTargetDate().format(DATE_FORMATTER)
+                );
+            }
+            log.warn("Transação recorrente não registrada (saldo insuficiente) para pai {}: {} | email enviado para {}",
+                    recurrence.getParentId(), recurrence.getName(), toEmail);
+        } catch (Exception e) {
+            log.warn("Erro ao gerar transação recorrente para pai {}: {}", recurrence.getParentId(), e.getMessage());
+        }
+        return false;
     }
 }
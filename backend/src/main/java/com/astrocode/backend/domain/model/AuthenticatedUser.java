@@ -0,0 +1,40 @@
+package com.astrocode.backend.domain.model;
+
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.enums.PlanType;
+import com.astrocode.backend.domain.model.enums.SubscriptionStatus;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Principal do SecurityContext: só o que a autorização usa (id, e-mail e plano), imutável e sem vínculo com JPA.
+ * Quem precisa da entidade carrega {@link User} pelo id.
+ */
+public record AuthenticatedUser(UUID id, String email, PlanType plan, OffsetDateTime planExpiresAt) {
+
+    public AuthenticatedUser {
+        if (plan == null) {
+            plan = PlanType.FREE;
+        }
+    }
+
+    /** Assinatura ativa ou cancelada conta até expirar; demais status valem como Free. */
+    public static AuthenticatedUser from(User user) {
+        var subscription = user.getSubscription();
+        if (subscription == null || (subscription.getStatus() != SubscriptionStatus.ACTIVE
+                && subscription.getStatus() != SubscriptionStatus.CANCELLED)) {
+            return new AuthenticatedUser(user.getId(), user.getEmail(), PlanType.FREE, null);
+        }
+        return new AuthenticatedUser(user.getId(), user.getEmail(), subscription.getPlanType(), subscription.getExpiresAt());
+    }
+
+    /** Mesma regra de {@code Subscription.hasActivePaidSubscription()}. */
+    public boolean isPro() {
+        return plan != PlanType.FREE && planExpiresAt != null && !OffsetDateTime.now().isAfter(planExpiresAt);
+    }
+
+    public boolean isElite() {
+        return isPro() && plan == PlanType.ANNUAL;
+    }
+}
@@ -0,0 +1,27 @@
+package com.astrocode.backend.domain.model;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resultado de uma reconciliação de saldo. {@code drifts} traz no máximo as primeiras divergências
+ * (ordem de id da conta); {@code driftCount} é o total.
+ */
+public record BalanceReconciliationReport(
+        OffsetDateTime startedAt,
+        long durationMs,
+        int chunks,
+        int driftCount,
+        boolean fixed,
+        List<Drift> drifts
+) {
+
+    public record Drift(UUID accountId, UUID userId, BigDecimal expected, BigDecimal actual) {
+
+        public BigDecimal difference() {
+            return expected.subtract(actual);
+        }
+    }
+}
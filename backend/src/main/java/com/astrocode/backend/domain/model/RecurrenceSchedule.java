@@ -0,0 +1,33 @@
+package com.astrocode.backend.domain.model;
+
+import com.astrocode.backend.domain.model.enums.RecurrenceFrequency;
+
+import java.time.LocalDate;
+
+/**
+ * Períodos de recorrência: mês civil (MONTHLY, padrão quando a frequência é nula) ou ano civil (YEARLY).
+ * {@code next_occurrence_date} guarda sempre o início de um período.
+ */
+public final class RecurrenceSchedule {
+
+    private RecurrenceSchedule() {
+    }
+
+    public static LocalDate periodStart(LocalDate date, RecurrenceFrequency frequency) {
+        return frequency == RecurrenceFrequency.YEARLY ? date.withDayOfYear(1) : date.withDayOfMonth(1);
+    }
+
+    public static LocalDate advance(LocalDate periodStart, RecurrenceFrequency frequency) {
+        return frequency == RecurrenceFrequency.YEARLY ? periodStart.plusYears(1) : periodStart.plusMonths(1);
+    }
+
+    /**
+     * Primeiro período a gerar para um pai com data {@code date}: o seguinte ao do próprio pai, mas nunca anterior
+     * ao período corrente (pai com data antiga não gera filhas retroativas).
+     */
+    public static LocalDate firstDue(LocalDate date, RecurrenceFrequency frequency, LocalDate today) {
+        var afterParent = advance(periodStart(date, frequency), frequency);
+        var current = periodStart(today, frequency);
+        return afterParent.isAfter(current) ? afterParent : current;
+    }
+}
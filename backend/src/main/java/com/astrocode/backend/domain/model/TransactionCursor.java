@@ -0,0 +1,53 @@
+package com.astrocode.backend.domain.model;
+
+import com.astrocode.backend.api.dto.transaction.TransactionResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição de continuação da paginação por cursor (keyset) de transações.
+ * Segue a ordenação da listagem: {@code date DESC, createdAt DESC, id DESC}.
+ * Serializado como Base64 URL-safe opaco para o cliente.
+ */
+public record TransactionCursor(LocalDate date, OffsetDateTime createdAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TransactionCursor of(TransactionResponse transaction) {
+        return new TransactionCursor(transaction.date(), transaction.createdAt(), transaction.id());
+    }
+
+    public String encode() {
+        String raw = date + SEPARATOR + createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return cursor decodificado ou {@code null} se o token estiver vazio (primeira página)
+     * @throws IllegalArgumentException se o token for inválido
+     */
+    public static TransactionCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new TransactionCursor(
+                    LocalDate.parse(parts[0]),
+                    OffsetDateTime.parse(parts[1]),
+                    UUID.fromString(parts[2])
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.astrocode.backend.domain.model.enums;
+
+/**
+ * Formato de exportação de transações.
+ * CSV: planilha com cabeçalho, separador vírgula
+ * NDJSON: um objeto JSON por linha
+ */
+public enum ExportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,11 @@
+package com.astrocode.backend.domain.model.enums;
+
+/**
+ * Formato de arquivo aceito na importação de transações.
+ * CSV: planilha com cabeçalho (vírgula ou ponto e vírgula)
+ * OFX: extrato bancário OFX 1.x/2.x
+ */
+public enum ImportFormat {
+    CSV,
+    OFX
+}
@@ -0,0 +1,15 @@
+package com.astrocode.backend.domain.model.enums;
+
+/**
+ * Situação de uma importação de transações.
+ * PENDING: aguardando execução
+ * RUNNING: em processamento
+ * COMPLETED: concluída (todas as linhas gravadas)
+ * FAILED: falhou; nenhuma linha foi gravada
+ */
+public enum ImportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,86 @@
+package com.astrocode.backend.domain.repositories;
+
+import com.astrocode.backend.domain.entities.BalanceEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BalanceEntryRepository extends JpaRepository<BalanceEntry, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO balance_entries (bank_account_id, amount) VALUES (:accountId, :amount)", nativeQuery = true)
+    int append(@Param("accountId") UUID accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Insere o lançamento só se o saldo resultante (snapshot + lançamentos visíveis + {@code amount}) não ficar
+     * negativo. Retorna 0 quando barrado. Para débitos concorrentes, chamar após {@link #lockForDebit}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO balance_entries (bank_account_id, amount) " +
+            "SELECT b.id, :amount FROM bank_accounts b WHERE b.id = :accountId " +
+            "AND b.balance_snapshot + COALESCE((SELECT SUM(e.amount) FROM balance_entries e WHERE e.bank_account_id = b.id), 0) + :amount >= 0",
+            nativeQuery = true)
+    int appendIfCovered(@Param("accountId") UUID accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Advisory lock da transação por conta: serializa só os débitos da mesma conta entre si
+     * (créditos, leituras e a compactação não esperam). Liberado no commit/rollback.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtextextended(CAST(:accountId AS text), 0))", nativeQuery = true)
+    int lockForDebit(@Param("accountId") UUID accountId);
+
+    /**
+     * Move até {@code limit} lançamentos (os mais antigos) para {@code bank_accounts.balance_snapshot} num único comando:
+     * quem lê o saldo vê os lançamentos ou o snapshot já somado, nunca os dois nem nenhum. Retorna quantos foram movidos.
+     */
+    @Query(value = "WITH folded AS (" +
+            "DELETE FROM balance_entries WHERE id IN (SELECT id FROM balance_entries ORDER BY id LIMIT :limit) " +
+            "RETURNING bank_account_id, amount), " +
+            "applied AS (UPDATE bank_accounts b SET balance_snapshot = b.balance_snapshot + t.total " +
+            "FROM (SELECT bank_account_id, SUM(amount) AS total FROM folded GROUP BY bank_account_id) t " +
+            "WHERE b.id = t.bank_account_id) " +
+            "SELECT CAST(COUNT(*) AS int) FROM folded",
+            nativeQuery = true)
+    int compact(@Param("limit") int limit);
+
+    /**
+     * Confere as contas com id em {@code (after, upTo]}: saldo esperado ({@code initial_balance} + transações com sinal)
+     * contra o gravado (snapshot + lançamentos), num único comando e sem carregar entidades. Contas do Open Finance ficam
+     * de fora (o saldo vem do provedor). Com {@code fix}, lança a diferença como ajuste no mesmo comando; o ajuste é um
+     * delta, então escritas concorrentes na conta continuam valendo. Retorna só as contas divergentes.
+     */
+    @Query(value = "WITH drift AS (" +
+            "SELECT b.id AS account_id, b.user_id, b.initial_balance + COALESCE(t.total, 0) AS expected, " +
+            "b.balance_snapshot + COALESCE(e.total, 0) AS actual " +
+            "FROM bank_accounts b " +
+            "LEFT JOIN (SELECT bank_account_id, SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END) AS total " +
+            "FROM transactions WHERE bank_account_id > :after AND bank_account_id <= :upTo GROUP BY bank_account_id) t " +
+            "ON t.bank_account_id = b.id " +
+            "LEFT JOIN (SELECT bank_account_id, SUM(amount) AS total " +
+            "FROM balance_entries WHERE bank_account_id > :after AND bank_account_id <= :upTo GROUP BY bank_account_id) e " +
+            "ON e.bank_account_id = b.id " +
+            "WHERE b.id > :after AND b.id <= :upTo AND b.pluggy_account_id IS NULL), " +
+            "diverged AS (SELECT * FROM drift WHERE expected <> actual), " +
+            "fixed AS (INSERT INTO balance_entries (bank_account_id, amount) " +
+            "SELECT account_id, expected - actual FROM diverged WHERE :fix = true) " +
+            "SELECT account_id AS \"accountId\", user_id AS \"userId\", expected, actual FROM diverged ORDER BY account_id",
+            nativeQuery = true)
+    List<AccountDrift> reconcileRange(@Param("after") UUID after, @Param("upTo") UUID upTo, @Param("fix") boolean fix);
+
+    interface AccountDrift {
+        UUID getAccountId();
+
+        UUID getUserId();
+
+        BigDecimal getExpected();
+
+        BigDecimal getActual();
+    }
+}
@@ -1,9 +1,7 @@
 package com.astrocode.backend.domain.repositories;
 
 import com.astrocode.backend.domain.entities.BankAccount;
-import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,10 +14,6 @@ import java.util.UUID;
 @Repository
 public interface BankAccountRepository extends JpaRepository<BankAccount, UUID> {
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT b FROM BankAccount b WHERE b.id = :id")
-    Optional<BankAccount> findByIdForUpdate(@Param("id") UUID id);
-    
     @Query("SELECT ba FROM BankAccount ba WHERE ba.user.id = :userId")
     List<BankAccount> findByUserId(@Param("userId") UUID userId);
 
@@ -36,4 +30,11 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, UUID>
 
     @Query("SELECT COALESCE(SUM(b.currentBalance), 0) FROM BankAccount b WHERE b.user.id = :userId")
     BigDecimal sumTotalBalanceByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Id da conta {@code offset} posições após {@code after} (ordem de id), pelo índice da PK: delimita as faixas
+     * da reconciliação de saldo sem carregar as contas. Vazio quando restam menos contas que isso.
+     */
+    @Query(value = "SELECT id FROM bank_accounts WHERE id > :after ORDER BY id OFFSET :offset LIMIT 1", nativeQuery = true)
+    Optional<UUID> findIdAfter(@Param("after") UUID after, @Param("offset") int offset);
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +18,10 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
     @Query("SELECT c FROM Category c WHERE c.user.id = :userId")
     List<Category> findByUserId(@Param("userId") UUID userId);
 
+    /** (id, nome) das categorias {@code ids}. */
+    @Query("SELECT c.id, c.name FROM Category c WHERE c.id IN :ids")
+    List<Object[]> findNamesByIds(@Param("ids") Collection<UUID> ids);
+
     @Query("SELECT c FROM Category c WHERE c.user.id = :userId AND c.type = :type")
     List<Category> findByUserIdAndType(@Param("userId") UUID userId, @Param("type") TransactionType type);
 
@@ -0,0 +1,31 @@
+package com.astrocode.backend.domain.repositories;
+
+import com.astrocode.backend.domain.entities.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * Assume o lease se a linha não existe ou se o anterior já venceu; horários pelo relógio do banco.
+     * @return 1 se assumiu, 0 se outra instância ainda detém o lease
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_locks (name, locked_until, locked_at, locked_by) " +
+            "VALUES (:name, now() + :atMostMs * interval '1 millisecond', now(), :owner) " +
+            "ON CONFLICT (name) DO UPDATE SET locked_until = EXCLUDED.locked_until, locked_at = EXCLUDED.locked_at, " +
+            "locked_by = EXCLUDED.locked_by WHERE job_locks.locked_until <= EXCLUDED.locked_at",
+            nativeQuery = true)
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner, @Param("atMostMs") long atMostMs);
+
+    /** Encerra o lease do dono, mantendo-o até {@code locked_at + atLeastMs} quando a rodada foi mais curta. */
+    @Modifying
+    @Query(value = "UPDATE job_locks SET locked_until = GREATEST(locked_at + :atLeastMs * interval '1 millisecond', now()) " +
+            "WHERE name = :name AND locked_by = :owner",
+            nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("atLeastMs") long atLeastMs);
+}
@@ -0,0 +1,66 @@
+package com.astrocode.backend.domain.repositories;
+
+import com.astrocode.backend.domain.entities.OutboxEmail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<OutboxEmail, UUID> {
+
+    /**
+     * Reivindica até {@code limit} mensagens vencidas, numa transação curta: conta a tentativa e empurra
+     * {@code next_attempt_at} por {@code leaseMs}. Linhas já reivindicadas por outra instância são puladas.
+     */
+    @Transactional
+    @Query(value = "WITH claimed AS (UPDATE mail_outbox m SET attempts = m.attempts + 1, " +
+            "next_attempt_at = now() + :leaseMs * interval '1 millisecond' " +
+            "WHERE m.id IN (SELECT id FROM mail_outbox WHERE status = 'PENDING' AND next_attempt_at <= now() " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING m.id, m.to_email, m.subject, m.html_body, m.text_body, m.attempts) " +
+            "SELECT id, to_email AS \"toEmail\", subject, html_body AS \"htmlBody\", text_body AS \"textBody\", attempts " +
+            "FROM claimed",
+            nativeQuery = true)
+    List<ClaimedEmail> claim(@Param("limit") int limit, @Param("leaseMs") long leaseMs);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE mail_outbox SET status = 'SENT', sent_at = now(), last_error = NULL WHERE id IN (:ids)", nativeQuery = true)
+    int markSent(@Param("ids") Collection<UUID> ids);
+
+    /** Reagenda após {@code backoffMs}, ou desiste (FAILED) quando a tentativa já era a última. */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE mail_outbox SET last_error = :error, " +
+            "status = CASE WHEN attempts >= :maxAttempts THEN 'FAILED' ELSE 'PENDING' END, " +
+            "next_attempt_at = now() + :backoffMs * interval '1 millisecond' WHERE id = :id",
+            nativeQuery = true)
+    int markFailed(@Param("id") UUID id, @Param("error") String error, @Param("maxAttempts") int maxAttempts,
+                   @Param("backoffMs") long backoffMs);
+
+    @Query(value = "SELECT COUNT(*) FROM mail_outbox WHERE status = 'PENDING'", nativeQuery = true)
+    long countPending();
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM mail_outbox WHERE id IN (SELECT id FROM mail_outbox WHERE status = 'SENT' AND sent_at < :before LIMIT :limit)",
+            nativeQuery = true)
+    int purgeSent(@Param("before") OffsetDateTime before, @Param("limit") int limit);
+
+    interface ClaimedEmail {
+        UUID getId();
+        String getToEmail();
+        String getSubject();
+        String getHtmlBody();
+        String getTextBody();
+        int getAttempts();
+    }
+}
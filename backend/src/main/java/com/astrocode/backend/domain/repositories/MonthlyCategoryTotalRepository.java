@@ -0,0 +1,135 @@
+package com.astrocode.backend.domain.repositories;
+
+import com.astrocode.backend.domain.entities.MonthlyCategoryTotal;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MonthlyCategoryTotalRepository extends JpaRepository<MonthlyCategoryTotal, UUID> {
+
+    /** Agregado recalculado a partir de transactions (mesmas colunas da tabela). */
+    String ACTUAL_TOTALS = "SELECT user_id, CAST(EXTRACT(YEAR FROM date) AS int) AS year, CAST(EXTRACT(MONTH FROM date) AS int) AS month, " +
+            "type, category_id, goal_id IS NOT NULL AS goal_flag, SUM(amount) AS total, COUNT(*) AS count " +
+            "FROM transactions ";
+
+    String ACTUAL_GROUP_BY = "GROUP BY user_id, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date), type, category_id, goal_id IS NOT NULL";
+
+    /** Soma {@code total}/{@code count} à linha da chave, criando-a se não existir. Deltas negativos revertem. */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_category_totals (user_id, year, month, type, category_id, goal_flag, total, count) " +
+            "VALUES (:userId, :year, :month, :type, :categoryId, :goalFlag, :total, :count) " +
+            "ON CONFLICT (user_id, year, month, type, category_id, goal_flag) DO UPDATE " +
+            "SET total = monthly_category_totals.total + EXCLUDED.total, count = monthly_category_totals.count + EXCLUDED.count",
+            nativeQuery = true)
+    void addDelta(
+            @Param("userId") UUID userId,
+            @Param("year") int year,
+            @Param("month") int month,
+            @Param("type") String type,
+            @Param("categoryId") UUID categoryId,
+            @Param("goalFlag") boolean goalFlag,
+            @Param("total") BigDecimal total,
+            @Param("count") long count
+    );
+
+    /** Retira do agregado as transações da conta; chamar antes de excluí-la (o ON DELETE CASCADE não passa pelo serviço). */
+    @Modifying
+    @Query(value = "UPDATE monthly_category_totals m SET total = m.total - a.total, count = m.count - a.count " +
+            "FROM (" + ACTUAL_TOTALS + "WHERE bank_account_id = :accountId " + ACTUAL_GROUP_BY + ") a " +
+            "WHERE m.user_id = a.user_id AND m.year = a.year AND m.month = a.month AND m.type = a.type " +
+            "AND m.category_id = a.category_id AND m.goal_flag = a.goal_flag",
+            nativeQuery = true)
+    int subtractByBankAccountId(@Param("accountId") UUID accountId);
+
+    @Query("SELECT COALESCE(SUM(m.total), 0) FROM MonthlyCategoryTotal m WHERE m.userId = :userId AND m.year = :year AND m.month = :month AND m.type = :type")
+    BigDecimal sumTotalByUserIdAndTypeAndMonth(
+            @Param("userId") UUID userId,
+            @Param("type") TransactionType type,
+            @Param("year") int year,
+            @Param("month") int month
+    );
+
+    @Query("SELECT COALESCE(SUM(m.total), 0) FROM MonthlyCategoryTotal m WHERE m.userId = :userId AND m.year = :year AND m.month = :month AND m.type = 'EXPENSE' AND m.goalFlag = false")
+    BigDecimal sumTotalExpensesExcludingGoalsByUserIdAndMonth(
+            @Param("userId") UUID userId,
+            @Param("year") int year,
+            @Param("month") int month
+    );
+
+    /** Saldo total (snapshots + lançamentos pendentes), receitas do mês e despesas do mês (sem metas) num único round trip. */
+    @Query(value = "SELECT (SELECT COALESCE(SUM(b.balance_snapshot), 0) FROM bank_accounts b WHERE b.user_id = :userId) " +
+            "+ (SELECT COALESCE(SUM(e.amount), 0) FROM balance_entries e JOIN bank_accounts b ON b.id = e.bank_account_id WHERE b.user_id = :userId) AS \"totalBalance\", " +
+            "COALESCE(SUM(m.total) FILTER (WHERE m.type = 'INCOME'), 0) AS \"totalIncome\", " +
+            "COALESCE(SUM(m.total) FILTER (WHERE m.type = 'EXPENSE' AND NOT m.goal_flag), 0) AS \"totalExpense\" " +
+            "FROM monthly_category_totals m WHERE m.user_id = :userId AND m.year = :year AND m.month = :month",
+            nativeQuery = true)
+    DashboardTotals findDashboardTotals(
+            @Param("userId") UUID userId,
+            @Param("year") int year,
+            @Param("month") int month
+    );
+
+    interface DashboardTotals {
+        BigDecimal getTotalBalance();
+
+        BigDecimal getTotalIncome();
+
+        BigDecimal getTotalExpense();
+    }
+
+    @Query("SELECT m.categoryId, c.name, SUM(m.total) FROM MonthlyCategoryTotal m JOIN Category c ON c.id = m.categoryId " +
+            "WHERE m.userId = :userId AND m.year = :year AND m.month = :month AND m.type = 'EXPENSE' AND m.goalFlag = false AND m.count > 0 " +
+            "GROUP BY m.categoryId, c.name ORDER BY SUM(m.total) DESC")
+    List<Object[]> sumExpensesByCategoryExcludingGoalsForMonth(
+            @Param("userId") UUID userId,
+            @Param("year") int year,
+            @Param("month") int month
+    );
+
+    /**
+     * Série mensal do intervalo {@code [fromIndex, toIndex]} (índice = ano * 12 + mês) numa única consulta:
+     * (year, month, type, category_id, goal_flag, total). Sem o nome da categoria, que o chamador busca na leitura.
+     */
+    @Query("SELECT m.year, m.month, m.type, m.categoryId, m.goalFlag, m.total FROM MonthlyCategoryTotal m " +
+            "WHERE m.userId = :userId AND m.year * 12 + m.month BETWEEN :fromIndex AND :toIndex AND m.count > 0")
+    List<Object[]> findTrendRows(
+            @Param("userId") UUID userId,
+            @Param("fromIndex") int fromIndex,
+            @Param("toIndex") int toIndex
+    );
+
+    /**
+     * Chaves em que o agregado diverge das transações: (user_id, year, month, type, category_id, goal_flag,
+     * total esperado, total gravado, count esperado, count gravado). Linhas zeradas equivalem a ausentes.
+     */
+    @Query(value = "SELECT COALESCE(a.user_id, m.user_id), COALESCE(a.year, m.year), COALESCE(a.month, m.month), " +
+            "COALESCE(a.type, m.type), COALESCE(a.category_id, m.category_id), COALESCE(a.goal_flag, m.goal_flag), " +
+            "COALESCE(a.total, 0), COALESCE(m.total, 0), COALESCE(a.count, 0), COALESCE(m.count, 0) " +
+            "FROM (" + ACTUAL_TOTALS + ACTUAL_GROUP_BY + ") a " +
+            "FULL OUTER JOIN (SELECT * FROM monthly_category_totals WHERE total <> 0 OR count <> 0) m " +
+            "ON m.user_id = a.user_id AND m.year = a.year AND m.month = a.month AND m.type = a.type " +
+            "AND m.category_id = a.category_id AND m.goal_flag = a.goal_flag " +
+            "WHERE COALESCE(a.total, 0) <> COALESCE(m.total, 0) OR COALESCE(a.count, 0) <> COALESCE(m.count, 0)",
+            nativeQuery = true)
+    List<Object[]> findDrift();
+
+    @Modifying
+    @Query(value = "DELETE FROM monthly_category_totals WHERE user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO monthly_category_totals (user_id, year, month, type, category_id, goal_flag, total, count) " +
+            ACTUAL_TOTALS + "WHERE user_id = :userId " + ACTUAL_GROUP_BY + " " +
+            "ON CONFLICT (user_id, year, month, type, category_id, goal_flag) DO UPDATE " +
+            "SET total = EXCLUDED.total, count = EXCLUDED.count",
+            nativeQuery = true)
+    int rebuildForUserId(@Param("userId") UUID userId);
+}
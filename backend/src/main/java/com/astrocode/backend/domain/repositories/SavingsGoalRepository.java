@@ -1,11 +1,11 @@
 package com.astrocode.backend.domain.repositories;
 
 import com.astrocode.backend.domain.entities.SavingsGoal;
-import com.astrocode.backend.domain.model.enums.GoalStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -21,8 +21,15 @@ public interface SavingsGoalRepository extends JpaRepository<SavingsGoal, UUID>
     @Query("SELECT COUNT(sg) FROM SavingsGoal sg WHERE sg.user.id = :userId AND sg.deletedAt IS NULL AND sg.status = 'ACTIVE'")
     long countActiveByUserId(@Param("userId") UUID userId);
 
-    @Query("SELECT sg FROM SavingsGoal sg WHERE sg.status = :status AND sg.endDate < :date AND sg.deletedAt IS NULL")
-    List<SavingsGoal> findByStatusAndEndDateBeforeAndDeletedAtIsNull(
-            @Param("status") GoalStatus status,
-            @Param("date") LocalDate date);
+    /**
+     * Expira até {@code limit} metas ativas vencidas antes de {@code today}, numa transação curta própria;
+     * linhas travadas por outra escrita ficam para o próximo lote. Retorna os ids expirados.
+     */
+    @Transactional
+    @Query(value = "WITH expired AS (UPDATE savings_goals g SET status = 'EXPIRED', updated_at = now() " +
+            "WHERE g.id IN (SELECT id FROM savings_goals WHERE status = 'ACTIVE' AND end_date < :today AND deleted_at IS NULL " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED) RETURNING g.id) " +
+            "SELECT id FROM expired",
+            nativeQuery = true)
+    List<UUID> expireOverdue(@Param("today") LocalDate today, @Param("limit") int limit);
 }
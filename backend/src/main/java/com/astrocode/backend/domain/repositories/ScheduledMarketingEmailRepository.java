@@ -13,8 +13,8 @@ import java.util.UUID;
 
 public interface ScheduledMarketingEmailRepository extends JpaRepository<ScheduledMarketingEmail, UUID> {
 
-    @Query("SELECT e FROM ScheduledMarketingEmail e WHERE e.sentAt IS NULL AND e.cancelled = false AND e.scheduledAt <= :now ORDER BY e.scheduledAt ASC")
-    List<ScheduledMarketingEmail> findDue(@Param("now") OffsetDateTime now);
+    @Query("SELECT e.id FROM ScheduledMarketingEmail e WHERE e.sentAt IS NULL AND e.cancelled = false AND e.scheduledAt <= :now ORDER BY e.scheduledAt ASC")
+    List<UUID> findDueIds(@Param("now") OffsetDateTime now);
 
     boolean existsByUser_IdAndCampaignAndCancelledIsFalse(UUID userId, String campaign);
 
@@ -1,11 +1,11 @@
 package com.astrocode.backend.domain.repositories;
 
 import com.astrocode.backend.domain.entities.Subscription;
-import com.astrocode.backend.domain.model.enums.SubscriptionStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -18,11 +18,18 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, UUID
     @Query("SELECT s FROM Subscription s JOIN FETCH s.user WHERE s.user.id = :userId")
     Optional<Subscription> findByUserId(@Param("userId") UUID userId);
 
-    @Query("SELECT s FROM Subscription s WHERE s.status = :status AND s.expiresAt < :now")
-    List<Subscription> findByStatusAndExpiresAtBefore(
-            @Param("status") SubscriptionStatus status,
-            @Param("now") OffsetDateTime now
-    );
+    /**
+     * Rebaixa para FREE/EXPIRED até {@code limit} assinaturas pagas (ativas ou canceladas) vencidas antes de {@code now},
+     * numa transação curta própria; linhas travadas (ex.: pagamento sendo confirmado) ficam para a próxima rodada.
+     * Retorna os ids rebaixados.
+     */
+    @Transactional
+    @Query(value = "WITH expired AS (UPDATE subscriptions s SET status = 'EXPIRED', plan_type = 'FREE', updated_at = now() " +
+            "WHERE s.id IN (SELECT id FROM subscriptions WHERE status IN ('ACTIVE', 'CANCELLED') AND plan_type <> 'FREE' " +
+            "AND expires_at < :now LIMIT :limit FOR UPDATE SKIP LOCKED) RETURNING s.id) " +
+            "SELECT id FROM expired",
+            nativeQuery = true)
+    List<UUID> expireBatch(@Param("now") OffsetDateTime now, @Param("limit") int limit);
 
     Optional<Subscription> findByMpExternalReference(String mpExternalReference);
 }
@@ -0,0 +1,54 @@
+package com.astrocode.backend.domain.repositories;
+
+import com.astrocode.backend.domain.entities.TransactionMonthlyUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface TransactionMonthlyUsageRepository extends JpaRepository<TransactionMonthlyUsage, UUID> {
+
+    /**
+     * Soma {@code delta} ao uso do mês, criando a linha se não existir. Incrementos só são gravados se o
+     * resultado ficar dentro de {@code limit}; decrementos sempre. Retorna 0 quando o limite barrou o incremento.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO transaction_monthly_usage (user_id, year, month, used) " +
+            "SELECT :userId, :year, :month, :delta WHERE :delta <= :limit " +
+            "ON CONFLICT (user_id, year, month) DO UPDATE SET used = transaction_monthly_usage.used + EXCLUDED.used " +
+            "WHERE EXCLUDED.used <= 0 OR transaction_monthly_usage.used + EXCLUDED.used <= :limit",
+            nativeQuery = true)
+    int addUsage(
+            @Param("userId") UUID userId,
+            @Param("year") int year,
+            @Param("month") int month,
+            @Param("delta") int delta,
+            @Param("limit") int limit
+    );
+
+    /** Retira do uso as transações da conta; chamar antes de excluí-la (o ON DELETE CASCADE não passa pelo serviço). */
+    @Modifying
+    @Query(value = "UPDATE transaction_monthly_usage u SET used = u.used - a.count " +
+            "FROM (SELECT user_id, CAST(EXTRACT(YEAR FROM date) AS int) AS year, CAST(EXTRACT(MONTH FROM date) AS int) AS month, COUNT(*) AS count " +
+            "FROM transactions WHERE bank_account_id = :accountId " +
+            "GROUP BY user_id, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date)) a " +
+            "WHERE u.user_id = a.user_id AND u.year = a.year AND u.month = a.month",
+            nativeQuery = true)
+    int subtractByBankAccountId(@Param("accountId") UUID accountId);
+
+    @Modifying
+    @Query(value = "DELETE FROM transaction_monthly_usage WHERE user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO transaction_monthly_usage (user_id, year, month, used) " +
+            "SELECT user_id, CAST(EXTRACT(YEAR FROM date) AS int), CAST(EXTRACT(MONTH FROM date) AS int), COUNT(*) " +
+            "FROM transactions WHERE user_id = :userId " +
+            "GROUP BY user_id, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date)",
+            nativeQuery = true)
+    int rebuildForUserId(@Param("userId") UUID userId);
+}
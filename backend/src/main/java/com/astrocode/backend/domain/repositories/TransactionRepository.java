@@ -1,150 +1,104 @@
 package com.astrocode.backend.domain.repositories;
 
+import com.astrocode.backend.api.dto.transaction.TransactionResponse;
 import com.astrocode.backend.domain.entities.Transaction;
 import com.astrocode.backend.domain.model.enums.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
 
-    @Query("SELECT t FROM Transaction t LEFT JOIN FETCH t.bankAccount LEFT JOIN FETCH t.creditCard LEFT JOIN FETCH t.creditCardBill JOIN FETCH t.category WHERE t.user.id = :userId ORDER BY t.date DESC, t.createdAt DESC")
-    List<Transaction> findByUserId(@Param("userId") UUID userId);
+    /**
+     * Projeção direta em {@link TransactionResponse} para as listagens somente leitura:
+     * uma única consulta plana, sem entidades gerenciadas nem proxies por linha.
+     * Apenas o cartão é unido (nome); conta, categoria e fatura usam a própria FK.
+     */
+    String RESPONSE_SELECT = "SELECT new com.astrocode.backend.api.dto.transaction.TransactionResponse(" +
+            "t.id, t.name, t.amount, t.date, CAST(t.type AS String), t.bankAccount.id, t.category.id, " +
+            "cc.id, cc.name, t.creditCardBill.id, COALESCE(t.isRecurring, false), CAST(t.frequency AS String), " +
+            "t.createdAt, t.updatedAt) " +
+            "FROM Transaction t LEFT JOIN t.creditCard cc ";
 
-    @Query(value = "SELECT DISTINCT t FROM Transaction t LEFT JOIN t.bankAccount LEFT JOIN t.creditCard LEFT JOIN t.creditCardBill JOIN t.category WHERE t.user.id = :userId ORDER BY t.date DESC, t.createdAt DESC",
-            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId")
-    Page<Transaction> findByUserId(@Param("userId") UUID userId, Pageable pageable);
+    /** Filtros opcionais da listagem; parâmetros nulos são ignorados. */
+    String LIST_FILTERS = "WHERE t.user.id = :userId " +
+            "AND (:bankAccountId IS NULL OR t.bankAccount.id = :bankAccountId) " +
+            "AND (:type IS NULL OR t.type = :type) " +
+            "AND (CAST(:startDate AS LocalDate) IS NULL OR t.date >= :startDate) " +
+            "AND (CAST(:endDate AS LocalDate) IS NULL OR t.date <= :endDate) ";
 
-    @Query("SELECT t FROM Transaction t LEFT JOIN FETCH t.bankAccount LEFT JOIN FETCH t.creditCard LEFT JOIN FETCH t.creditCardBill JOIN FETCH t.category WHERE t.user.id = :userId AND t.date BETWEEN :startDate AND :endDate ORDER BY t.date DESC, t.createdAt DESC")
-    List<Transaction> findByUserIdAndDateBetween(
-            @Param("userId") UUID userId,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
-    );
-
-    @Query("SELECT t FROM Transaction t LEFT JOIN FETCH t.bankAccount LEFT JOIN FETCH t.creditCard LEFT JOIN FETCH t.creditCardBill JOIN FETCH t.category WHERE t.user.id = :userId AND t.date >= :startDate AND t.date <= :endDate ORDER BY t.date DESC, t.createdAt DESC")
-    List<Transaction> findByUserIdAndDateYearAndDateMonth(
-            @Param("userId") UUID userId,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
-    );
-
-    @Query(value = "SELECT DISTINCT t FROM Transaction t LEFT JOIN t.bankAccount LEFT JOIN t.creditCard LEFT JOIN t.creditCardBill JOIN t.category WHERE t.user.id = :userId AND t.date >= :startDate AND t.date <= :endDate ORDER BY t.date DESC, t.createdAt DESC",
-            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId AND t.date >= :startDate AND t.date <= :endDate")
-    Page<Transaction> findByUserIdAndDateYearAndDateMonth(
-            @Param("userId") UUID userId,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable
-    );
-
-    @Query("SELECT t FROM Transaction t JOIN FETCH t.bankAccount JOIN FETCH t.category WHERE t.user.id = :userId AND t.bankAccount.id = :bankAccountId ORDER BY t.date DESC, t.createdAt DESC")
-    List<Transaction> findByUserIdAndBankAccountId(
-            @Param("userId") UUID userId,
-            @Param("bankAccountId") UUID bankAccountId
-    );
-
-    @Query(value = "SELECT t FROM Transaction t JOIN t.bankAccount JOIN t.category WHERE t.user.id = :userId AND t.bankAccount.id = :bankAccountId ORDER BY t.date DESC, t.createdAt DESC",
-            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId AND t.bankAccount.id = :bankAccountId")
-    Page<Transaction> findByUserIdAndBankAccountId(
-            @Param("userId") UUID userId,
-            @Param("bankAccountId") UUID bankAccountId,
-            Pageable pageable
-    );
+    String LIST_ORDER = "ORDER BY t.date DESC, t.createdAt DESC, t.id DESC";
 
-    @Query("SELECT t FROM Transaction t JOIN FETCH t.bankAccount JOIN FETCH t.category WHERE t.user.id = :userId AND t.bankAccount.id = :bankAccountId AND t.date >= :startDate AND t.date <= :endDate ORDER BY t.date DESC, t.createdAt DESC")
-    List<Transaction> findByUserIdAndBankAccountIdAndDateYearAndDateMonth(
-            @Param("userId") UUID userId,
-            @Param("bankAccountId") UUID bankAccountId,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
-    );
-
-    @Query(value = "SELECT t FROM Transaction t JOIN t.bankAccount JOIN t.category WHERE t.user.id = :userId AND t.bankAccount.id = :bankAccountId AND t.date >= :startDate AND t.date <= :endDate ORDER BY t.date DESC, t.createdAt DESC",
-            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId AND t.bankAccount.id = :bankAccountId AND t.date >= :startDate AND t.date <= :endDate")
-    Page<Transaction> findByUserIdAndBankAccountIdAndDateYearAndDateMonth(
+    @Query(value = RESPONSE_SELECT + LIST_FILTERS + LIST_ORDER,
+            countQuery = "SELECT COUNT(t) FROM Transaction t " + LIST_FILTERS)
+    Page<TransactionResponse> findResponsesByUserId(
             @Param("userId") UUID userId,
             @Param("bankAccountId") UUID bankAccountId,
+            @Param("type") TransactionType type,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
             Pageable pageable
     );
 
-    @Query("SELECT t FROM Transaction t LEFT JOIN FETCH t.bankAccount LEFT JOIN FETCH t.creditCard LEFT JOIN FETCH t.creditCardBill JOIN FETCH t.category WHERE t.user.id = :userId AND t.type = :type ORDER BY t.date DESC, t.createdAt DESC")
-    List<Transaction> findByUserIdAndType(
-            @Param("userId") UUID userId,
-            @Param("type") TransactionType type
-    );
-
-    @Query(value = "SELECT DISTINCT t FROM Transaction t LEFT JOIN t.bankAccount LEFT JOIN t.creditCard LEFT JOIN t.creditCardBill JOIN t.category WHERE t.user.id = :userId AND t.type = :type ORDER BY t.date DESC, t.createdAt DESC",
-            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId AND t.type = :type")
-    Page<Transaction> findByUserIdAndType(
+    /**
+     * Primeira página da paginação por cursor (keyset); sem COUNT.
+     * Apoiada pelo índice {@code idx_transactions_user_keyset}.
+     */
+    @Query(RESPONSE_SELECT + LIST_FILTERS + LIST_ORDER)
+    Slice<TransactionResponse> findKeysetFirstPage(
             @Param("userId") UUID userId,
+            @Param("bankAccountId") UUID bankAccountId,
             @Param("type") TransactionType type,
-            Pageable pageable
-    );
-
-    @Query("SELECT t FROM Transaction t LEFT JOIN FETCH t.bankAccount LEFT JOIN FETCH t.creditCard LEFT JOIN FETCH t.creditCardBill JOIN FETCH t.category WHERE t.user.id = :userId AND t.date >= :startDate AND t.date <= :endDate AND t.type = :type ORDER BY t.date DESC, t.createdAt DESC")
-    List<Transaction> findByUserIdAndDateYearAndDateMonthAndType(
-            @Param("userId") UUID userId,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            @Param("type") TransactionType type
-    );
-
-    @Query(value = "SELECT DISTINCT t FROM Transaction t LEFT JOIN t.bankAccount LEFT JOIN t.creditCard LEFT JOIN t.creditCardBill JOIN t.category WHERE t.user.id = :userId AND t.date >= :startDate AND t.date <= :endDate AND t.type = :type ORDER BY t.date DESC, t.createdAt DESC",
-            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId AND t.date >= :startDate AND t.date <= :endDate AND t.type = :type")
-    Page<Transaction> findByUserIdAndDateYearAndDateMonthAndType(
-            @Param("userId") UUID userId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
-            @Param("type") TransactionType type,
             Pageable pageable
     );
 
-    @Query("SELECT t FROM Transaction t JOIN FETCH t.bankAccount JOIN FETCH t.category WHERE t.user.id = :userId AND t.bankAccount.id = :bankAccountId AND t.type = :type ORDER BY t.date DESC, t.createdAt DESC")
-    List<Transaction> findByUserIdAndBankAccountIdAndType(
-            @Param("userId") UUID userId,
-            @Param("bankAccountId") UUID bankAccountId,
-            @Param("type") TransactionType type
-    );
-
-    @Query(value = "SELECT t FROM Transaction t JOIN t.bankAccount JOIN t.category WHERE t.user.id = :userId AND t.bankAccount.id = :bankAccountId AND t.type = :type ORDER BY t.date DESC, t.createdAt DESC",
-            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId AND t.bankAccount.id = :bankAccountId AND t.type = :type")
-    Page<Transaction> findByUserIdAndBankAccountIdAndType(
+    /** Páginas seguintes: linhas estritamente após {@code (cursorDate, cursorCreatedAt, cursorId)} na ordenação da listagem. */
+    @Query(RESPONSE_SELECT + LIST_FILTERS +
+           "AND (t.date < :cursorDate " +
+           "  OR (t.date = :cursorDate AND (t.createdAt < :cursorCreatedAt " +
+           "  OR (t.createdAt = :cursorCreatedAt AND t.id < :cursorId)))) " +
+           LIST_ORDER)
+    Slice<TransactionResponse> findKeysetPageAfter(
             @Param("userId") UUID userId,
             @Param("bankAccountId") UUID bankAccountId,
             @Param("type") TransactionType type,
-            Pageable pageable
-    );
-
-    @Query("SELECT t FROM Transaction t JOIN FETCH t.bankAccount JOIN FETCH t.category WHERE t.user.id = :userId AND t.bankAccount.id = :bankAccountId AND t.date >= :startDate AND t.date <= :endDate AND t.type = :type ORDER BY t.date DESC, t.createdAt DESC")
-    List<Transaction> findByUserIdAndBankAccountIdAndDateYearAndDateMonthAndType(
-            @Param("userId") UUID userId,
-            @Param("bankAccountId") UUID bankAccountId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
-            @Param("type") TransactionType type
+            @Param("cursorDate") LocalDate cursorDate,
+            @Param("cursorCreatedAt") OffsetDateTime cursorCreatedAt,
+            @Param("cursorId") UUID cursorId,
+            Pageable pageable
     );
 
-    @Query(value = "SELECT t FROM Transaction t JOIN t.bankAccount JOIN t.category WHERE t.user.id = :userId AND t.bankAccount.id = :bankAccountId AND t.date >= :startDate AND t.date <= :endDate AND t.type = :type ORDER BY t.date DESC, t.createdAt DESC",
-            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId AND t.bankAccount.id = :bankAccountId AND t.date >= :startDate AND t.date <= :endDate AND t.type = :type")
-    Page<Transaction> findByUserIdAndBankAccountIdAndDateYearAndDateMonthAndType(
+    /**
+     * Exportação: cursor JDBC somente-avanço, lido em lotes de {@code fetchSize} linhas.
+     * Deve ser consumido dentro de uma transação e fechado ao final (try-with-resources).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_SELECT + "WHERE t.user.id = :userId AND t.date >= :startDate AND t.date <= :endDate " + LIST_ORDER)
+    Stream<TransactionResponse> streamResponsesByUserIdAndDateRange(
             @Param("userId") UUID userId,
-            @Param("bankAccountId") UUID bankAccountId,
             @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            @Param("type") TransactionType type,
-            Pageable pageable
+            @Param("endDate") LocalDate endDate
     );
 
     @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.user.id = :userId AND t.type = :type AND t.date >= :startDate AND t.date <= :endDate")
@@ -177,11 +131,99 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
             @Param("endDate") LocalDate endDate
     );
 
-    @Query("SELECT t FROM Transaction t WHERE t.isRecurring = true AND t.parentTransaction IS NULL")
-    List<Transaction> findParentRecurringTransactions();
+    /**
+     * Pais recorrentes vencidos ({@code next_occurrence_date <= :today}, pelo índice parcial), com o período a gerar
+     * (o que começa em {@code next_occurrence_date}: mês, ou ano para YEARLY) e a data da filha já calculada (dia do pai
+     * limitado ao fim do mês). Compartilhado por {@link #findDueRecurringParents} e {@link #insertRecurringChildren}
+     * para que a busca e a inserção usem exatamente a mesma regra.
+     */
+    String DUE_RECURRING_PARENTS = "SELECT p.id AS parent_id, p.user_id, u.email AS user_email, p.bank_account_id, p.category_id, " +
+            "p.name, p.amount, p.type, target.date AS target_date, p.next_occurrence_date AS period_start, period.period_end, " +
+            "EXISTS (SELECT 1 FROM transactions c WHERE c.parent_transaction_id = p.id " +
+            "AND c.date >= p.next_occurrence_date AND c.date < period.period_end) AS has_child " +
+            "FROM transactions p JOIN users u ON u.id = p.user_id " +
+            "CROSS JOIN LATERAL (SELECT CASE WHEN p.frequency = 'YEARLY' " +
+            "THEN make_date(CAST(EXTRACT(YEAR FROM p.next_occurrence_date) AS int), CAST(EXTRACT(MONTH FROM p.date) AS int), 1) " +
+            "ELSE p.next_occurrence_date END AS month_start, " +
+            "CASE WHEN p.frequency = 'YEARLY' THEN CAST(p.next_occurrence_date + INTERVAL '1 year' AS date) " +
+            "ELSE CAST(p.next_occurrence_date + INTERVAL '1 month' AS date) END AS period_end) period " +
+            "CROSS JOIN LATERAL (SELECT LEAST(period.month_start + CAST(EXTRACT(DAY FROM p.date) AS int) - 1, " +
+            "CAST(period.month_start + INTERVAL '1 month' - INTERVAL '1 day' AS date)) AS date) target " +
+            "WHERE p.next_occurrence_date <= :today AND p.is_recurring = true AND p.parent_transaction_id IS NULL " +
+            "AND p.bank_account_id IS NOT NULL";
+
+    /**
+     * Próximo lote (ordem de id, após {@code after}) de pais recorrentes vencidos em {@code today}, restrito à partição
+     * {@code partition} de {@code partitions} (hash do usuário: as contas de um usuário ficam todas na mesma partição).
+     * {@code hasChild} marca pais cujo período já tem filha: basta avançá-los.
+     */
+    @Query(value = "SELECT parent_id AS \"parentId\", user_id AS \"userId\", user_email AS \"userEmail\", " +
+            "bank_account_id AS \"bankAccountId\", category_id AS \"categoryId\", name AS \"name\", amount AS \"amount\", " +
+            "type AS \"type\", target_date AS \"targetDate\", period_start AS \"periodStart\", period_end AS \"periodEnd\", " +
+            "has_child AS \"hasChild\" " +
+            "FROM (" + DUE_RECURRING_PARENTS + " AND mod(abs(CAST(hashtext(CAST(p.user_id AS text)) AS bigint)), :partitions) = :partition " +
+            "AND p.id > :after ORDER BY p.id LIMIT :limit) due ORDER BY parent_id",
+            nativeQuery = true)
+    List<DueRecurrence> findDueRecurringParents(
+            @Param("today") LocalDate today,
+            @Param("partitions") int partitions,
+            @Param("partition") int partition,
+            @Param("after") UUID after,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Insere de uma vez as filhas dos pais {@code parentIds} ainda vencidos e sem filha no período (a regra de
+     * {@link #DUE_RECURRING_PARENTS} é reaplicada, então repetir a chamada não duplica). Saldo, agregado e o avanço de
+     * {@code next_occurrence_date} ficam com o chamador.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO transactions (id, user_id, bank_account_id, category_id, name, amount, date, type, " +
+            "is_recurring, parent_transaction_id, created_at, updated_at) " +
+            "SELECT gen_random_uuid(), due.user_id, due.bank_account_id, due.category_id, due.name, due.amount, due.target_date, " +
+            "due.type, false, due.parent_id, :now, :now " +
+            "FROM (" + DUE_RECURRING_PARENTS + " AND p.id IN (:parentIds)) due WHERE NOT due.has_child",
+            nativeQuery = true)
+    int insertRecurringChildren(
+            @Param("today") LocalDate today,
+            @Param("parentIds") Collection<UUID> parentIds,
+            @Param("now") OffsetDateTime now
+    );
+
+    /** Passa {@code next_occurrence_date} dos pais para o período seguinte. */
+    @Modifying
+    @Query(value = "UPDATE transactions SET next_occurrence_date = CAST(next_occurrence_date + " +
+            "CASE WHEN frequency = 'YEARLY' THEN INTERVAL '1 year' ELSE INTERVAL '1 month' END AS date) " +
+            "WHERE id IN (:parentIds)",
+            nativeQuery = true)
+    int advanceNextOccurrence(@Param("parentIds") Collection<UUID> parentIds);
+
+    interface DueRecurrence {
+        UUID getParentId();
+
+        UUID getUserId();
+
+        String getUserEmail();
+
+        UUID getBankAccountId();
+
+        UUID getCategoryId();
+
+        String getName();
+
+        BigDecimal getAmount();
+
+        String getType();
+
+        LocalDate getTargetDate();
+
+        LocalDate getPeriodStart();
 
-    @Query(value = "SELECT t FROM Transaction t WHERE t.isRecurring = true AND t.parentTransaction IS NULL")
-    Page<Transaction> findParentRecurringTransactions(Pageable pageable);
+        /** Fim (exclusivo) do período a gerar. */
+        LocalDate getPeriodEnd();
+
+        Boolean getHasChild();
+    }
 
     @Query("SELECT COUNT(t) > 0 FROM Transaction t WHERE t.parentTransaction.id = :parentId AND t.date >= :startDate AND t.date <= :endDate")
     boolean existsChildForParentInDateRange(
@@ -200,4 +242,57 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
     /** Ordem fixa (date, id) para reverter impacto nas metas ao excluir conta. */
     @Query("SELECT t.goal.id, t.type, t.amount FROM Transaction t WHERE t.bankAccount.id = :accountId AND t.goal IS NOT NULL ORDER BY t.date ASC, t.id ASC")
     List<Object[]> findGoalImpactRowsByBankAccountId(@Param("accountId") UUID accountId);
+
+    /**
+     * Criação em conta bancária num único comando: confere conta e categoria (existência, dono e tipo) e, em débitos,
+     * o saldo (snapshot + lançamentos); só com tudo válido insere a transação e o lançamento em {@code balance_entries}.
+     * Sempre devolve uma linha: {@code id} nulo indica que nada foi gravado e os demais campos dizem o motivo.
+     */
+    @Query(value = "WITH acc AS (" +
+            "SELECT b.id, b.user_id = :userId AS owned, " +
+            "b.balance_snapshot + COALESCE((SELECT SUM(e.amount) FROM balance_entries e WHERE e.bank_account_id = b.id), 0) AS balance " +
+            "FROM bank_accounts b WHERE b.id = :accountId), " +
+            "cat AS (SELECT c.user_id = :userId AS owned, c.type FROM categories c WHERE c.id = :categoryId), " +
+            "ok AS (SELECT acc.id FROM acc, cat WHERE acc.owned AND cat.owned AND cat.type = :type " +
+            "AND (:delta >= 0 OR acc.balance + :delta >= 0)), " +
+            "ins AS (INSERT INTO transactions (id, user_id, bank_account_id, category_id, name, amount, date, type, " +
+            "is_recurring, frequency, next_occurrence_date, source, created_at, updated_at) " +
+            "SELECT gen_random_uuid(), :userId, ok.id, :categoryId, :name, :amount, :date, :type, " +
+            ":isRecurring, CAST(:frequency AS varchar), CAST(:nextOccurrenceDate AS date), CAST(:source AS varchar), :now, :now " +
+            "FROM ok RETURNING id), " +
+            "entry AS (INSERT INTO balance_entries (bank_account_id, amount) SELECT ok.id, :delta FROM ok WHERE :delta <> 0) " +
+            "SELECT (SELECT id FROM ins) AS \"id\", " +
+            "EXISTS (SELECT 1 FROM acc) AS \"accountFound\", COALESCE((SELECT owned FROM acc), false) AS \"accountOwned\", " +
+            "EXISTS (SELECT 1 FROM cat) AS \"categoryFound\", COALESCE((SELECT owned FROM cat), false) AS \"categoryOwned\", " +
+            "(SELECT type FROM cat) AS \"categoryType\"",
+            nativeQuery = true)
+    BankAccountInsert insertBankAccountTransaction(
+            @Param("userId") UUID userId,
+            @Param("accountId") UUID accountId,
+            @Param("categoryId") UUID categoryId,
+            @Param("name") String name,
+            @Param("amount") BigDecimal amount,
+            @Param("delta") BigDecimal delta,
+            @Param("date") LocalDate date,
+            @Param("type") String type,
+            @Param("isRecurring") boolean isRecurring,
+            @Param("frequency") String frequency,
+            @Param("nextOccurrenceDate") LocalDate nextOccurrenceDate,
+            @Param("source") String source,
+            @Param("now") OffsetDateTime now
+    );
+
+    interface BankAccountInsert {
+        UUID getId();
+
+        Boolean getAccountFound();
+
+        Boolean getAccountOwned();
+
+        Boolean getCategoryFound();
+
+        Boolean getCategoryOwned();
+
+        String getCategoryType();
+    }
 }
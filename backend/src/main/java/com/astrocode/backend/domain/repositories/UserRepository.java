@@ -2,6 +2,7 @@ package com.astrocode.backend.domain.repositories;
 
 import com.astrocode.backend.domain.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -43,4 +44,20 @@ public interface UserRepository extends JpaRepository<User, UUID> {
             """)
     List<User> findInactiveForReactivation(@Param("cutoff") OffsetDateTime cutoff,
                                            @Param("reactivationCooldown") OffsetDateTime reactivationCooldown);
+
+    /** Revoga os tokens emitidos até agora: marca o instante e descarta o refresh token. */
+    @Modifying
+    @Query(value = "UPDATE users SET tokens_revoked_at = to_timestamp(:epochSecond), refresh_token_hash = NULL WHERE id = :userId",
+            nativeQuery = true)
+    int markTokensRevoked(@Param("userId") UUID userId, @Param("epochSecond") long epochSecond);
+
+    @Modifying
+    @Query(value = "UPDATE users SET plan_changed_at = to_timestamp(:epochSecond) WHERE id = :userId", nativeQuery = true)
+    int markPlanChanged(@Param("userId") UUID userId, @Param("epochSecond") long epochSecond);
+
+    /** Linhas (id, tokens_revoked_at, plan_changed_at) em segundos epoch, com alguma das marcas posterior a {@code since}. */
+    @Query(value = "SELECT id, CAST(EXTRACT(EPOCH FROM tokens_revoked_at) AS bigint), CAST(EXTRACT(EPOCH FROM plan_changed_at) AS bigint) " +
+            "FROM users WHERE tokens_revoked_at > to_timestamp(:since) OR plan_changed_at > to_timestamp(:since)",
+            nativeQuery = true)
+    List<Object[]> findAuthStateChangesSince(@Param("since") long sinceEpochSecond);
 }
@@ -27,6 +27,7 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Base64;
 import java.util.Optional;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -48,6 +49,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final MailService mailService;
+    private final AuthStateRegistry authStateRegistry;
 
     @Value("${app.security.password-reset-min-duration-ms:200}")
     private long passwordResetMinDurationMs;
@@ -64,13 +66,15 @@ public class AuthService {
                        PasswordResetCodeRepository resetCodeRepository,
                        PasswordEncoder passwordEncoder,
                        JwtService jwtService,
-                       MailService mailService) {
+                       MailService mailService,
+                       AuthStateRegistry authStateRegistry) {
         this.userRepository = userRepository;
         this.subscriptionRepository = subscriptionRepository;
         this.resetCodeRepository = resetCodeRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.mailService = mailService;
+        this.authStateRegistry = authStateRegistry;
     }
 
     @Transactional
@@ -255,10 +259,17 @@ public class AuthService {
         user.setEmailVerificationToken(null);
         userRepository.save(user);
         resetCodeRepository.delete(resetCode);
+        authStateRegistry.revokeTokens(user.getId());
 
         return buildLoginResponse(user);
     }
 
+    /** Encerra as sessões do usuário: refresh token descartado e access tokens já emitidos revogados. */
+    @Transactional
+    public void logout(UUID userId) {
+        authStateRegistry.revokeTokens(userId);
+    }
+
     private String generateAlphanumericCode() {
         SecureRandom random = new SecureRandom();
         StringBuilder sb = new StringBuilder(CODE_LENGTH);
@@ -0,0 +1,117 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.repositories.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revogações de tokens e trocas de plano recentes, por usuário, para o modo stateless do filtro JWT.
+ * As marcas são gravadas em {@code users} e relidas periodicamente, alcançando as demais instâncias;
+ * passada a validade do access token, nenhum token anterior a elas sobrevive e a entrada é descartada.
+ * A resolução é de segundos: um token emitido no mesmo segundo da revogação continua válido
+ * (é o caso do token devolvido pela própria redefinição de senha).
+ */
+@Slf4j
+@Component
+public class AuthStateRegistry {
+
+    /** Relê um pouco antes do último refresh para não perder marcas gravadas por transações ainda abertas. */
+    private static final long REFRESH_OVERLAP_SECONDS = 60;
+    private static final long RETENTION_SECONDS = JwtService.ACCESS_TOKEN_EXPIRATION_MINUTES * 60L;
+
+    public enum TokenState { VALID, REVOKED, STALE_PLAN }
+
+    /** Segundos epoch da última revogação e da última troca de plano (0 = nenhuma). */
+    private record Changes(long revokedAt, long planChangedAt) {
+        Changes merge(Changes other) {
+            return new Changes(Math.max(revokedAt, other.revokedAt), Math.max(planChangedAt, other.planChangedAt));
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final Map<UUID, Changes> changes = new ConcurrentHashMap<>();
+    private volatile long lastRefresh;
+
+    public AuthStateRegistry(UserRepository userRepository,
+                             @Value("${app.security.stateless-auth.enabled:false}") boolean enabled) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Estado do token emitido em {@code issuedAt}. Antes da primeira leitura do banco responde
+     * {@link TokenState#STALE_PLAN}, fazendo o filtro carregar o usuário como no modo com estado.
+     */
+    public TokenState check(UUID userId, Date issuedAt) {
+        if (lastRefresh == 0 || issuedAt == null) {
+            return TokenState.STALE_PLAN;
+        }
+        var userChanges = changes.get(userId);
+        if (userChanges == null) {
+            return TokenState.VALID;
+        }
+        long iat = issuedAt.toInstant().getEpochSecond();
+        if (iat < userChanges.revokedAt) {
+            return TokenState.REVOKED;
+        }
+        if (iat <= userChanges.planChangedAt) {
+            return TokenState.STALE_PLAN;
+        }
+        return TokenState.VALID;
+    }
+
+    /** Invalida os access tokens já emitidos e o refresh token do usuário (logout, redefinição de senha). */
+    @Transactional
+    public void revokeTokens(UUID userId) {
+        long now = Instant.now().getEpochSecond();
+        userRepository.markTokensRevoked(userId, now);
+        changes.merge(userId, new Changes(now, 0), Changes::merge);
+    }
+
+    /** Faz tokens já emitidos deixarem de valer como fonte do plano; o filtro passa a ler a assinatura do banco. */
+    @Transactional
+    public void planChanged(UUID userId) {
+        long now = Instant.now().getEpochSecond();
+        userRepository.markPlanChanged(userId, now);
+        changes.merge(userId, new Changes(0, now), Changes::merge);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.stateless-auth.refresh-interval:PT30S}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        long now = Instant.now().getEpochSecond();
+        long since = lastRefresh == 0 ? now - RETENTION_SECONDS : lastRefresh - REFRESH_OVERLAP_SECONDS;
+        try {
+            for (Object[] row : userRepository.findAuthStateChangesSince(since)) {
+                var loaded = new Changes(epochSecond(row[1]), epochSecond(row[2]));
+                changes.merge((UUID) row[0], loaded, Changes::merge);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao atualizar revogações de tokens; mantendo o estado anterior: {}", e.getMessage());
+            return;
+        }
+        long cutoff = now - RETENTION_SECONDS;
+        changes.values().removeIf(c -> c.revokedAt < cutoff && c.planChangedAt < cutoff);
+        lastRefresh = now;
+    }
+
+    private static long epochSecond(Object value) {
+        return value instanceof Number n ? n.longValue() : 0;
+    }
+}
@@ -0,0 +1,62 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.repositories.BalanceEntryRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Saldo das contas como livro-razão ({@code balance_entries}): escritas inserem lançamentos em vez de atualizar
+ * a linha de {@code bank_accounts}, então lançamentos concorrentes na mesma conta não disputam a mesma linha.
+ * Saldo atual = {@code balance_snapshot} + lançamentos; {@link #compact} consolida os lançamentos no snapshot.
+ */
+@Service
+public class BalanceLedgerService {
+
+    private final BalanceEntryRepository balanceEntryRepository;
+
+    public BalanceLedgerService(BalanceEntryRepository balanceEntryRepository) {
+        this.balanceEntryRepository = balanceEntryRepository;
+    }
+
+    /** Lança {@code delta} sem conferir saldo (créditos, estornos e ajustes). */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void post(UUID accountId, BigDecimal delta) {
+        if (delta.signum() != 0) {
+            balanceEntryRepository.append(accountId, delta);
+        }
+    }
+
+    /**
+     * Lança {@code delta} se o saldo resultante não ficar negativo; retorna {@code false}, sem lançar nada, caso contrário.
+     * Débitos passam antes por {@link #lockDebits}; créditos seguem direto.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryPost(UUID accountId, BigDecimal delta) {
+        if (delta.signum() >= 0) {
+            post(accountId, delta);
+            return true;
+        }
+        lockDebits(accountId);
+        return balanceEntryRepository.appendIfCovered(accountId, delta) > 0;
+    }
+
+    /**
+     * Débitos da mesma conta esperam uns pelos outros (advisory lock até o fim da transação), para que a conferência
+     * de saldo, feita num comando seguinte, enxergue os já confirmados. Quem confere o saldo por conta própria
+     * (ex.: o INSERT condicional da criação de transação) deve chamar antes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockDebits(UUID accountId) {
+        balanceEntryRepository.lockForDebit(accountId);
+    }
+
+    /** Consolida até {@code limit} lançamentos no snapshot, numa transação curta; retorna quantos foram movidos. */
+    @Transactional
+    public int compact(int limit) {
+        return balanceEntryRepository.compact(limit);
+    }
+}
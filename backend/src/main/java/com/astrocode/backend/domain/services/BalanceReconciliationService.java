@@ -0,0 +1,145 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.events.FinancialDataChangedEvent;
+import com.astrocode.backend.domain.model.BalanceReconciliationReport;
+import com.astrocode.backend.domain.model.BalanceReconciliationReport.Drift;
+import com.astrocode.backend.domain.repositories.BalanceEntryRepository;
+import com.astrocode.backend.domain.repositories.BankAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reconciliação de saldo: recalcula cada conta como {@code initial_balance} + transações com sinal e compara com o
+ * saldo do livro-razão. As contas são divididas em faixas de id (pelo índice da PK) conferidas em paralelo, cada faixa
+ * num único comando e numa transação curta, sem carregar entidades.
+ */
+@Service
+public class BalanceReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceReconciliationService.class);
+    private static final int MAX_REPORTED_DRIFTS = 100;
+    private static final int MAX_LOGGED_DRIFTS = 20;
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final UUID LAST_ID = new UUID(-1L, -1L);
+
+    private final BankAccountRepository bankAccountRepository;
+    private final BalanceEntryRepository balanceEntryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile BalanceReconciliationReport lastReport;
+
+    public BalanceReconciliationService(BankAccountRepository bankAccountRepository,
+                                        BalanceEntryRepository balanceEntryRepository,
+                                        ApplicationEventPublisher eventPublisher,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${app.balance.reconciliation.chunk-size:1000}") int chunkSize,
+                                        @Value("${app.balance.reconciliation.parallelism:2}") int parallelism) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.balanceEntryRepository = balanceEntryRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Confere todas as contas; com {@code fix}, lança a diferença como ajuste nas divergentes e avisa os ouvintes
+     * de {@link FinancialDataChangedEvent}. Uma execução por vez.
+     */
+    public BalanceReconciliationReport reconcile(boolean fix) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Reconciliação de saldo já em andamento");
+        }
+        try {
+            var report = run(fix);
+            lastReport = report;
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /** Último relatório desde que a aplicação subiu, ou {@code null}. */
+    public BalanceReconciliationReport lastReport() {
+        return lastReport;
+    }
+
+    private BalanceReconciliationReport run(boolean fix) {
+        var startedAt = OffsetDateTime.now();
+        long start = System.nanoTime();
+        var executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<List<Drift>>> ranges = new ArrayList<>();
+            UUID after = FIRST_ID;
+            while (after != null) {
+                UUID upTo = bankAccountRepository.findIdAfter(after, chunkSize - 1).orElse(null);
+                UUID from = after;
+                UUID to = upTo != null ? upTo : LAST_ID;
+                ranges.add(executor.submit(() -> reconcileRange(from, to, fix)));
+                after = upTo;
+            }
+
+            List<Drift> reported = new ArrayList<>();
+            int driftCount = 0;
+            for (var range : ranges) {
+                for (var drift : range.get()) {
+                    if (driftCount < MAX_LOGGED_DRIFTS) {
+                        log.warn("Divergência de saldo: accountId={} userId={} esperado={} gravado={}",
+                                drift.accountId(), drift.userId(), drift.expected(), drift.actual());
+                    }
+                    if (driftCount < MAX_REPORTED_DRIFTS) {
+                        reported.add(drift);
+                    }
+                    driftCount++;
+                }
+            }
+
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            if (driftCount == 0) {
+                log.info("Saldos consistentes com as transações ({} faixas em {} ms)", ranges.size(), durationMs);
+            } else if (fix) {
+                log.warn("AUDITORIA saldo reconciliado: {} contas ajustadas ({} faixas em {} ms)", driftCount, ranges.size(), durationMs);
+            } else {
+                log.warn("Reconciliação de saldo: {} contas divergentes, sem ajuste ({} faixas em {} ms)", driftCount, ranges.size(), durationMs);
+            }
+            return new BalanceReconciliationReport(startedAt, durationMs, ranges.size(), driftCount, fix, List.copyOf(reported));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconciliação de saldo interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao reconciliar faixa de contas", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Drift> reconcileRange(UUID after, UUID upTo, boolean fix) {
+        return transactionTemplate.execute(status -> {
+            var drifts = balanceEntryRepository.reconcileRange(after, upTo, fix).stream()
+                    .map(d -> new Drift(d.getAccountId(), d.getUserId(), d.getExpected(), d.getActual()))
+                    .toList();
+            if (fix) {
+                drifts.stream().map(Drift::userId).distinct()
+                        .forEach(userId -> eventPublisher.publishEvent(new FinancialDataChangedEvent(userId)));
+            }
+            return drifts;
+        });
+    }
+}
@@ -2,14 +2,14 @@ package com.astrocode.backend.domain.services;
 
 import com.astrocode.backend.api.dto.account.BankAccountRequest;
 import com.astrocode.backend.domain.entities.BankAccount;
-import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.events.FinancialDataChangedEvent;
 import com.astrocode.backend.domain.exceptions.DuplicateAccountNameException;
 import com.astrocode.backend.domain.exceptions.ResourceAccessDeniedException;
 import com.astrocode.backend.domain.exceptions.ResourceNotFoundException;
 import com.astrocode.backend.domain.repositories.BankAccountRepository;
 import com.astrocode.backend.domain.repositories.SavingsGoalRepository;
 import com.astrocode.backend.domain.repositories.TransactionRepository;
-import com.astrocode.backend.domain.repositories.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,29 +26,38 @@ import com.astrocode.backend.domain.model.enums.TransactionType;
 public class BankAccountService {
 
     private final BankAccountRepository bankAccountRepository;
-    private final UserRepository userRepository;
+    private final RequestUserCache requestUserCache;
     private final TransactionService transactionService;
     private final SavingsGoalRepository savingsGoalRepository;
     private final TransactionRepository transactionRepository;
     private final PlanLimitService planLimitService;
+    private final MonthlyTotalsService monthlyTotalsService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public BankAccountService(BankAccountRepository bankAccountRepository,
-                              UserRepository userRepository,
+                              RequestUserCache requestUserCache,
                               TransactionService transactionService,
                               SavingsGoalRepository savingsGoalRepository,
                               TransactionRepository transactionRepository,
-                              PlanLimitService planLimitService) {
+                              PlanLimitService planLimitService,
+                              MonthlyTotalsService monthlyTotalsService,
+                              BalanceLedgerService balanceLedgerService,
+                              ApplicationEventPublisher eventPublisher) {
         this.bankAccountRepository = bankAccountRepository;
-        this.userRepository = userRepository;
+        this.requestUserCache = requestUserCache;
         this.transactionService = transactionService;
         this.savingsGoalRepository = savingsGoalRepository;
         this.transactionRepository = transactionRepository;
         this.planLimitService = planLimitService;
+        this.monthlyTotalsService = monthlyTotalsService;
+        this.balanceLedgerService = balanceLedgerService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public BankAccount create(BankAccountRequest request, UUID userId) {
-        var user = userRepository.findByIdWithSubscription(userId)
+        var user = requestUserCache.findByIdWithSubscription(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
 
         planLimitService.checkFreePlanBankAccountLimit(userId);
@@ -62,12 +71,15 @@ public class BankAccountService {
                 .user(user)
                 .name(request.name())
                 .initialBalance(request.initialBalance())
+                .balanceSnapshot(request.initialBalance())
                 .currentBalance(request.initialBalance())
                 .type(request.type())
                 .color(request.color())
                 .build();
 
-        return bankAccountRepository.save(bankAccount);
+        var saved = bankAccountRepository.save(bankAccount);
+        eventPublisher.publishEvent(new FinancialDataChangedEvent(userId));
+        return saved;
     }
 
     public List<BankAccount> findAllByUserId(UUID userId) {
@@ -75,15 +87,15 @@ public class BankAccountService {
     }
 
     @Transactional
-    public BankAccount update(UUID accountId, BankAccountRequest request, User user) {
+    public BankAccount update(UUID accountId, BankAccountRequest request, UUID userId) {
         var account = bankAccountRepository.findById(accountId)
                 .orElseThrow(() -> new ResourceNotFoundException("Conta bancária não encontrada"));
 
-        if (!account.getUser().getId().equals(user.getId())) {
+        if (!account.getUser().getId().equals(userId)) {
             throw new ResourceAccessDeniedException("Você não tem permissão para acessar esta conta");
         }
 
-        var existing = bankAccountRepository.findByUserIdAndNameIgnoreCase(user.getId(), request.name().trim());
+        var existing = bankAccountRepository.findByUserIdAndNameIgnoreCase(userId, request.name().trim());
         boolean duplicateName = existing.stream()
                 .anyMatch(a -> !a.getId().equals(accountId));
         if (duplicateName) {
@@ -91,21 +103,24 @@ public class BankAccountService {
         }
 
         var balanceDiff = request.initialBalance().subtract(account.getInitialBalance());
+        balanceLedgerService.post(accountId, balanceDiff);
         account.setCurrentBalance(account.getCurrentBalance().add(balanceDiff));
         account.setInitialBalance(request.initialBalance());
         account.setName(request.name());
         account.setType(request.type());
         account.setColor(request.color());
 
-        return bankAccountRepository.save(account);
+        var saved = bankAccountRepository.save(account);
+        eventPublisher.publishEvent(new FinancialDataChangedEvent(userId));
+        return saved;
     }
 
     @Transactional
-    public void delete(UUID accountId, User user) {
+    public void delete(UUID accountId, UUID userId) {
         var account = bankAccountRepository.findById(accountId)
                 .orElseThrow(() -> new ResourceNotFoundException("Conta bancária não encontrada"));
 
-        if (!account.getUser().getId().equals(user.getId())) {
+        if (!account.getUser().getId().equals(userId)) {
             throw new ResourceAccessDeniedException("Você não tem permissão para acessar esta conta");
         }
 
@@ -123,6 +138,8 @@ public class BankAccountService {
             savingsGoalRepository.saveAll(goalsById.values());
         }
 
+        monthlyTotalsService.subtractBankAccount(userId, account.getId());
         bankAccountRepository.delete(account);
+        eventPublisher.publishEvent(new FinancialDataChangedEvent(userId));
     }
 }
@@ -1,13 +1,17 @@
 package com.astrocode.backend.domain.services;
 
 import com.astrocode.backend.domain.PlanAccess.RequiresPro;
+import com.astrocode.backend.api.dto.creditcard.CreditCardBillResponse;
 import com.astrocode.backend.api.dto.creditcard.CreditCardRequest;
+import com.astrocode.backend.api.dto.creditcard.CreditCardResponse;
 import com.astrocode.backend.api.dto.creditcard.PayBillRequest;
 import com.astrocode.backend.domain.entities.*;
+import com.astrocode.backend.domain.events.FinancialDataChangedEvent;
 import com.astrocode.backend.domain.exceptions.*;
 import com.astrocode.backend.domain.model.enums.BillStatus;
 import com.astrocode.backend.domain.model.enums.TransactionType;
 import com.astrocode.backend.domain.repositories.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,7 +34,9 @@ public class CreditCardService {
     private final CategoryRepository categoryRepository;
     private final BankAccountRepository bankAccountRepository;
     private final TransactionRepository transactionRepository;
-    private final PlanLimitService planLimitService;
+    private final MonthlyTotalsService monthlyTotalsService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CreditCardService(
             CreditCardRepository creditCardRepository,
@@ -39,7 +45,9 @@ public class CreditCardService {
             CategoryRepository categoryRepository,
             BankAccountRepository bankAccountRepository,
             TransactionRepository transactionRepository,
-            PlanLimitService planLimitService
+            MonthlyTotalsService monthlyTotalsService,
+            BalanceLedgerService balanceLedgerService,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.creditCardRepository = creditCardRepository;
         this.creditCardBillRepository = creditCardBillRepository;
@@ -47,12 +55,14 @@ public class CreditCardService {
         this.categoryRepository = categoryRepository;
         this.bankAccountRepository = bankAccountRepository;
         this.transactionRepository = transactionRepository;
-        this.planLimitService = planLimitService;
+        this.monthlyTotalsService = monthlyTotalsService;
+        this.balanceLedgerService = balanceLedgerService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     @RequiresPro(message = "Cartões de crédito e faturas completas estão no Grivy Pro. Faça upgrade e acompanhe cada gasto sem surpresas.")
-    public CreditCard create(CreditCardRequest request, UUID userId) {
+    public CreditCardResponse create(CreditCardRequest request, UUID userId) {
         var user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
 
@@ -73,7 +83,7 @@ public class CreditCardService {
 
         creditCard = creditCardRepository.save(creditCard);
         createInitialBill(creditCard);
-        return creditCard;
+        return toResponse(creditCard);
     }
 
     private void createInitialBill(CreditCard creditCard) {
@@ -111,8 +121,8 @@ public class CreditCardService {
         creditCardBillRepository.save(bill);
     }
 
-    public List<CreditCard> findAllByUserId(UUID userId) {
-        return creditCardRepository.findByUserId(userId);
+    public List<CreditCardResponse> findAllByUserId(UUID userId) {
+        return creditCardRepository.findByUserId(userId).stream().map(this::toResponse).toList();
     }
 
     public CreditCard findById(UUID creditCardId, UUID userId) {
@@ -121,7 +131,7 @@ public class CreditCardService {
     }
 
     @Transactional
-    public CreditCard update(UUID creditCardId, CreditCardRequest request, UUID userId) {
+    public CreditCardResponse update(UUID creditCardId, CreditCardRequest request, UUID userId) {
         var creditCard = findById(creditCardId, userId);
 
         creditCardRepository.findByUserIdAndNameIgnoreCase(userId, request.name().trim())
@@ -136,7 +146,7 @@ public class CreditCardService {
         creditCard.setDueDay(request.dueDay());
         creditCard.setColor(request.color());
 
-        return creditCardRepository.save(creditCard);
+        return toResponse(creditCardRepository.save(creditCard));
     }
 
     @Transactional
@@ -152,10 +162,11 @@ public class CreditCardService {
         creditCardRepository.delete(creditCard);
     }
 
-    public CreditCardBill getCurrentBill(UUID creditCardId, UUID userId) {
+    public CreditCardBillResponse getCurrentBill(UUID creditCardId, UUID userId) {
         var creditCard = findById(creditCardId, userId);
         return creditCardBillRepository.findFirstByCreditCardIdAndStatusOrderByYearDescMonthDesc(
                         creditCardId, BillStatus.OPEN)
+                .map(this::toBillResponse)
                 .orElseThrow(() -> new ResourceNotFoundException("Fatura em aberto não encontrada"));
     }
 
@@ -183,13 +194,13 @@ public class CreditCardService {
                 .orElseThrow(() -> new ResourceNotFoundException("Fatura ativa não encontrada para o cartão"));
     }
 
-    public List<CreditCardBill> getBillHistory(UUID creditCardId, UUID userId) {
+    public List<CreditCardBillResponse> getBillHistory(UUID creditCardId, UUID userId) {
         findById(creditCardId, userId);
-        return creditCardBillRepository.findByCreditCardId(creditCardId);
+        return creditCardBillRepository.findByCreditCardId(creditCardId).stream().map(this::toBillResponse).toList();
     }
 
     @Transactional
-    public CreditCardBill payBill(UUID billId, PayBillRequest request, UUID userId) {
+    public CreditCardBillResponse payBill(UUID billId, PayBillRequest request, UUID userId) {
         var bill = findBillById(billId, userId);
         var creditCard = bill.getCreditCard();
 
@@ -204,13 +215,10 @@ public class CreditCardService {
             throw new AccountNotOwnedException("Você não tem permissão para acessar esta conta");
         }
 
-        var accountBalance = bankAccount.getCurrentBalance();
-        if (accountBalance.compareTo(request.amount()) < 0) {
+        if (!balanceLedgerService.tryPost(bankAccount.getId(), request.amount().negate())) {
             throw new InsufficientBalanceException("Saldo insuficiente na conta para realizar o pagamento");
         }
 
-        planLimitService.checkFreePlanTransactionLimit(userId);
-
         var category = getOrCreatePagamentoFaturaCategory(userId);
 
         var transaction = Transaction.builder()
@@ -225,9 +233,7 @@ public class CreditCardService {
                 .build();
 
         transactionRepository.save(transaction);
-
-        bankAccount.setCurrentBalance(bankAccount.getCurrentBalance().subtract(request.amount()));
-        bankAccountRepository.save(bankAccount);
+        monthlyTotalsService.add(transaction);
 
         var paidAmount = request.amount();
         var billTotal = bill.getTotalAmount();
@@ -250,8 +256,9 @@ public class CreditCardService {
 
         creditCardBillRepository.save(bill);
         creditCardRepository.save(creditCard);
+        eventPublisher.publishEvent(new FinancialDataChangedEvent(userId));
 
-        return bill;
+        return toBillResponse(bill);
     }
 
     private Category getOrCreatePagamentoFaturaCategory(UUID userId) {
@@ -279,4 +286,32 @@ public class CreditCardService {
 
         return bill;
     }
+
+    private CreditCardResponse toResponse(CreditCard cc) {
+        return new CreditCardResponse(
+                cc.getId(),
+                cc.getName(),
+                cc.getCreditLimit(),
+                cc.getClosingDay(),
+                cc.getDueDay(),
+                cc.getColor(),
+                cc.getCurrentBillAmount(),
+                cc.getCreatedAt()
+        );
+    }
+
+    private CreditCardBillResponse toBillResponse(CreditCardBill bill) {
+        return new CreditCardBillResponse(
+                bill.getId(),
+                bill.getCreditCard().getId(),
+                bill.getMonth(),
+                bill.getYear(),
+                bill.getTotalAmount(),
+                bill.getStatus().name(),
+                bill.getDueDate(),
+                bill.getClosingDate(),
+                bill.getPaidDate(),
+                bill.getCreatedAt()
+        );
+    }
 }
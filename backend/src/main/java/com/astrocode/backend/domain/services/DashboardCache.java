@@ -0,0 +1,47 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.api.dto.dashboard.DashboardResponse;
+import com.astrocode.backend.domain.events.FinancialDataChangedEvent;
+import com.astrocode.backend.domain.events.MonthlyTotalsChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cache do {@link DashboardResponse} por usuário e mês, com limite de usuários e TTL (métricas com tag {@code cache=dashboard}).
+ * Invalidado após o commit de qualquer escrita financeira do usuário ({@link FinancialDataChangedEvent}) e de qualquer
+ * mudança nos totais mensais que ele lê, inclusive a reconstrução feita pela verificação noturna
+ * ({@link MonthlyTotalsChangedEvent}).
+ */
+@Component
+public class DashboardCache {
+
+    private final UserMonthCache<DashboardResponse> cache;
+
+    public DashboardCache(MeterRegistry meterRegistry,
+                          @Value("${app.dashboard.cache.max-users:10000}") int maxUsers,
+                          @Value("${app.dashboard.cache.ttl:PT5M}") Duration ttl) {
+        this.cache = new UserMonthCache<>("dashboard", meterRegistry, maxUsers, ttl);
+    }
+
+    public DashboardResponse get(UUID userId, YearMonth month, Supplier<DashboardResponse> loader) {
+        return cache.get(userId, month, loader);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFinancialDataChanged(FinancialDataChangedEvent event) {
+        cache.invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMonthlyTotalsChanged(MonthlyTotalsChangedEvent event) {
+        cache.invalidate(event.userId());
+    }
+}
@@ -1,58 +1,37 @@
 package com.astrocode.backend.domain.services;
 
 import com.astrocode.backend.api.dto.dashboard.DashboardResponse;
-import com.astrocode.backend.domain.model.enums.TransactionType;
-import com.astrocode.backend.domain.repositories.BankAccountRepository;
-import com.astrocode.backend.domain.repositories.TransactionRepository;
+import com.astrocode.backend.domain.repositories.MonthlyCategoryTotalRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.UUID;
 
+/**
+ * Sem transação própria: acertos no {@link DashboardCache} não tocam o pool de conexões;
+ * falhas de cache custam uma única consulta.
+ */
 @Service
-@Transactional(readOnly = true)
 public class DashboardService {
 
-    private final BankAccountRepository bankAccountRepository;
-    private final TransactionRepository transactionRepository;
+    private final MonthlyCategoryTotalRepository monthlyCategoryTotalRepository;
+    private final DashboardCache dashboardCache;
 
     public DashboardService(
-            BankAccountRepository bankAccountRepository,
-            TransactionRepository transactionRepository
+            MonthlyCategoryTotalRepository monthlyCategoryTotalRepository,
+            DashboardCache dashboardCache
     ) {
-        this.bankAccountRepository = bankAccountRepository;
-        this.transactionRepository = transactionRepository;
+        this.monthlyCategoryTotalRepository = monthlyCategoryTotalRepository;
+        this.dashboardCache = dashboardCache;
     }
 
     public DashboardResponse getDashboardData(UUID userId) {
-        LocalDate now = LocalDate.now();
-        int year = now.getYear();
-        int month = now.getMonthValue();
-        
-        LocalDate startDate = LocalDate.of(year, month, 1);
-        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-
-        BigDecimal totalBalance = bankAccountRepository.sumTotalBalanceByUserId(userId);
-        if (totalBalance == null) {
-            totalBalance = BigDecimal.ZERO;
-        }
-
-        BigDecimal totalIncome = transactionRepository.sumTotalByUserIdAndTypeAndDateRange(
-                userId, TransactionType.INCOME, startDate, endDate
-        );
-        if (totalIncome == null) {
-            totalIncome = BigDecimal.ZERO;
-        }
-
-        BigDecimal totalExpense = transactionRepository.sumTotalExpensesExcludingGoalsByUserIdAndDateRange(
-                userId, startDate, endDate
-        );
-        if (totalExpense == null) {
-            totalExpense = BigDecimal.ZERO;
-        }
+        var month = YearMonth.now();
+        return dashboardCache.get(userId, month, () -> load(userId, month));
+    }
 
-        return new DashboardResponse(totalBalance, totalIncome, totalExpense);
+    private DashboardResponse load(UUID userId, YearMonth month) {
+        var totals = monthlyCategoryTotalRepository.findDashboardTotals(userId, month.getYear(), month.getMonthValue());
+        return new DashboardResponse(totals.getTotalBalance(), totals.getTotalIncome(), totals.getTotalExpense());
     }
 }
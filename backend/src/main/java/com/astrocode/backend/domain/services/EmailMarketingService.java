@@ -18,6 +18,7 @@ import java.util.UUID;
 
 /**
  * E-mails de marketing transacional (boas-vindas, onboarding, reativação, Open Finance).
+ * Todos passam pelo outbox ({@link MailOutboxService}): aqui só se grava a mensagem, junto com o estado que a motivou.
  */
 @Service
 public class EmailMarketingService {
@@ -28,7 +29,7 @@ public class EmailMarketingService {
     public static final String CAMP_ONBOARD_D3 = "ONBOARDING_D3";
     public static final String CAMP_ONBOARD_D7 = "ONBOARDING_D7";
 
-    private final MailService mailService;
+    private final MailOutboxService mailOutboxService;
     private final ScheduledMarketingEmailRepository scheduledMarketingEmailRepository;
     private final UserRepository userRepository;
 
@@ -36,10 +37,10 @@ public class EmailMarketingService {
     private String frontendUrl;
 
     public EmailMarketingService(
-            MailService mailService,
+            MailOutboxService mailOutboxService,
             ScheduledMarketingEmailRepository scheduledMarketingEmailRepository,
             UserRepository userRepository) {
-        this.mailService = mailService;
+        this.mailOutboxService = mailOutboxService;
         this.scheduledMarketingEmailRepository = scheduledMarketingEmailRepository;
         this.userRepository = userRepository;
     }
@@ -54,7 +55,7 @@ public class EmailMarketingService {
     }
 
     /**
-     * Envia e-mail de boas-vindas imediatamente.
+     * Enfileira o e-mail de boas-vindas para envio imediato.
      */
     public void sendWelcome(User user) {
         if (user.isMarketingEmailsOptOut()) {
@@ -63,7 +64,7 @@ public class EmailMarketingService {
         String first = firstName(user.getName());
         String subject = GrivyEmailTemplates.welcomeSubject(first);
         var pair = GrivyEmailTemplates.welcome(first, baseUrl());
-        mailService.sendHtmlAndText(user.getEmail(), subject, pair.html(), pair.text());
+        mailOutboxService.enqueue(user.getEmail(), subject, pair.html(), pair.text());
     }
 
     /**
@@ -108,7 +109,7 @@ public class EmailMarketingService {
         String first = firstName(user.getName());
         String subject = GrivyEmailTemplates.reactivationSubject(first);
         var pair = GrivyEmailTemplates.reactivation(first, baseUrl());
-        mailService.sendHtmlAndText(user.getEmail(), subject, pair.html(), pair.text());
+        mailOutboxService.enqueue(user.getEmail(), subject, pair.html(), pair.text());
         user.setLastReactivationEmailAt(OffsetDateTime.now(ZoneOffset.UTC));
         userRepository.save(user);
     }
@@ -124,26 +125,28 @@ public class EmailMarketingService {
         String first = firstNameOrGeneric != null && !firstNameOrGeneric.isBlank() ? firstNameOrGeneric : "Cliente";
         String subject = GrivyEmailTemplates.openFinanceWaitlistSubject();
         var pair = GrivyEmailTemplates.openFinanceWaitlist(first, baseUrl());
-        mailService.sendHtmlAndText(email, subject, pair.html(), pair.text());
+        mailOutboxService.enqueue(email, subject, pair.html(), pair.text());
     }
 
+    @Transactional
     public void sendOpenFinanceReleased(List<String> emails) {
+        String subject = GrivyEmailTemplates.openFinanceReleasedSubject();
+        var pair = GrivyEmailTemplates.openFinanceReleased("Cliente", baseUrl());
         for (String email : emails) {
-            try {
-                String subject = GrivyEmailTemplates.openFinanceReleasedSubject();
-                var pair = GrivyEmailTemplates.openFinanceReleased("Cliente", baseUrl());
-                mailService.sendHtmlAndText(email, subject, pair.html(), pair.text());
-            } catch (Exception e) {
-                log.warn("[MAIL] Falha Open Finance released para {}: {}", redactEmail(email), e.getMessage());
-            }
+            mailOutboxService.enqueue(email, subject, pair.html(), pair.text());
         }
     }
 
     /**
-     * Processa um job agendado (chamado pelo scheduler).
+     * Processa um job agendado (chamado pelo scheduler, um por transação): enfileira o e-mail e marca o job
+     * como enviado no mesmo commit. Job já enviado ou cancelado (ex.: rodada concorrente) é ignorado.
      */
     @Transactional
-    public void processScheduledJob(ScheduledMarketingEmail job) {
+    public void processScheduledJob(UUID jobId) {
+        ScheduledMarketingEmail job = scheduledMarketingEmailRepository.findById(jobId).orElse(null);
+        if (job == null || job.getSentAt() != null || job.isCancelled()) {
+            return;
+        }
         User user = userRepository.findByIdWithSubscription(job.getUser().getId())
                 .orElse(job.getUser());
         if (user.isMarketingEmailsOptOut()) {
@@ -174,7 +177,7 @@ public class EmailMarketingService {
                 return;
             }
         }
-        mailService.sendHtmlAndText(user.getEmail(), subject, pair.html(), pair.text());
+        mailOutboxService.enqueue(user.getEmail(), subject, pair.html(), pair.text());
         job.setSentAt(OffsetDateTime.now(ZoneOffset.UTC));
         scheduledMarketingEmailRepository.save(job);
     }
@@ -191,11 +194,4 @@ public class EmailMarketingService {
         String[] p = name.trim().split("\\s+");
         return p[0];
     }
-
-    private static String redactEmail(String email) {
-        if (email == null || !email.contains("@")) {
-            return "***";
-        }
-        return email.substring(0, 1) + "***@" + email.substring(email.indexOf('@') + 1);
-    }
 }
@@ -0,0 +1,49 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.repositories.JobLockRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Lease por job em {@code job_locks}, para que cada rodada agendada execute em uma única réplica.
+ * Cada aquisição usa um dono próprio (host + token), então só quem assumiu consegue encerrar o lease.
+ * Os comandos rodam em transação própria: o lease fica visível às outras réplicas antes de o job começar.
+ */
+@Service
+public class JobLockService {
+
+    private final JobLockRepository jobLockRepository;
+    private final String host;
+
+    public JobLockService(JobLockRepository jobLockRepository) {
+        this.jobLockRepository = jobLockRepository;
+        this.host = hostName();
+    }
+
+    /** @return dono do lease, ou vazio se outra instância detém o job */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<String> tryAcquire(String name, Duration lockAtMostFor) {
+        var owner = host + "/" + UUID.randomUUID();
+        return jobLockRepository.tryAcquire(name, owner, lockAtMostFor.toMillis()) == 1 ? Optional.of(owner) : Optional.empty();
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(String name, String owner, Duration lockAtLeastFor) {
+        jobLockRepository.release(name, owner, lockAtLeastFor.toMillis());
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.astrocode.backend.domain.exceptions.InvalidTokenException;
 import com.astrocode.backend.domain.model.enums.PlanType;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,23 +14,33 @@ import javax.crypto.SecretKey;
 import java.util.Base64;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class JwtService {
 
-    private static final int ACCESS_TOKEN_EXPIRATION_MINUTES = 15;
+    static final int ACCESS_TOKEN_EXPIRATION_MINUTES = 15;
     private static final String USER_ID_CLAIM = "user_id";
     private static final String EMAIL_CLAIM = "email";
     private static final String PLAN_CLAIM = "plan";
     private static final String PLAN_EXPIRES_AT_CLAIM = "plan_expires_at";
+    private static final int MAX_VERIFIED_TOKENS = 10_000;
+
+    /** Claims já verificados, por hash SHA-256 do token; a entrada vale até o {@code exp} do próprio token. */
+    private record VerifiedToken(Claims claims, long expiresAt) {}
 
     private final SecretKey secretKey;
+    private final JwtParser parser;
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
 
     public JwtService(@Value("${jwt.secret}") String secret) {
         if (secret == null || secret.isBlank()) {
@@ -48,6 +59,7 @@ public class JwtService {
             throw new IllegalArgumentException("JWT secret deve ter pelo menos 32 bytes (Base64 decodificado). Gere com SecureRandom.");
         }
         this.secretKey = Keys.hmacShaKeyFor(decoded);
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
     }
 
     public String generateToken(UUID userId, String email, PlanType planType, OffsetDateTime planExpiresAt) {
@@ -70,16 +82,54 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Claims do token assinado. Tokens já verificados e ainda não expirados são servidos do cache,
+     * sem repetir HMAC e parse; o restante passa pelo parser único (imutável e thread-safe).
+     */
     public Claims extractClaims(String token) {
+        if (token == null) {
+            throw new InvalidTokenException("Token inválido: ausente");
+        }
+        var key = hash(token);
+        var cached = verifiedTokens.get(key);
+        long now = System.currentTimeMillis();
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                return cached.claims;
+            }
+            verifiedTokens.remove(key, cached);
+        }
+
+        Claims claims;
         try {
-            return Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            claims = parser.parseSignedClaims(token).getPayload();
         } catch (JwtException e) {
             throw new InvalidTokenException("Token inválido: " + e.getMessage(), e);
         }
+        if (claims.getExpiration() != null) {
+            remember(key, new VerifiedToken(claims, claims.getExpiration().getTime()), now);
+        }
+        return claims;
+    }
+
+    /** Guarda o token verificado; cheio, remove expirados e, se ainda cheio, não guarda. */
+    private void remember(String key, VerifiedToken verified, long now) {
+        if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+            verifiedTokens.values().removeIf(v -> v.expiresAt <= now);
+            if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+                return;
+            }
+        }
+        verifiedTokens.put(key, verified);
+    }
+
+    private static String hash(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
     }
 
     public UUID extractUserIdFromClaims(Claims claims) {
@@ -116,18 +166,24 @@ public class JwtService {
         return email;
     }
 
-    public String extractPlan(String token) {
-        Claims claims = extractClaims(token);
+    public String extractPlanFromClaims(Claims claims) {
         String plan = claims.get(PLAN_CLAIM, String.class);
         return plan != null ? plan : PlanType.FREE.name();
     }
 
-    public OffsetDateTime extractPlanExpiresAt(String token) {
-        Claims claims = extractClaims(token);
+    public String extractPlan(String token) {
+        return extractPlanFromClaims(extractClaims(token));
+    }
+
+    public OffsetDateTime extractPlanExpiresAtFromClaims(Claims claims) {
         Long epochMilli = claims.get(PLAN_EXPIRES_AT_CLAIM, Long.class);
         return epochMilli != null ? OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneOffset.UTC) : null;
     }
 
+    public OffsetDateTime extractPlanExpiresAt(String token) {
+        return extractPlanExpiresAtFromClaims(extractClaims(token));
+    }
+
     public boolean isTokenValid(String token) {
         try {
             extractClaims(token);
@@ -0,0 +1,30 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.entities.OutboxEmail;
+import com.astrocode.backend.domain.repositories.MailOutboxRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Enfileira e-mails no outbox ({@code mail_outbox}). Dentro de uma transação, a mensagem só existe se ela
+ * comitar, junto com a mudança de estado que a motivou; o envio HTTP fica com {@code MailOutboxDispatcher}.
+ */
+@Service
+public class MailOutboxService {
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    public MailOutboxService(MailOutboxRepository mailOutboxRepository) {
+        this.mailOutboxRepository = mailOutboxRepository;
+    }
+
+    @Transactional
+    public void enqueue(String toEmail, String subject, String html, String text) {
+        mailOutboxRepository.save(OutboxEmail.builder()
+                .toEmail(toEmail)
+                .subject(subject)
+                .htmlBody(html)
+                .textBody(text)
+                .build());
+    }
+}
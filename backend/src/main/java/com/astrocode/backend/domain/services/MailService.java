@@ -1,5 +1,6 @@
 package com.astrocode.backend.domain.services;
 
+import com.astrocode.backend.infrastructure.email.EmailMessage;
 import com.astrocode.backend.infrastructure.email.ResendEmailClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +20,9 @@ import java.util.function.Consumer;
 @Service
 public class MailService {
 
+    /** Máximo de e-mails por {@link #deliverBatch}. */
+    public static final int MAX_BATCH_SIZE = ResendEmailClient.MAX_BATCH_SIZE;
+
     private static final Logger log = LoggerFactory.getLogger(MailService.class);
 
     private static final String BREVO_API_URL = "https://api.brevo.com/v3/smtp/email";
@@ -128,46 +132,74 @@ public class MailService {
                 log.warn("[MAIL] Falha ao enviar para {} assunto={}", maskEmail(toEmail), subject));
     }
 
+    /**
+     * Uma tentativa pelo provedor configurado, propagando a falha, para quem registra o resultado e agenda
+     * a nova tentativa (outbox). Sem provedor, só registra em log, como os demais envios.
+     */
+    public void deliver(EmailMessage message) {
+        if (!hasMailProvider()) {
+            log.info("[DEV] E-mail do outbox omitido (sem provedor) para {} assunto={}", maskEmail(message.to()), message.subject());
+            return;
+        }
+        if (resendEmailClient.isConfigured()) {
+            resendEmailClient.send(fromEmail, message);
+            return;
+        }
+        sendViaBrevo(message.to(), message.subject(), message.text() != null ? message.text() : "");
+    }
+
+    /** Só o Resend tem endpoint de lote; com Brevo (ou sem provedor) o outbox envia um a um. */
+    public boolean supportsBatch() {
+        return resendEmailClient.isConfigured();
+    }
+
+    /** Envia até {@link #MAX_BATCH_SIZE} e-mails numa chamada; o provedor aceita ou rejeita o lote inteiro. */
+    public void deliverBatch(List<EmailMessage> messages) {
+        resendEmailClient.sendBatch(fromEmail, messages);
+    }
+
     private boolean hasMailProvider() {
         return resendEmailClient.isConfigured() || !brevoApiKey.isBlank();
     }
 
+    /** Resend: tentativas agendadas em segundo plano, sem prender quem chamou. Brevo: uma tentativa síncrona. */
     private void sendTransactional(String toEmail, String subject, String html, String text, Consumer<Exception> onFailure) {
+        if (resendEmailClient.isConfigured()) {
+            resendEmailClient.sendWithRetry(fromEmail, toEmail, subject, html, text).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    reportFailure(toEmail, error instanceof Exception e ? e : new IllegalStateException(error), onFailure);
+                }
+            });
+            return;
+        }
         try {
-            if (resendEmailClient.isConfigured()) {
-                resendEmailClient.sendWithRetry(fromEmail, toEmail, subject, html, text);
-                return;
-            }
-            sendViaBrevo(toEmail, subject, text != null ? text : "", onFailure);
+            sendViaBrevo(toEmail, subject, text != null ? text : "");
         } catch (Exception e) {
-            log.error("[MAIL] Falha ao enviar para {}: {}", maskEmail(toEmail), e.getMessage());
-            if (onFailure != null) {
-                onFailure.accept(e);
-            }
+            reportFailure(toEmail, e, onFailure);
         }
     }
 
-    private void sendViaBrevo(String toEmail, String subject, String body, Consumer<Exception> onFailure) {
-        try {
-            Map<String, Object> payload = Map.of(
-                    "sender", Map.of("name", "Grivy", "email", fromEmail),
-                    "to", List.of(Map.of("email", toEmail)),
-                    "subject", subject,
-                    "textContent", body
-            );
-
-            brevoClient.post()
-                    .body(payload)
-                    .retrieve()
-                    .toBodilessEntity();
-        } catch (Exception e) {
-            log.error("Falha ao enviar e-mail via Brevo para {}: {}", maskEmail(toEmail), e.getMessage());
-            if (onFailure != null) {
-                onFailure.accept(e);
-            }
+    private static void reportFailure(String toEmail, Exception e, Consumer<Exception> onFailure) {
+        log.error("[MAIL] Falha ao enviar para {}: {}", maskEmail(toEmail), e.getMessage());
+        if (onFailure != null) {
+            onFailure.accept(e);
         }
     }
 
+    private void sendViaBrevo(String toEmail, String subject, String body) {
+        Map<String, Object> payload = Map.of(
+                "sender", Map.of("name", "Grivy", "email", fromEmail),
+                "to", List.of(Map.of("email", toEmail)),
+                "subject", subject,
+                "textContent", body
+        );
+
+        brevoClient.post()
+                .body(payload)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
     private static String maskEmail(String email) {
         if (email == null || !email.contains("@")) {
             return "***";
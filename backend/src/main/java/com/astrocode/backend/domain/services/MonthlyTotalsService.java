@@ -0,0 +1,169 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.entities.Transaction;
+import com.astrocode.backend.domain.events.MonthlyTotalsChangedEvent;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.domain.repositories.MonthlyCategoryTotalRepository;
+import com.astrocode.backend.domain.repositories.TransactionMonthlyUsageRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Mantém {@code monthly_category_totals} e o contador {@code transaction_monthly_usage} em dia com as escritas de transações.
+ * Exige transação já aberta: o agregado é gravado junto com a transação ou não é gravado.
+ * O incremento do contador aplica a cota mensal do plano; estourá-la lança {@link com.astrocode.backend.domain.exceptions.PlanUpgradeRequiredException}
+ * e desfaz a escrita inteira. Cada alteração publica {@link MonthlyTotalsChangedEvent} com os meses afetados.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class MonthlyTotalsService {
+
+    private final MonthlyCategoryTotalRepository monthlyCategoryTotalRepository;
+    private final TransactionMonthlyUsageRepository transactionMonthlyUsageRepository;
+    private final PlanLimitService planLimitService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MonthlyTotalsService(MonthlyCategoryTotalRepository monthlyCategoryTotalRepository,
+                                TransactionMonthlyUsageRepository transactionMonthlyUsageRepository,
+                                PlanLimitService planLimitService,
+                                ApplicationEventPublisher eventPublisher) {
+        this.monthlyCategoryTotalRepository = monthlyCategoryTotalRepository;
+        this.transactionMonthlyUsageRepository = transactionMonthlyUsageRepository;
+        this.planLimitService = planLimitService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** Soma a transação ao agregado; usar após definir data, tipo, categoria e meta. */
+    public void add(Transaction transaction) {
+        apply(Deltas.of(transaction, 1));
+    }
+
+    /** Retira a transação do agregado; em atualizações, chamar antes de alterar a entidade. */
+    public void subtract(Transaction transaction) {
+        apply(Deltas.of(transaction, -1));
+    }
+
+    /** Retira todas as transações da conta; chamar antes de excluí-la. */
+    public void subtractBankAccount(UUID userId, UUID bankAccountId) {
+        monthlyCategoryTotalRepository.subtractByBankAccountId(bankAccountId);
+        transactionMonthlyUsageRepository.subtractByBankAccountId(bankAccountId);
+        eventPublisher.publishEvent(MonthlyTotalsChangedEvent.allMonths(userId));
+    }
+
+    /**
+     * Um upsert por chave distinta, em ordem fixa (evita deadlock entre lotes concorrentes), seguido de um
+     * incremento condicional do contador de uso por usuário e mês.
+     */
+    public void apply(Deltas deltas) {
+        write(deltas, true);
+    }
+
+    /** Como {@link #apply}, sem tocar no contador de uso: para escritas que já reservaram a cota com {@link #tryAddUsage}. */
+    public void applyTotals(Deltas deltas) {
+        write(deltas, false);
+    }
+
+    /**
+     * Soma {@code count} ao uso do mês dentro da cota do plano; {@code false} (nada gravado) se ela estourar.
+     * Valores negativos devolvem uma reserva e sempre são gravados.
+     */
+    public boolean tryAddUsage(UUID userId, YearMonth month, int count) {
+        int limit = count > 0 ? planLimitService.monthlyTransactionLimit(userId) : 0;
+        return addUsage(userId, month, count, limit);
+    }
+
+    private void write(Deltas deltas, boolean countUsage) {
+        Map<UUID, Set<YearMonth>> monthsByUser = new HashMap<>();
+        Map<UsageKey, Integer> usage = new LinkedHashMap<>();
+        for (var entry : deltas.byKey.entrySet()) {
+            var key = entry.getKey();
+            var delta = entry.getValue();
+            monthlyCategoryTotalRepository.addDelta(key.userId(), key.year(), key.month(), key.type().name(),
+                    key.categoryId(), key.goalFlag(), delta.total, delta.count);
+            var month = YearMonth.of(key.year(), key.month());
+            monthsByUser.computeIfAbsent(key.userId(), id -> new HashSet<>()).add(month);
+            usage.merge(new UsageKey(key.userId(), month), (int) delta.count, Integer::sum);
+        }
+
+        if (countUsage) {
+            Map<UUID, Integer> limits = new HashMap<>();
+            for (var entry : usage.entrySet()) {
+                int count = entry.getValue();
+                if (count == 0) {
+                    continue;
+                }
+                var key = entry.getKey();
+                int limit = count > 0 ? limits.computeIfAbsent(key.userId(), planLimitService::monthlyTransactionLimit) : 0;
+                if (!addUsage(key.userId(), key.month(), count, limit)) {
+                    throw PlanLimitService.transactionLimitReached();
+                }
+            }
+        }
+        monthsByUser.forEach((userId, months) -> eventPublisher.publishEvent(new MonthlyTotalsChangedEvent(userId, months)));
+    }
+
+    private boolean addUsage(UUID userId, YearMonth month, int count, int limit) {
+        return transactionMonthlyUsageRepository.addUsage(userId, month.getYear(), month.getMonthValue(), count, limit) > 0
+                || count <= 0;
+    }
+
+    /** Acumula deltas por chave em memória para gravá-los de uma vez com {@link #apply}. */
+    public static final class Deltas {
+
+        private final Map<Key, Delta> byKey = new TreeMap<>(Key.ORDER);
+
+        public static Deltas of(Transaction transaction, int sign) {
+            var deltas = new Deltas();
+            deltas.add(transaction, sign);
+            return deltas;
+        }
+
+        public Deltas add(Transaction transaction) {
+            return add(transaction, 1);
+        }
+
+        private Deltas add(Transaction transaction, int sign) {
+            var key = new Key(
+                    transaction.getUser().getId(),
+                    transaction.getDate().getYear(),
+                    transaction.getDate().getMonthValue(),
+                    transaction.getType(),
+                    transaction.getCategory().getId(),
+                    transaction.getGoal() != null
+            );
+            var delta = byKey.computeIfAbsent(key, k -> new Delta());
+            delta.total = delta.total.add(sign > 0 ? transaction.getAmount() : transaction.getAmount().negate());
+            delta.count += sign;
+            return this;
+        }
+    }
+
+    private record Key(UUID userId, int year, int month, TransactionType type, UUID categoryId, boolean goalFlag) {
+        static final Comparator<Key> ORDER = Comparator.comparing(Key::userId)
+                .thenComparingInt(Key::year)
+                .thenComparingInt(Key::month)
+                .thenComparing(Key::type)
+                .thenComparing(Key::categoryId)
+                .thenComparing(Key::goalFlag);
+    }
+
+    private record UsageKey(UUID userId, YearMonth month) {}
+
+    private static final class Delta {
+        private BigDecimal total = BigDecimal.ZERO;
+        private long count;
+    }
+}
@@ -27,6 +27,7 @@ public class OpenFinanceService {
     private final UserRepository userRepository;
     private final PluggyItemRepository pluggyItemRepository;
     private final BankAccountRepository bankAccountRepository;
+    private final BalanceLedgerService balanceLedgerService;
 
     @Value("${app.frontend-url:}")
     private String frontendUrl;
@@ -34,11 +35,13 @@ public class OpenFinanceService {
     public OpenFinanceService(PluggyApiClient pluggyApiClient,
                               UserRepository userRepository,
                               PluggyItemRepository pluggyItemRepository,
-                              BankAccountRepository bankAccountRepository) {
+                              BankAccountRepository bankAccountRepository,
+                              BalanceLedgerService balanceLedgerService) {
         this.pluggyApiClient = pluggyApiClient;
         this.userRepository = userRepository;
         this.pluggyItemRepository = pluggyItemRepository;
         this.bankAccountRepository = bankAccountRepository;
+        this.balanceLedgerService = balanceLedgerService;
     }
 
     public String createConnectToken(UUID userId) {
@@ -109,6 +112,7 @@ public class OpenFinanceService {
                     continue;
                 }
                 existing.setInitialBalance(pa.balance());
+                balanceLedgerService.post(existing.getId(), pa.balance().subtract(existing.getCurrentBalance()));
                 existing.setCurrentBalance(pa.balance());
                 bankAccountRepository.save(existing);
                 updated++;
@@ -121,6 +125,7 @@ public class OpenFinanceService {
                     .user(user)
                     .name(uniqueName)
                     .initialBalance(pa.balance())
+                    .balanceSnapshot(pa.balance())
                     .currentBalance(pa.balance())
                     .type(AccountType.CHECKING)
                     .pluggyAccountId(pa.id())
@@ -6,6 +6,8 @@ import com.astrocode.backend.domain.repositories.OpenFinanceWaitlistRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.UUID;
+
 /**
  * Lista de espera do Open Finance e envio do e-mail de confirmação (Template 4).
  */
@@ -14,16 +16,22 @@ public class OpenFinanceWaitlistService {
 
     private final OpenFinanceWaitlistRepository waitlistRepository;
     private final EmailMarketingService emailMarketingService;
+    private final RequestUserCache requestUserCache;
 
     public OpenFinanceWaitlistService(
             OpenFinanceWaitlistRepository waitlistRepository,
-            EmailMarketingService emailMarketingService) {
+            EmailMarketingService emailMarketingService,
+            RequestUserCache requestUserCache) {
         this.waitlistRepository = waitlistRepository;
         this.emailMarketingService = emailMarketingService;
+        this.requestUserCache = requestUserCache;
     }
 
     @Transactional
-    public void join(String email, User userOrNull) {
+    public void join(String email, UUID userIdOrNull) {
+        User userOrNull = userIdOrNull != null
+                ? requestUserCache.findByIdWithSubscription(userIdOrNull).orElse(null)
+                : null;
         String normalized = email.trim().toLowerCase();
         if (waitlistRepository.existsByEmailIgnoreCase(normalized)) {
             return;
@@ -4,11 +4,8 @@ import com.astrocode.backend.domain.exceptions.PlanUpgradeRequiredException;
 import com.astrocode.backend.domain.exceptions.ResourceNotFoundException;
 import com.astrocode.backend.domain.repositories.BankAccountRepository;
 import com.astrocode.backend.domain.repositories.SavingsGoalRepository;
-import com.astrocode.backend.domain.repositories.TransactionRepository;
-import com.astrocode.backend.domain.repositories.UserRepository;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
 import java.util.UUID;
 
 @Service
@@ -18,44 +15,38 @@ public class PlanLimitService {
     public static final int FREE_PLAN_ACCOUNT_LIMIT = 2;
     public static final int FREE_PLAN_ACTIVE_GOAL_LIMIT = 2;
 
-    private final UserRepository userRepository;
-    private final TransactionRepository transactionRepository;
+    private final RequestUserCache requestUserCache;
     private final BankAccountRepository bankAccountRepository;
     private final SavingsGoalRepository savingsGoalRepository;
 
-    public PlanLimitService(UserRepository userRepository,
-                            TransactionRepository transactionRepository,
+    public PlanLimitService(RequestUserCache requestUserCache,
                             BankAccountRepository bankAccountRepository,
                             SavingsGoalRepository savingsGoalRepository) {
-        this.userRepository = userRepository;
-        this.transactionRepository = transactionRepository;
+        this.requestUserCache = requestUserCache;
         this.bankAccountRepository = bankAccountRepository;
         this.savingsGoalRepository = savingsGoalRepository;
     }
 
-    public void checkFreePlanTransactionLimit(UUID userId) {
-        var user = userRepository.findByIdWithSubscription(userId);
-        if (user.isEmpty()) {
-            throw new ResourceNotFoundException("Usuário não encontrado");
-        }
-        if (user.get().isPro()) {
-            return;
-        }
-        var now = LocalDate.now();
-        var startOfMonth = now.withDayOfMonth(1);
-        var endOfMonth = startOfMonth.withDayOfMonth(startOfMonth.lengthOfMonth());
-        long count = transactionRepository.countByUserIdAndDateBetween(userId, startOfMonth, endOfMonth);
-        if (count >= FREE_PLAN_TRANSACTION_LIMIT_PER_MONTH) {
-            throw new PlanUpgradeRequiredException(
-                    "Seu controle financeiro está evoluindo! Você atingiu o limite de "
-                            + FREE_PLAN_TRANSACTION_LIMIT_PER_MONTH
-                            + " transações do plano Free. Libere transações ilimitadas agora no Grivy Pro e nunca mais perca um lançamento.",
-                    "transactions");
-        }
+    /**
+     * Limite mensal de transações do usuário; {@link Integer#MAX_VALUE} para Pro.
+     * Aplicado por {@code MonthlyTotalsService} no próprio incremento do contador de uso do mês.
+     */
+    public int monthlyTransactionLimit(UUID userId) {
+        var user = requestUserCache.findByIdWithSubscription(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
+        return user.isPro() ? Integer.MAX_VALUE : FREE_PLAN_TRANSACTION_LIMIT_PER_MONTH;
+    }
+
+    static PlanUpgradeRequiredException transactionLimitReached() {
+        return new PlanUpgradeRequiredException(
+                "Seu controle financeiro está evoluindo! Você atingiu o limite de "
+                        + FREE_PLAN_TRANSACTION_LIMIT_PER_MONTH
+                        + " transações do plano Free. Libere transações ilimitadas agora no Grivy Pro e nunca mais perca um lançamento.",
+                "transactions");
     }
 
     public void checkFreePlanBankAccountLimit(UUID userId) {
-        var user = userRepository.findByIdWithSubscription(userId);
+        var user = requestUserCache.findByIdWithSubscription(userId);
         if (user.isEmpty()) {
             throw new ResourceNotFoundException("Usuário não encontrado");
         }
@@ -73,7 +64,7 @@ public class PlanLimitService {
     }
 
     public void checkFreePlanActiveGoalLimit(UUID userId) {
-        var user = userRepository.findByIdWithSubscription(userId);
+        var user = requestUserCache.findByIdWithSubscription(userId);
         if (user.isEmpty()) {
             throw new ResourceNotFoundException("Usuário não encontrado");
         }
@@ -0,0 +1,155 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.entities.Category;
+import com.astrocode.backend.domain.entities.Transaction;
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.events.FinancialDataChangedEvent;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.domain.repositories.TransactionRepository;
+import com.astrocode.backend.domain.repositories.TransactionRepository.DueRecurrence;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Geração em lote das filhas de transações recorrentes: um INSERT para o lote inteiro, um lançamento de saldo por
+ * conta (soma das filhas, em ordem de id da conta), um upsert do agregado mensal por chave e um UPDATE que avança
+ * {@code next_occurrence_date} dos pais atendidos.
+ */
+@Service
+public class RecurringTransactionService {
+
+    private final TransactionRepository transactionRepository;
+    private final BalanceLedgerService balanceLedgerService;
+    private final MonthlyTotalsService monthlyTotalsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RecurringTransactionService(TransactionRepository transactionRepository,
+                                       BalanceLedgerService balanceLedgerService,
+                                       MonthlyTotalsService monthlyTotalsService,
+                                       ApplicationEventPublisher eventPublisher) {
+        this.transactionRepository = transactionRepository;
+        this.balanceLedgerService = balanceLedgerService;
+        this.monthlyTotalsService = monthlyTotalsService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** Resultado de um lote: filhas geradas, pais avançados para o período seguinte e os que vão linha a linha. */
+    public record Outcome(int generated, int advanced, List<DueRecurrence> rejected) {
+    }
+
+    private record UsageKey(UUID userId, YearMonth month) {
+        static final Comparator<UsageKey> ORDER = Comparator.comparing(UsageKey::userId).thenComparing(UsageKey::month);
+
+        static UsageKey of(DueRecurrence recurrence) {
+            return new UsageKey(recurrence.getUserId(), YearMonth.from(recurrence.getTargetDate()));
+        }
+    }
+
+    /**
+     * Gera as filhas de {@code due} (lote de {@link TransactionRepository#findDueRecurringParents}) numa transação e
+     * avança {@code next_occurrence_date} dos pais atendidos (inclusive os cujo período já tinha filha).
+     * A cota mensal do plano é reservada por usuário e mês antes de qualquer escrita: usuário sem folga para todas as
+     * suas filhas do mês fica de fora, sem avançar. Depois, contas cujo saldo não cobre a soma das suas filhas também
+     * ficam de fora (e devolvem a reserva). Os dois casos são devolvidos para o caminho linha a linha; o resto do lote
+     * é gravado.
+     */
+    @Transactional
+    public Outcome generate(LocalDate today, List<DueRecurrence> due) {
+        List<UUID> advanced = new ArrayList<>();
+        Map<UsageKey, List<DueRecurrence>> byUsage = new TreeMap<>(UsageKey.ORDER);
+        for (var recurrence : due) {
+            if (recurrence.getHasChild()) {
+                advanced.add(recurrence.getParentId());
+            } else {
+                byUsage.computeIfAbsent(UsageKey.of(recurrence), key -> new ArrayList<>()).add(recurrence);
+            }
+        }
+
+        List<DueRecurrence> rejected = new ArrayList<>();
+        Map<UUID, List<DueRecurrence>> byAccount = new TreeMap<>();
+        for (var entry : byUsage.entrySet()) {
+            var key = entry.getKey();
+            if (!monthlyTotalsService.tryAddUsage(key.userId(), key.month(), entry.getValue().size())) {
+                rejected.addAll(entry.getValue());
+                continue;
+            }
+            for (var recurrence : entry.getValue()) {
+                byAccount.computeIfAbsent(recurrence.getBankAccountId(), id -> new ArrayList<>()).add(recurrence);
+            }
+        }
+
+        List<UUID> accepted = new ArrayList<>();
+        Set<UUID> users = new LinkedHashSet<>();
+        var deltas = new MonthlyTotalsService.Deltas();
+        for (var entry : byAccount.entrySet()) {
+            var net = entry.getValue().stream().map(RecurringTransactionService::signedAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+            if (!balanceLedgerService.tryPost(entry.getKey(), net)) {
+                releaseUsage(entry.getValue());
+                rejected.addAll(entry.getValue());
+                continue;
+            }
+            for (var recurrence : entry.getValue()) {
+                accepted.add(recurrence.getParentId());
+                users.add(recurrence.getUserId());
+                deltas.add(toTransaction(recurrence));
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            int inserted = transactionRepository.insertRecurringChildren(today, accepted, OffsetDateTime.now());
+            if (inserted != accepted.size()) {
+                throw new IllegalStateException("Filhas recorrentes geradas concorrentemente: esperadas " + accepted.size() + ", inseridas " + inserted);
+            }
+            monthlyTotalsService.applyTotals(deltas);
+            users.forEach(userId -> eventPublisher.publishEvent(new FinancialDataChangedEvent(userId)));
+            advanced.addAll(accepted);
+        }
+        if (!advanced.isEmpty()) {
+            transactionRepository.advanceNextOccurrence(advanced);
+        }
+        return new Outcome(accepted.size(), advanced.size(), rejected);
+    }
+
+    /** Avança os pais sem gerar filha (período vencido que não será mais gerado). */
+    @Transactional
+    public void skip(Collection<UUID> parentIds) {
+        transactionRepository.advanceNextOccurrence(parentIds);
+    }
+
+    private void releaseUsage(List<DueRecurrence> recurrences) {
+        recurrences.stream()
+                .collect(Collectors.groupingBy(UsageKey::of, Collectors.counting()))
+                .forEach((key, count) -> monthlyTotalsService.tryAddUsage(key.userId(), key.month(), -count.intValue()));
+    }
+
+    private static BigDecimal signedAmount(DueRecurrence recurrence) {
+        return TransactionType.INCOME.name().equals(recurrence.getType()) ? recurrence.getAmount() : recurrence.getAmount().negate();
+    }
+
+    /** Só os campos que o agregado mensal usa. */
+    private static Transaction toTransaction(DueRecurrence recurrence) {
+        return Transaction.builder()
+                .user(User.builder().id(recurrence.getUserId()).build())
+                .category(Category.builder().id(recurrence.getCategoryId()).build())
+                .amount(recurrence.getAmount())
+                .date(recurrence.getTargetDate())
+                .type(TransactionType.valueOf(recurrence.getType()))
+                .build();
+    }
+}
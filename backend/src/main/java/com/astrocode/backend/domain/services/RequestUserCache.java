@@ -0,0 +1,49 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.repositories.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Usuário com assinatura carregado uma vez por requisição HTTP (guardado nos atributos da requisição).
+ * O filtro JWT resolve o usuário por aqui e os serviços reaproveitam a mesma instância, somente para leitura.
+ * Fora de uma requisição (jobs, importação assíncrona) sempre consulta o banco.
+ * Quem altera a assinatura deve chamar {@link #invalidate} para que o restante da requisição releia o plano.
+ */
+@Component
+public class RequestUserCache {
+
+    private static final String ATTRIBUTE_PREFIX = RequestUserCache.class.getName() + ".";
+
+    private final UserRepository userRepository;
+
+    public RequestUserCache(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public Optional<User> findByIdWithSubscription(UUID userId) {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return userRepository.findByIdWithSubscription(userId);
+        }
+        var key = ATTRIBUTE_PREFIX + userId;
+        if (attributes.getAttribute(key, RequestAttributes.SCOPE_REQUEST) instanceof User cached) {
+            return Optional.of(cached);
+        }
+        var user = userRepository.findByIdWithSubscription(userId);
+        user.ifPresent(u -> attributes.setAttribute(key, u, RequestAttributes.SCOPE_REQUEST));
+        return user;
+    }
+
+    public void invalidate(UUID userId) {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(ATTRIBUTE_PREFIX + userId, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
@@ -2,11 +2,11 @@ package com.astrocode.backend.domain.services;
 
 import com.astrocode.backend.api.dto.goal.SavingsGoalContributeRequest;
 import com.astrocode.backend.api.dto.goal.SavingsGoalRequest;
+import com.astrocode.backend.api.dto.goal.SavingsGoalResponse;
 import com.astrocode.backend.api.dto.goal.SavingsGoalWithdrawRequest;
 import com.astrocode.backend.domain.entities.BankAccount;
 import com.astrocode.backend.domain.entities.Category;
 import com.astrocode.backend.domain.entities.SavingsGoal;
-import com.astrocode.backend.domain.entities.User;
 import com.astrocode.backend.domain.exceptions.ResourceAccessDeniedException;
 import com.astrocode.backend.domain.exceptions.ResourceNotFoundException;
 import com.astrocode.backend.domain.model.enums.GoalStatus;
@@ -14,11 +14,11 @@ import com.astrocode.backend.domain.model.enums.TransactionType;
 import com.astrocode.backend.domain.repositories.BankAccountRepository;
 import com.astrocode.backend.domain.repositories.CategoryRepository;
 import com.astrocode.backend.domain.repositories.SavingsGoalRepository;
-import com.astrocode.backend.domain.repositories.UserRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -29,7 +29,7 @@ import java.util.UUID;
 public class SavingsGoalService {
 
     private final SavingsGoalRepository savingsGoalRepository;
-    private final UserRepository userRepository;
+    private final RequestUserCache requestUserCache;
     private final BankAccountRepository bankAccountRepository;
     private final CategoryRepository categoryRepository;
     private final TransactionService transactionService;
@@ -37,14 +37,14 @@ public class SavingsGoalService {
 
     public SavingsGoalService(
             SavingsGoalRepository savingsGoalRepository,
-            UserRepository userRepository,
+            RequestUserCache requestUserCache,
             BankAccountRepository bankAccountRepository,
             CategoryRepository categoryRepository,
             TransactionService transactionService,
             PlanLimitService planLimitService
     ) {
         this.savingsGoalRepository = savingsGoalRepository;
-        this.userRepository = userRepository;
+        this.requestUserCache = requestUserCache;
         this.bankAccountRepository = bankAccountRepository;
         this.categoryRepository = categoryRepository;
         this.transactionService = transactionService;
@@ -52,8 +52,8 @@ public class SavingsGoalService {
     }
 
     @Transactional
-    public SavingsGoal create(SavingsGoalRequest request, UUID userId) {
-        var user = userRepository.findByIdWithSubscription(userId)
+    public SavingsGoalResponse create(SavingsGoalRequest request, UUID userId) {
+        var user = requestUserCache.findByIdWithSubscription(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
 
         planLimitService.checkFreePlanActiveGoalLimit(userId);
@@ -73,11 +73,11 @@ public class SavingsGoalService {
                 .color(request.color())
                 .build();
 
-        return savingsGoalRepository.save(savingsGoal);
+        return toResponse(savingsGoalRepository.save(savingsGoal));
     }
 
-    public List<SavingsGoal> findAllByUserId(UUID userId) {
-        return savingsGoalRepository.findByUserId(userId);
+    public List<SavingsGoalResponse> findAllByUserId(UUID userId) {
+        return savingsGoalRepository.findByUserId(userId).stream().map(this::toResponse).toList();
     }
 
     public SavingsGoal findByIdAndUserId(UUID id, UUID userId) {
@@ -95,8 +95,8 @@ public class SavingsGoalService {
     }
 
     @Transactional
-    public SavingsGoal update(UUID id, SavingsGoalRequest request, User user) {
-        var savingsGoal = findByIdAndUserId(id, user.getId());
+    public SavingsGoalResponse update(UUID id, SavingsGoalRequest request, UUID userId) {
+        var savingsGoal = findByIdAndUserId(id, userId);
 
         if (request.targetAmount().compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Valor alvo deve ser maior que zero");
@@ -107,12 +107,12 @@ public class SavingsGoalService {
         savingsGoal.setEndDate(request.endDate());
         savingsGoal.setColor(request.color());
 
-        return savingsGoalRepository.save(savingsGoal);
+        return toResponse(savingsGoalRepository.save(savingsGoal));
     }
 
     @Transactional(rollbackFor = Exception.class)
-    public SavingsGoal contribute(UUID id, SavingsGoalContributeRequest request, User user) {
-        var goal = findByIdAndUserId(id, user.getId());
+    public SavingsGoalResponse contribute(UUID id, SavingsGoalContributeRequest request, UUID userId) {
+        var goal = findByIdAndUserId(id, userId);
         validateNotCompleted(goal);
 
         BigDecimal remaining = goal.getTargetAmount().subtract(goal.getCurrentAmount());
@@ -122,11 +122,11 @@ public class SavingsGoalService {
 
         var bankAccount = bankAccountRepository.findById(request.bankAccountId())
                 .orElseThrow(() -> new ResourceNotFoundException("Conta bancária não encontrada"));
-        if (!bankAccount.getUser().getId().equals(user.getId())) {
+        if (!bankAccount.getUser().getId().equals(userId)) {
             throw new ResourceAccessDeniedException("Você não tem permissão para acessar esta conta");
         }
 
-        var expenseCategories = categoryRepository.findByUserIdAndType(user.getId(), TransactionType.EXPENSE);
+        var expenseCategories = categoryRepository.findByUserIdAndType(userId, TransactionType.EXPENSE);
         if (expenseCategories.isEmpty()) {
             throw new ResourceNotFoundException("Nenhuma categoria de despesa encontrada");
         }
@@ -143,16 +143,16 @@ public class SavingsGoalService {
                 "Aporte na meta: " + goal.getName(),
                 request.amount(),
                 TransactionType.EXPENSE,
-                user,
+                goal.getUser(),
                 goal
         );
 
-        return savingsGoalRepository.save(goal);
+        return toResponse(savingsGoalRepository.save(goal));
     }
 
     @Transactional(rollbackFor = Exception.class)
-    public SavingsGoal withdraw(UUID id, SavingsGoalWithdrawRequest request, User user) {
-        var goal = findByIdAndUserId(id, user.getId());
+    public SavingsGoalResponse withdraw(UUID id, SavingsGoalWithdrawRequest request, UUID userId) {
+        var goal = findByIdAndUserId(id, userId);
 
         if (request.amount().compareTo(goal.getCurrentAmount()) > 0) {
             throw new IllegalArgumentException("Valor não pode ser maior que o saldo atual da meta");
@@ -160,11 +160,11 @@ public class SavingsGoalService {
 
         var bankAccount = bankAccountRepository.findById(request.bankAccountId())
                 .orElseThrow(() -> new ResourceNotFoundException("Conta bancária não encontrada"));
-        if (!bankAccount.getUser().getId().equals(user.getId())) {
+        if (!bankAccount.getUser().getId().equals(userId)) {
             throw new ResourceAccessDeniedException("Você não tem permissão para acessar esta conta");
         }
 
-        var incomeCategories = categoryRepository.findByUserIdAndType(user.getId(), TransactionType.INCOME);
+        var incomeCategories = categoryRepository.findByUserIdAndType(userId, TransactionType.INCOME);
         if (incomeCategories.isEmpty()) {
             throw new ResourceNotFoundException("Nenhuma categoria de receita encontrada");
         }
@@ -182,16 +182,16 @@ public class SavingsGoalService {
                 "Resgate da meta: " + goal.getName(),
                 request.amount(),
                 TransactionType.INCOME,
-                user,
+                goal.getUser(),
                 goal
         );
 
-        return savingsGoalRepository.save(goal);
+        return toResponse(savingsGoalRepository.save(goal));
     }
 
     @Transactional
-    public void delete(UUID id, User user) {
-        var savingsGoal = findByIdAndUserId(id, user.getId());
+    public void delete(UUID id, UUID userId) {
+        var savingsGoal = findByIdAndUserId(id, userId);
         savingsGoal.setDeletedAt(OffsetDateTime.now());
         savingsGoalRepository.save(savingsGoal);
     }
@@ -201,4 +201,35 @@ public class SavingsGoalService {
             throw new IllegalArgumentException("Não é possível adicionar valor em uma meta já concluída");
         }
     }
+
+    private SavingsGoalResponse toResponse(SavingsGoal savingsGoal) {
+        BigDecimal progressPercentage = calculateProgressPercentage(
+                savingsGoal.getCurrentAmount(),
+                savingsGoal.getTargetAmount()
+        );
+
+        return new SavingsGoalResponse(
+                savingsGoal.getId(),
+                savingsGoal.getName(),
+                savingsGoal.getTargetAmount(),
+                savingsGoal.getCurrentAmount(),
+                savingsGoal.getColor(),
+                progressPercentage,
+                savingsGoal.getStatus().name(),
+                savingsGoal.getEndDate(),
+                savingsGoal.getCreatedAt(),
+                savingsGoal.getUpdatedAt()
+        );
+    }
+
+    private BigDecimal calculateProgressPercentage(BigDecimal currentAmount, BigDecimal targetAmount) {
+        if (targetAmount == null || targetAmount.compareTo(BigDecimal.ZERO) == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        return currentAmount
+                .divide(targetAmount, 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
 }
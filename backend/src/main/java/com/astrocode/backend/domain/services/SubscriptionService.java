@@ -26,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -35,27 +36,33 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
 public class SubscriptionService {
 
     private static final Logger log = LoggerFactory.getLogger(SubscriptionService.class);
+    private static final int EXPIRATION_CHUNK_SIZE = 500;
 
     private final SubscriptionRepository subscriptionRepository;
     private final UserRepository userRepository;
+    private final RequestUserCache requestUserCache;
+    private final AuthStateRegistry authStateRegistry;
     private final PaymentClient paymentClient;
     private final SubscriptionPricingProperties pricing;
     private final String webhookBaseUrl;
 
     public SubscriptionService(SubscriptionRepository subscriptionRepository,
                                UserRepository userRepository,
+                               RequestUserCache requestUserCache,
+                               AuthStateRegistry authStateRegistry,
                                PaymentClient paymentClient,
                                SubscriptionPricingProperties pricing,
                                @Value("${app.webhook.base-url:}") String webhookBaseUrl) {
         this.subscriptionRepository = subscriptionRepository;
         this.userRepository = userRepository;
+        this.requestUserCache = requestUserCache;
+        this.authStateRegistry = authStateRegistry;
         this.paymentClient = paymentClient;
         this.pricing = pricing;
         this.webhookBaseUrl = webhookBaseUrl;
@@ -74,12 +81,13 @@ public class SubscriptionService {
                             .planType(PlanType.FREE)
                             .status(SubscriptionStatus.ACTIVE)
                             .build();
+                    requestUserCache.invalidate(user.getId());
                     return subscriptionRepository.save(sub);
                 });
     }
 
     public boolean isPro(UUID userId) {
-        return userRepository.findByIdWithSubscription(userId)
+        return requestUserCache.findByIdWithSubscription(userId)
                 .map(User::isPro)
                 .orElse(false);
     }
@@ -275,6 +283,8 @@ public class SubscriptionService {
         subscription.setExpiresAt(now.plusMonths(months));
         subscription.setAmountPaid(amount);
         subscription.setMpPaymentId(mpPaymentId != null ? String.valueOf(mpPaymentId) : subscription.getMpPaymentId());
+        requestUserCache.invalidate(subscription.getUser().getId());
+        authStateRegistry.planChanged(subscription.getUser().getId());
     }
 
     private PlanType inferPlanFromAmount(BigDecimal amount) {
@@ -299,28 +309,31 @@ public class SubscriptionService {
         var previousPlan = subscription.getPlanType();
         subscription.setStatus(SubscriptionStatus.CANCELLED);
         subscriptionRepository.save(subscription);
+        requestUserCache.invalidate(userId);
+        authStateRegistry.planChanged(userId);
         log.info("AUDITORIA alteração de plano: userId={} subscriptionId={} ação=cancelamento planoAnterior={}",
                 userId, subscription.getId(), previousPlan);
     }
 
-    @Transactional
-    public void expireSubscriptions() {
+    /**
+     * Rebaixa as assinaturas pagas vencidas em lotes de {@link #EXPIRATION_CHUNK_SIZE}, cada um num UPDATE próprio:
+     * as travas duram só o lote e a memória não cresce com a quantidade de assinaturas vencidas.
+     * Fora da transação somente-leitura da classe, para cada lote comitar sozinho.
+     * @return total de assinaturas rebaixadas
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int expireSubscriptions() {
         OffsetDateTime now = OffsetDateTime.now();
-        var activeExpired = subscriptionRepository.findByStatusAndExpiresAtBefore(SubscriptionStatus.ACTIVE, now);
-        var cancelledExpired = subscriptionRepository.findByStatusAndExpiresAtBefore(SubscriptionStatus.CANCELLED, now);
-        var toSave = Stream.concat(activeExpired.stream(), cancelledExpired.stream())
-                .filter(sub -> sub.getPlanType() != PlanType.FREE)
-                .peek(sub -> {
-                    sub.setStatus(SubscriptionStatus.EXPIRED);
-                    sub.setPlanType(PlanType.FREE);
-                })
-                .toList();
-        if (!toSave.isEmpty()) {
-            subscriptionRepository.saveAll(toSave);
-            log.info("AUDITORIA expiração de planos: assinaturasRebaixadas={} ids={}",
-                    toSave.size(),
-                    toSave.stream().map(s -> s.getId().toString()).toList());
-        }
+        int total = 0;
+        List<UUID> expired;
+        do {
+            expired = subscriptionRepository.expireBatch(now, EXPIRATION_CHUNK_SIZE);
+            if (!expired.isEmpty()) {
+                total += expired.size();
+                log.info("AUDITORIA expiração de planos: assinaturasRebaixadas={} ids={}", expired.size(), expired);
+            }
+        } while (expired.size() == EXPIRATION_CHUNK_SIZE);
+        return total;
     }
 
     public BigDecimal getPrice(PlanType planType) {
@@ -0,0 +1,88 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.api.dto.transaction.TransactionResponse;
+import com.astrocode.backend.domain.model.enums.ExportFormat;
+import com.astrocode.backend.domain.repositories.TransactionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Exportação de transações escrita direto no stream de saída, linha a linha.
+ * O heap não cresce com o histórico e a conexão é devolvida ao pool assim que o método retorna.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final String CSV_HEADER = "id,date,type,name,amount,categoryId,bankAccountId,creditCardId,"
+            + "creditCardName,creditCardBillId,isRecurring,frequency,createdAt";
+
+    private final TransactionRepository transactionRepository;
+    private final JsonMapper jsonMapper;
+
+    public TransactionExportService(TransactionRepository transactionRepository, JsonMapper jsonMapper) {
+        this.transactionRepository = transactionRepository;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /** Executado na thread do {@code StreamingResponseBody}; abre a própria transação somente leitura. */
+    @Transactional(readOnly = true)
+    public void export(UUID userId, LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (var rows = transactionRepository.streamResponsesByUserIdAndDateRange(userId, startDate, endDate)) {
+            var iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                var row = iterator.next();
+                writer.write(format == ExportFormat.CSV ? toCsvLine(row) : jsonMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private static String toCsvLine(TransactionResponse t) {
+        return String.join(",",
+                str(t.id()),
+                str(t.date()),
+                t.type(),
+                csvText(t.name()),
+                t.amount().toPlainString(),
+                str(t.categoryId()),
+                str(t.bankAccountId()),
+                str(t.creditCardId()),
+                csvText(t.creditCardName()),
+                str(t.creditCardBillId()),
+                str(t.isRecurring()),
+                str(t.frequency()),
+                str(t.createdAt()));
+    }
+
+    private static String str(Object value) {
+        return value != null ? value.toString() : "";
+    }
+
+    /** Aspas quando necessário e prefixo {@code '} contra injeção de fórmula em planilhas. */
+    private static String csvText(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String text = "=+-@".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
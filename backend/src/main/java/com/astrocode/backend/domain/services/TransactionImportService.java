@@ -0,0 +1,292 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.api.dto.transaction.TransactionImportJobResponse;
+import com.astrocode.backend.domain.entities.Category;
+import com.astrocode.backend.domain.entities.Transaction;
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.events.FinancialDataChangedEvent;
+import com.astrocode.backend.domain.exceptions.AccountNotOwnedException;
+import com.astrocode.backend.domain.exceptions.InsufficientBalanceException;
+import com.astrocode.backend.domain.exceptions.InvalidImportFileException;
+import com.astrocode.backend.domain.exceptions.PlanUpgradeRequiredException;
+import com.astrocode.backend.domain.exceptions.ResourceNotFoundException;
+import com.astrocode.backend.domain.model.enums.ImportFormat;
+import com.astrocode.backend.domain.model.enums.ImportJobStatus;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.domain.repositories.BankAccountRepository;
+import com.astrocode.backend.domain.repositories.CategoryRepository;
+import com.astrocode.backend.infrastructure.importer.TransactionFileParser;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Importação em lote de extratos CSV/OFX para uma conta bancária.
+ * <p>
+ * O arquivo é lido em streaming numa thread dedicada (uma importação por vez, para não disputar o pool de conexões).
+ * Categorias são resolvidas uma única vez, as linhas são inseridas em lotes JDBC ({@code hibernate.jdbc.batch_size})
+ * e o saldo da conta recebe um único delta agregado ao final. Tudo ocorre numa só transação:
+ * qualquer erro descarta a importação inteira.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionImportService.class);
+
+    public static final String SOURCE = "import";
+    private static final String FALLBACK_CATEGORY = "outro";
+    private static final Duration FINISHED_JOB_TTL = Duration.ofHours(1);
+    private static final int MAX_QUEUED_JOBS = 10;
+
+    private final BankAccountRepository bankAccountRepository;
+    private final CategoryRepository categoryRepository;
+    private final MonthlyTotalsService monthlyTotalsService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(MAX_QUEUED_JOBS), r -> {
+                Thread thread = new Thread(r, "grivy-import");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    public TransactionImportService(BankAccountRepository bankAccountRepository,
+                                    CategoryRepository categoryRepository,
+                                    MonthlyTotalsService monthlyTotalsService,
+                                    BalanceLedgerService balanceLedgerService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.categoryRepository = categoryRepository;
+        this.monthlyTotalsService = monthlyTotalsService;
+        this.balanceLedgerService = balanceLedgerService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Valida a conta, copia o upload para um arquivo temporário e agenda o processamento.
+     *
+     * @param format formato explícito ou {@code null} para inferir pela extensão do arquivo
+     */
+    public TransactionImportJobResponse submit(UUID userId, UUID bankAccountId, MultipartFile file, ImportFormat format) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Arquivo de importação vazio");
+        }
+        var bankAccount = bankAccountRepository.findById(bankAccountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Conta bancária não encontrada"));
+        if (!bankAccount.getUser().getId().equals(userId)) {
+            throw new AccountNotOwnedException("Você não tem permissão para acessar esta conta");
+        }
+
+        String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : "extrato";
+        ImportFormat actualFormat = format != null ? format
+                : fileName.toLowerCase(Locale.ROOT).endsWith(".ofx") ? ImportFormat.OFX : ImportFormat.CSV;
+
+        evictFinishedJobs();
+        Path tempFile = Files.createTempFile("grivy-import-", "." + actualFormat.name().toLowerCase(Locale.ROOT));
+        file.transferTo(tempFile);
+
+        var job = new ImportJob(UUID.randomUUID(), userId, fileName);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, bankAccountId, tempFile, actualFormat));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            Files.deleteIfExists(tempFile);
+            throw new IllegalStateException("Muitas importações em andamento. Tente novamente em instantes.");
+        }
+        log.info("AUDITORIA importação agendada job={} userId={} conta={} formato={}", job.id, userId, bankAccountId, actualFormat);
+        return job.toResponse();
+    }
+
+    public TransactionImportJobResponse getJob(UUID jobId, UUID userId) {
+        var job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userId)) {
+            throw new ResourceNotFoundException("Importação não encontrada");
+        }
+        return job.toResponse();
+    }
+
+    private void run(ImportJob job, UUID bankAccountId, Path file, ImportFormat format) {
+        job.status = ImportJobStatus.RUNNING;
+        try {
+            int imported = transactionTemplate.execute(status -> importFile(job, bankAccountId, file, format));
+            job.importedRows = imported;
+            job.finishedAt = OffsetDateTime.now();
+            job.status = ImportJobStatus.COMPLETED;
+            log.info("AUDITORIA importação concluída job={} linhas={}", job.id, imported);
+        } catch (Exception e) {
+            job.error = userFacingMessage(e);
+            job.finishedAt = OffsetDateTime.now();
+            job.status = ImportJobStatus.FAILED;
+            log.warn("Importação {} falhou", job.id, e);
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Não foi possível remover arquivo temporário {}", file);
+            }
+        }
+    }
+
+    private int importFile(ImportJob job, UUID bankAccountId, Path file, ImportFormat format) {
+        var account = bankAccountRepository.findById(bankAccountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Conta bancária não encontrada"));
+        var user = entityManager.getReference(User.class, job.userId);
+        var categories = loadCategories(job.userId);
+        BigDecimal[] delta = {BigDecimal.ZERO};
+        var monthlyDeltas = new MonthlyTotalsService.Deltas();
+        int[] count = {0};
+
+        try (InputStream input = Files.newInputStream(file)) {
+            Consumer<TransactionFileParser.Row> sink = row -> {
+                var transaction = Transaction.builder()
+                        .user(user)
+                        .bankAccount(account)
+                        .category(resolveCategory(categories, row))
+                        .name(row.name())
+                        .amount(row.amount())
+                        .date(row.date())
+                        .type(row.type())
+                        .isRecurring(false)
+                        .source(SOURCE)
+                        .build();
+                entityManager.persist(transaction);
+                monthlyDeltas.add(transaction);
+                delta[0] = row.type() == TransactionType.INCOME ? delta[0].add(row.amount()) : delta[0].subtract(row.amount());
+                if (++count[0] % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    job.processedRows = count[0];
+                }
+            };
+            if (format == ImportFormat.OFX) {
+                TransactionFileParser.parseOfx(input, sink);
+            } else {
+                TransactionFileParser.parseCsv(input, sink);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível ler o arquivo de importação", e);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        job.processedRows = count[0];
+
+        applyBalanceDelta(bankAccountId, delta[0]);
+        monthlyTotalsService.apply(monthlyDeltas);
+        eventPublisher.publishEvent(new FinancialDataChangedEvent(job.userId));
+        return count[0];
+    }
+
+    /** Um único lançamento de saldo por importação, com o delta líquido do arquivo. */
+    private void applyBalanceDelta(UUID bankAccountId, BigDecimal delta) {
+        if (!balanceLedgerService.tryPost(bankAccountId, delta)) {
+            throw new InsufficientBalanceException("Saldo insuficiente na conta para as despesas importadas");
+        }
+    }
+
+    private Map<TransactionType, Map<String, Category>> loadCategories(UUID userId) {
+        Map<TransactionType, Map<String, Category>> byType = new EnumMap<>(TransactionType.class);
+        for (var type : TransactionType.values()) {
+            byType.put(type, new HashMap<>());
+        }
+        for (var category : categoryRepository.findByUserId(userId)) {
+            byType.get(category.getType()).putIfAbsent(category.getName().trim().toLowerCase(Locale.ROOT), category);
+        }
+        return byType;
+    }
+
+    /** Categoria pelo nome (sem diferenciar maiúsculas); sem correspondência, usa "Outro" do mesmo tipo. */
+    private Category resolveCategory(Map<TransactionType, Map<String, Category>> categories, TransactionFileParser.Row row) {
+        var ofType = categories.get(row.type());
+        Category category = row.category() != null ? ofType.get(row.category().trim().toLowerCase(Locale.ROOT)) : null;
+        if (category == null) {
+            category = ofType.get(FALLBACK_CATEGORY);
+        }
+        if (category == null) {
+            throw new ResourceNotFoundException("Linha " + row.line() + ": categoria '"
+                    + (row.category() != null ? row.category() : "Outro") + "' não encontrada");
+        }
+        return category;
+    }
+
+    /** Erros do arquivo e de regra (categoria, saldo, cota) são repassados ao usuário; o resto vira mensagem genérica. */
+    private static String userFacingMessage(Exception e) {
+        boolean userError = e instanceof InvalidImportFileException
+                || e instanceof ResourceNotFoundException
+                || e instanceof InsufficientBalanceException
+                || e instanceof PlanUpgradeRequiredException;
+        return userError && e.getMessage() != null ? e.getMessage() : "Falha inesperada na importação";
+    }
+
+    private void evictFinishedJobs() {
+        var limit = OffsetDateTime.now().minus(FINISHED_JOB_TTL);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(limit));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class ImportJob {
+        private final UUID id;
+        private final UUID userId;
+        private final String fileName;
+        private final OffsetDateTime createdAt = OffsetDateTime.now();
+        private volatile ImportJobStatus status = ImportJobStatus.PENDING;
+        private volatile int processedRows;
+        private volatile int importedRows;
+        private volatile String error;
+        private volatile OffsetDateTime finishedAt;
+
+        private ImportJob(UUID id, UUID userId, String fileName) {
+            this.id = id;
+            this.userId = userId;
+            this.fileName = fileName;
+        }
+
+        private TransactionImportJobResponse toResponse() {
+            return new TransactionImportJobResponse(id, status.name(), fileName, processedRows, importedRows,
+                    error, createdAt, finishedAt);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.astrocode.backend.domain.services;
 import com.astrocode.backend.api.dto.transaction.CategoryExpenseItem;
 import com.astrocode.backend.api.dto.transaction.MonthlySummaryResponse;
 import com.astrocode.backend.api.dto.transaction.TransactionRequest;
+import com.astrocode.backend.api.dto.transaction.TransactionResponse;
 import com.astrocode.backend.api.dto.transaction.TransactionUpdateRequest;
 import com.astrocode.backend.domain.entities.BankAccount;
 import com.astrocode.backend.domain.entities.Category;
@@ -11,32 +12,45 @@ import com.astrocode.backend.domain.entities.Transaction;
 import com.astrocode.backend.domain.entities.User;
 import com.astrocode.backend.domain.entities.CreditCard;
 import com.astrocode.backend.domain.entities.CreditCardBill;
+import com.astrocode.backend.domain.events.FinancialDataChangedEvent;
 import com.astrocode.backend.domain.exceptions.AccountNotOwnedException;
 import com.astrocode.backend.domain.exceptions.CategoryTypeMismatchException;
 import com.astrocode.backend.domain.exceptions.InsufficientBalanceException;
 import com.astrocode.backend.domain.exceptions.InvalidTransactionSourceException;
 import com.astrocode.backend.domain.exceptions.PlanUpgradeRequiredException;
 import com.astrocode.backend.domain.exceptions.ResourceNotFoundException;
+import com.astrocode.backend.domain.model.RecurrenceSchedule;
+import com.astrocode.backend.domain.model.TransactionCursor;
 import com.astrocode.backend.domain.model.enums.RecurrenceFrequency;
 import com.astrocode.backend.domain.model.enums.TransactionType;
 import com.astrocode.backend.domain.model.enums.GoalStatus;
 import com.astrocode.backend.domain.repositories.BankAccountRepository;
 import com.astrocode.backend.domain.repositories.CategoryRepository;
 import com.astrocode.backend.domain.repositories.CreditCardBillRepository;
+import com.astrocode.backend.domain.repositories.MonthlyCategoryTotalRepository;
 import com.astrocode.backend.domain.repositories.SavingsGoalRepository;
 import com.astrocode.backend.domain.repositories.TransactionRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class TransactionService {
@@ -47,7 +61,10 @@ public class TransactionService {
     private final CategoryRepository categoryRepository;
     private final SavingsGoalRepository savingsGoalRepository;
     private final CreditCardService creditCardService;
-    private final PlanLimitService planLimitService;
+    private final MonthlyTotalsService monthlyTotalsService;
+    private final MonthlyCategoryTotalRepository monthlyCategoryTotalRepository;
+    private final BalanceLedgerService balanceLedgerService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TransactionService(
             TransactionRepository transactionRepository,
@@ -56,7 +73,10 @@ public class TransactionService {
             CategoryRepository categoryRepository,
             SavingsGoalRepository savingsGoalRepository,
             CreditCardService creditCardService,
-            PlanLimitService planLimitService
+            MonthlyTotalsService monthlyTotalsService,
+            MonthlyCategoryTotalRepository monthlyCategoryTotalRepository,
+            BalanceLedgerService balanceLedgerService,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.transactionRepository = transactionRepository;
         this.bankAccountRepository = bankAccountRepository;
@@ -64,11 +84,14 @@ public class TransactionService {
         this.categoryRepository = categoryRepository;
         this.savingsGoalRepository = savingsGoalRepository;
         this.creditCardService = creditCardService;
-        this.planLimitService = planLimitService;
+        this.monthlyTotalsService = monthlyTotalsService;
+        this.monthlyCategoryTotalRepository = monthlyCategoryTotalRepository;
+        this.balanceLedgerService = balanceLedgerService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(rollbackFor = Exception.class)
-    public Transaction create(TransactionRequest request, UUID userId) {
+    public TransactionResponse create(TransactionRequest request, UUID userId) {
         boolean hasBankAccount = request.bankAccountId() != null;
         boolean hasCreditCard = request.creditCardId() != null;
 
@@ -76,13 +99,107 @@ public class TransactionService {
             throw new InvalidTransactionSourceException();
         }
 
-        planLimitService.checkFreePlanTransactionLimit(userId);
+        var transaction = hasCreditCard
+                ? createCreditCardTransaction(request, userId)
+                : createBankAccountTransaction(request, userId, null);
+        publishChange(userId);
+        return toResponse(transaction);
+    }
+
+    /**
+     * Cria várias transações numa única transação de banco, com as mesmas regras de {@link #create}.
+     * Faturas são bloqueadas e contas lançadas uma vez cada, em ordem de id (evita deadlock entre lotes concorrentes);
+     * as linhas vão num único lote JDBC e cada conta/fatura recebe o delta líquido do lote.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<TransactionResponse> createBatch(List<TransactionRequest> requests, UUID userId) {
+        for (var request : requests) {
+            if ((request.bankAccountId() != null) == (request.creditCardId() != null)) {
+                throw new InvalidTransactionSourceException();
+            }
+            if (request.creditCardId() != null && request.type() != TransactionType.EXPENSE) {
+                throw new CategoryTypeMismatchException(
+                        "Transações no cartão de crédito devem ser do tipo EXPENSE (despesa)"
+                );
+            }
+        }
+
+        Map<UUID, Category> categories = new HashMap<>();
+        for (var category : categoryRepository.findAllById(requests.stream().map(TransactionRequest::categoryId).collect(Collectors.toSet()))) {
+            categories.put(category.getId(), category);
+        }
+        for (var request : requests) {
+            var category = categories.get(request.categoryId());
+            if (category == null) {
+                throw new ResourceNotFoundException("Categoria não encontrada");
+            }
+            validateCategoryOwnership(category, userId);
+            validateCategoryTypeMatch(request.type(), category.getType());
+        }
+
+        Map<UUID, CreditCard> cards = new TreeMap<>();
+        Map<UUID, UUID> billIdByCard = new HashMap<>();
+        for (var cardId : new TreeSet<>(requests.stream().map(TransactionRequest::creditCardId).filter(Objects::nonNull).toList())) {
+            cards.put(cardId, creditCardService.findById(cardId, userId));
+            billIdByCard.put(cardId, creditCardService.getOrCreateCurrentBill(cardId, userId).getId());
+        }
 
-        if (hasCreditCard) {
-            return createCreditCardTransaction(request, userId);
+        Map<UUID, BankAccount> accounts = new TreeMap<>();
+        for (var accountId : new TreeSet<>(requests.stream().map(TransactionRequest::bankAccountId).filter(Objects::nonNull).toList())) {
+            var account = bankAccountRepository.findById(accountId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Conta bancária não encontrada"));
+            validateAccountOwnership(account, userId);
+            accounts.put(accountId, account);
+        }
+        Map<UUID, CreditCardBill> bills = new TreeMap<>();
+        for (var billId : new TreeSet<>(billIdByCard.values())) {
+            bills.put(billId, creditCardBillRepository.findByIdForUpdate(billId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Fatura não encontrada")));
+        }
+
+        Map<UUID, BigDecimal> accountDeltas = new HashMap<>();
+        Map<UUID, BigDecimal> cardTotals = new HashMap<>();
+        List<Transaction> transactions = new ArrayList<>(requests.size());
+        for (var request : requests) {
+            var category = categories.get(request.categoryId());
+            if (request.creditCardId() != null) {
+                var card = cards.get(request.creditCardId());
+                var bill = bills.get(billIdByCard.get(card.getId()));
+                transactions.add(newTransaction(request, card.getUser(), null, card, bill, category, null));
+                cardTotals.merge(card.getId(), request.amount(), BigDecimal::add);
+            } else {
+                var account = accounts.get(request.bankAccountId());
+                transactions.add(newTransaction(request, account.getUser(), account, null, null, category, null));
+                var signed = request.type() == TransactionType.INCOME ? request.amount() : request.amount().negate();
+                accountDeltas.merge(account.getId(), signed, BigDecimal::add);
+            }
+        }
+
+        for (var entry : cardTotals.entrySet()) {
+            var card = cards.get(entry.getKey());
+            var bill = bills.get(billIdByCard.get(card.getId()));
+            var newBillTotal = bill.getTotalAmount().add(entry.getValue());
+            if (newBillTotal.compareTo(card.getCreditLimit()) > 0) {
+                var disponivel = card.getCreditLimit().subtract(bill.getTotalAmount());
+                throw new InsufficientBalanceException(
+                        "Limite do cartão " + card.getName() + " excedido. Disponível: R$ " + disponivel);
+            }
+            bill.setTotalAmount(newBillTotal);
+            card.setCurrentBillAmount(card.getCurrentBillAmount().add(entry.getValue()));
+        }
+        for (var account : accounts.values()) {
+            var delta = accountDeltas.get(account.getId());
+            if (!balanceLedgerService.tryPost(account.getId(), delta)) {
+                throw new InsufficientBalanceException("Saldo insuficiente na conta " + account.getName());
+            }
         }
 
-        return createBankAccountTransaction(request, userId, null);
+        var saved = transactionRepository.saveAll(transactions);
+        var deltas = new MonthlyTotalsService.Deltas();
+        saved.forEach(deltas::add);
+        monthlyTotalsService.apply(deltas);
+        publishChange(userId);
+        return saved.stream().map(this::toResponse).toList();
     }
 
     /**
@@ -91,7 +208,6 @@ public class TransactionService {
     @Transactional(rollbackFor = Exception.class)
     public Transaction createFromWhatsapp(User user, java.math.BigDecimal amount,
                                           TransactionType type, UUID categoryId, String name) {
-        planLimitService.checkFreePlanTransactionLimit(user.getId());
         var accounts = bankAccountRepository.findByUserId(user.getId());
         if (accounts.isEmpty()) {
             throw new ResourceNotFoundException("Cadastre uma conta bancária no app antes de usar o WhatsApp.");
@@ -108,7 +224,9 @@ public class TransactionService {
                 false,
                 null
         );
-        return createBankAccountTransaction(request, user.getId(), "whatsapp");
+        var transaction = createBankAccountTransaction(request, user.getId(), "whatsapp");
+        publishChange(user.getId());
+        return transaction;
     }
 
     private Transaction createCreditCardTransaction(TransactionRequest request, UUID userId) {
@@ -136,24 +254,10 @@ public class TransactionService {
         validateCategoryOwnership(category, userId);
         validateCategoryTypeMatch(request.type(), category.getType());
 
-        var isRecurring = request.isRecurring() != null && request.isRecurring();
-        var frequency = isRecurring && request.frequency() != null ? request.frequency() : RecurrenceFrequency.MONTHLY;
-
-        var transaction = Transaction.builder()
-                .user(creditCard.getUser())
-                .bankAccount(null)
-                .creditCard(creditCard)
-                .creditCardBill(bill)
-                .category(category)
-                .name(request.name())
-                .amount(request.amount())
-                .date(request.date())
-                .type(request.type())
-                .isRecurring(isRecurring)
-                .frequency(isRecurring ? frequency : null)
-                .build();
+        var transaction = newTransaction(request, creditCard.getUser(), null, creditCard, bill, category, null);
 
         var savedTransaction = transactionRepository.save(transaction);
+        monthlyTotalsService.add(savedTransaction);
 
         bill.setTotalAmount(bill.getTotalAmount().add(request.amount()));
         creditCard.setCurrentBillAmount(creditCard.getCurrentBillAmount().add(request.amount()));
@@ -161,24 +265,78 @@ public class TransactionService {
         return savedTransaction;
     }
 
+    /**
+     * Conferências de conta e categoria, inserção e lançamento de saldo num único comando SQL
+     * ({@link TransactionRepository#insertBankAccountTransaction}); débitos passam antes pela trava de débitos da conta.
+     * A entidade devolvida não é gerenciada e referencia conta, categoria e usuário só pelo id.
+     */
     private Transaction createBankAccountTransaction(TransactionRequest request, UUID userId, String source) {
-        var bankAccount = bankAccountRepository.findByIdForUpdate(request.bankAccountId())
-                .orElseThrow(() -> new ResourceNotFoundException("Conta bancária não encontrada"));
+        var isRecurring = request.isRecurring() != null && request.isRecurring();
+        var frequency = isRecurring ? (request.frequency() != null ? request.frequency() : RecurrenceFrequency.MONTHLY) : null;
+        var delta = request.type() == TransactionType.INCOME ? request.amount() : request.amount().negate();
+        if (delta.signum() < 0) {
+            balanceLedgerService.lockDebits(request.bankAccountId());
+        }
 
-        validateAccountOwnership(bankAccount, userId);
+        var now = OffsetDateTime.now();
+        var nextOccurrence = isRecurring ? RecurrenceSchedule.firstDue(request.date(), frequency, now.toLocalDate()) : null;
+        var result = transactionRepository.insertBankAccountTransaction(userId, request.bankAccountId(), request.categoryId(),
+                request.name(), request.amount(), delta, request.date(), request.type().name(), isRecurring,
+                frequency != null ? frequency.name() : null, nextOccurrence, source, now);
+        if (result.getId() == null) {
+            throw insertRejection(result, request.type());
+        }
 
-        var category = categoryRepository.findById(request.categoryId())
-                .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada"));
+        var transaction = Transaction.builder()
+                .id(result.getId())
+                .user(User.builder().id(userId).build())
+                .bankAccount(bankAccountRepository.getReferenceById(request.bankAccountId()))
+                .category(categoryRepository.getReferenceById(request.categoryId()))
+                .name(request.name())
+                .amount(request.amount())
+                .date(request.date())
+                .type(request.type())
+                .isRecurring(isRecurring)
+                .frequency(frequency)
+                .nextOccurrenceDate(nextOccurrence)
+                .source(source)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        monthlyTotalsService.add(transaction);
+        return transaction;
+    }
 
-        validateCategoryOwnership(category, userId);
-        validateCategoryTypeMatch(request.type(), category.getType());
+    /** Motivo de a inserção não ter gravado, na mesma ordem das validações dos demais caminhos. */
+    private RuntimeException insertRejection(TransactionRepository.BankAccountInsert result, TransactionType type) {
+        if (!result.getAccountFound()) {
+            return new ResourceNotFoundException("Conta bancária não encontrada");
+        }
+        if (!result.getAccountOwned()) {
+            return new AccountNotOwnedException("Você não tem permissão para acessar esta conta");
+        }
+        if (!result.getCategoryFound()) {
+            return new ResourceNotFoundException("Categoria não encontrada");
+        }
+        if (!result.getCategoryOwned()) {
+            return new AccountNotOwnedException("Você não tem permissão para acessar esta categoria");
+        }
+        validateCategoryTypeMatch(type, TransactionType.valueOf(result.getCategoryType()));
+        return new InsufficientBalanceException("Saldo insuficiente na conta");
+    }
 
+    private Transaction newTransaction(TransactionRequest request, User user, BankAccount bankAccount, CreditCard creditCard,
+                                       CreditCardBill bill, Category category, String source) {
         var isRecurring = request.isRecurring() != null && request.isRecurring();
         var frequency = isRecurring && request.frequency() != null ? request.frequency() : RecurrenceFrequency.MONTHLY;
+        var nextOccurrence = isRecurring && bankAccount != null
+                ? RecurrenceSchedule.firstDue(request.date(), frequency, LocalDate.now()) : null;
 
-        var transaction = Transaction.builder()
-                .user(bankAccount.getUser())
+        return Transaction.builder()
+                .user(user)
                 .bankAccount(bankAccount)
+                .creditCard(creditCard)
+                .creditCardBill(bill)
                 .category(category)
                 .name(request.name())
                 .amount(request.amount())
@@ -186,14 +344,9 @@ public class TransactionService {
                 .type(request.type())
                 .isRecurring(isRecurring)
                 .frequency(isRecurring ? frequency : null)
+                .nextOccurrenceDate(nextOccurrence)
                 .source(source)
                 .build();
-
-        var savedTransaction = transactionRepository.save(transaction);
-        updateAccountBalance(bankAccount, request.amount(), request.type());
-        bankAccountRepository.save(bankAccount);
-
-        return savedTransaction;
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -206,9 +359,7 @@ public class TransactionService {
             User user,
             SavingsGoal goal
     ) {
-        planLimitService.checkFreePlanTransactionLimit(user.getId());
-
-        var account = bankAccountRepository.findByIdForUpdate(bankAccount.getId())
+        var account = bankAccountRepository.findById(bankAccount.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Conta bancária não encontrada"));
         validateAccountOwnership(account, user.getId());
         bankAccount = account;
@@ -227,56 +378,66 @@ public class TransactionService {
                 .build();
 
         var saved = transactionRepository.save(transaction);
+        monthlyTotalsService.add(saved);
         updateAccountBalance(bankAccount, amount, type);
-        bankAccountRepository.save(bankAccount);
+        publishChange(user.getId());
         return saved;
     }
 
-    public List<Transaction> findAllByUserId(UUID userId, Integer year, Integer month, UUID bankAccountId, TransactionType type) {
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> findAllByUserId(UUID userId, Integer year, Integer month, UUID bankAccountId, TransactionType type) {
         return findAllByUserIdPaginated(userId, year, month, bankAccountId, type, Pageable.unpaged()).getContent();
     }
 
-    public Page<Transaction> findAllByUserIdPaginated(UUID userId, Integer year, Integer month, UUID bankAccountId, TransactionType type, Pageable pageable) {
-        var sort = Sort.by("date").descending().and(Sort.by("createdAt").descending());
-        var actualPageable = pageable.isUnpaged() ? pageable : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    /**
+     * Listagem paginada via projeção em {@link TransactionResponse}; a ordenação é fixa
+     * ({@code date, createdAt, id} DESC), qualquer Sort do {@code pageable} é ignorado.
+     */
+    @Transactional(readOnly = true)
+    public Page<TransactionResponse> findAllByUserIdPaginated(UUID userId, Integer year, Integer month, UUID bankAccountId, TransactionType type, Pageable pageable) {
+        validateBankAccountFilter(bankAccountId, userId);
+        var range = monthRange(year, month);
+        var actualPageable = pageable.isUnpaged() ? pageable : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return transactionRepository.findResponsesByUserId(userId, bankAccountId, type, range[0], range[1], actualPageable);
+    }
 
-        if (bankAccountId != null) {
-            var bankAccount = bankAccountRepository.findById(bankAccountId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Conta bancária não encontrada"));
-            validateAccountOwnership(bankAccount, userId);
-
-            if (year != null && month != null) {
-                var startDate = LocalDate.of(year, month, 1);
-                var endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-                if (type != null) {
-                    return transactionRepository.findByUserIdAndBankAccountIdAndDateYearAndDateMonthAndType(userId, bankAccountId, startDate, endDate, type, actualPageable);
-                }
-                return transactionRepository.findByUserIdAndBankAccountIdAndDateYearAndDateMonth(userId, bankAccountId, startDate, endDate, actualPageable);
-            }
-            if (type != null) {
-                return transactionRepository.findByUserIdAndBankAccountIdAndType(userId, bankAccountId, type, actualPageable);
-            }
-            return transactionRepository.findByUserIdAndBankAccountId(userId, bankAccountId, actualPageable);
-        }
+    /**
+     * Paginação por cursor (keyset): sem OFFSET nem COUNT, custo constante por página.
+     * {@code cursor} nulo retorna a primeira página.
+     */
+    @Transactional(readOnly = true)
+    public Slice<TransactionResponse> findAllByUserIdAfterCursor(UUID userId, Integer year, Integer month, UUID bankAccountId,
+                                                                 TransactionType type, TransactionCursor cursor, int size) {
+        validateBankAccountFilter(bankAccountId, userId);
+        var range = monthRange(year, month);
+        var limit = PageRequest.ofSize(size);
+        if (cursor == null) {
+            return transactionRepository.findKeysetFirstPage(userId, bankAccountId, type, range[0], range[1], limit);
+        }
+        return transactionRepository.findKeysetPageAfter(userId, bankAccountId, type, range[0], range[1],
+                cursor.date(), cursor.createdAt(), cursor.id(), limit);
+    }
 
-        if (year != null && month != null) {
-            var startDate = LocalDate.of(year, month, 1);
-            var endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-            if (type != null) {
-                return transactionRepository.findByUserIdAndDateYearAndDateMonthAndType(userId, startDate, endDate, type, actualPageable);
-            }
-            return transactionRepository.findByUserIdAndDateYearAndDateMonth(userId, startDate, endDate, actualPageable);
+    private void validateBankAccountFilter(UUID bankAccountId, UUID userId) {
+        if (bankAccountId == null) {
+            return;
         }
+        var bankAccount = bankAccountRepository.findById(bankAccountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Conta bancária não encontrada"));
+        validateAccountOwnership(bankAccount, userId);
+    }
 
-        if (type != null) {
-            return transactionRepository.findByUserIdAndType(userId, type, actualPageable);
+    /** Primeiro e último dia do mês; {@code [null, null]} quando ano ou mês não informados. */
+    private static LocalDate[] monthRange(Integer year, Integer month) {
+        if (year == null || month == null) {
+            return new LocalDate[]{null, null};
         }
-
-        return transactionRepository.findByUserId(userId, actualPageable);
+        var startDate = LocalDate.of(year, month, 1);
+        return new LocalDate[]{startDate, startDate.withDayOfMonth(startDate.lengthOfMonth())};
     }
 
     @Transactional(rollbackFor = Exception.class)
-    public Transaction update(UUID transactionId, TransactionUpdateRequest request, UUID userId) {
+    public TransactionResponse update(UUID transactionId, TransactionUpdateRequest request, UUID userId) {
         var transaction = transactionRepository.findById(transactionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transação não encontrada"));
 
@@ -288,15 +449,19 @@ public class TransactionService {
         var newAmount = request.amount() != null ? request.amount() : oldAmount;
 
         if (transaction.getCreditCard() != null) {
+            monthlyTotalsService.subtract(transaction);
             updateCreditCardTransaction(transaction, request, userId, oldAmount, newAmount);
-            return transactionRepository.save(transaction);
+            monthlyTotalsService.add(transaction);
+            publishChange(userId);
+            return toResponse(transactionRepository.save(transaction));
         }
 
-        var oldBankAccount = bankAccountRepository.findByIdForUpdate(transaction.getBankAccount().getId())
+        var oldBankAccount = bankAccountRepository.findById(transaction.getBankAccount().getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Conta bancária não encontrada"));
         if (!oldBankAccount.getUser().getId().equals(userId)) {
             throw new AccountNotOwnedException("Você não tem permissão para acessar esta transação");
         }
+        monthlyTotalsService.subtract(transaction);
         var oldType = transaction.getType();
         revertAccountBalance(oldBankAccount, oldAmount, oldType);
 
@@ -308,7 +473,7 @@ public class TransactionService {
 
         var newBankAccount = oldBankAccount;
         if (request.bankAccountId() != null && !request.bankAccountId().equals(oldBankAccount.getId())) {
-            newBankAccount = bankAccountRepository.findByIdForUpdate(request.bankAccountId())
+            newBankAccount = bankAccountRepository.findById(request.bankAccountId())
                     .orElseThrow(() -> new ResourceNotFoundException("Conta bancária não encontrada"));
             validateAccountOwnership(newBankAccount, userId);
         }
@@ -335,6 +500,9 @@ public class TransactionService {
         transaction.setType(newType);
         transaction.setBankAccount(newBankAccount);
         transaction.setCategory(newCategory);
+        if (request.isRecurring() != null || request.date() != null) {
+            scheduleRecurrence(transaction);
+        }
 
         updateAccountBalance(newBankAccount, newAmount, newType);
 
@@ -344,12 +512,10 @@ public class TransactionService {
             savingsGoalRepository.save(goal);
         }
 
-        if (!oldBankAccount.getId().equals(newBankAccount.getId())) {
-            bankAccountRepository.saveAndFlush(oldBankAccount);
-        }
-        bankAccountRepository.saveAndFlush(newBankAccount);
+        monthlyTotalsService.add(transaction);
+        publishChange(userId);
 
-        return transactionRepository.save(transaction);
+        return toResponse(transactionRepository.save(transaction));
     }
 
     private void updateCreditCardTransaction(Transaction transaction, TransactionUpdateRequest request,
@@ -403,10 +569,7 @@ public class TransactionService {
             var newCurrentAmount = creditCard.getCurrentBillAmount().subtract(transaction.getAmount()).max(BigDecimal.ZERO);
             creditCard.setCurrentBillAmount(newCurrentAmount);
         } else {
-            var bankAccount = bankAccountRepository.findByIdForUpdate(transaction.getBankAccount().getId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Conta bancária não encontrada"));
-            revertAccountBalance(bankAccount, transaction.getAmount(), transaction.getType());
-            bankAccountRepository.saveAndFlush(bankAccount);
+            revertAccountBalance(transaction.getBankAccount(), transaction.getAmount(), transaction.getType());
         }
 
         var goal = transaction.getGoal();
@@ -415,7 +578,9 @@ public class TransactionService {
             savingsGoalRepository.saveAndFlush(goal);
         }
 
+        monthlyTotalsService.subtract(transaction);
         transactionRepository.delete(transaction);
+        publishChange(userId);
     }
 
     private void validateAccountOwnership(BankAccount account, UUID userId) {
@@ -438,40 +603,30 @@ public class TransactionService {
         }
     }
 
+    /** Lançamento no livro-razão; despesa que deixaria o saldo negativo é recusada pela inserção condicional. */
     private void updateAccountBalance(BankAccount account, BigDecimal amount, TransactionType type) {
-        BigDecimal newBalance;
-        if (type == TransactionType.INCOME) {
-            newBalance = account.getCurrentBalance().add(amount);
-            account.setCurrentBalance(newBalance);
-        } else {
-            newBalance = account.getCurrentBalance().subtract(amount);
-            if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
-                throw new InsufficientBalanceException("Saldo insuficiente na conta");
-            }
-            account.setCurrentBalance(newBalance);
+        var delta = type == TransactionType.INCOME ? amount : amount.negate();
+        if (!balanceLedgerService.tryPost(account.getId(), delta)) {
+            throw new InsufficientBalanceException("Saldo insuficiente na conta");
         }
     }
 
     private void revertAccountBalance(BankAccount account, BigDecimal amount, TransactionType type) {
-        if (type == TransactionType.INCOME) {
-            account.setCurrentBalance(account.getCurrentBalance().subtract(amount));
-        } else {
-            account.setCurrentBalance(account.getCurrentBalance().add(amount));
-        }
+        balanceLedgerService.post(account.getId(), type == TransactionType.INCOME ? amount.negate() : amount);
     }
 
+    /** Lido de {@code monthly_category_totals}: custo independe do número de transações do mês. */
     public MonthlySummaryResponse getMonthlySummary(UUID userId, int year, int month) {
-        var startDate = LocalDate.of(year, month, 1);
-        var endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("month deve estar entre 1 e 12");
+        }
 
-        var totalExpense = transactionRepository.sumTotalExpensesExcludingGoalsByUserIdAndDateRange(
-                userId, startDate, endDate
-        );
+        var totalExpense = monthlyCategoryTotalRepository.sumTotalExpensesExcludingGoalsByUserIdAndMonth(userId, year, month);
         if (totalExpense == null) {
             totalExpense = BigDecimal.ZERO;
         }
 
-        var byCategoryRaw = transactionRepository.sumExpensesByCategoryExcludingGoalsForDateRange(userId, startDate, endDate);
+        var byCategoryRaw = monthlyCategoryTotalRepository.sumExpensesByCategoryExcludingGoalsForMonth(userId, year, month);
         var byCategory = byCategoryRaw.stream()
                 .map(row -> new CategoryExpenseItem(
                         (UUID) row[0],
@@ -512,8 +667,6 @@ public class TransactionService {
         if (parent.getBankAccount() == null) {
             return null;
         }
-        planLimitService.checkFreePlanTransactionLimit(parent.getUser().getId());
-
         var child = Transaction.builder()
                 .user(parent.getUser())
                 .bankAccount(parent.getBankAccount())
@@ -528,10 +681,60 @@ public class TransactionService {
                 .build();
 
         var saved = transactionRepository.save(child);
-        var account = bankAccountRepository.findByIdForUpdate(parent.getBankAccount().getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Conta bancária não encontrada"));
-        updateAccountBalance(account, parent.getAmount(), parent.getType());
-        bankAccountRepository.save(account);
+        monthlyTotalsService.add(saved);
+        updateAccountBalance(parent.getBankAccount(), parent.getAmount(), parent.getType());
+        if (parent.getNextOccurrenceDate() != null) {
+            transactionRepository.advanceNextOccurrence(List.of(parent.getId()));
+        }
+        publishChange(parent.getUser().getId());
         return saved;
     }
+
+    /** Pai recorrente em conta bancária: recalcula o próximo período a gerar após mudar data ou recorrência. */
+    private void scheduleRecurrence(Transaction transaction) {
+        var recurringParent = Boolean.TRUE.equals(transaction.getIsRecurring())
+                && transaction.getParentTransaction() == null
+                && transaction.getBankAccount() != null;
+        transaction.setNextOccurrenceDate(recurringParent
+                ? RecurrenceSchedule.firstDue(transaction.getDate(), transaction.getFrequency(), LocalDate.now())
+                : null);
+    }
+
+    /** Caminho linha a linha do job de recorrência: carrega o pai na própria transação. */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public Transaction createRecurringChild(UUID parentId, LocalDate targetDate) {
+        var parent = transactionRepository.findById(parentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Transação não encontrada"));
+        return createRecurringChild(parent, targetDate);
+    }
+
+    /** Entregue aos ouvintes só após o commit (ex.: invalida o cache do dashboard). */
+    private void publishChange(UUID userId) {
+        eventPublisher.publishEvent(new FinancialDataChangedEvent(userId));
+    }
+
+    /** Montado dentro da transação: cartão e fatura são associações lazy. */
+    private TransactionResponse toResponse(Transaction transaction) {
+        var bankAccountId = transaction.getBankAccount() != null ? transaction.getBankAccount().getId() : null;
+        var creditCardId = transaction.getCreditCard() != null ? transaction.getCreditCard().getId() : null;
+        var creditCardName = transaction.getCreditCard() != null ? transaction.getCreditCard().getName() : null;
+        var creditCardBillId = transaction.getCreditCardBill() != null ? transaction.getCreditCardBill().getId() : null;
+
+        return new TransactionResponse(
+                transaction.getId(),
+                transaction.getName(),
+                transaction.getAmount(),
+                transaction.getDate(),
+                transaction.getType().name(),
+                bankAccountId,
+                transaction.getCategory().getId(),
+                creditCardId,
+                creditCardName,
+                creditCardBillId,
+                transaction.getIsRecurring() != null ? transaction.getIsRecurring() : false,
+                transaction.getFrequency() != null ? transaction.getFrequency().name() : null,
+                transaction.getCreatedAt(),
+                transaction.getUpdatedAt()
+        );
+    }
 }
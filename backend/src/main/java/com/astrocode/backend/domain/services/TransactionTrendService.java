@@ -0,0 +1,163 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.api.dto.transaction.CategoryTrendSeries;
+import com.astrocode.backend.api.dto.transaction.TransactionTrendResponse;
+import com.astrocode.backend.domain.events.MonthlyTotalsChangedEvent;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.domain.repositories.CategoryRepository;
+import com.astrocode.backend.domain.repositories.MonthlyCategoryTotalRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Tendência mensal de receitas, despesas e categorias a partir de {@code monthly_category_totals}.
+ * Meses já encerrados ficam em cache por usuário; lançamentos retroativos os invalidam via {@link MonthlyTotalsChangedEvent}.
+ * O cache guarda só ids e valores: os nomes das categorias são lidos a cada requisição, então renomear não espera o TTL.
+ */
+@Service
+public class TransactionTrendService {
+
+    public static final int MAX_MONTHS = 24;
+
+    /** Linha do agregado de um mês. */
+    private record MonthRow(TransactionType type, UUID categoryId, boolean goal, BigDecimal total) {}
+
+    private record SeriesKey(UUID categoryId, TransactionType type) {}
+
+    private final MonthlyCategoryTotalRepository monthlyCategoryTotalRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserMonthCache<List<MonthRow>> closedMonths;
+
+    public TransactionTrendService(MonthlyCategoryTotalRepository monthlyCategoryTotalRepository,
+                                   CategoryRepository categoryRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.trend.cache.max-users:10000}") int maxUsers,
+                                   @Value("${app.trend.cache.ttl:PT1H}") Duration ttl) {
+        this.monthlyCategoryTotalRepository = monthlyCategoryTotalRepository;
+        this.categoryRepository = categoryRepository;
+        this.closedMonths = new UserMonthCache<>("trend", meterRegistry, maxUsers, ttl);
+    }
+
+    public TransactionTrendResponse getTrend(UUID userId, YearMonth from, YearMonth to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Intervalo inválido: 'from' deve ser anterior ou igual a 'to'");
+        }
+        int size = toIndex(to) - toIndex(from) + 1;
+        if (size > MAX_MONTHS) {
+            throw new IllegalArgumentException("Intervalo máximo é de " + MAX_MONTHS + " meses");
+        }
+
+        var current = YearMonth.now();
+        Map<YearMonth, List<MonthRow>> rowsByMonth = new HashMap<>();
+        YearMonth firstMissing = null;
+        YearMonth lastMissing = null;
+        for (var month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            var cached = month.isBefore(current) ? closedMonths.getIfPresent(userId, month) : null;
+            if (cached != null) {
+                rowsByMonth.put(month, cached);
+            } else {
+                if (firstMissing == null) {
+                    firstMissing = month;
+                }
+                lastMissing = month;
+            }
+        }
+
+        if (firstMissing != null) {
+            long loadGeneration = closedMonths.generation();
+            Map<YearMonth, List<MonthRow>> loaded = new HashMap<>();
+            for (Object[] row : monthlyCategoryTotalRepository.findTrendRows(userId, toIndex(firstMissing), toIndex(lastMissing))) {
+                var month = YearMonth.of((Integer) row[0], (Integer) row[1]);
+                loaded.computeIfAbsent(month, m -> new ArrayList<>()).add(new MonthRow(
+                        (TransactionType) row[2], (UUID) row[3], (Boolean) row[4], (BigDecimal) row[5]));
+            }
+            for (var month = firstMissing; !month.isAfter(lastMissing); month = month.plusMonths(1)) {
+                if (rowsByMonth.containsKey(month)) {
+                    continue;
+                }
+                var rows = List.copyOf(loaded.getOrDefault(month, List.of()));
+                rowsByMonth.put(month, rows);
+                if (month.isBefore(current)) {
+                    closedMonths.putIfCurrent(userId, month, rows, loadGeneration);
+                }
+            }
+        }
+
+        return toResponse(from, size, rowsByMonth);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMonthlyTotalsChanged(MonthlyTotalsChangedEvent event) {
+        if (event.months() == null || event.months().isEmpty()) {
+            closedMonths.invalidate(event.userId());
+        } else {
+            closedMonths.invalidate(event.userId(), event.months());
+        }
+    }
+
+    /** Receitas incluem metas (como no dashboard); despesas e séries por categoria não. */
+    private TransactionTrendResponse toResponse(YearMonth from, int size, Map<YearMonth, List<MonthRow>> rowsByMonth) {
+        List<String> months = new ArrayList<>(size);
+        BigDecimal[] income = zeros(size);
+        BigDecimal[] expense = zeros(size);
+        Map<SeriesKey, BigDecimal[]> seriesTotals = new LinkedHashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            var month = from.plusMonths(i);
+            months.add(month.toString());
+            for (var row : rowsByMonth.get(month)) {
+                if (row.type() == TransactionType.INCOME) {
+                    income[i] = income[i].add(row.total());
+                } else if (!row.goal()) {
+                    expense[i] = expense[i].add(row.total());
+                }
+                if (!row.goal()) {
+                    var key = new SeriesKey(row.categoryId(), row.type());
+                    var totals = seriesTotals.computeIfAbsent(key, k -> zeros(size));
+                    totals[i] = totals[i].add(row.total());
+                }
+            }
+        }
+
+        Map<UUID, String> names = new HashMap<>();
+        if (!seriesTotals.isEmpty()) {
+            var ids = seriesTotals.keySet().stream().map(SeriesKey::categoryId).collect(Collectors.toSet());
+            for (Object[] row : categoryRepository.findNamesByIds(ids)) {
+                names.put((UUID) row[0], (String) row[1]);
+            }
+        }
+        var categories = seriesTotals.entrySet().stream()
+                .filter(e -> names.containsKey(e.getKey().categoryId()))
+                .map(e -> new CategoryTrendSeries(e.getKey().categoryId(), names.get(e.getKey().categoryId()),
+                        e.getKey().type().name(), Arrays.asList(e.getValue())))
+                .sorted(Comparator.comparing(CategoryTrendSeries::type).thenComparing(CategoryTrendSeries::categoryName))
+                .toList();
+        return new TransactionTrendResponse(months, Arrays.asList(income), Arrays.asList(expense), categories);
+    }
+
+    private static int toIndex(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue();
+    }
+
+    private static BigDecimal[] zeros(int size) {
+        var values = new BigDecimal[size];
+        Arrays.fill(values, BigDecimal.ZERO);
+        return values;
+    }
+}
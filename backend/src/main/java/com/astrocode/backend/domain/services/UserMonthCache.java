@@ -0,0 +1,134 @@
+package com.astrocode.backend.domain.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória por usuário e mês, limitado em quantidade de usuários e com TTL opcional.
+ * Cargas iniciadas antes de uma invalidação não são guardadas (evita gravar valor já obsoleto).
+ * Métricas {@code cache.gets} (result=hit|miss), {@code cache.evictions} e {@code cache.size} com a tag {@code cache=<nome>}.
+ */
+public class UserMonthCache<V> {
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    private final Map<UUID, Map<YearMonth, Entry<V>>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final int maxUsers;
+    private final long ttlMs;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    /** @param ttl {@code null} para entradas sem expiração */
+    public UserMonthCache(String name, MeterRegistry meterRegistry, int maxUsers, Duration ttl) {
+        this.maxUsers = maxUsers;
+        this.ttlMs = ttl != null ? ttl.toMillis() : Long.MAX_VALUE;
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name).register(meterRegistry);
+        meterRegistry.gauge("cache.size", Tags.of("cache", name), entries, Map::size);
+    }
+
+    public V get(UUID userId, YearMonth month, Supplier<V> loader) {
+        var cached = getIfPresent(userId, month);
+        if (cached != null) {
+            return cached;
+        }
+        long loadGeneration = generation();
+        var value = loader.get();
+        putIfCurrent(userId, month, value, loadGeneration);
+        return value;
+    }
+
+    /** Valor em cache ou {@code null}; conta hit/miss. */
+    public V getIfPresent(UUID userId, YearMonth month) {
+        var byMonth = entries.get(userId);
+        var cached = byMonth != null ? byMonth.get(month) : null;
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            hits.increment();
+            return cached.value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /** Capturar antes de carregar e repassar a {@link #putIfCurrent}. */
+    public long generation() {
+        return generation.get();
+    }
+
+    /** Guarda o valor só se nenhuma invalidação ocorreu desde {@code loadGeneration}. */
+    public void putIfCurrent(UUID userId, YearMonth month, V value, long loadGeneration) {
+        long now = System.currentTimeMillis();
+        if (!entries.containsKey(userId)) {
+            evictIfFull(now);
+        }
+        entries.compute(userId, (id, current) -> {
+            if (generation.get() != loadGeneration) {
+                return current;
+            }
+            var updated = current != null ? current : new ConcurrentHashMap<YearMonth, Entry<V>>();
+            updated.put(month, new Entry<>(value, ttlMs == Long.MAX_VALUE ? Long.MAX_VALUE : now + ttlMs));
+            return updated;
+        });
+    }
+
+    public void invalidate(UUID userId) {
+        generation.incrementAndGet();
+        if (entries.remove(userId) != null) {
+            evictions.increment();
+        }
+    }
+
+    public void invalidate(UUID userId, Collection<YearMonth> months) {
+        generation.incrementAndGet();
+        entries.computeIfPresent(userId, (id, byMonth) -> {
+            for (var month : months) {
+                if (byMonth.remove(month) != null) {
+                    evictions.increment();
+                }
+            }
+            return byMonth.isEmpty() ? null : byMonth;
+        });
+    }
+
+    /** Remove expirados; se ainda cheio, descarta o usuário com a entrada mais antiga. */
+    private void evictIfFull(long now) {
+        if (entries.size() < maxUsers) {
+            return;
+        }
+        entries.forEach((userId, byMonth) -> {
+            byMonth.values().removeIf(e -> e.expiresAt <= now);
+            if (byMonth.isEmpty() && entries.remove(userId, byMonth)) {
+                evictions.increment();
+            }
+        });
+        if (entries.size() < maxUsers) {
+            return;
+        }
+        UUID oldest = null;
+        long oldestExpiry = Long.MAX_VALUE;
+        for (var entry : entries.entrySet()) {
+            for (var e : entry.getValue().values()) {
+                if (oldest == null || e.expiresAt < oldestExpiry) {
+                    oldestExpiry = e.expiresAt;
+                    oldest = entry.getKey();
+                }
+            }
+        }
+        if (oldest != null && entries.remove(oldest) != null) {
+            evictions.increment();
+        }
+    }
+}
@@ -172,8 +172,8 @@ public class UserService {
      * Solicita vínculo do WhatsApp: gera código de 6 dígitos e envia pela API Meta (se configurada).
      */
     @Transactional
-    public void requestWhatsappVerification(User principal, String phoneRaw) {
-        User user = userRepository.findById(principal.getId())
+    public void requestWhatsappVerification(UUID userId, String phoneRaw) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado."));
         String digits = normalizeBrazilPhone(phoneRaw);
         if (digits.length() < 12) {
@@ -197,8 +197,8 @@ public class UserService {
      * Confirma o código recebido por WhatsApp e marca o número como verificado.
      */
     @Transactional
-    public void verifyWhatsapp(User principal, String code) {
-        User user = userRepository.findById(principal.getId())
+    public void verifyWhatsapp(UUID userId, String code) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado."));
         if (user.getWhatsappVerificationCode() == null || user.getWhatsappVerificationExpiresAt() == null) {
             throw new IllegalArgumentException("Solicite um novo código primeiro.");
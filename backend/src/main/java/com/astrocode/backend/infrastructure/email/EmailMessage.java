@@ -0,0 +1,17 @@
+package com.astrocode.backend.infrastructure.email;
+
+/**
+ * Um e-mail a enviar pelo Resend.
+ *
+ * @param to destinatário
+ * @param subject assunto
+ * @param html corpo HTML (pode ser null)
+ * @param text corpo texto plano (pode ser null)
+ * @param idempotencyKey chave de idempotência do provedor (pode ser null); reenvio com a mesma chave não duplica
+ */
+public record EmailMessage(String to, String subject, String html, String text, String idempotencyKey) {
+
+    public EmailMessage(String to, String subject, String html, String text) {
+        this(to, subject, html, text, null);
+    }
+}
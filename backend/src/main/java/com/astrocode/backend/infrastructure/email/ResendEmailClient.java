@@ -1,96 +1,184 @@
 package com.astrocode.backend.infrastructure.email;
 
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Cliente HTTP para a API REST do Resend (envio transacional).
- * Documentação: https://resend.com/docs/api-reference/emails/send-email
+ * Documentação: https://resend.com/docs/api-reference/emails/send-email e
+ * https://resend.com/docs/api-reference/emails/send-batch-emails
+ * <p>
+ * Toda requisição (avulsa ou lote) consome um token de um balde local com o limite do provedor
+ * ({@code resend.rate-limit.per-second}); a espera pelo token estaciona a thread chamadora, que deve ser virtual.
  */
 @Component
 public class ResendEmailClient {
 
+    /** Máximo de e-mails por chamada ao endpoint de lote. */
+    public static final int MAX_BATCH_SIZE = 100;
+
     private static final Logger log = LoggerFactory.getLogger(ResendEmailClient.class);
-    private static final String RESEND_URL = "https://api.resend.com/emails";
+    private static final String DEFAULT_BASE_URL = "https://api.resend.com";
+    private static final int MAX_ATTEMPTS = 3;
 
     private final RestClient restClient;
     private final String apiKey;
+    private final Bucket rateLimit;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
 
     public ResendEmailClient(
-            @org.springframework.beans.factory.annotation.Value("${resend.api-key:}") String apiKey) {
+            @Value("${resend.api-key:}") String apiKey,
+            @Value("${resend.base-url:" + DEFAULT_BASE_URL + "}") String baseUrl,
+            @Value("${resend.rate-limit.per-second:2}") int requestsPerSecond) {
         this.apiKey = apiKey != null ? apiKey.trim() : "";
         this.restClient = RestClient.builder()
-                .baseUrl(RESEND_URL)
+                .baseUrl(baseUrl)
                 .defaultHeader("Authorization", "Bearer " + this.apiKey)
                 .defaultHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
                 .build();
+        this.rateLimit = Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(requestsPerSecond)
+                        .refillGreedy(requestsPerSecond, Duration.ofSeconds(1))
+                        .build())
+                .build();
     }
 
     public boolean isConfigured() {
         return !apiKey.isBlank();
     }
 
+    /** Uma tentativa de envio avulso; propaga a falha (quem chama decide se e quando repetir). */
+    public void send(String from, EmailMessage message) {
+        acquire();
+        var request = restClient.post().uri("/emails").body(body(from, message));
+        if (message.idempotencyKey() != null) {
+            request = request.header("Idempotency-Key", message.idempotencyKey());
+        }
+        request.retrieve().toBodilessEntity();
+    }
+
+    /**
+     * Envia pelo endpoint de lote, uma chamada (e um token) para até {@link #MAX_BATCH_SIZE} e-mails.
+     * O provedor valida o lote inteiro; a falha é propagada. Com chaves de idempotência nas mensagens, o lote recebe
+     * uma chave derivada delas: só protege o reenvio do mesmo lote (mesmas mensagens, mesma ordem), não o envio
+     * avulso dessas mensagens nem um lote montado com outra composição.
+     */
+    public void sendBatch(String from, List<EmailMessage> messages) {
+        if (messages.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Resend: lote acima de " + MAX_BATCH_SIZE + " e-mails");
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+        acquire();
+        var request = restClient.post().uri("/emails/batch").body(messages.stream().map(m -> body(from, m)).toList());
+        if (messages.stream().allMatch(m -> m.idempotencyKey() != null)) {
+            var keys = messages.stream().map(EmailMessage::idempotencyKey).collect(Collectors.joining(","));
+            request = request.header("Idempotency-Key",
+                    "batch-" + UUID.nameUUIDFromBytes(keys.getBytes(StandardCharsets.UTF_8)));
+        }
+        request.retrieve().toBodilessEntity();
+    }
+
     /**
-     * Envia um e-mail via Resend com até 3 tentativas e backoff exponencial.
+     * Envia com até 3 tentativas e backoff exponencial. As tentativas rodam em threads virtuais e as novas são
+     * agendadas (sem {@code Thread.sleep}): quem chama recebe o futuro na hora.
      *
      * @param from remetente verificado no Resend
      * @param to destinatário
      * @param subject assunto
      * @param html corpo HTML (pode ser null)
      * @param text corpo texto plano
+     * @return concluído após o envio, ou com erro após a última tentativa
      */
-    public void sendWithRetry(String from, String to, String subject, String html, String text) {
-        Exception last = null;
-        for (int attempt = 1; attempt <= 3; attempt++) {
-            try {
-                sendOnce(from, to, subject, html, text);
+    public CompletableFuture<Void> sendWithRetry(String from, String to, String subject, String html, String text) {
+        var result = new CompletableFuture<Void>();
+        attempt(from, new EmailMessage(to, subject, html, text), 1, result);
+        return result;
+    }
+
+    private void attempt(String from, EmailMessage message, int attempt, CompletableFuture<Void> result) {
+        Executor runner = attempt == 1 ? executor
+                : CompletableFuture.delayedExecutor(backoffMs(attempt - 1), TimeUnit.MILLISECONDS, executor);
+        CompletableFuture.runAsync(() -> send(from, message), runner).whenComplete((ignored, error) -> {
+            if (error == null) {
+                result.complete(null);
                 return;
-            } catch (Exception e) {
-                last = e;
-                log.warn("[RESEND] Tentativa {} falhou para destinatário mascarado={}: {}",
-                        attempt, maskEmail(to), e.getMessage());
-                if (attempt < 3) {
-                    sleepBackoff(attempt);
-                }
             }
-        }
-        throw new IllegalStateException("Resend: falha após 3 tentativas", last);
+            var cause = error.getCause() != null ? error.getCause() : error;
+            log.warn("[RESEND] Tentativa {} falhou para destinatário mascarado={}: {}",
+                    attempt, maskEmail(message.to()), cause.getMessage());
+            if (attempt < MAX_ATTEMPTS) {
+                attempt(from, message, attempt + 1, result);
+            } else {
+                result.completeExceptionally(new IllegalStateException("Resend: falha após " + MAX_ATTEMPTS + " tentativas", cause));
+            }
+        });
     }
 
-    private void sendOnce(String from, String to, String subject, String html, String text) {
-        Map<String, Object> body = new LinkedHashMap<>();
-        body.put("from", from);
-        body.put("to", List.of(to));
-        body.put("subject", subject);
-        if (text != null && !text.isBlank()) {
-            body.put("text", text);
-        }
-        if (html != null && !html.isBlank()) {
-            body.put("html", html);
-        }
+    /**
+     * O provedor recusou o conteúdo da requisição (400/422): nada foi enviado e repetir igual falharia de novo.
+     * Limite (429), erro do servidor (5xx) ou falha de rede não entram aqui: o envio pode ter acontecido.
+     */
+    public static boolean isRejected(Throwable error) {
+        return error instanceof RestClientResponseException response
+                && (response.getStatusCode().value() == 400 || response.getStatusCode().value() == 422);
+    }
 
-        restClient.post()
-                .body(body)
-                .retrieve()
-                .toBodilessEntity();
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
     }
 
-    private static void sleepBackoff(int attempt) {
-        long ms = (long) Math.pow(2, attempt) * 200L;
+    private void acquire() {
         try {
-            Thread.sleep(ms);
+            rateLimit.asBlocking().consume(1);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            throw new IllegalStateException("Resend: interrompido aguardando o limite de requisições", e);
         }
     }
 
+    private static Map<String, Object> body(String from, EmailMessage message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("from", from);
+        body.put("to", List.of(message.to()));
+        body.put("subject", message.subject());
+        if (message.text() != null && !message.text().isBlank()) {
+            body.put("text", message.text());
+        }
+        if (message.html() != null && !message.html().isBlank()) {
+            body.put("html", message.html());
+        }
+        return body;
+    }
+
+    private static long backoffMs(int attempt) {
+        return (long) Math.pow(2, attempt) * 200L;
+    }
+
     private static String maskEmail(String email) {
         if (email == null || !email.contains("@")) {
             return "***";
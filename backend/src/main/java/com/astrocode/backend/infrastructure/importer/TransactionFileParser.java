@@ -0,0 +1,282 @@
+package com.astrocode.backend.infrastructure.importer;
+
+import com.astrocode.backend.domain.exceptions.InvalidImportFileException;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.function.Consumer;
+
+/**
+ * Leitura em streaming de extratos CSV e OFX: cada transação é entregue ao {@code sink}
+ * assim que lida, sem carregar o arquivo em memória.
+ * Erros de formato lançam {@link InvalidImportFileException} com o número da linha/transação; exceções do
+ * {@code sink} passam sem alteração.
+ */
+public final class TransactionFileParser {
+
+    public static final int MAX_NAME_LENGTH = 150;
+
+    private static final DateTimeFormatter BR_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private TransactionFileParser() {
+    }
+
+    /**
+     * Transação lida do arquivo. {@code amount} é sempre positivo; {@code category} pode ser nulo.
+     */
+    public record Row(int line, LocalDate date, String name, BigDecimal amount, TransactionType type, String category) {
+    }
+
+    /**
+     * CSV com cabeçalho; separador vírgula ou ponto e vírgula. Colunas (pt ou en):
+     * data/date, descricao/name, valor/amount, tipo/type (opcional), categoria/category (opcional).
+     * Sem coluna de tipo, valor negativo é despesa.
+     */
+    public static void parseCsv(InputStream input, Consumer<Row> sink) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new InvalidImportFileException("Arquivo CSV vazio");
+        }
+        header = header.replace("\uFEFF", "");
+        char delimiter = count(header, ';') > count(header, ',') ? ';' : ',';
+        Map<String, Integer> columns = csvColumns(splitCsv(header, delimiter));
+
+        int dateCol = column(columns, "date", "data");
+        int nameCol = column(columns, "name", "description", "descricao", "descrição", "nome");
+        int amountCol = column(columns, "amount", "valor");
+        Integer typeCol = optionalColumn(columns, "type", "tipo");
+        Integer categoryCol = optionalColumn(columns, "category", "categoria");
+
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            Row row;
+            try {
+                List<String> fields = splitCsv(line, delimiter);
+                BigDecimal signed = parseAmount(field(fields, amountCol));
+                String rawType = typeCol != null ? field(fields, typeCol) : "";
+                TransactionType type = rawType.isBlank()
+                        ? (signed.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME)
+                        : parseType(rawType);
+                String category = categoryCol != null ? field(fields, categoryCol) : "";
+                row = new Row(
+                        lineNumber,
+                        parseDate(field(fields, dateCol)),
+                        name(field(fields, nameCol)),
+                        positive(signed),
+                        type,
+                        category.isBlank() ? null : category
+                );
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new InvalidImportFileException("Linha " + lineNumber + ": " + e.getMessage(), e);
+            }
+            sink.accept(row);
+        }
+    }
+
+    /**
+     * OFX 1.x (SGML) ou 2.x (XML): lê os blocos {@code <STMTTRN>} usando DTPOSTED, TRNAMT e MEMO/NAME.
+     * O sinal de TRNAMT define o tipo. Charset do cabeçalho respeitado (padrão windows-1252 em OFX 1.x).
+     */
+    public static void parseOfx(InputStream input, Consumer<Row> sink) {
+        var buffered = new BufferedInputStream(input);
+        var scanner = new Scanner(buffered, detectOfxCharset(buffered)).useDelimiter("<");
+
+        Map<String, String> current = null;
+        int index = 0;
+        while (scanner.hasNext()) {
+            String token = scanner.next();
+            int close = token.indexOf('>');
+            if (close < 0) {
+                continue;
+            }
+            String tag = token.substring(0, close).trim().toUpperCase(Locale.ROOT);
+            String value = unescape(token.substring(close + 1).trim());
+
+            if (tag.equals("STMTTRN")) {
+                current = new HashMap<>();
+            } else if (tag.equals("/STMTTRN") && current != null) {
+                index++;
+                Row row;
+                try {
+                    row = ofxRow(index, current);
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    throw new InvalidImportFileException("Transação " + index + ": " + e.getMessage(), e);
+                }
+                sink.accept(row);
+                current = null;
+            } else if (current != null && !tag.startsWith("/")) {
+                current.put(tag, value);
+            }
+        }
+    }
+
+    private static Row ofxRow(int index, Map<String, String> fields) {
+        String rawDate = fields.getOrDefault("DTPOSTED", "");
+        if (rawDate.length() < 8) {
+            throw new IllegalArgumentException("DTPOSTED ausente ou inválido");
+        }
+        BigDecimal signed = parseAmount(fields.getOrDefault("TRNAMT", ""));
+        String memo = fields.getOrDefault("MEMO", "");
+        String description = memo.isBlank() ? fields.getOrDefault("NAME", "") : memo;
+        return new Row(
+                index,
+                LocalDate.parse(rawDate.substring(0, 8), OFX_DATE),
+                name(description),
+                positive(signed),
+                signed.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME,
+                null
+        );
+    }
+
+    private static Charset detectOfxCharset(BufferedInputStream input) {
+        try {
+            input.mark(1024);
+            byte[] head = input.readNBytes(1024);
+            input.reset();
+            String header = new String(head, StandardCharsets.US_ASCII).toUpperCase(Locale.ROOT);
+            if (header.contains("UTF-8") || header.startsWith("<?XML")) {
+                return StandardCharsets.UTF_8;
+            }
+            return Charset.forName("windows-1252");
+        } catch (IOException e) {
+            throw new InvalidImportFileException("Não foi possível ler o arquivo OFX", e);
+        }
+    }
+
+    private static BigDecimal parseAmount(String raw) {
+        String value = raw.replace("R$", "").replace(" ", "").replace("\u00A0", "");
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("valor ausente");
+        }
+        int lastComma = value.lastIndexOf(',');
+        int lastDot = value.lastIndexOf('.');
+        if (lastComma > lastDot) {
+            value = value.replace(".", "").replace(',', '.');
+        } else if (lastDot > lastComma) {
+            value = value.replace(",", "");
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("valor inválido '" + raw + "'");
+        }
+    }
+
+    private static BigDecimal positive(BigDecimal signed) {
+        if (signed.signum() == 0) {
+            throw new IllegalArgumentException("valor deve ser diferente de zero");
+        }
+        return signed.abs();
+    }
+
+    private static TransactionType parseType(String raw) {
+        return switch (raw.trim().toUpperCase(Locale.ROOT)) {
+            case "INCOME", "RECEITA", "ENTRADA", "CREDIT", "CREDITO", "CRÉDITO" -> TransactionType.INCOME;
+            case "EXPENSE", "DESPESA", "SAIDA", "SAÍDA", "DEBIT", "DEBITO", "DÉBITO" -> TransactionType.EXPENSE;
+            default -> throw new IllegalArgumentException("tipo inválido '" + raw + "'");
+        };
+    }
+
+    private static LocalDate parseDate(String raw) {
+        String value = raw.trim();
+        return value.contains("/") ? LocalDate.parse(value, BR_DATE) : LocalDate.parse(value);
+    }
+
+    private static String name(String raw) {
+        String value = raw.trim();
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("descrição ausente");
+        }
+        return value.length() > MAX_NAME_LENGTH ? value.substring(0, MAX_NAME_LENGTH) : value;
+    }
+
+    private static String unescape(String value) {
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+    }
+
+    private static Map<String, Integer> csvColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    private static int column(Map<String, Integer> columns, String... aliases) {
+        Integer index = optionalColumn(columns, aliases);
+        if (index == null) {
+            throw new InvalidImportFileException("Coluna obrigatória ausente no CSV: " + aliases[0]);
+        }
+        return index;
+    }
+
+    private static Integer optionalColumn(Map<String, Integer> columns, String... aliases) {
+        for (String alias : aliases) {
+            Integer index = columns.get(alias);
+            if (index != null) {
+                return index;
+            }
+        }
+        return null;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index) : "";
+    }
+
+    /** Divide uma linha CSV respeitando campos entre aspas ({@code ""} escapa aspas). */
+    private static List<String> splitCsv(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        var current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static int count(String value, char c) {
+        return (int) value.chars().filter(ch -> ch == c).count();
+    }
+}
@@ -0,0 +1,6 @@
+-- Índice para paginação por cursor (keyset) da listagem de transações:
+-- cobre WHERE user_id = ? e ORDER BY date DESC, created_at DESC, id DESC num único index scan.
+CREATE INDEX IF NOT EXISTS idx_transactions_user_keyset ON transactions(user_id, date DESC, created_at DESC, id DESC);
+
+-- Prefixo do novo índice; passa a ser redundante
+DROP INDEX IF EXISTS idx_transactions_user_date;
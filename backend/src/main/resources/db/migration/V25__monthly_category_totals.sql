@@ -0,0 +1,29 @@
+-- Agregado mensal por usuário, tipo, categoria e vínculo com meta.
+-- Mantido incrementalmente pelas escritas de transações (mesma transação de banco);
+-- dashboard e resumo mensal leem daqui em vez de somar a tabela transactions.
+CREATE TABLE monthly_category_totals (
+  id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+  user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  year INTEGER NOT NULL,
+  month INTEGER NOT NULL,
+  type VARCHAR(20) NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+  category_id UUID NOT NULL REFERENCES categories(id) ON DELETE CASCADE,
+  goal_flag BOOLEAN NOT NULL,
+  total NUMERIC(15,2) NOT NULL DEFAULT 0,
+  count BIGINT NOT NULL DEFAULT 0,
+  CONSTRAINT uk_monthly_category_totals UNIQUE (user_id, year, month, type, category_id, goal_flag)
+);
+
+CREATE INDEX idx_monthly_category_totals_category ON monthly_category_totals(category_id);
+
+INSERT INTO monthly_category_totals (user_id, year, month, type, category_id, goal_flag, total, count)
+SELECT user_id,
+       CAST(EXTRACT(YEAR FROM date) AS int),
+       CAST(EXTRACT(MONTH FROM date) AS int),
+       type,
+       category_id,
+       goal_id IS NOT NULL,
+       SUM(amount),
+       COUNT(*)
+FROM transactions
+GROUP BY user_id, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date), type, category_id, goal_id IS NOT NULL;
@@ -0,0 +1,18 @@
+-- Quantidade de transações por usuário e mês (data da transação), usada na cota do plano Free.
+-- Incrementada/decrementada na mesma transação de banco das escritas; o incremento é condicional ao limite.
+CREATE TABLE transaction_monthly_usage (
+  id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+  user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  year INTEGER NOT NULL,
+  month INTEGER NOT NULL,
+  used INTEGER NOT NULL DEFAULT 0,
+  CONSTRAINT uk_transaction_monthly_usage UNIQUE (user_id, year, month)
+);
+
+INSERT INTO transaction_monthly_usage (user_id, year, month, used)
+SELECT user_id,
+       CAST(EXTRACT(YEAR FROM date) AS int),
+       CAST(EXTRACT(MONTH FROM date) AS int),
+       COUNT(*)
+FROM transactions
+GROUP BY user_id, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date);
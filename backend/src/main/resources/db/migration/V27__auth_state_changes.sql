@@ -0,0 +1,9 @@
+-- Instantes de revogação de tokens (logout, redefinição de senha) e de troca de plano.
+-- No modo de autenticação stateless, access tokens emitidos antes deles deixam de ser aceitos
+-- só com os claims; cada instância relê as mudanças recentes pelos índices parciais.
+ALTER TABLE users
+  ADD COLUMN tokens_revoked_at TIMESTAMPTZ,
+  ADD COLUMN plan_changed_at TIMESTAMPTZ;
+
+CREATE INDEX idx_users_tokens_revoked_at ON users (tokens_revoked_at) WHERE tokens_revoked_at IS NOT NULL;
+CREATE INDEX idx_users_plan_changed_at ON users (plan_changed_at) WHERE plan_changed_at IS NOT NULL;
@@ -0,0 +1,13 @@
+-- Saldo das contas como livro-razão: cada escrita insere um lançamento em balance_entries em vez de
+-- atualizar a linha da conta. O saldo atual é balance_snapshot + soma dos lançamentos ainda não compactados;
+-- a compactação periódica move os lançamentos para o snapshot (DELETE ... RETURNING + UPDATE num só comando).
+ALTER TABLE bank_accounts RENAME COLUMN current_balance TO balance_snapshot;
+
+CREATE TABLE balance_entries (
+  id BIGSERIAL PRIMARY KEY,
+  bank_account_id UUID NOT NULL REFERENCES bank_accounts(id) ON DELETE CASCADE,
+  amount NUMERIC(15,2) NOT NULL,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_balance_entries_bank_account ON balance_entries (bank_account_id) INCLUDE (amount);
@@ -0,0 +1,3 @@
+-- Anti-join do job de recorrência: "o pai já tem filha no período?" vira uma busca no índice por pai e data.
+CREATE INDEX IF NOT EXISTS idx_transactions_parent_date ON transactions (parent_transaction_id, date)
+  WHERE parent_transaction_id IS NOT NULL;
@@ -0,0 +1,27 @@
+-- Pais recorrentes em conta bancária guardam o início do próximo período ainda sem filha; o job diário lê só os vencidos
+-- (next_occurrence_date <= hoje) pelo índice parcial, em vez de varrer todos os pais recorrentes.
+ALTER TABLE transactions ADD COLUMN next_occurrence_date DATE;
+
+-- Pais existentes: período corrente, ou o seguinte se o corrente já tem filha. Nunca antes do período seguinte ao do
+-- próprio pai (o pai é a ocorrência do seu período).
+UPDATE transactions p
+SET next_occurrence_date = CASE
+      WHEN EXISTS (SELECT 1 FROM transactions c
+                   WHERE c.parent_transaction_id = p.id AND c.date >= s.current_start AND c.date < s.current_end)
+        THEN GREATEST(s.current_end, s.after_parent)
+      ELSE GREATEST(s.current_start, s.after_parent)
+    END
+FROM (
+  SELECT t.id,
+         CAST(date_trunc(s.unit, CURRENT_DATE) AS date) AS current_start,
+         CAST(date_trunc(s.unit, CURRENT_DATE) + s.step AS date) AS current_end,
+         CAST(date_trunc(s.unit, t.date) + s.step AS date) AS after_parent
+  FROM transactions t
+  CROSS JOIN LATERAL (SELECT CASE WHEN t.frequency = 'YEARLY' THEN 'year' ELSE 'month' END AS unit,
+                             CASE WHEN t.frequency = 'YEARLY' THEN INTERVAL '1 year' ELSE INTERVAL '1 month' END AS step) s
+  WHERE t.is_recurring = true AND t.parent_transaction_id IS NULL AND t.bank_account_id IS NOT NULL
+) s
+WHERE p.id = s.id;
+
+CREATE INDEX idx_transactions_next_occurrence ON transactions (next_occurrence_date)
+  WHERE next_occurrence_date IS NOT NULL;
@@ -0,0 +1,9 @@
+-- Lease dos jobs agendados: com várias réplicas, só quem grava a linha do job executa a rodada.
+-- locked_until limita a posse (instância que morre libera sozinha); ao terminar, a posse é encurtada
+-- para locked_at + tempo mínimo, evitando que outra réplica com relógio um pouco atrasado repita a rodada.
+CREATE TABLE job_locks (
+  name VARCHAR(64) PRIMARY KEY,
+  locked_until TIMESTAMPTZ NOT NULL,
+  locked_at TIMESTAMPTZ NOT NULL,
+  locked_by VARCHAR(255) NOT NULL
+);
@@ -0,0 +1,8 @@
+-- Índices parciais dos jobs de expiração: cada lote (UPDATE ... LIMIT) lê só as linhas ainda expiráveis.
+-- O índice antigo de assinaturas cobria apenas ACTIVE; canceladas com plano pago também expiram.
+CREATE INDEX idx_subscriptions_expirable ON subscriptions (expires_at)
+  WHERE status IN ('ACTIVE', 'CANCELLED') AND plan_type <> 'FREE';
+DROP INDEX IF EXISTS idx_subscriptions_expires_at;
+
+CREATE INDEX idx_savings_goals_expirable ON savings_goals (end_date)
+  WHERE status = 'ACTIVE' AND deleted_at IS NULL;
@@ -0,0 +1,19 @@
+-- Outbox de e-mails: quem envia só grava a mensagem (na mesma transação da mudança de estado que a motivou);
+-- o despachante reivindica lotes com FOR UPDATE SKIP LOCKED e faz as chamadas HTTP fora de transação.
+-- Reivindicar empurra next_attempt_at para frente (lease): se a instância cair no meio, a linha volta sozinha.
+CREATE TABLE mail_outbox (
+  id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+  to_email VARCHAR(255) NOT NULL,
+  subject VARCHAR(255) NOT NULL,
+  html_body TEXT,
+  text_body TEXT,
+  status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'SENT', 'FAILED')),
+  attempts INT NOT NULL DEFAULT 0,
+  next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  last_error VARCHAR(500),
+  created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  sent_at TIMESTAMPTZ
+);
+
+CREATE INDEX idx_mail_outbox_pending ON mail_outbox (next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX idx_mail_outbox_sent_at ON mail_outbox (sent_at) WHERE status = 'SENT';
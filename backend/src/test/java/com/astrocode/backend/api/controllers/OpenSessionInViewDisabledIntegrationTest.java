@@ -0,0 +1,154 @@
+package com.astrocode.backend.api.controllers;
+
+import com.astrocode.backend.domain.entities.BankAccount;
+import com.astrocode.backend.domain.entities.Category;
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.enums.PlanType;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.domain.services.JwtService;
+import com.astrocode.backend.support.TestFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Com {@code spring.jpa.open-in-view=false}, percorre os endpoints que montam DTOs a partir de entidades
+ * e falha se algum lançar {@link LazyInitializationException} ou deixar conexão presa após a resposta.
+ * Sem {@code @Transactional} no teste, para que cada requisição pegue e devolva conexões do pool de verdade;
+ * o tempo de retenção por endpoint vem do timer {@code hikaricp.connections.usage} e é impresso no log do teste.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Open-session-in-view desligado - DTOs montados na transação do serviço")
+class OpenSessionInViewDisabledIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenSessionInViewDisabledIntegrationTest.class);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+    private BankAccount account;
+    private Category category;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.annualUser("OSIV");
+        account = fixtures.account(user, "Conta", "1000.00");
+        category = fixtures.category(user, "Mercado", TransactionType.EXPENSE);
+        token = jwtService.generateToken(user.getId(), user.getEmail(), PlanType.ANNUAL, OffsetDateTime.now().plusYears(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.delete(user);
+    }
+
+    @Test
+    @DisplayName("Endpoints com associações lazy respondem sem LazyInitializationException e liberam a conexão")
+    void endpointsMapInsideServiceTransaction() throws Exception {
+        var card = call("POST /api/credit-cards", post("/api/credit-cards"),
+                "{\"name\":\"Cartão\",\"creditLimit\":5000,\"closingDay\":5,\"dueDay\":12}");
+        var cardId = objectMapper.readTree(card.getResponse().getContentAsString()).get("id").asText();
+
+        var cardTransaction = call("POST /api/transactions (cartão)", post("/api/transactions"),
+                "{\"name\":\"Compra\",\"amount\":50,\"date\":\"" + LocalDate.now() + "\",\"type\":\"EXPENSE\","
+                        + "\"creditCardId\":\"" + cardId + "\",\"categoryId\":\"" + category.getId() + "\"}");
+        var transactionId = objectMapper.readTree(cardTransaction.getResponse().getContentAsString()).get("id").asText();
+
+        call("PUT /api/transactions/{id} (cartão)", put("/api/transactions/" + transactionId), "{\"name\":\"Compra editada\"}");
+        call("POST /api/transactions (conta)", post("/api/transactions"),
+                "{\"name\":\"Padaria\",\"amount\":10,\"date\":\"" + LocalDate.now() + "\",\"type\":\"EXPENSE\","
+                        + "\"bankAccountId\":\"" + account.getId() + "\",\"categoryId\":\"" + category.getId() + "\"}");
+        call("GET /api/transactions", get("/api/transactions"), null);
+        call("GET /api/transactions?cursor", get("/api/transactions").param("cursor", ""), null);
+        call("GET /api/credit-cards", get("/api/credit-cards"), null);
+        call("GET /api/credit-cards/{id}/bill/current", get("/api/credit-cards/" + cardId + "/bill/current"), null);
+        call("GET /api/credit-cards/{id}/bills", get("/api/credit-cards/" + cardId + "/bills"), null);
+
+        var goal = call("POST /api/goals", post("/api/goals"), "{\"name\":\"Viagem\",\"targetAmount\":1000}");
+        var goalId = objectMapper.readTree(goal.getResponse().getContentAsString()).get("id").asText();
+        call("PATCH /api/goals/{id}/contribute", patch("/api/goals/" + goalId + "/contribute"),
+                "{\"amount\":100,\"bankAccountId\":\"" + account.getId() + "\"}");
+        call("GET /api/goals", get("/api/goals"), null);
+        call("GET /api/accounts", get("/api/accounts"), null);
+        call("GET /api/dashboard", get("/api/dashboard"), null);
+        call("GET /api/users/me", get("/api/users/me"), null);
+        call("GET /api/subscription/me", get("/api/subscription/me"), null);
+    }
+
+    private MvcResult call(String endpoint, MockHttpServletRequestBuilder request, String body) throws Exception {
+        request.header("Authorization", "Bearer " + token).header("Origin", "http://localhost:3000");
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(body);
+        }
+        var usage = connectionUsage();
+        long countBefore = usage != null ? usage.count() : 0;
+        double timeBefore = usage != null ? usage.totalTime(TimeUnit.MILLISECONDS) : 0;
+
+        var result = mockMvc.perform(request).andReturn();
+
+        if (usage != null) {
+            log.info("[OSIV] {}: conexões={} retenção={}ms", endpoint, usage.count() - countBefore,
+                    String.format(Locale.ROOT, "%.1f", usage.totalTime(TimeUnit.MILLISECONDS) - timeBefore));
+        }
+        assertThat(result.getResolvedException()).as(endpoint + " (ex.: LazyInitializationException ao montar o DTO)").isNull();
+        assertThat(result.getResponse().getStatus()).as(endpoint + ": " + result.getResponse().getContentAsString())
+                .isBetween(200, 299);
+        assertThat(activeConnections()).as(endpoint + " deixou conexão em uso").isZero();
+        return result;
+    }
+
+    private Timer connectionUsage() {
+        return meterRegistry.find("hikaricp.connections.usage").timer();
+    }
+
+    private int activeConnections() throws Exception {
+        return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections();
+    }
+}
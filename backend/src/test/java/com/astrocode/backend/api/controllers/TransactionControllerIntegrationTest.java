@@ -151,6 +151,84 @@ class TransactionControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("GET /api/transactions?cursor= → percorre páginas por cursor sem repetir itens")
+    void getTransactions_cursor_pagesWithoutDuplicates() throws Exception {
+        var createdAt = OffsetDateTime.now().withNano(0);
+        for (int i = 0; i < 3; i++) {
+            transactionRepository.save(Transaction.builder()
+                    .user(savedUser)
+                    .bankAccount(savedAccount)
+                    .category(savedCategory)
+                    .name("Despesa " + i)
+                    .amount(BigDecimal.TEN)
+                    .date(LocalDate.now())
+                    .type(TransactionType.EXPENSE)
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build());
+        }
+
+        MvcResult first = mockMvc.perform(get("/api/transactions")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("cursor", "")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn();
+        JsonNode firstPage = objectMapper.readTree(first.getResponse().getContentAsString());
+
+        mockMvc.perform(get("/api/transactions")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("cursor", firstPage.get("nextCursor").asText())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", not(in(new String[]{
+                        firstPage.get("content").get(0).get("id").asText(),
+                        firstPage.get("content").get(1).get("id").asText()
+                }))))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/transactions?cursor=invalido → 400 Bad Request")
+    void getTransactions_invalidCursor_returns400() throws Exception {
+        mockMvc.perform(get("/api/transactions")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("cursor", "invalido"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/transactions/export → 200 CSV em streaming com cabeçalho")
+    void exportTransactions_csv_streamsHeader() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/transactions/export")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("startDate", "2025-01-01")
+                        .param("endDate", "2025-01-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("transacoes_2025-01-01_2025-01-31.csv")))
+                .andExpect(content().string(startsWith("id,date,type,name,amount")));
+    }
+
+    @Test
+    @DisplayName("GET /api/transactions/export com startDate após endDate → 400")
+    void exportTransactions_invalidRange_returns400() throws Exception {
+        mockMvc.perform(get("/api/transactions/export")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("startDate", "2025-02-01")
+                        .param("endDate", "2025-01-31"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("POST /api/transactions com conta de outro usuário → 403")
     void postTransactions_accountNotOwned_returns403() throws Exception {
@@ -1,8 +1,5 @@
 package com.astrocode.backend.domain.jobs;
 
-import com.astrocode.backend.domain.entities.SavingsGoal;
-import com.astrocode.backend.domain.entities.User;
-import com.astrocode.backend.domain.model.enums.GoalStatus;
 import com.astrocode.backend.domain.repositories.SavingsGoalRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,9 +11,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,46 +27,26 @@ class GoalExpirationJobTest {
     private GoalExpirationJob goalExpirationJob;
 
     @Test
-    @DisplayName("Apenas metas ACTIVE com endDate < hoje são atualizadas para EXPIRED")
-    void expireOverdueGoals_onlyActiveWithEndDateBeforeToday() {
-        var user = User.builder()
-                .id(UUID.randomUUID())
-                .name("Test")
-                .email("test@test.com")
-                .password("x")
-                .build();
-
-        var expiredGoal = SavingsGoal.builder()
-                .id(UUID.randomUUID())
-                .user(user)
-                .name("Meta vencida")
-                .targetAmount(java.math.BigDecimal.valueOf(1000))
-                .currentAmount(java.math.BigDecimal.valueOf(500))
-                .status(GoalStatus.ACTIVE)
-                .startDate(LocalDate.now().minusMonths(2))
-                .endDate(LocalDate.now().minusDays(1))
-                .build();
-
-        when(savingsGoalRepository.findByStatusAndEndDateBeforeAndDeletedAtIsNull(
-                eq(GoalStatus.ACTIVE), any(LocalDate.class)))
-                .thenReturn(List.of(expiredGoal));
-        when(savingsGoalRepository.saveAll(any())).thenReturn(List.of(expiredGoal));
-
-        goalExpirationJob.expireOverdueGoals();
-
-        assertThat(expiredGoal.getStatus()).isEqualTo(GoalStatus.EXPIRED);
-        verify(savingsGoalRepository).saveAll(any());
+    @DisplayName("Expira em lotes até um lote vir incompleto, sempre com a data de hoje")
+    void expireOverdueGoals_runsChunksUntilShortBatch() {
+        var today = LocalDate.now();
+        var fullChunk = Stream.generate(UUID::randomUUID).limit(GoalExpirationJob.CHUNK_SIZE).toList();
+        when(savingsGoalRepository.expireOverdue(today, GoalExpirationJob.CHUNK_SIZE))
+                .thenReturn(fullChunk)
+                .thenReturn(List.of(UUID.randomUUID(), UUID.randomUUID()));
+
+        int expired = goalExpirationJob.expireOverdueGoals();
+
+        assertThat(expired).isEqualTo(GoalExpirationJob.CHUNK_SIZE + 2);
+        verify(savingsGoalRepository, times(2)).expireOverdue(today, GoalExpirationJob.CHUNK_SIZE);
     }
 
     @Test
-    @DisplayName("Metas COMPLETED ou CANCELLED não são alteradas")
-    void expireOverdueGoals_doesNotTouchCompletedOrCancelled() {
-        when(savingsGoalRepository.findByStatusAndEndDateBeforeAndDeletedAtIsNull(
-                eq(GoalStatus.ACTIVE), any(LocalDate.class)))
-                .thenReturn(List.of());
-
-        goalExpirationJob.expireOverdueGoals();
+    @DisplayName("Sem metas vencidas, um único lote vazio")
+    void expireOverdueGoals_nothingDue() {
+        when(savingsGoalRepository.expireOverdue(any(LocalDate.class), anyInt())).thenReturn(List.of());
 
-        verify(savingsGoalRepository, never()).saveAll(any());
+        assertThat(goalExpirationJob.expireOverdueGoals()).isZero();
+        verify(savingsGoalRepository, times(1)).expireOverdue(any(LocalDate.class), anyInt());
     }
 }
@@ -0,0 +1,187 @@
+package com.astrocode.backend.domain.jobs;
+
+import com.astrocode.backend.domain.repositories.MailOutboxRepository;
+import com.astrocode.backend.domain.services.MailOutboxService;
+import com.astrocode.backend.domain.services.MailService;
+import com.astrocode.backend.infrastructure.email.EmailMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** Sem {@code @Transactional}: reivindicação, envio e registro acontecem em transações próprias, como em produção. */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("MailOutboxDispatcher - outbox de e-mails")
+class MailOutboxDispatcherTest {
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private MailOutboxService mailOutboxService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String domain = "@outbox-" + UUID.randomUUID() + ".com";
+    private final MailService mailService = mock(MailService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM mail_outbox WHERE to_email LIKE ?", "%" + domain);
+    }
+
+    @Test
+    @DisplayName("Envia os pendentes, reagenda a falha com backoff e expõe as métricas")
+    void deliversAndReschedulesFailure() {
+        mailOutboxService.enqueue("ok" + domain, "Assunto", "<p>oi</p>", "oi");
+        mailOutboxService.enqueue("falha" + domain, "Assunto", null, "oi");
+        doThrow(new IllegalStateException("provedor fora")).when(mailService).deliver(to("falha"));
+
+        dispatcher(5).dispatch();
+
+        assertThat(status("ok")).isEqualTo("SENT");
+        assertThat(status("falha")).isEqualTo("PENDING");
+        assertThat(jdbcTemplate.queryForObject("SELECT attempts FROM mail_outbox WHERE to_email = ?", Integer.class, "falha" + domain))
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT next_attempt_at > now() + interval '30 seconds' AND last_error = 'provedor fora' "
+                + "FROM mail_outbox WHERE to_email = ?", Boolean.class, "falha" + domain)).isTrue();
+        assertThat(meterRegistry.counter("mail.outbox.sent").count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.counter("mail.outbox.failures", "outcome", "retry").count()).isEqualTo(1);
+        assertThat(meterRegistry.find("mail.outbox.backlog").gauge().value()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Falha na última tentativa descarta a mensagem (FAILED)")
+    void lastAttemptFailureIsDead() {
+        mailOutboxService.enqueue("falha" + domain, "Assunto", null, "oi");
+        doThrow(new IllegalStateException("caixa inexistente")).when(mailService).deliver(to("falha"));
+
+        dispatcher(1).dispatch();
+
+        assertThat(status("falha")).isEqualTo("FAILED");
+        assertThat(meterRegistry.counter("mail.outbox.failures", "outcome", "dead").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Despachantes concorrentes (réplicas) nunca enviam a mesma mensagem duas vezes")
+    void concurrentDispatchersShareWithoutDuplicates() throws Exception {
+        for (int i = 0; i < 120; i++) {
+            mailOutboxService.enqueue(i + domain, "Assunto", null, "oi");
+        }
+        Map<String, AtomicInteger> deliveries = new ConcurrentHashMap<>();
+        doAnswer(inv -> {
+            deliveries.computeIfAbsent(inv.<EmailMessage>getArgument(0).to(), k -> new AtomicInteger()).incrementAndGet();
+            Thread.sleep(5);
+            return null;
+        }).when(mailService).deliver(any());
+
+        var executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Callable<Integer>> replicas = List.of(() -> dispatcher(5).dispatch(), () -> dispatcher(5).dispatch(),
+                    () -> dispatcher(5).dispatch());
+            for (var result : executor.invokeAll(replicas)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        var own = deliveries.entrySet().stream().filter(e -> e.getKey().endsWith(domain)).toList();
+        assertThat(own).hasSize(120).allSatisfy(e -> assertThat(e.getValue().get()).isEqualTo(1));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM mail_outbox WHERE to_email LIKE ? AND status = 'SENT'",
+                Long.class, "%" + domain)).isEqualTo(120);
+    }
+
+    @Test
+    @DisplayName("Com provedor de lote, envia o lote numa chamada; lote recusado (422) cai para o envio um a um")
+    void batchDeliveryWithFallback() {
+        mailOutboxService.enqueue("a" + domain, "Assunto", null, "oi");
+        mailOutboxService.enqueue("b" + domain, "Assunto", null, "oi");
+        when(mailService.supportsBatch()).thenReturn(true);
+        List<List<EmailMessage>> batches = new ArrayList<>();
+        doAnswer(inv -> {
+            batches.add(inv.getArgument(0));
+            throw new HttpClientErrorException(HttpStatusCode.valueOf(422));
+        }).doAnswer(inv -> {
+            batches.add(inv.getArgument(0));
+            return null;
+        }).when(mailService).deliverBatch(anyList());
+
+        var dispatcher = dispatcher(5);
+        dispatcher.dispatch();
+        assertThat(batches.getFirst()).extracting(EmailMessage::to).contains("a" + domain, "b" + domain);
+        assertThat(batches.getFirst()).allSatisfy(m -> assertThat(m.idempotencyKey()).startsWith("outbox-"));
+        verify(mailService).deliver(to("a"));
+        verify(mailService).deliver(to("b"));
+        assertThat(status("a")).isEqualTo("SENT");
+        assertThat(status("b")).isEqualTo("SENT");
+
+        mailOutboxService.enqueue("c" + domain, "Assunto", null, "oi");
+        dispatcher.dispatch();
+        assertThat(batches.get(1)).extracting(EmailMessage::to).contains("c" + domain);
+        verify(mailService, never()).deliver(to("c"));
+        assertThat(status("c")).isEqualTo("SENT");
+    }
+
+    @Test
+    @DisplayName("Lote com resultado incerto (5xx) volta inteiro à fila, sem envio um a um")
+    void uncertainBatchFailureIsRetriedLater() {
+        mailOutboxService.enqueue("a" + domain, "Assunto", null, "oi");
+        mailOutboxService.enqueue("b" + domain, "Assunto", null, "oi");
+        when(mailService.supportsBatch()).thenReturn(true);
+        doThrow(new HttpServerErrorException(HttpStatusCode.valueOf(503))).when(mailService).deliverBatch(anyList());
+
+        dispatcher(5).dispatch();
+
+        verify(mailService, never()).deliver(any());
+        assertThat(status("a")).isEqualTo("PENDING");
+        assertThat(status("b")).isEqualTo("PENDING");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM mail_outbox WHERE to_email LIKE ? AND attempts = 1 "
+                + "AND next_attempt_at > now()", Long.class, "%" + domain)).isEqualTo(2);
+        assertThat(meterRegistry.counter("mail.outbox.failures", "outcome", "retry").count()).isEqualTo(2);
+    }
+
+    private EmailMessage to(String local) {
+        return argThat(m -> m != null && m.to().equals(local + domain));
+    }
+
+    private MailOutboxDispatcher dispatcher(int maxAttempts) {
+        return new MailOutboxDispatcher(mailOutboxRepository, mailService, meterRegistry, 20, 4, maxAttempts,
+                Duration.ofMinutes(5), Duration.ofMinutes(1), Duration.ofDays(7));
+    }
+
+    private String status(String local) {
+        return jdbcTemplate.queryForObject("SELECT status FROM mail_outbox WHERE to_email = ?", String.class, local + domain);
+    }
+}
@@ -0,0 +1,112 @@
+package com.astrocode.backend.domain.jobs;
+
+import com.astrocode.backend.api.dto.transaction.TransactionRequest;
+import com.astrocode.backend.api.dto.transaction.TransactionUpdateRequest;
+import com.astrocode.backend.domain.entities.BankAccount;
+import com.astrocode.backend.domain.entities.Category;
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.domain.repositories.MonthlyCategoryTotalRepository;
+import com.astrocode.backend.domain.services.TransactionService;
+import com.astrocode.backend.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("MonthlyTotalsVerificationJob")
+class MonthlyTotalsVerificationJobTest {
+
+    @Autowired
+    private MonthlyTotalsVerificationJob job;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MonthlyCategoryTotalRepository monthlyCategoryTotalRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private BankAccount account;
+    private Category food;
+    private Category transport;
+    private final LocalDate date = LocalDate.of(2025, 3, 10);
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user("Agregado");
+        account = fixtures.account(user, "Conta", "1000.00");
+        food = fixtures.category(user, "Alimentação", TransactionType.EXPENSE);
+        transport = fixtures.category(user, "Transporte", TransactionType.EXPENSE);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Criação, edição e exclusão mantêm o agregado igual às transações")
+    void writesKeepAggregateInSync() {
+        var first = transactionService.create(expense("Mercado", "100.00", food), user.getId());
+        transactionService.create(expense("Ônibus", "20.00", transport), user.getId());
+        var third = transactionService.create(expense("Padaria", "15.00", food), user.getId());
+
+        transactionService.update(first.id(), new TransactionUpdateRequest(
+                null, new BigDecimal("80.00"), null, null, null, transport.getId(), null, null), user.getId());
+        transactionService.delete(third.id(), user.getId());
+        entityManager.flush();
+
+        var summary = transactionService.getMonthlySummary(user.getId(), 2025, 3);
+        assertThat(summary.totalExpense()).isEqualByComparingTo("100.00");
+        assertThat(summary.byCategory()).singleElement().satisfies(item -> {
+            assertThat(item.categoryId()).isEqualTo(transport.getId());
+            assertThat(item.totalAmount()).isEqualByComparingTo("100.00");
+        });
+        assertThat(driftRowsForUser()).isZero();
+    }
+
+    @Test
+    @DisplayName("Divergência é reportada e o agregado do usuário é reconstruído")
+    void rebuildsDriftedUser() {
+        transactionService.create(expense("Mercado", "100.00", food), user.getId());
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE monthly_category_totals SET total = 1, count = 7 WHERE user_id = ?", user.getId());
+
+        assertThat(driftRowsForUser()).isEqualTo(1);
+        assertThat(job.verifyAndRebuild()).isGreaterThanOrEqualTo(1);
+
+        assertThat(driftRowsForUser()).isZero();
+        assertThat(monthlyCategoryTotalRepository.sumTotalExpensesExcludingGoalsByUserIdAndMonth(user.getId(), 2025, 3))
+                .isEqualByComparingTo("100.00");
+    }
+
+    private long driftRowsForUser() {
+        return monthlyCategoryTotalRepository.findDrift().stream()
+                .filter(row -> user.getId().equals(row[0]))
+                .count();
+    }
+
+    private TransactionRequest expense(String name, String amount, Category category) {
+        return new TransactionRequest(name, new BigDecimal(amount), date, TransactionType.EXPENSE,
+                account.getId(), category.getId(), null, false, null);
+    }
+}
@@ -0,0 +1,119 @@
+package com.astrocode.backend.domain.jobs;
+
+import com.astrocode.backend.domain.repositories.TransactionRepository;
+import com.astrocode.backend.domain.services.MailService;
+import com.astrocode.backend.domain.services.RecurringTransactionService;
+import com.astrocode.backend.domain.services.TransactionService;
+import com.astrocode.backend.support.Benchmarks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Job de recorrência sobre {@link #USERS} × {@link #PARENTS_PER_USER} pais recorrentes sintéticos: um worker
+ * versus {@link #PARALLELISM} workers sobre as mesmas {@link #PARTITIONS} partições.
+ * <p>
+ * Fora da suíte padrão; rodar com {@code mvn test -Dtest=RecurringTransactionJobBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "spring.datasource.hikari.maximum-pool-size=8"})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - job de recorrência particionado com 100 mil pais")
+class RecurringTransactionJobBenchmarkTest {
+
+    private static final int USERS = 4_000;
+    private static final int PARENTS_PER_USER = 25;
+    private static final int PARTITIONS = 16;
+    private static final int PARALLELISM = 4;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String emailPattern = "bench-recurring-" + UUID.randomUUID() + "-%@bench.com";
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (name, email, password) "
+                + "SELECT 'Benchmark', replace(?, '%', CAST(g AS text)), 'x' FROM generate_series(1, ?) g", emailPattern, USERS);
+        jdbcTemplate.update("INSERT INTO bank_accounts (user_id, name, initial_balance, balance_snapshot, type) "
+                + "SELECT id, 'Conta', 1000000, 1000000, 'CHECKING' FROM users WHERE email LIKE ?", emailPattern);
+        jdbcTemplate.update("INSERT INTO categories (user_id, name, type) "
+                + "SELECT id, 'Fixas', 'EXPENSE' FROM users WHERE email LIKE ?", emailPattern);
+        jdbcTemplate.update("""
+                INSERT INTO transactions (user_id, bank_account_id, category_id, name, amount, date, type, is_recurring, frequency,
+                                          next_occurrence_date)
+                SELECT b.user_id, b.id, c.id, 'Fixa ' || g, 10, DATE '2024-01-01' + (g % 28), 'EXPENSE', true, 'MONTHLY',
+                       CAST(date_trunc('month', CURRENT_DATE) AS date)
+                FROM bank_accounts b
+                JOIN categories c ON c.user_id = b.user_id
+                JOIN users u ON u.id = b.user_id
+                CROSS JOIN generate_series(1, ?) g
+                WHERE u.email LIKE ?
+                """, PARENTS_PER_USER, emailPattern);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", emailPattern);
+    }
+
+    @Test
+    @DisplayName("Filhas por segundo: um worker e workers em paralelo geram as mesmas filhas")
+    void singleVersusParallelWorkers() {
+        double single = measure(1);
+        resetChildren();
+        double parallel = measure(PARALLELISM);
+
+        Benchmarks.report("job de recorrência", "1 worker", single, "filhas/s");
+        Benchmarks.report("job de recorrência", PARALLELISM + " workers", parallel, "filhas/s");
+    }
+
+    /** Filhas por segundo; confere que todos os pais sintéticos ganharam filha. */
+    private double measure(int parallelism) {
+        var job = new RecurringTransactionJob(transactionRepository, recurringTransactionService, transactionService, mailService,
+                new SimpleMeterRegistry(), PARTITIONS, parallelism, 1);
+        long start = System.nanoTime();
+        job.generateRecurringTransactions();
+        double perSecond = Benchmarks.perSecond((long) USERS * PARENTS_PER_USER, start);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions t JOIN users u ON u.id = t.user_id "
+                + "WHERE u.email LIKE ? AND t.parent_transaction_id IS NOT NULL", Long.class, emailPattern))
+                .isEqualTo((long) USERS * PARENTS_PER_USER);
+        return perSecond;
+    }
+
+    /** Volta ao estado inicial: pais vencidos, sem filhas, sem lançamentos de saldo e sem consumo da cota do mês. */
+    private void resetChildren() {
+        jdbcTemplate.update("UPDATE transactions t SET next_occurrence_date = CAST(date_trunc('month', CURRENT_DATE) AS date) "
+                + "FROM users u WHERE u.id = t.user_id AND u.email LIKE ? AND t.is_recurring = true", emailPattern);
+        jdbcTemplate.update("DELETE FROM transactions t USING users u WHERE u.id = t.user_id AND u.email LIKE ? "
+                + "AND t.parent_transaction_id IS NOT NULL", emailPattern);
+        jdbcTemplate.update("DELETE FROM balance_entries e USING bank_accounts b, users u "
+                + "WHERE b.id = e.bank_account_id AND u.id = b.user_id AND u.email LIKE ?", emailPattern);
+        jdbcTemplate.update("DELETE FROM monthly_category_totals m USING users u WHERE u.id = m.user_id AND u.email LIKE ?", emailPattern);
+        jdbcTemplate.update("DELETE FROM transaction_monthly_usage m USING users u WHERE u.id = m.user_id AND u.email LIKE ?", emailPattern);
+    }
+}
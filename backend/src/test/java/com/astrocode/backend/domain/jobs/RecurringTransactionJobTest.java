@@ -1,27 +1,26 @@
 package com.astrocode.backend.domain.jobs;
 
-import com.astrocode.backend.domain.entities.BankAccount;
-import com.astrocode.backend.domain.entities.Category;
-import com.astrocode.backend.domain.entities.Transaction;
-import com.astrocode.backend.domain.entities.User;
-import com.astrocode.backend.domain.model.enums.RecurrenceFrequency;
-import com.astrocode.backend.domain.model.enums.TransactionType;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import com.astrocode.backend.domain.exceptions.InsufficientBalanceException;
+import com.astrocode.backend.domain.exceptions.PlanUpgradeRequiredException;
 import com.astrocode.backend.domain.repositories.TransactionRepository;
+import com.astrocode.backend.domain.repositories.TransactionRepository.DueRecurrence;
+import com.astrocode.backend.domain.services.MailService;
+import com.astrocode.backend.domain.services.RecurringTransactionService;
+import com.astrocode.backend.domain.services.RecurringTransactionService.Outcome;
 import com.astrocode.backend.domain.services.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.mockito.stubbing.OngoingStubbing;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -30,108 +29,175 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
 @DisplayName("RecurringTransactionJob")
 class RecurringTransactionJobTest {
 
+    private static final int PARTITIONS = 4;
+
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private RecurringTransactionService recurringTransactionService;
+
     @Mock
     private TransactionService transactionService;
 
-    @InjectMocks
-    private RecurringTransactionJob job;
+    @Mock
+    private MailService mailService;
 
-    private Transaction parentTransaction;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LocalDate today = LocalDate.now();
+    private RecurringTransactionJob job;
 
     @BeforeEach
     void setUp() {
-        var user = User.builder()
-                .id(UUID.randomUUID())
-                .name("Test User")
-                .email("test@example.com")
-                .password("encoded")
-                .build();
-
-        var bankAccount = BankAccount.builder()
-                .id(UUID.randomUUID())
-                .user(user)
-                .name("Conta")
-                .initialBalance(BigDecimal.ZERO)
-                .currentBalance(BigDecimal.valueOf(1000))
-                .build();
-
-        var category = Category.builder()
-                .id(UUID.randomUUID())
-                .user(user)
-                .name("Mercado")
-                .type(TransactionType.EXPENSE)
-                .build();
-
-        parentTransaction = Transaction.builder()
-                .id(UUID.randomUUID())
-                .user(user)
-                .bankAccount(bankAccount)
-                .category(category)
-                .name("Aluguel")
-                .amount(BigDecimal.valueOf(1500))
-                .date(LocalDate.of(2025, 1, 5))
-                .type(TransactionType.EXPENSE)
-                .isRecurring(true)
-                .frequency(RecurrenceFrequency.MONTHLY)
-                .parentTransaction(null)
-                .createdAt(OffsetDateTime.now())
-                .updatedAt(OffsetDateTime.now())
-                .build();
+        job = new RecurringTransactionJob(transactionRepository, recurringTransactionService, transactionService, mailService,
+                meterRegistry, PARTITIONS, 2, 2);
     }
 
     @Test
-    @DisplayName("Deve criar transação filha quando pai recorrente existe e não há filha no mês atual")
-    void shouldCreateChildWhenParentExistsAndNoChildForCurrentMonth() {
-        when(transactionRepository.findParentRecurringTransactions(any()))
-                .thenReturn(new PageImpl<>(List.of(parentTransaction), PageRequest.of(0, 100), 1));
-        when(transactionRepository.existsChildForParentInDateRange(
-                eq(parentTransaction.getId()),
-                any(LocalDate.class),
-                any(LocalDate.class)
-        )).thenReturn(false);
+    @DisplayName("Gera o lote de pais vencidos em conjunto, sem o caminho linha a linha")
+    void shouldGenerateDueParentsInBatch() {
+        var due = List.of(due("Aluguel"), due("Internet"));
+        whenDueInFirstPartition().thenReturn(due).thenReturn(List.of());
+        when(recurringTransactionService.generate(today, due)).thenReturn(new Outcome(2, 2, List.of()));
+
+        job.generateRecurringTransactions();
+
+        verify(recurringTransactionService).generate(today, due);
+        verify(transactionService, never()).createRecurringChild(any(UUID.class), any());
+        for (int partition = 1; partition < PARTITIONS; partition++) {
+            verify(transactionRepository).findDueRecurringParents(eq(today), eq(PARTITIONS), eq(partition), any(), anyInt());
+        }
+        assertThat(meterRegistry.get("recurring.children.generated").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("recurring.partitions.completed").gauge().value()).isEqualTo(PARTITIONS);
+    }
+
+    @Test
+    @DisplayName("Pai com vários períodos vencidos recupera todos na mesma execução")
+    void shouldCatchUpMissedPeriodsInOneRun() {
+        var missed = List.of(due("Aluguel"));
+        var current = List.of(due("Aluguel"));
+        whenDueInFirstPartition().thenReturn(missed).thenReturn(current).thenReturn(List.of());
+        when(recurringTransactionService.generate(today, missed)).thenReturn(new Outcome(1, 1, List.of()));
+        when(recurringTransactionService.generate(today, current)).thenReturn(new Outcome(1, 1, List.of()));
+
+        int generated = job.generateRecurringTransactions();
+
+        assertThat(generated).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Partição que falha é refeita sem afetar as demais")
+    void shouldRetryFailedPartition() {
+        var due = List.of(due("Aluguel"));
+        whenDueInFirstPartition()
+                .thenThrow(new IllegalStateException("lock timeout"))
+                .thenReturn(due)
+                .thenReturn(List.of());
+        when(recurringTransactionService.generate(today, due)).thenReturn(new Outcome(1, 1, List.of()));
+
+        int generated = job.generateRecurringTransactions();
+
+        assertThat(generated).isEqualTo(1);
+        assertThat(meterRegistry.get("recurring.partition.retries").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("recurring.partition.duration").tag("outcome", "failure").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("recurring.partition.duration").tag("outcome", "success").timer().count()).isEqualTo(PARTITIONS);
+    }
+
+    @Test
+    @DisplayName("Contas sem saldo para o lote seguem linha a linha; filha recusada no período corrente fica para amanhã")
+    void shouldFallBackRowByRowForRejectedAccounts() {
+        var rent = due("Aluguel");
+        var due = List.of(rent, due("Internet"));
+        whenDueInFirstPartition().thenReturn(due).thenReturn(List.of(rent)).thenReturn(List.of());
+        when(recurringTransactionService.generate(today, due)).thenReturn(new Outcome(1, 1, List.of(rent)));
+        when(transactionService.createRecurringChild(rent.getParentId(), rent.getTargetDate()))
+                .thenThrow(new InsufficientBalanceException("Saldo insuficiente na conta"));
+
+        job.generateRecurringTransactions();
+
+        verify(transactionService, times(1)).createRecurringChild(rent.getParentId(), rent.getTargetDate());
+        verify(mailService, times(1)).sendRecurringExpenseNotAddedDueToInsufficientBalance(
+                eq("test@example.com"), eq("Aluguel"), anyString(), anyString());
+        verify(recurringTransactionService, never()).skip(any());
+    }
+
+    @Test
+    @DisplayName("Filha recusada de período já encerrado é pulada")
+    void shouldSkipRejectedPastPeriod() {
+        var rent = due("Aluguel");
+        when(rent.getPeriodEnd()).thenReturn(today);
+        whenDueInFirstPartition().thenReturn(List.of(rent)).thenReturn(List.of());
+        when(recurringTransactionService.generate(today, List.of(rent))).thenReturn(new Outcome(0, 0, List.of(rent)));
+        when(transactionService.createRecurringChild(rent.getParentId(), rent.getTargetDate()))
+                .thenThrow(new InsufficientBalanceException("Saldo insuficiente na conta"));
 
         job.generateRecurringTransactions();
 
-        ArgumentCaptor<Transaction> parentCaptor = ArgumentCaptor.forClass(Transaction.class);
-        ArgumentCaptor<LocalDate> dateCaptor = ArgumentCaptor.forClass(LocalDate.class);
-        verify(transactionService, times(1)).createRecurringChild(parentCaptor.capture(), dateCaptor.capture());
+        verify(recurringTransactionService).skip(List.of(rent.getParentId()));
+    }
+
+    @Test
+    @DisplayName("Lote que falha por inteiro (ex.: cota do plano) é refeito linha a linha")
+    void shouldFallBackRowByRowWhenBatchFails() {
+        var due = List.of(due("Aluguel"), due("Internet"));
+        whenDueInFirstPartition().thenReturn(due).thenReturn(List.of());
+        when(recurringTransactionService.generate(today, due)).thenThrow(new PlanUpgradeRequiredException("Limite"));
+
+        job.generateRecurringTransactions();
 
-        assertThat(parentCaptor.getValue().getId()).isEqualTo(parentTransaction.getId());
-        assertThat(dateCaptor.getValue().getMonth()).isEqualTo(LocalDate.now().getMonth());
-        assertThat(dateCaptor.getValue().getYear()).isEqualTo(LocalDate.now().getYear());
+        for (var recurrence : due) {
+            verify(transactionService).createRecurringChild(recurrence.getParentId(), recurrence.getTargetDate());
+        }
     }
 
     @Test
-    @DisplayName("Não deve criar transação quando já existe filha no período")
-    void shouldNotCreateChildWhenChildAlreadyExists() {
-        when(transactionRepository.findParentRecurringTransactions(any()))
-                .thenReturn(new PageImpl<>(List.of(parentTransaction), PageRequest.of(0, 100), 1));
+    @DisplayName("Linha a linha não recria a filha de um período que já tem filha; o pai só avança")
+    void shouldSkipRowByRowWhenPeriodAlreadyHasChild() {
+        var rent = due("Aluguel");
+        var internet = due("Internet");
+        var due = List.of(rent, internet);
+        whenDueInFirstPartition().thenReturn(due).thenReturn(List.of());
+        when(recurringTransactionService.generate(today, due)).thenThrow(new IllegalStateException("Filhas recorrentes geradas concorrentemente"));
         when(transactionRepository.existsChildForParentInDateRange(
-                eq(parentTransaction.getId()),
-                any(LocalDate.class),
-                any(LocalDate.class)
-        )).thenReturn(true);
+                rent.getParentId(), rent.getPeriodStart(), rent.getPeriodEnd().minusDays(1))).thenReturn(true);
 
         job.generateRecurringTransactions();
 
-        verify(transactionService, never()).createRecurringChild(any(), any());
+        verify(transactionService, never()).createRecurringChild(rent.getParentId(), rent.getTargetDate());
+        verify(transactionService).createRecurringChild(internet.getParentId(), internet.getTargetDate());
+        verify(recurringTransactionService).skip(List.of(rent.getParentId()));
     }
 
     @Test
-    @DisplayName("Não deve fazer nada quando não há transações pai recorrentes")
-    void shouldDoNothingWhenNoParentRecurringTransactions() {
-        when(transactionRepository.findParentRecurringTransactions(any()))
-                .thenReturn(new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 100), 0));
+    @DisplayName("Não deve fazer nada quando não há pais vencidos")
+    void shouldDoNothingWhenNothingIsDue() {
+        when(transactionRepository.findDueRecurringParents(eq(today), anyInt(), anyInt(), any(), anyInt())).thenReturn(Collections.emptyList());
 
         job.generateRecurringTransactions();
 
-        verify(transactionRepository, never()).existsChildForParentInDateRange(any(), any(), any());
-        verify(transactionService, never()).createRecurringChild(any(), any());
+        verifyNoInteractions(recurringTransactionService);
+        verify(transactionService, never()).createRecurringChild(any(UUID.class), any());
+    }
+
+    private OngoingStubbing<List<DueRecurrence>> whenDueInFirstPartition() {
+        return when(transactionRepository.findDueRecurringParents(eq(today), eq(PARTITIONS), eq(0), any(), anyInt()));
+    }
+
+    private DueRecurrence due(String name) {
+        var recurrence = mock(DueRecurrence.class);
+        when(recurrence.getParentId()).thenReturn(UUID.randomUUID());
+        when(recurrence.getUserEmail()).thenReturn("test@example.com");
+        when(recurrence.getName()).thenReturn(name);
+        when(recurrence.getAmount()).thenReturn(BigDecimal.valueOf(1500));
+        when(recurrence.getType()).thenReturn("EXPENSE");
+        when(recurrence.getTargetDate()).thenReturn(today.withDayOfMonth(1).plusDays(4));
+        when(recurrence.getPeriodStart()).thenReturn(today.withDayOfMonth(1));
+        when(recurrence.getPeriodEnd()).thenReturn(today.withDayOfMonth(1).plusMonths(1));
+        when(recurrence.getHasChild()).thenReturn(false);
+        return recurrence;
     }
 }
@@ -0,0 +1,96 @@
+package com.astrocode.backend.domain.repositories;
+
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.domain.services.DashboardService;
+import com.astrocode.backend.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garante que o dashboard sai de uma única instrução SQL, contando o que o Hibernate envia ao JDBC.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.astrocode.backend.domain.repositories.DashboardTotalsQueryTest$CountingInspector")
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Dashboard - consulta única")
+class DashboardTotalsQueryTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Saldo, receitas e despesas do mês vêm de uma única instrução")
+    void dashboardIssuesSingleStatement() {
+        var user = fixtures.user("Dashboard");
+        for (var balance : new String[]{"100.00", "250.50"}) {
+            fixtures.account(user, "Conta " + balance, balance);
+        }
+        var income = fixtures.category(user, "Salário", TransactionType.INCOME);
+        var expense = fixtures.category(user, "Mercado", TransactionType.EXPENSE);
+        entityManager.flush();
+
+        var month = YearMonth.now();
+        insertTotal(user.getId(), month, TransactionType.INCOME, income.getId(), false, "3000.00");
+        insertTotal(user.getId(), month, TransactionType.EXPENSE, expense.getId(), false, "420.00");
+        insertTotal(user.getId(), month, TransactionType.EXPENSE, expense.getId(), true, "500.00");
+        insertTotal(user.getId(), month.minusMonths(1), TransactionType.EXPENSE, expense.getId(), false, "999.00");
+
+        CountingInspector.COUNT.set(0);
+        var dashboard = dashboardService.getDashboardData(user.getId());
+
+        assertThat(CountingInspector.COUNT.get()).isEqualTo(1);
+        assertThat(dashboard.totalBalance()).isEqualByComparingTo("350.50");
+        assertThat(dashboard.totalIncomeMonth()).isEqualByComparingTo("3000.00");
+        assertThat(dashboard.totalExpenseMonth()).isEqualByComparingTo("420.00");
+    }
+
+    @Test
+    @DisplayName("Usuário sem contas nem transações recebe zeros")
+    void dashboardWithoutDataReturnsZeros() {
+        var dashboard = dashboardService.getDashboardData(UUID.randomUUID());
+
+        assertThat(dashboard.totalBalance()).isEqualByComparingTo("0");
+        assertThat(dashboard.totalIncomeMonth()).isEqualByComparingTo("0");
+        assertThat(dashboard.totalExpenseMonth()).isEqualByComparingTo("0");
+    }
+
+    private void insertTotal(UUID userId, YearMonth month, TransactionType type, UUID categoryId, boolean goal, String total) {
+        jdbcTemplate.update("INSERT INTO monthly_category_totals (user_id, year, month, type, category_id, goal_flag, total, count) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, 1)",
+                userId, month.getYear(), month.getMonthValue(), type.name(), categoryId, goal, new BigDecimal(total));
+    }
+
+    public static class CountingInspector implements StatementInspector {
+        static final AtomicInteger COUNT = new AtomicInteger();
+
+        @Override
+        public String inspect(String sql) {
+            COUNT.incrementAndGet();
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.astrocode.backend.domain.repositories;
+
+import com.astrocode.backend.api.dto.transaction.TransactionResponse;
+import com.astrocode.backend.domain.entities.Transaction;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.support.Benchmarks;
+import com.astrocode.backend.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark da listagem de um mês com 10k transações: hidratação de entidades (JOIN FETCH + mapeamento)
+ * versus projeção direta em {@link TransactionResponse}. Mede latência e bytes alocados pela thread.
+ * <p>
+ * Fora da suíte padrão; rodar com {@code mvn test -Dtest=TransactionListingBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+@Transactional
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - listagem de transações (entidade vs projeção)")
+class TransactionListingBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    private static final String ENTITY_QUERY = "SELECT t FROM Transaction t LEFT JOIN FETCH t.bankAccount " +
+            "LEFT JOIN FETCH t.creditCard LEFT JOIN FETCH t.creditCardBill JOIN FETCH t.category " +
+            "WHERE t.user.id = :userId AND t.date >= :startDate AND t.date <= :endDate " +
+            "ORDER BY t.date DESC, t.createdAt DESC";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID userId;
+    private final LocalDate startDate = LocalDate.of(2025, 3, 1);
+    private final LocalDate endDate = LocalDate.of(2025, 3, 31);
+
+    @BeforeEach
+    void setUp() {
+        var user = fixtures.user("Benchmark");
+        var account = fixtures.account(user, "Conta", "0.00");
+        var category = fixtures.category(user, "Mercado", TransactionType.EXPENSE);
+        entityManager.flush();
+        userId = user.getId();
+
+        jdbcTemplate.update("""
+                INSERT INTO transactions (user_id, bank_account_id, category_id, name, amount, date, type)
+                SELECT ?, ?, ?, 'Compra ' || g, 10 + (g % 90), ?::date + (g % 31), 'EXPENSE'
+                FROM generate_series(1, ?) g
+                """, userId, account.getId(), category.getId(), startDate, ROWS);
+    }
+
+    @Test
+    @DisplayName("Projeção aloca menos que hidratação de entidades")
+    void projectionBeatsEntityHydration() {
+        var entity = measure(() -> entityManager.createQuery(ENTITY_QUERY, Transaction.class)
+                .setParameter("userId", userId)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList()
+                .stream()
+                .map(TransactionListingBenchmarkTest::toResponse)
+                .toList());
+        var projection = measure(() -> transactionRepository
+                .findResponsesByUserId(userId, null, null, startDate, endDate, Pageable.unpaged())
+                .getContent());
+
+        Benchmarks.report("listagem de 10k", "entidade", entity.millis(), "ms/op");
+        Benchmarks.report("listagem de 10k", "entidade", entity.megabytes(), "MB/op");
+        Benchmarks.report("listagem de 10k", "projeção", projection.millis(), "ms/op");
+        Benchmarks.report("listagem de 10k", "projeção", projection.megabytes(), "MB/op");
+
+        assertThat(projection.bytes()).isLessThan(entity.bytes());
+    }
+
+    private Result measure(Supplier<List<TransactionResponse>> listing) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertThat(run(listing)).hasSize(ROWS);
+        }
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            run(listing);
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+        return new Result(elapsed / ITERATIONS, bytes / ITERATIONS);
+    }
+
+    /** Cada iteração começa com contexto de persistência limpo, como numa requisição nova. */
+    private List<TransactionResponse> run(Supplier<List<TransactionResponse>> listing) {
+        entityManager.clear();
+        return listing.get();
+    }
+
+    /** Mesmo mapeamento que o controller fazia a partir da entidade. */
+    private static TransactionResponse toResponse(Transaction t) {
+        return new TransactionResponse(
+                t.getId(), t.getName(), t.getAmount(), t.getDate(), t.getType().name(),
+                t.getBankAccount() != null ? t.getBankAccount().getId() : null,
+                t.getCategory().getId(),
+                t.getCreditCard() != null ? t.getCreditCard().getId() : null,
+                t.getCreditCard() != null ? t.getCreditCard().getName() : null,
+                t.getCreditCardBill() != null ? t.getCreditCardBill().getId() : null,
+                t.getIsRecurring() != null ? t.getIsRecurring() : false,
+                t.getFrequency() != null ? t.getFrequency().name() : null,
+                t.getCreatedAt(), t.getUpdatedAt());
+    }
+
+    private record Result(long nanos, long bytes) {
+        double millis() {
+            return nanos / 1_000_000.0;
+        }
+
+        double megabytes() {
+            return bytes / (1024.0 * 1024.0);
+        }
+    }
+}
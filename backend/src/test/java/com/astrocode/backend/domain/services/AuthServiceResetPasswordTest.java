@@ -48,6 +48,9 @@ class AuthServiceResetPasswordTest {
     @Mock
     private MailService mailService;
 
+    @Mock
+    private AuthStateRegistry authStateRegistry;
+
     @InjectMocks
     private AuthService authService;
 
@@ -144,5 +147,6 @@ class AuthServiceResetPasswordTest {
         assertThat(response.name()).isEqualTo("Test");
         verify(userRepository, atLeastOnce()).save(argThat(u -> encodedNewPassword.equals(u.getPassword())));
         verify(resetCodeRepository).delete(resetCode);
+        verify(authStateRegistry).revokeTokens(userId);
     }
 }
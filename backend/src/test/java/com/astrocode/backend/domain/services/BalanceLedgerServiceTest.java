@@ -0,0 +1,108 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.entities.BankAccount;
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.repositories.BankAccountRepository;
+import com.astrocode.backend.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Sem {@code @Transactional}: os débitos concorrem de verdade, cada um na sua transação. */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BalanceLedgerService - livro-razão de saldo")
+class BalanceLedgerServiceTest {
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private BankAccount account;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user("Ledger");
+        account = fixtures.account(user, "Conta", "100.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.delete(user);
+    }
+
+    @Test
+    @DisplayName("Débitos concorrentes na mesma conta nunca deixam o saldo negativo")
+    void concurrentDebitsRespectBalance() throws Exception {
+        var tx = new TransactionTemplate(transactionManager);
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var attempts = new ArrayList<Callable<Boolean>>();
+            for (int i = 0; i < 8; i++) {
+                attempts.add(() -> tx.execute(status -> balanceLedgerService.tryPost(account.getId(), new BigDecimal("-30.00"))));
+            }
+            int accepted = 0;
+            for (var result : executor.invokeAll(attempts)) {
+                if (result.get()) {
+                    accepted++;
+                }
+            }
+            assertThat(accepted).isEqualTo(3);
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(currentBalance()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    @DisplayName("Compactação move os lançamentos para o snapshot sem alterar o saldo")
+    void compactionPreservesBalance() {
+        var tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            balanceLedgerService.post(account.getId(), new BigDecimal("50.00"));
+            balanceLedgerService.post(account.getId(), new BigDecimal("-20.00"));
+        });
+        assertThat(currentBalance()).isEqualByComparingTo("130.00");
+
+        while (balanceLedgerService.compact(1) > 0) {
+            // um lançamento por vez, exercitando o LIMIT
+        }
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM balance_entries WHERE bank_account_id = ?", Long.class, account.getId())).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT balance_snapshot FROM bank_accounts WHERE id = ?", BigDecimal.class, account.getId()))
+                .isEqualByComparingTo("130.00");
+        assertThat(currentBalance()).isEqualByComparingTo("130.00");
+    }
+
+    private BigDecimal currentBalance() {
+        return bankAccountRepository.findById(account.getId()).orElseThrow().getCurrentBalance();
+    }
+}
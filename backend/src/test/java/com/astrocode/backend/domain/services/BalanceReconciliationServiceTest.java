@@ -0,0 +1,118 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.entities.BankAccount;
+import com.astrocode.backend.domain.entities.Category;
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.BalanceReconciliationReport;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.domain.repositories.BankAccountRepository;
+import com.astrocode.backend.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Sem {@code @Transactional}: as faixas são conferidas em threads próprias, cada uma na sua transação. */
+@SpringBootTest(properties = "app.balance.reconciliation.chunk-size=2")
+@ActiveProfiles("test")
+@DisplayName("BalanceReconciliationService - reconciliação de saldo")
+class BalanceReconciliationServiceTest {
+
+    @Autowired
+    private BalanceReconciliationService balanceReconciliationService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private BankAccount consistent;
+    private BankAccount drifted;
+    private BankAccount openFinance;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user("Reconciliação");
+        consistent = fixtures.account(user, "Consistente", "100.00");
+        drifted = fixtures.account(user, "Divergente", "100.00");
+        openFinance = fixtures.account(user, "Open Finance", "100.00");
+        jdbcTemplate.update("UPDATE bank_accounts SET pluggy_account_id = ? WHERE id = ?", "pluggy-" + UUID.randomUUID(), openFinance.getId());
+        Category category = fixtures.category(user, "Mercado", TransactionType.EXPENSE);
+
+        // despesa de 40 lançada corretamente na conta consistente; na divergente, o lançamento saiu com o valor errado
+        expense(consistent, category, "40.00");
+        entry(consistent, "-40.00");
+        expense(drifted, category, "40.00");
+        entry(drifted, "-15.00");
+        entry(openFinance, "999.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.delete(user);
+    }
+
+    @Test
+    @DisplayName("Relatório aponta só a conta divergente e não ajusta sem fix")
+    void reportsDriftWithoutFixing() {
+        var report = balanceReconciliationService.reconcile(false);
+
+        var drifts = ownDrifts(report);
+        assertThat(drifts).singleElement().satisfies(drift -> {
+            assertThat(drift.accountId()).isEqualTo(drifted.getId());
+            assertThat(drift.expected()).isEqualByComparingTo("60.00");
+            assertThat(drift.actual()).isEqualByComparingTo("85.00");
+        });
+        assertThat(report.fixed()).isFalse();
+        assertThat(balanceReconciliationService.lastReport()).isSameAs(report);
+        assertThat(currentBalance(drifted)).isEqualByComparingTo("85.00");
+    }
+
+    @Test
+    @DisplayName("Com fix, lança o ajuste e a conferência seguinte fica limpa")
+    void fixesDrift() {
+        var report = balanceReconciliationService.reconcile(true);
+
+        assertThat(ownDrifts(report)).hasSize(1);
+        assertThat(currentBalance(drifted)).isEqualByComparingTo("60.00");
+        assertThat(currentBalance(consistent)).isEqualByComparingTo("60.00");
+        assertThat(currentBalance(openFinance)).isEqualByComparingTo("1099.00");
+        assertThat(ownDrifts(balanceReconciliationService.reconcile(false))).isEmpty();
+    }
+
+    private List<BalanceReconciliationReport.Drift> ownDrifts(BalanceReconciliationReport report) {
+        var ids = Set.of(consistent.getId(), drifted.getId(), openFinance.getId());
+        return report.drifts().stream().filter(d -> ids.contains(d.accountId())).toList();
+    }
+
+    private void expense(BankAccount account, Category category, String amount) {
+        jdbcTemplate.update("INSERT INTO transactions (user_id, bank_account_id, category_id, name, amount, date, type) "
+                        + "VALUES (?, ?, ?, 'Compra', ?, ?, 'EXPENSE')",
+                user.getId(), account.getId(), category.getId(), new BigDecimal(amount), LocalDate.now());
+    }
+
+    private void entry(BankAccount account, String amount) {
+        jdbcTemplate.update("INSERT INTO balance_entries (bank_account_id, amount) VALUES (?, ?)", account.getId(), new BigDecimal(amount));
+    }
+
+    private BigDecimal currentBalance(BankAccount account) {
+        return bankAccountRepository.findById(account.getId()).orElseThrow().getCurrentBalance();
+    }
+}
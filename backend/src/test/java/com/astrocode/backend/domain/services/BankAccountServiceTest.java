@@ -8,7 +8,6 @@ import com.astrocode.backend.domain.exceptions.ResourceAccessDeniedException;
 import com.astrocode.backend.domain.exceptions.ResourceNotFoundException;
 import com.astrocode.backend.domain.model.enums.AccountType;
 import com.astrocode.backend.domain.repositories.BankAccountRepository;
-import com.astrocode.backend.domain.repositories.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -37,7 +36,7 @@ class BankAccountServiceTest {
     private BankAccountRepository bankAccountRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private RequestUserCache requestUserCache;
 
     @Mock
     private TransactionService transactionService;
@@ -51,6 +50,15 @@ class BankAccountServiceTest {
     @Mock
     private PlanLimitService planLimitService;
 
+    @Mock
+    private MonthlyTotalsService monthlyTotalsService;
+
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+
+    @Mock
+    private org.springframework.context.ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BankAccountService bankAccountService;
 
@@ -62,7 +70,7 @@ class BankAccountServiceTest {
     void createAccount_success() {
         var request = new BankAccountRequest("Conta Corrente", BigDecimal.valueOf(1000), AccountType.CHECKING, "#087f5b");
 
-        when(userRepository.findByIdWithSubscription(userId)).thenReturn(Optional.of(user));
+        when(requestUserCache.findByIdWithSubscription(userId)).thenReturn(Optional.of(user));
         doNothing().when(planLimitService).checkFreePlanBankAccountLimit(userId);
         when(bankAccountRepository.findByUserIdAndNameIgnoreCase(userId, "Conta Corrente")).thenReturn(List.of());
         when(bankAccountRepository.save(any(BankAccount.class))).thenAnswer(inv -> {
@@ -85,7 +93,7 @@ class BankAccountServiceTest {
         var request = new BankAccountRequest("Conta Corrente", BigDecimal.valueOf(1000), AccountType.CHECKING, null);
         var existing = BankAccount.builder().id(UUID.randomUUID()).name("Conta Corrente").user(user).build();
 
-        when(userRepository.findByIdWithSubscription(userId)).thenReturn(Optional.of(user));
+        when(requestUserCache.findByIdWithSubscription(userId)).thenReturn(Optional.of(user));
         doNothing().when(planLimitService).checkFreePlanBankAccountLimit(userId);
         when(bankAccountRepository.findByUserIdAndNameIgnoreCase(userId, "Conta Corrente")).thenReturn(List.of(existing));
 
@@ -105,7 +113,7 @@ class BankAccountServiceTest {
 
         when(bankAccountRepository.findById(accountId)).thenReturn(Optional.of(account));
 
-        assertThatThrownBy(() -> bankAccountService.delete(accountId, user))
+        assertThatThrownBy(() -> bankAccountService.delete(accountId, user.getId()))
                 .isInstanceOf(ResourceAccessDeniedException.class);
 
         verify(bankAccountRepository, never()).delete(any());
@@ -121,7 +129,7 @@ class BankAccountServiceTest {
         when(transactionRepository.findGoalImpactRowsByBankAccountId(accountId)).thenReturn(List.of());
         doNothing().when(bankAccountRepository).delete(account);
 
-        bankAccountService.delete(accountId, user);
+        bankAccountService.delete(accountId, user.getId());
 
         verify(bankAccountRepository).delete(account);
     }
@@ -144,10 +152,11 @@ class BankAccountServiceTest {
         when(bankAccountRepository.findByUserIdAndNameIgnoreCase(userId, "Conta")).thenReturn(List.of(account));
         when(bankAccountRepository.save(any(BankAccount.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        var result = bankAccountService.update(accountId, request, user);
+        var result = bankAccountService.update(accountId, request, user.getId());
 
         assertThat(result.getInitialBalance()).isEqualByComparingTo(BigDecimal.valueOf(2000));
         assertThat(result.getCurrentBalance()).isEqualByComparingTo(BigDecimal.valueOf(1800)); // 800 + (2000-1000)
+        verify(balanceLedgerService).post(accountId, BigDecimal.valueOf(1000));
     }
 
     @Test
@@ -197,7 +206,7 @@ class BankAccountServiceTest {
             return java.util.stream.StreamSupport.stream(arg.spliterator(), false).toList();
         });
 
-        bankAccountService.delete(accountId, user);
+        bankAccountService.delete(accountId, user.getId());
 
         verify(transactionService).revertGoalAmount(eq(goal), eq(BigDecimal.valueOf(100)), eq(com.astrocode.backend.domain.model.enums.TransactionType.EXPENSE));
         verify(savingsGoalRepository).saveAll(any(Iterable.class));
@@ -0,0 +1,96 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.api.dto.dashboard.DashboardResponse;
+import com.astrocode.backend.domain.events.FinancialDataChangedEvent;
+import com.astrocode.backend.domain.events.MonthlyTotalsChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DashboardCache")
+class DashboardCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DashboardCache cache = new DashboardCache(registry, 2, Duration.ofMinutes(5));
+    private final YearMonth month = YearMonth.of(2025, 3);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Segunda leitura é servida do cache e contabilizada como hit")
+    void cachesPerUserAndMonth() {
+        var userId = UUID.randomUUID();
+
+        cache.get(userId, month, this::load);
+        cache.get(userId, month, this::load);
+        cache.get(userId, month.minusMonths(1), this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(registry.get("cache.gets").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Evento de alteração invalida apenas o usuário afetado")
+    void invalidatesOnFinancialDataChanged() {
+        var userId = UUID.randomUUID();
+        var otherUserId = UUID.randomUUID();
+        cache.get(userId, month, this::load);
+        cache.get(otherUserId, month, this::load);
+
+        cache.onFinancialDataChanged(new FinancialDataChangedEvent(userId));
+        cache.get(userId, month, this::load);
+        cache.get(otherUserId, month, this::load);
+
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Reconstrução dos totais mensais (MonthlyTotalsChangedEvent) também invalida o usuário")
+    void invalidatesOnMonthlyTotalsChanged() {
+        var userId = UUID.randomUUID();
+        cache.get(userId, month, this::load);
+
+        cache.onMonthlyTotalsChanged(MonthlyTotalsChangedEvent.allMonths(userId));
+        cache.get(userId, month, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Carga concorrente com uma invalidação não fica no cache")
+    void doesNotStoreLoadRacingWithInvalidation() {
+        var userId = UUID.randomUUID();
+
+        cache.get(userId, month, () -> {
+            cache.onFinancialDataChanged(new FinancialDataChangedEvent(userId));
+            return load();
+        });
+        cache.get(userId, month, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Respeita o limite de usuários descartando uma entrada")
+    void evictsWhenFull() {
+        cache.get(UUID.randomUUID(), month, this::load);
+        cache.get(UUID.randomUUID(), month, this::load);
+        cache.get(UUID.randomUUID(), month, this::load);
+
+        assertThat(registry.get("cache.size").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("cache.evictions").counter().count()).isEqualTo(1);
+    }
+
+    private DashboardResponse load() {
+        loads.incrementAndGet();
+        return new DashboardResponse(BigDecimal.TEN, BigDecimal.ONE, BigDecimal.ONE);
+    }
+}
@@ -0,0 +1,67 @@
+package com.astrocode.backend.domain.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Sem {@code @Transactional}: cada comando do lease roda e comita na sua transação, como entre réplicas. */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("JobLockService - lease dos jobs agendados")
+class JobLockServiceTest {
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String name = "test-" + UUID.randomUUID().toString().substring(0, 8);
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM job_locks WHERE name = ?", name);
+    }
+
+    @Test
+    @DisplayName("Só uma instância detém o job; ao encerrar sem tempo mínimo, outra pode assumir")
+    void onlyOneOwnerUntilRelease() {
+        var owner = jobLockService.tryAcquire(name, Duration.ofMinutes(10));
+        assertThat(owner).isPresent();
+        assertThat(jobLockService.tryAcquire(name, Duration.ofMinutes(10))).isEmpty();
+
+        jobLockService.release(name, owner.get(), Duration.ZERO);
+
+        assertThat(jobLockService.tryAcquire(name, Duration.ofMinutes(10))).isPresent();
+    }
+
+    @Test
+    @DisplayName("Tempo mínimo segura o lease após a rodada; outro dono não consegue encerrá-lo")
+    void lockAtLeastForAndOwnership() {
+        var owner = jobLockService.tryAcquire(name, Duration.ofMinutes(10)).orElseThrow();
+
+        jobLockService.release(name, "outra-instancia", Duration.ZERO);
+        assertThat(jobLockService.tryAcquire(name, Duration.ofMinutes(10))).isEmpty();
+
+        jobLockService.release(name, owner, Duration.ofHours(1));
+        assertThat(jobLockService.tryAcquire(name, Duration.ofMinutes(10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Lease vencido (instância que morreu no meio) é assumido por outra")
+    void expiredLeaseIsTakenOver() {
+        jdbcTemplate.update("INSERT INTO job_locks (name, locked_until, locked_at, locked_by) "
+                + "VALUES (?, now() - interval '1 minute', now() - interval '1 hour', 'morta')", name);
+
+        assertThat(jobLockService.tryAcquire(name, Duration.ofMinutes(10))).isPresent();
+    }
+}
@@ -0,0 +1,55 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.model.enums.PlanType;
+import com.astrocode.backend.support.Benchmarks;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Validações de token por segundo, com várias threads e um conjunto pequeno de tokens repetidos (como as
+ * requisições de uma sessão ativa): parser montado a cada chamada (como era o filtro), parser único sem cache
+ * e {@link JwtService#extractClaims} com o cache de tokens verificados.
+ * <p>
+ * Fora da suíte padrão; rodar com {@code mvn test -Dtest=JwtServiceBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - validação de JWT")
+class JwtServiceBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 20_000;
+    private static final int TOKENS = 50;
+
+    @Test
+    @DisplayName("Validações por segundo: parser por chamada, parser único e cache")
+    void parserPerCallVersusSharedParserVersusCache() throws Exception {
+        var jwtService = new JwtService(JwtServiceTest.SECRET);
+        var key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(JwtServiceTest.SECRET));
+        var sharedParser = Jwts.parser().verifyWith(key).build();
+        var tokens = new ArrayList<String>();
+        for (int i = 0; i < TOKENS; i++) {
+            tokens.add(jwtService.generateToken(UUID.randomUUID(), "user" + i + "@grivy.com", PlanType.FREE, null));
+        }
+
+        // aquecimento do JIT antes das medições
+        Benchmarks.concurrentThroughput(THREADS, OPS_PER_THREAD, i -> sharedParser.parseSignedClaims(tokens.get(i % TOKENS)));
+
+        double perCall = Benchmarks.concurrentThroughput(THREADS, OPS_PER_THREAD,
+                i -> Jwts.parser().verifyWith(key).build().parseSignedClaims(tokens.get(i % TOKENS)));
+        double shared = Benchmarks.concurrentThroughput(THREADS, OPS_PER_THREAD,
+                i -> sharedParser.parseSignedClaims(tokens.get(i % TOKENS)));
+        double cached = Benchmarks.concurrentThroughput(THREADS, OPS_PER_THREAD,
+                i -> jwtService.extractClaims(tokens.get(i % TOKENS)));
+
+        Benchmarks.report("validação de JWT", "parser por chamada", perCall, "tokens/s");
+        Benchmarks.report("validação de JWT", "parser único", shared, "tokens/s");
+        Benchmarks.report("validação de JWT", "cache de verificados", cached, "tokens/s");
+    }
+}
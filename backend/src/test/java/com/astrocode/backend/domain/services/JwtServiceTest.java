@@ -0,0 +1,47 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.exceptions.InvalidTokenException;
+import com.astrocode.backend.domain.model.enums.PlanType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JwtService")
+class JwtServiceTest {
+
+    static final String SECRET = "MTIzNDU2Nzg5MDEyMzQ1Njc4OTAxMjM0NTY3ODkwMTIzNDU2Nzg5MDEyMzQ1Ng==";
+    private static final String OTHER_SECRET = "NjU0MzIxMDk4NzY1NDMyMTA5ODc2NTQzMjEwOTg3NjU0MzIxMDk4NzY1NDMyMQ==";
+
+    private final JwtService jwtService = new JwtService(SECRET);
+
+    @Test
+    @DisplayName("Token já verificado é servido do cache com os mesmos claims")
+    void reusesVerifiedClaims() {
+        var userId = UUID.randomUUID();
+        var token = jwtService.generateToken(userId, "user@grivy.com", PlanType.FREE, null);
+
+        var first = jwtService.extractClaims(token);
+        var second = jwtService.extractClaims(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(jwtService.extractUserIdFromClaims(second)).isEqualTo(userId);
+    }
+
+    @Test
+    @DisplayName("Token alterado ou assinado com outra chave continua sendo rejeitado")
+    void rejectsTamperedTokensAfterCaching() {
+        var token = jwtService.generateToken(UUID.randomUUID(), "user@grivy.com", PlanType.FREE, null);
+        jwtService.extractClaims(token);
+
+        var tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        var foreign = new JwtService(OTHER_SECRET).generateToken(UUID.randomUUID(), "x@grivy.com", PlanType.FREE, null);
+
+        assertThatThrownBy(() -> jwtService.extractClaims(tampered)).isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> jwtService.extractClaims(foreign)).isInstanceOf(InvalidTokenException.class);
+        assertThat(jwtService.isTokenValid(token)).isTrue();
+    }
+}
@@ -0,0 +1,205 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.entities.BankAccount;
+import com.astrocode.backend.domain.entities.Category;
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.domain.repositories.BankAccountRepository;
+import com.astrocode.backend.domain.repositories.TransactionRepository;
+import com.astrocode.backend.domain.repositories.TransactionRepository.DueRecurrence;
+import com.astrocode.backend.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Sem {@code @Transactional}: o lote roda na transação do próprio serviço, como no job. */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("RecurringTransactionService - geração em lote")
+class RecurringTransactionServiceTest {
+
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now();
+    private final LocalDate monthStart = today.withDayOfMonth(1);
+    private User user;
+    private BankAccount rich;
+    private BankAccount poor;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.annualUser("Recorrência");
+        rich = fixtures.account(user, "Rica", "5000.00");
+        poor = fixtures.account(user, "Pobre", "10.00");
+        category = fixtures.category(user, "Moradia", TransactionType.EXPENSE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.delete(user);
+    }
+
+    @Test
+    @DisplayName("Traz só pais vencidos, com o dia limitado ao fim do mês e a marca de período já atendido")
+    void findsOnlyDueParents() {
+        var monthly = parent(rich, "Aluguel", LocalDate.of(2024, 1, 31), "MONTHLY", monthStart);
+        var yearly = parent(rich, "IPVA", LocalDate.of(2024, 2, 29), "YEARLY", monthStart.withDayOfYear(1));
+        var covered = parent(rich, "Internet", LocalDate.of(2024, 1, 10), "MONTHLY", monthStart);
+        parent(rich, "Futuro", LocalDate.of(2024, 1, 10), "MONTHLY", monthStart.plusMonths(1));
+        child(covered, monthStart.plusDays(9));
+
+        var due = ownDue();
+
+        assertThat(due).extracting(DueRecurrence::getParentId).containsExactlyInAnyOrder(monthly, yearly, covered);
+        var monthlyDue = find(due, monthly);
+        assertThat(monthlyDue.getTargetDate()).isEqualTo(monthStart.withDayOfMonth(monthStart.lengthOfMonth()));
+        assertThat(monthlyDue.getHasChild()).isFalse();
+        var february = LocalDate.of(monthStart.getYear(), 2, 1);
+        assertThat(find(due, yearly).getTargetDate()).isEqualTo(february.withDayOfMonth(february.lengthOfMonth()));
+        assertThat(find(due, covered).getHasChild()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Gera as filhas em conjunto, avança os pais e devolve para o caminho linha a linha só as da conta sem saldo")
+    void generatesBatchAndRejectsUncoveredAccount() {
+        var rent = parent(rich, "Aluguel", LocalDate.of(2024, 1, 5), "MONTHLY", monthStart);
+        var gym = parent(rich, "Academia", LocalDate.of(2024, 1, 7), "MONTHLY", monthStart);
+        var loan = parent(poor, "Empréstimo", LocalDate.of(2024, 1, 9), "MONTHLY", monthStart);
+
+        var outcome = recurringTransactionService.generate(today, ownDue());
+
+        assertThat(outcome.generated()).isEqualTo(2);
+        assertThat(outcome.rejected()).extracting(DueRecurrence::getParentId).containsExactly(loan);
+        assertThat(childCount(rent)).isEqualTo(1);
+        assertThat(childCount(gym)).isEqualTo(1);
+        assertThat(childCount(loan)).isZero();
+        assertThat(nextOccurrence(rent)).isEqualTo(monthStart.plusMonths(1));
+        assertThat(nextOccurrence(loan)).isEqualTo(monthStart);
+        assertThat(balance(rich)).isEqualByComparingTo("4800.00");
+        assertThat(balance(poor)).isEqualByComparingTo("10.00");
+        assertThat(ownDue()).extracting(DueRecurrence::getParentId).containsExactly(loan);
+        assertThat(usage(user)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Usuário Free sem cota no mês fica de fora; as filhas dos demais usuários saem no mesmo lote")
+    void userOverQuotaDoesNotBlockBatch() {
+        var freeUser = fixtures.user("Free no limite");
+        try {
+            var freeAccount = fixtures.account(freeUser, "Conta Free", "5000.00");
+            var freeCategory = fixtures.category(freeUser, "Moradia", TransactionType.EXPENSE);
+            jdbcTemplate.update("INSERT INTO transaction_monthly_usage (user_id, year, month, used) VALUES (?, ?, ?, ?)",
+                    freeUser.getId(), today.getYear(), today.getMonthValue(), PlanLimitService.FREE_PLAN_TRANSACTION_LIMIT_PER_MONTH);
+            var rent = parent(rich, "Aluguel", LocalDate.of(2024, 1, 5), "MONTHLY", monthStart);
+            var freeRent = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO transactions (id, user_id, bank_account_id, category_id, name, amount, date, type, "
+                            + "is_recurring, frequency, next_occurrence_date) VALUES (?, ?, ?, ?, 'Aluguel', 100.00, ?, 'EXPENSE', true, 'MONTHLY', ?)",
+                    freeRent, freeUser.getId(), freeAccount.getId(), freeCategory.getId(), LocalDate.of(2024, 1, 5), monthStart);
+            var due = transactionRepository.findDueRecurringParents(today, 1, 0, new UUID(0L, 0L), 10_000).stream()
+                    .filter(d -> d.getUserId().equals(user.getId()) || d.getUserId().equals(freeUser.getId()))
+                    .toList();
+
+            var outcome = recurringTransactionService.generate(today, due);
+
+            assertThat(outcome.generated()).isEqualTo(1);
+            assertThat(outcome.rejected()).extracting(DueRecurrence::getParentId).containsExactly(freeRent);
+            assertThat(childCount(rent)).isEqualTo(1);
+            assertThat(childCount(freeRent)).isZero();
+            assertThat(nextOccurrence(freeRent)).isEqualTo(monthStart);
+            assertThat(balance(rich)).isEqualByComparingTo("4900.00");
+            assertThat(balance(freeAccount)).isEqualByComparingTo("5000.00");
+            assertThat(usage(user)).isEqualTo(1);
+            assertThat(usage(freeUser)).isEqualTo(PlanLimitService.FREE_PLAN_TRANSACTION_LIMIT_PER_MONTH);
+        } finally {
+            fixtures.delete(freeUser);
+        }
+    }
+
+    @Test
+    @DisplayName("Períodos perdidos são recuperados um por lote; período que já tem filha só avança")
+    void catchesUpMissedPeriods() {
+        var rent = parent(rich, "Aluguel", LocalDate.of(2024, 1, 5), "MONTHLY", monthStart.minusMonths(2));
+        var covered = parent(rich, "Internet", LocalDate.of(2024, 1, 10), "MONTHLY", monthStart);
+        child(covered, monthStart.plusDays(9));
+
+        int generated = 0;
+        for (var due = ownDue(); !due.isEmpty(); due = ownDue()) {
+            generated += recurringTransactionService.generate(today, due).generated();
+        }
+
+        assertThat(generated).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList("SELECT date FROM transactions WHERE parent_transaction_id = ? ORDER BY date",
+                LocalDate.class, rent))
+                .containsExactly(monthStart.minusMonths(2).plusDays(4), monthStart.minusMonths(1).plusDays(4), monthStart.plusDays(4));
+        assertThat(nextOccurrence(rent)).isEqualTo(monthStart.plusMonths(1));
+        assertThat(childCount(covered)).isEqualTo(1);
+        assertThat(nextOccurrence(covered)).isEqualTo(monthStart.plusMonths(1));
+    }
+
+    private static DueRecurrence find(List<DueRecurrence> due, UUID parentId) {
+        return due.stream().filter(d -> d.getParentId().equals(parentId)).findFirst().orElseThrow();
+    }
+
+    private List<DueRecurrence> ownDue() {
+        return transactionRepository.findDueRecurringParents(today, 1, 0, new UUID(0L, 0L), 10_000).stream()
+                .filter(d -> d.getUserId().equals(user.getId()))
+                .toList();
+    }
+
+    private UUID parent(BankAccount account, String name, LocalDate date, String frequency, LocalDate nextOccurrence) {
+        var id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO transactions (id, user_id, bank_account_id, category_id, name, amount, date, type, "
+                        + "is_recurring, frequency, next_occurrence_date) VALUES (?, ?, ?, ?, ?, 100.00, ?, 'EXPENSE', true, ?, ?)",
+                id, user.getId(), account.getId(), category.getId(), name, date, frequency, nextOccurrence);
+        return id;
+    }
+
+    private LocalDate nextOccurrence(UUID parentId) {
+        return jdbcTemplate.queryForObject("SELECT next_occurrence_date FROM transactions WHERE id = ?", LocalDate.class, parentId);
+    }
+
+    private void child(UUID parentId, LocalDate date) {
+        jdbcTemplate.update("INSERT INTO transactions (user_id, bank_account_id, category_id, name, amount, date, type, parent_transaction_id) "
+                        + "VALUES (?, ?, ?, 'Filha', 100.00, ?, 'EXPENSE', ?)",
+                user.getId(), rich.getId(), category.getId(), date, parentId);
+    }
+
+    private int childCount(UUID parentId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE parent_transaction_id = ?", Integer.class, parentId);
+    }
+
+    private int usage(User owner) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(used), 0) FROM transaction_monthly_usage WHERE user_id = ? AND year = ? AND month = ?",
+                Integer.class, owner.getId(), today.getYear(), today.getMonthValue());
+    }
+
+    private BigDecimal balance(BankAccount account) {
+        return bankAccountRepository.findById(account.getId()).orElseThrow().getCurrentBalance();
+    }
+}
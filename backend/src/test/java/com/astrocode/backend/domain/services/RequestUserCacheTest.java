@@ -0,0 +1,117 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.enums.PlanType;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Garante que o usuário autenticado é lido do banco uma única vez por requisição (filtro JWT),
+ * contando as consultas à tabela users que o Hibernate envia ao JDBC.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.astrocode.backend.domain.services.RequestUserCacheTest$UserQueryCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("RequestUserCache - uma leitura do usuário por requisição")
+class RequestUserCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user("Cache");
+        entityManager.flush();
+        token = jwtService.generateToken(user.getId(), user.getEmail(), PlanType.FREE, null);
+    }
+
+    @Test
+    @DisplayName("Criar meta lê o usuário só no filtro, não de novo no serviço e no limite do plano")
+    void goalCreationLoadsUserOnce() throws Exception {
+        UserQueryCounter.reset();
+
+        mockMvc.perform(post("/api/goals")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Origin", "http://localhost:3000")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Viagem\",\"targetAmount\":1000}"))
+                .andExpect(status().isCreated());
+
+        assertThat(UserQueryCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Criar transação lê o usuário só no filtro, não de novo na cota mensal")
+    void transactionCreationLoadsUserOnce() throws Exception {
+        var account = fixtures.account(user, "Conta", "100.00");
+        var category = fixtures.category(user, "Mercado", TransactionType.EXPENSE);
+        entityManager.flush();
+        UserQueryCounter.reset();
+
+        mockMvc.perform(post("/api/transactions")
+                        .header("Authorization", "Bearer " + token)
+                        .header("Origin", "http://localhost:3000")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Compra\",\"amount\":10,\"date\":\"" + LocalDate.now() + "\",\"type\":\"EXPENSE\","
+                                + "\"bankAccountId\":\"" + account.getId() + "\",\"categoryId\":\"" + category.getId() + "\"}"))
+                .andExpect(status().isCreated());
+
+        assertThat(UserQueryCounter.count()).isEqualTo(1);
+    }
+
+    public static class UserQueryCounter implements StatementInspector {
+
+        private static final Pattern USERS_SELECT = Pattern.compile("^select .* from users \\w+", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+        private static final AtomicInteger COUNT = new AtomicInteger();
+
+        static void reset() {
+            COUNT.set(0);
+        }
+
+        static int count() {
+            return COUNT.get();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (USERS_SELECT.matcher(sql).find()) {
+                COUNT.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+}
@@ -14,7 +14,6 @@ import com.astrocode.backend.domain.model.enums.TransactionType;
 import com.astrocode.backend.domain.repositories.BankAccountRepository;
 import com.astrocode.backend.domain.repositories.CategoryRepository;
 import com.astrocode.backend.domain.repositories.SavingsGoalRepository;
-import com.astrocode.backend.domain.repositories.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -41,7 +40,7 @@ class SavingsGoalServiceTest {
     private SavingsGoalRepository savingsGoalRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private RequestUserCache requestUserCache;
 
     @Mock
     private BankAccountRepository bankAccountRepository;
@@ -66,7 +65,7 @@ class SavingsGoalServiceTest {
     void createGoal_success() {
         var request = new SavingsGoalRequest("Viagem", BigDecimal.valueOf(5000), LocalDate.of(2025, 12, 31), "#087f5b");
 
-        when(userRepository.findByIdWithSubscription(userId)).thenReturn(Optional.of(user));
+        when(requestUserCache.findByIdWithSubscription(userId)).thenReturn(Optional.of(user));
         doNothing().when(planLimitService).checkFreePlanActiveGoalLimit(userId);
         when(savingsGoalRepository.save(any(SavingsGoal.class))).thenAnswer(inv -> {
             var goal = inv.getArgument(0, SavingsGoal.class);
@@ -77,9 +76,9 @@ class SavingsGoalServiceTest {
         var result = savingsGoalService.create(request, userId);
 
         assertThat(result).isNotNull();
-        assertThat(result.getName()).isEqualTo("Viagem");
-        assertThat(result.getTargetAmount()).isEqualByComparingTo(BigDecimal.valueOf(5000));
-        assertThat(result.getCurrentAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(result.name()).isEqualTo("Viagem");
+        assertThat(result.targetAmount()).isEqualByComparingTo(BigDecimal.valueOf(5000));
+        assertThat(result.currentAmount()).isEqualByComparingTo(BigDecimal.ZERO);
         verify(savingsGoalRepository).save(any(SavingsGoal.class));
     }
 
@@ -100,7 +99,7 @@ class SavingsGoalServiceTest {
 
         when(savingsGoalRepository.findById(goalId)).thenReturn(Optional.of(goal));
 
-        assertThatThrownBy(() -> savingsGoalService.contribute(goalId, request, user))
+        assertThatThrownBy(() -> savingsGoalService.contribute(goalId, request, user.getId()))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("ultrapassar");
     }
@@ -123,7 +122,7 @@ class SavingsGoalServiceTest {
 
         when(savingsGoalRepository.findById(goalId)).thenReturn(Optional.of(goal));
 
-        assertThatThrownBy(() -> savingsGoalService.withdraw(goalId, request, user))
+        assertThatThrownBy(() -> savingsGoalService.withdraw(goalId, request, user.getId()))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("maior que o saldo atual");
     }
@@ -137,7 +136,7 @@ class SavingsGoalServiceTest {
 
         when(savingsGoalRepository.findById(goalId)).thenReturn(Optional.of(goal));
 
-        assertThatThrownBy(() -> savingsGoalService.delete(goalId, user))
+        assertThatThrownBy(() -> savingsGoalService.delete(goalId, user.getId()))
                 .isInstanceOf(ResourceAccessDeniedException.class);
     }
 }
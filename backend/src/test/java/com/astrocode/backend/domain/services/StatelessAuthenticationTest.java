@@ -0,0 +1,111 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.repositories.UserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.security.stateless-auth.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.astrocode.backend.domain.services.RequestUserCacheTest$UserQueryCounter"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Autenticação stateless - principal a partir dos claims do JWT")
+class StatelessAuthenticationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthStateRegistry authStateRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    private User user;
+    private String issuedBeforeChange;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .name("Stateless")
+                .email("stateless@" + UUID.randomUUID() + ".com")
+                .password("x")
+                .build());
+        entityManager.flush();
+        authStateRegistry.refresh();
+        issuedBeforeChange = tokenIssuedAt(Instant.now().minusSeconds(60));
+    }
+
+    @Test
+    @DisplayName("Requisição autenticada não consulta a tabela users")
+    void authenticatesWithoutLoadingUser() throws Exception {
+        RequestUserCacheTest.UserQueryCounter.reset();
+
+        mockMvc.perform(get("/api/accounts").header("Authorization", "Bearer " + issuedBeforeChange))
+                .andExpect(status().isOk());
+
+        assertThat(RequestUserCacheTest.UserQueryCounter.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Token emitido antes da revogação é recusado")
+    void rejectsRevokedToken() throws Exception {
+        authStateRegistry.revokeTokens(user.getId());
+
+        mockMvc.perform(get("/api/accounts").header("Authorization", "Bearer " + issuedBeforeChange))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Token emitido antes da troca de plano lê o usuário do banco")
+    void reloadsUserAfterPlanChange() throws Exception {
+        authStateRegistry.planChanged(user.getId());
+        RequestUserCacheTest.UserQueryCounter.reset();
+
+        mockMvc.perform(get("/api/accounts").header("Authorization", "Bearer " + issuedBeforeChange))
+                .andExpect(status().isOk());
+
+        assertThat(RequestUserCacheTest.UserQueryCounter.count()).isEqualTo(1);
+    }
+
+    private String tokenIssuedAt(Instant issuedAt) {
+        return Jwts.builder()
+                .claim("user_id", user.getId().toString())
+                .claim("email", user.getEmail())
+                .claim("plan", "FREE")
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(issuedAt.plusSeconds(900)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
+                .compact();
+    }
+}
@@ -0,0 +1,125 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.api.dto.transaction.TransactionRequest;
+import com.astrocode.backend.domain.entities.BankAccount;
+import com.astrocode.backend.domain.entities.Category;
+import com.astrocode.backend.domain.entities.Transaction;
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.domain.repositories.BankAccountRepository;
+import com.astrocode.backend.domain.repositories.CategoryRepository;
+import com.astrocode.backend.domain.repositories.TransactionRepository;
+import com.astrocode.backend.support.Benchmarks;
+import com.astrocode.backend.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vazão de criações concorrentes na mesma conta: comando único ({@link TransactionService#create}) versus o caminho
+ * por entidades (SELECT da conta, SELECT da categoria, INSERT da transação e lançamento de saldo em comandos separados).
+ * Usa despesas, o caso com trava de débitos e conferência de saldo.
+ * <p>
+ * Fora da suíte padrão; rodar com {@code mvn test -Dtest=TransactionCreateBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - criação concorrente de transações na mesma conta")
+class TransactionCreateBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 200;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private MonthlyTotalsService monthlyTotalsService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private BankAccount account;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.annualUser("Benchmark");
+        account = fixtures.account(user, "Conta", "1000000.00");
+        category = fixtures.category(user, "Mercado", TransactionType.EXPENSE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.delete(user);
+    }
+
+    @Test
+    @DisplayName("Criações por segundo: comando único e caminho por entidades")
+    void singleStatementVersusEntityPath() throws Exception {
+        var tx = new TransactionTemplate(transactionManager);
+        var request = new TransactionRequest("Compra", AMOUNT, LocalDate.now(), TransactionType.EXPENSE,
+                account.getId(), category.getId(), null, false, null);
+
+        double entity = Benchmarks.concurrentThroughput(THREADS, OPS_PER_THREAD,
+                i -> tx.executeWithoutResult(status -> createThroughEntities(request)));
+        double single = Benchmarks.concurrentThroughput(THREADS, OPS_PER_THREAD, i -> transactionService.create(request, user.getId()));
+
+        Benchmarks.report("criação concorrente", "entidades", entity, "criações/s");
+        Benchmarks.report("criação concorrente", "comando único", single, "criações/s");
+
+        var expected = new BigDecimal("1000000.00").subtract(AMOUNT.multiply(BigDecimal.valueOf(2L * THREADS * OPS_PER_THREAD)));
+        assertThat(bankAccountRepository.findById(account.getId()).orElseThrow().getCurrentBalance())
+                .isEqualByComparingTo(expected);
+    }
+
+    /** Caminho anterior ao comando único, com as mesmas regras. */
+    private void createThroughEntities(TransactionRequest request) {
+        var bankAccount = bankAccountRepository.findById(request.bankAccountId()).orElseThrow();
+        assertThat(bankAccount.getUser().getId()).isEqualTo(user.getId());
+        var cat = categoryRepository.findById(request.categoryId()).orElseThrow();
+        assertThat(cat.getUser().getId()).isEqualTo(user.getId());
+        assertThat(cat.getType()).isEqualTo(request.type());
+        var saved = transactionRepository.save(Transaction.builder()
+                .user(bankAccount.getUser())
+                .bankAccount(bankAccount)
+                .category(cat)
+                .name(request.name())
+                .amount(request.amount())
+                .date(request.date())
+                .type(request.type())
+                .build());
+        monthlyTotalsService.add(saved);
+        assertThat(balanceLedgerService.tryPost(bankAccount.getId(), request.amount().negate())).isTrue();
+    }
+}
@@ -0,0 +1,137 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.entities.BankAccount;
+import com.astrocode.backend.domain.entities.Category;
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.enums.ExportFormat;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.support.TestFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conteúdo da exportação, linha a linha, chamando o serviço direto (o teste do controller cobre o streaming e os
+ * cabeçalhos HTTP). Sem {@code @Transactional}: o serviço abre a própria transação somente leitura.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("TransactionExportService - conteúdo da exportação")
+class TransactionExportServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 1, 31);
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.of(2025, 1, 2, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private User other;
+    private BankAccount account;
+    private Category expense;
+    private Category income;
+    private UUID rent;
+    private UUID formula;
+    private UUID salary;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user("Exportação");
+        account = fixtures.account(user, "Conta", "1000.00");
+        expense = fixtures.category(user, "Moradia", TransactionType.EXPENSE);
+        income = fixtures.category(user, "Salário", TransactionType.INCOME);
+        rent = insert(user, account, expense, "Aluguel, \"centro\"", "1200.00", LocalDate.of(2025, 1, 10), "EXPENSE");
+        formula = insert(user, account, expense, "=HYPERLINK(\"http://x\")", "10.50", LocalDate.of(2025, 1, 5), "EXPENSE");
+        salary = insert(user, account, income, "Salário", "3000.00", LocalDate.of(2025, 1, 3), "INCOME");
+        insert(user, account, expense, "Fora do período", "5.00", LocalDate.of(2025, 2, 1), "EXPENSE");
+
+        other = fixtures.user("Outro usuário");
+        var otherAccount = fixtures.account(other, "Conta", "1000.00");
+        insert(other, otherAccount, fixtures.category(other, "Moradia", TransactionType.EXPENSE), "De outro usuário", "7.00",
+                LocalDate.of(2025, 1, 15), "EXPENSE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.delete(user);
+        fixtures.delete(other);
+    }
+
+    @Test
+    @DisplayName("CSV: só as linhas do usuário no período, com aspas escapadas e prefixo ' contra fórmulas")
+    void exportsCsvLines() throws Exception {
+        var lines = export(ExportFormat.CSV);
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines.getFirst()).isEqualTo("id,date,type,name,amount,categoryId,bankAccountId,creditCardId,"
+                + "creditCardName,creditCardBillId,isRecurring,frequency,createdAt");
+        var rows = lines.subList(1, lines.size());
+        assertThat(rows).extracting(TransactionExportServiceTest::withoutCreatedAt).containsExactly(
+                rent + ",2025-01-10,EXPENSE,\"Aluguel, \"\"centro\"\"\",1200.00," + expense.getId() + "," + account.getId() + ",,,,false,",
+                formula + ",2025-01-05,EXPENSE,\"'=HYPERLINK(\"\"http://x\"\")\",10.50," + expense.getId() + "," + account.getId() + ",,,,false,",
+                salary + ",2025-01-03,INCOME,Salário,3000.00," + income.getId() + "," + account.getId() + ",,,,false,");
+        assertThat(rows).allSatisfy(row ->
+                assertThat(OffsetDateTime.parse(row.substring(row.lastIndexOf(',') + 1)).toInstant()).isEqualTo(CREATED_AT.toInstant()));
+    }
+
+    @Test
+    @DisplayName("NDJSON: um objeto JSON por linha, sem cabeçalho, nome sem escape de planilha")
+    void exportsNdjson() throws Exception {
+        var lines = export(ExportFormat.NDJSON);
+
+        assertThat(lines).hasSize(3);
+        var mapper = new ObjectMapper();
+        var first = mapper.readTree(lines.getFirst());
+        assertThat(first.get("id").asText()).isEqualTo(rent.toString());
+        assertThat(first.get("name").asText()).isEqualTo("Aluguel, \"centro\"");
+        assertThat(first.get("date").asText()).isEqualTo("2025-01-10");
+        assertThat(first.get("type").asText()).isEqualTo("EXPENSE");
+        assertThat(first.get("amount").decimalValue()).isEqualByComparingTo("1200.00");
+        assertThat(mapper.readTree(lines.get(1)).get("name").asText()).isEqualTo("=HYPERLINK(\"http://x\")");
+        assertThat(lines).extracting(line -> mapper.readTree(line).get("id").asText())
+                .containsExactly(rent.toString(), formula.toString(), salary.toString());
+    }
+
+    private List<String> export(ExportFormat format) throws Exception {
+        var out = new ByteArrayOutputStream();
+        transactionExportService.export(user.getId(), START, END, format, out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    /** A data de criação vem do banco com o fuso da sessão; é comparada à parte, como instante. */
+    private static String withoutCreatedAt(String row) {
+        return row.substring(0, row.lastIndexOf(','));
+    }
+
+    private UUID insert(User owner, BankAccount bankAccount, Category category, String name, String amount, LocalDate date, String type) {
+        var id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO transactions (id, user_id, bank_account_id, category_id, name, amount, date, type, "
+                        + "is_recurring, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?)",
+                id, owner.getId(), bankAccount.getId(), category.getId(), name, new BigDecimal(amount), date, type, CREATED_AT, CREATED_AT);
+        return id;
+    }
+}
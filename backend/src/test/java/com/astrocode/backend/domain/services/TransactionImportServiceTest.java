@@ -0,0 +1,164 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.api.dto.transaction.TransactionImportJobResponse;
+import com.astrocode.backend.domain.entities.BankAccount;
+import com.astrocode.backend.domain.entities.Category;
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.enums.ImportFormat;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.domain.repositories.BankAccountRepository;
+import com.astrocode.backend.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Sem {@code @Transactional}: a importação roda em thread e transação próprias, como em produção. */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("TransactionImportService - importação de extrato")
+class TransactionImportServiceTest {
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        users.forEach(fixtures::delete);
+    }
+
+    @Test
+    @DisplayName("Importa o CSV numa transação: um lançamento de saldo, agregado mensal, uso e categoria \"Outro\" como reserva")
+    void importsCsv() throws Exception {
+        var user = track(fixtures.annualUser("Importação"));
+        var account = fixtures.account(user, "Conta", "100.00");
+        var salary = fixtures.category(user, "Salário", TransactionType.INCOME);
+        var housing = fixtures.category(user, "Moradia", TransactionType.EXPENSE);
+        var other = fixtures.category(user, "Outro", TransactionType.EXPENSE);
+
+        var job = importCsv(user, account, """
+                data;descricao;valor;categoria
+                05/03/2025;Salário;3000,00;Salário
+                06/03/2025;Aluguel;-1200,00;moradia
+                07/03/2025;Padaria;-50,00;Inexistente
+                """);
+
+        assertThat(job.status()).isEqualTo("COMPLETED");
+        assertThat(job.error()).isNull();
+        assertThat(job.importedRows()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForMap("SELECT c.name AS category FROM transactions t JOIN categories c ON c.id = t.category_id "
+                + "WHERE t.bank_account_id = ? AND t.name = 'Padaria' AND t.source = ?", account.getId(), TransactionImportService.SOURCE))
+                .containsEntry("category", "Outro");
+        assertThat(jdbcTemplate.queryForList("SELECT amount FROM balance_entries WHERE bank_account_id = ?", BigDecimal.class, account.getId()))
+                .singleElement().satisfies(amount -> assertThat(amount).isEqualByComparingTo("1750.00"));
+        assertThat(balance(account)).isEqualByComparingTo("1850.00");
+        assertThat(monthlyTotal(user, salary)).isEqualByComparingTo("3000.00");
+        assertThat(monthlyTotal(user, housing)).isEqualByComparingTo("1200.00");
+        assertThat(monthlyTotal(user, other)).isEqualByComparingTo("50.00");
+        assertThat(usage(user)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Saldo insuficiente para as despesas falha a importação sem gravar nada")
+    void insufficientBalanceFailsWithoutWrites() throws Exception {
+        var user = track(fixtures.annualUser("Importação sem saldo"));
+        var account = fixtures.account(user, "Conta", "100.00");
+        fixtures.category(user, "Outro", TransactionType.EXPENSE);
+
+        var job = importCsv(user, account, """
+                data,descricao,valor
+                2025-03-05,Mercado,-80.00
+                2025-03-06,Farmácia,-70.00
+                """);
+
+        assertThat(job.status()).isEqualTo("FAILED");
+        assertThat(job.error()).isEqualTo("Saldo insuficiente na conta para as despesas importadas");
+        assertNothingWritten(user, account);
+    }
+
+    @Test
+    @DisplayName("Cota do plano Free estourada falha a importação sem gravar nada")
+    void quotaOverflowFailsWithoutWrites() throws Exception {
+        var user = track(fixtures.user("Importação Free"));
+        var account = fixtures.account(user, "Conta", "100.00");
+        fixtures.category(user, "Outro", TransactionType.EXPENSE);
+        jdbcTemplate.update("INSERT INTO transaction_monthly_usage (user_id, year, month, used) VALUES (?, 2025, 3, ?)",
+                user.getId(), PlanLimitService.FREE_PLAN_TRANSACTION_LIMIT_PER_MONTH);
+
+        var job = importCsv(user, account, """
+                data,descricao,valor
+                2025-03-05,Mercado,-10.00
+                """);
+
+        assertThat(job.status()).isEqualTo("FAILED");
+        assertThat(job.error()).contains("limite de " + PlanLimitService.FREE_PLAN_TRANSACTION_LIMIT_PER_MONTH + " transações");
+        assertNothingWritten(user, account);
+        assertThat(usage(user)).isEqualTo(PlanLimitService.FREE_PLAN_TRANSACTION_LIMIT_PER_MONTH);
+    }
+
+    private User track(User user) {
+        users.add(user);
+        return user;
+    }
+
+    /** Agenda a importação e espera o job terminar. */
+    private TransactionImportJobResponse importCsv(User user, BankAccount account, String csv) throws Exception {
+        var file = new MockMultipartFile("file", "extrato.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+        var job = transactionImportService.submit(user.getId(), account.getId(), file, ImportFormat.CSV);
+        for (int i = 0; i < 200; i++) {
+            job = transactionImportService.getJob(job.jobId(), user.getId());
+            if (job.finishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Importação não terminou: " + job);
+    }
+
+    private void assertNothingWritten(User user, BankAccount account) {
+        assertThat(count("SELECT COUNT(*) FROM transactions WHERE bank_account_id = ?", account.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM balance_entries WHERE bank_account_id = ?", account.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM monthly_category_totals WHERE user_id = ? AND count <> 0", user.getId())).isZero();
+        assertThat(balance(account)).isEqualByComparingTo("100.00");
+    }
+
+    private long count(String sql, Object arg) {
+        return jdbcTemplate.queryForObject(sql, Long.class, arg);
+    }
+
+    private BigDecimal monthlyTotal(User user, Category category) {
+        return jdbcTemplate.queryForObject("SELECT total FROM monthly_category_totals WHERE user_id = ? AND year = 2025 AND month = 3 "
+                + "AND category_id = ?", BigDecimal.class, user.getId(), category.getId());
+    }
+
+    private int usage(User user) {
+        return jdbcTemplate.queryForList("SELECT used FROM transaction_monthly_usage WHERE user_id = ? AND year = 2025 AND month = 3",
+                Integer.class, user.getId()).stream().findFirst().orElse(0);
+    }
+
+    private BigDecimal balance(BankAccount account) {
+        return bankAccountRepository.findById(account.getId()).orElseThrow().getCurrentBalance();
+    }
+}
@@ -0,0 +1,97 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.api.dto.transaction.TransactionRequest;
+import com.astrocode.backend.domain.entities.BankAccount;
+import com.astrocode.backend.domain.entities.Category;
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.exceptions.PlanUpgradeRequiredException;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Cota mensal de transações do plano Free")
+class TransactionMonthlyUsageTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private BankAccount account;
+    private Category category;
+    private final LocalDate date = LocalDate.of(2025, 3, 10);
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user("Cota");
+        account = fixtures.account(user, "Conta", "1000.00");
+        category = fixtures.category(user, "Alimentação", TransactionType.EXPENSE);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Criação e exclusão mantêm o contador do mês da transação")
+    void createAndDeleteKeepUsage() {
+        var first = transactionService.create(expense(date), user.getId());
+        transactionService.create(expense(date), user.getId());
+        transactionService.create(expense(date.minusMonths(1)), user.getId());
+        transactionService.delete(first.id(), user.getId());
+        entityManager.flush();
+
+        assertThat(used(2025, 3)).isEqualTo(1);
+        assertThat(used(2025, 2)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Incremento além do limite é recusado sem afetar outros meses")
+    void rejectsIncrementBeyondLimit() {
+        transactionService.create(expense(date), user.getId());
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE transaction_monthly_usage SET used = ? WHERE user_id = ?",
+                PlanLimitService.FREE_PLAN_TRANSACTION_LIMIT_PER_MONTH, user.getId());
+
+        assertThatThrownBy(() -> transactionService.create(expense(date), user.getId()))
+                .isInstanceOf(PlanUpgradeRequiredException.class);
+        assertThat(used(2025, 3)).isEqualTo(PlanLimitService.FREE_PLAN_TRANSACTION_LIMIT_PER_MONTH);
+
+        transactionService.create(expense(date.plusMonths(1)), user.getId());
+        entityManager.flush();
+        assertThat(used(2025, 4)).isEqualTo(1);
+    }
+
+    private int used(int year, int month) {
+        return jdbcTemplate.queryForObject(
+                "SELECT used FROM transaction_monthly_usage WHERE user_id = ? AND year = ? AND month = ?",
+                Integer.class, user.getId(), year, month);
+    }
+
+    private TransactionRequest expense(LocalDate transactionDate) {
+        return new TransactionRequest("Mercado", new BigDecimal("10.00"), transactionDate, TransactionType.EXPENSE,
+                account.getId(), category.getId(), null, false, null);
+    }
+}
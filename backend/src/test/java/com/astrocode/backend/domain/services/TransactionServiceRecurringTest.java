@@ -1,35 +1,34 @@
 package com.astrocode.backend.domain.services;
 
 import com.astrocode.backend.domain.entities.BankAccount;
-import com.astrocode.backend.domain.entities.Category;
 import com.astrocode.backend.domain.entities.Transaction;
 import com.astrocode.backend.domain.entities.User;
-import com.astrocode.backend.domain.model.enums.AccountType;
 import com.astrocode.backend.domain.model.enums.RecurrenceFrequency;
 import com.astrocode.backend.domain.model.enums.TransactionType;
 import com.astrocode.backend.domain.repositories.BankAccountRepository;
-import com.astrocode.backend.domain.repositories.CategoryRepository;
 import com.astrocode.backend.domain.repositories.TransactionRepository;
-import com.astrocode.backend.domain.repositories.UserRepository;
+import com.astrocode.backend.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
-import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+/**
+ * Sem {@code @Transactional}: {@code createRecurringChild} roda em {@code REQUIRES_NEW} e não enxergaria dados
+ * ainda não commitados pelo teste.
+ */
 @SpringBootTest
 @ActiveProfiles("test")
-@Transactional
 @DisplayName("TransactionService - Recorrência")
 class TransactionServiceRecurringTest {
 
@@ -39,49 +38,26 @@ class TransactionServiceRecurringTest {
     @Autowired
     private TransactionRepository transactionRepository;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @Autowired
     private BankAccountRepository bankAccountRepository;
 
     @Autowired
-    private CategoryRepository categoryRepository;
+    private JdbcTemplate jdbcTemplate;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private TestFixtures fixtures;
 
     private User user;
     private BankAccount bankAccount;
-    private Category category;
     private Transaction parentTransaction;
 
     @BeforeEach
     void setUp() {
-        user = User.builder()
-                .name("Recurring Test User")
-                .email("recurring.test@" + UUID.randomUUID() + ".com")
-                .password(passwordEncoder.encode("senha123"))
-                .build();
-        user = userRepository.save(user);
-
-        bankAccount = BankAccount.builder()
-                .user(user)
-                .name("Conta Corrente")
-                .initialBalance(BigDecimal.valueOf(5000))
-                .currentBalance(BigDecimal.valueOf(5000))
-                .type(AccountType.CHECKING)
-                .build();
-        bankAccount = bankAccountRepository.save(bankAccount);
-
-        category = Category.builder()
-                .user(user)
-                .name("Moradia")
-                .type(TransactionType.EXPENSE)
-                .build();
-        category = categoryRepository.save(category);
+        user = fixtures.annualUser("Recurring Test User");
+        bankAccount = fixtures.account(user, "Conta Corrente", "5000.00");
+        var category = fixtures.category(user, "Moradia", TransactionType.EXPENSE);
 
-        parentTransaction = Transaction.builder()
+        parentTransaction = transactionRepository.save(Transaction.builder()
                 .user(user)
                 .bankAccount(bankAccount)
                 .category(category)
@@ -94,20 +70,18 @@ class TransactionServiceRecurringTest {
                 .parentTransaction(null)
                 .createdAt(OffsetDateTime.now())
                 .updatedAt(OffsetDateTime.now())
-                .build();
-        parentTransaction = transactionRepository.save(parentTransaction);
+                .build());
+    }
 
-        var currentBalance = bankAccount.getCurrentBalance().subtract(BigDecimal.valueOf(1500));
-        bankAccount.setCurrentBalance(currentBalance);
-        bankAccountRepository.save(bankAccount);
+    @AfterEach
+    void tearDown() {
+        fixtures.delete(user);
     }
 
     @Test
-    @DisplayName("Deve criar transação filha vinculada ao pai e atualizar saldo")
+    @DisplayName("Deve criar transação filha vinculada ao pai e lançar o débito no ledger")
     void shouldCreateRecurringChildAndUpdateBalance() {
         var targetDate = LocalDate.of(2025, 2, 5);
-        var balanceBefore = bankAccountRepository.findById(bankAccount.getId())
-                .orElseThrow().getCurrentBalance();
 
         var child = transactionService.createRecurringChild(parentTransaction, targetDate);
 
@@ -120,8 +94,11 @@ class TransactionServiceRecurringTest {
         assertThat(child.getIsRecurring()).isFalse();
         assertThat(child.getFrequency()).isNull();
 
-        var balanceAfter = bankAccountRepository.findById(bankAccount.getId())
-                .orElseThrow().getCurrentBalance();
-        assertThat(balanceAfter).isEqualByComparingTo(balanceBefore.subtract(BigDecimal.valueOf(1500)));
+        var entries = jdbcTemplate.queryForList(
+                "SELECT amount FROM balance_entries WHERE bank_account_id = ?", BigDecimal.class, bankAccount.getId());
+        assertThat(entries).singleElement().satisfies(amount -> assertThat(amount).isEqualByComparingTo("-1500"));
+
+        var balanceAfter = bankAccountRepository.findById(bankAccount.getId()).orElseThrow().getCurrentBalance();
+        assertThat(balanceAfter).isEqualByComparingTo("3500.00");
     }
 }
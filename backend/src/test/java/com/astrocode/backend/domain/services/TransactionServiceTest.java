@@ -22,15 +22,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -56,7 +63,13 @@ class TransactionServiceTest {
     private CreditCardService creditCardService;
 
     @Mock
-    private PlanLimitService planLimitService;
+    private MonthlyTotalsService monthlyTotalsService;
+
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private TransactionService transactionService;
@@ -81,111 +94,102 @@ class TransactionServiceTest {
             .build();
 
     @Test
-    @DisplayName("create_income_incrementsAccountBalance: INCOME soma ao currentBalance")
+    @DisplayName("create_income_incrementsAccountBalance: INCOME insere com lançamento positivo, sem trava de débito")
     void create_income_incrementsAccountBalance() {
-        var incomeCategory = Category.builder()
-                .id(categoryId).user(user).name("Salário").type(TransactionType.INCOME).build();
         var request = new TransactionRequest(
                 "Salário", BigDecimal.valueOf(5000), LocalDate.now(), TransactionType.INCOME,
                 accountId, categoryId, null, false, null);
-        when(bankAccountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(bankAccount));
-        when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(incomeCategory));
-        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> {
-            var t = inv.getArgument(0, Transaction.class);
-            t.setId(UUID.randomUUID());
-            return t;
-        });
-        when(bankAccountRepository.save(any(BankAccount.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(bankAccountRepository.getReferenceById(accountId)).thenReturn(bankAccount);
+        when(categoryRepository.getReferenceById(categoryId)).thenReturn(category);
+        var outcome = inserted();
+        when(transactionRepository.insertBankAccountTransaction(eq(userId), eq(accountId), eq(categoryId), eq("Salário"),
+                eq(BigDecimal.valueOf(5000)), eq(BigDecimal.valueOf(5000)), any(), eq("INCOME"), eq(false), isNull(), isNull(), isNull(), any()))
+                .thenReturn(outcome);
 
         var result = transactionService.create(request, userId);
 
         assertThat(result).isNotNull();
-        assertThat(result.getType()).isEqualTo(TransactionType.INCOME);
-        assertThat(result.getAmount()).isEqualByComparingTo(BigDecimal.valueOf(5000));
-        verify(bankAccountRepository).save(argThat(acc -> acc.getCurrentBalance().compareTo(BigDecimal.valueOf(6000)) == 0));
+        assertThat(result.type()).isEqualTo(TransactionType.INCOME.name());
+        assertThat(result.amount()).isEqualByComparingTo(BigDecimal.valueOf(5000));
+        assertThat(result.bankAccountId()).isEqualTo(accountId);
+        verify(balanceLedgerService, never()).lockDebits(any());
+        verify(monthlyTotalsService).add(any(Transaction.class));
+        verify(transactionRepository, never()).save(any());
     }
 
     @Test
-    @DisplayName("create_expense_decrementsAccountBalance: EXPENSE subtrai do currentBalance")
+    @DisplayName("create_expense_decrementsAccountBalance: EXPENSE trava débitos da conta e insere com lançamento negativo")
     void create_expense_decrementsAccountBalance() {
         var request = new TransactionRequest(
                 "Aluguel", BigDecimal.valueOf(300), LocalDate.now(), TransactionType.EXPENSE,
                 accountId, categoryId, null, false, null);
-        when(bankAccountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(bankAccount));
-        when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
-        when(transactionRepository.save(any(Transaction.class))).thenAnswer(inv -> {
-            var t = inv.getArgument(0, Transaction.class);
-            t.setId(UUID.randomUUID());
-            return t;
-        });
-        when(bankAccountRepository.save(any(BankAccount.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(bankAccountRepository.getReferenceById(accountId)).thenReturn(bankAccount);
+        when(categoryRepository.getReferenceById(categoryId)).thenReturn(category);
+        var outcome = inserted();
+        when(transactionRepository.insertBankAccountTransaction(eq(userId), eq(accountId), eq(categoryId), eq("Aluguel"),
+                eq(BigDecimal.valueOf(300)), eq(BigDecimal.valueOf(-300)), any(), eq("EXPENSE"), eq(false), isNull(), isNull(), isNull(), any()))
+                .thenReturn(outcome);
 
         var result = transactionService.create(request, userId);
 
         assertThat(result).isNotNull();
-        assertThat(result.getType()).isEqualTo(TransactionType.EXPENSE);
-        verify(bankAccountRepository).save(argThat(acc -> acc.getCurrentBalance().compareTo(BigDecimal.valueOf(700)) == 0));
+        assertThat(result.type()).isEqualTo(TransactionType.EXPENSE.name());
+        verify(balanceLedgerService).lockDebits(accountId);
     }
 
     @Test
-    @DisplayName("create_expense_insufficientBalance_throws: saldo insuficiente lança exceção")
+    @DisplayName("create_expense_insufficientBalance_throws: inserção barrada pelo saldo lança exceção")
     void create_expense_insufficientBalance_throws() {
-        bankAccount.setCurrentBalance(BigDecimal.valueOf(100));
         var request = new TransactionRequest(
                 "Compra", BigDecimal.valueOf(500), LocalDate.now(), TransactionType.EXPENSE,
                 accountId, categoryId, null, false, null);
-        when(bankAccountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(bankAccount));
-        when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
+        var outcome = rejected(true, true, true, true, "EXPENSE");
+        when(transactionRepository.insertBankAccountTransaction(any(), any(), any(), any(), any(), any(), any(), any(),
+                anyBoolean(), any(), any(), any(), any())).thenReturn(outcome);
 
         assertThatThrownBy(() -> transactionService.create(request, userId))
                 .isInstanceOf(InsufficientBalanceException.class)
                 .hasMessageContaining("Saldo insuficiente");
 
-        verify(bankAccountRepository, never()).save(any(BankAccount.class));
+        verify(monthlyTotalsService, never()).add(any());
     }
 
     @Test
     @DisplayName("create_wrongCategory_throws: categoria de tipo errado lança exceção")
     void create_wrongCategory_throws() {
-        var incomeCategory = Category.builder()
-                .id(categoryId)
-                .user(user)
-                .name("Salário")
-                .type(TransactionType.INCOME)
-                .build();
         var request = new TransactionRequest(
                 "Despesa", BigDecimal.valueOf(100), LocalDate.now(), TransactionType.EXPENSE,
                 accountId, categoryId, null, false, null);
-        when(bankAccountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(bankAccount));
-        when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(incomeCategory));
+        var outcome = rejected(true, true, true, true, "INCOME");
+        when(transactionRepository.insertBankAccountTransaction(any(), any(), any(), any(), any(), any(), any(), any(),
+                anyBoolean(), any(), any(), any(), any())).thenReturn(outcome);
 
         assertThatThrownBy(() -> transactionService.create(request, userId))
                 .isInstanceOf(CategoryTypeMismatchException.class);
 
-        verify(transactionRepository, never()).save(any());
+        verify(monthlyTotalsService, never()).add(any());
     }
 
     @Test
     @DisplayName("create_accountNotOwned_throws: conta de outro usuário lança exceção")
     void create_accountNotOwned_throws() {
-        var otherUser = User.builder().id(UUID.randomUUID()).name("Other").email("other@test.com").password("x").build();
-        bankAccount.setUser(otherUser);
         var request = new TransactionRequest(
                 "Despesa", BigDecimal.valueOf(100), LocalDate.now(), TransactionType.EXPENSE,
                 accountId, categoryId, null, false, null);
-        when(bankAccountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(bankAccount));
+        var outcome = rejected(true, false, true, true, "EXPENSE");
+        when(transactionRepository.insertBankAccountTransaction(any(), any(), any(), any(), any(), any(), any(), any(),
+                anyBoolean(), any(), any(), any(), any())).thenReturn(outcome);
 
         assertThatThrownBy(() -> transactionService.create(request, userId))
                 .isInstanceOf(AccountNotOwnedException.class);
 
-        verify(transactionRepository, never()).save(any());
+        verify(monthlyTotalsService, never()).add(any());
     }
 
     @Test
     @DisplayName("delete_reverts_accountBalance: reverte saldo ao deletar")
     void delete_reverts_accountBalance() {
         var txId = UUID.randomUUID();
-        bankAccount.setCurrentBalance(BigDecimal.valueOf(500));
         var transaction = Transaction.builder()
                 .id(txId)
                 .user(user)
@@ -197,13 +201,11 @@ class TransactionServiceTest {
                 .type(TransactionType.EXPENSE)
                 .build();
         when(transactionRepository.findById(txId)).thenReturn(Optional.of(transaction));
-        when(bankAccountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(bankAccount));
         doNothing().when(transactionRepository).delete(transaction);
 
         transactionService.delete(txId, userId);
 
-        verify(bankAccountRepository).saveAndFlush(argThat(acc ->
-                acc.getCurrentBalance().compareTo(BigDecimal.valueOf(700)) == 0));
+        verify(balanceLedgerService).post(accountId, BigDecimal.valueOf(200));
         verify(transactionRepository).delete(transaction);
     }
 
@@ -232,7 +234,6 @@ class TransactionServiceTest {
                 .goal(goal)
                 .build();
         when(transactionRepository.findById(txId)).thenReturn(Optional.of(transaction));
-        when(bankAccountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(bankAccount));
         when(savingsGoalRepository.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
 
         transactionService.delete(txId, userId);
@@ -241,4 +242,65 @@ class TransactionServiceTest {
                 g.getCurrentAmount().compareTo(BigDecimal.valueOf(200)) == 0));
         verify(transactionRepository).delete(transaction);
     }
+
+    @Test
+    @DisplayName("createBatch_sameAccount_postsNetDeltaOnce: um lançamento com o delta líquido por conta")
+    void createBatch_sameAccount_postsNetDeltaOnce() {
+        var incomeCategoryId = UUID.randomUUID();
+        var incomeCategory = Category.builder()
+                .id(incomeCategoryId).user(user).name("Salário").type(TransactionType.INCOME).build();
+        var requests = List.of(
+                new TransactionRequest("Aluguel", BigDecimal.valueOf(1200), LocalDate.now(), TransactionType.EXPENSE,
+                        accountId, categoryId, null, false, null),
+                new TransactionRequest("Salário", BigDecimal.valueOf(500), LocalDate.now(), TransactionType.INCOME,
+                        accountId, incomeCategoryId, null, false, null));
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(category, incomeCategory));
+        when(bankAccountRepository.findById(accountId)).thenReturn(Optional.of(bankAccount));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(balanceLedgerService.tryPost(accountId, BigDecimal.valueOf(-700))).thenReturn(true);
+
+        var result = transactionService.createBatch(requests, userId);
+
+        assertThat(result).hasSize(2);
+        verify(balanceLedgerService, times(1)).tryPost(any(), any());
+        verify(balanceLedgerService).tryPost(accountId, BigDecimal.valueOf(-700));
+        verify(bankAccountRepository, times(1)).findById(accountId);
+        verify(transactionRepository).saveAll(anyList());
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    @DisplayName("createBatch_netBalanceNegative_rejectsWholeBatch: saldo líquido negativo cancela o lote")
+    void createBatch_netBalanceNegative_rejectsWholeBatch() {
+        var requests = List.of(
+                new TransactionRequest("Aluguel", BigDecimal.valueOf(800), LocalDate.now(), TransactionType.EXPENSE,
+                        accountId, categoryId, null, false, null),
+                new TransactionRequest("Mercado", BigDecimal.valueOf(300), LocalDate.now(), TransactionType.EXPENSE,
+                        accountId, categoryId, null, false, null));
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(category));
+        when(bankAccountRepository.findById(accountId)).thenReturn(Optional.of(bankAccount));
+        when(balanceLedgerService.tryPost(accountId, BigDecimal.valueOf(-1100))).thenReturn(false);
+
+        assertThatThrownBy(() -> transactionService.createBatch(requests, userId))
+                .isInstanceOf(InsufficientBalanceException.class);
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    private static TransactionRepository.BankAccountInsert inserted() {
+        var result = mock(TransactionRepository.BankAccountInsert.class);
+        when(result.getId()).thenReturn(UUID.randomUUID());
+        return result;
+    }
+
+    private static TransactionRepository.BankAccountInsert rejected(boolean accountFound, boolean accountOwned,
+                                                                    boolean categoryFound, boolean categoryOwned,
+                                                                    String categoryType) {
+        var result = mock(TransactionRepository.BankAccountInsert.class, withSettings().strictness(Strictness.LENIENT));
+        when(result.getAccountFound()).thenReturn(accountFound);
+        when(result.getAccountOwned()).thenReturn(accountOwned);
+        when(result.getCategoryFound()).thenReturn(categoryFound);
+        when(result.getCategoryOwned()).thenReturn(categoryOwned);
+        when(result.getCategoryType()).thenReturn(categoryType);
+        return result;
+    }
 }
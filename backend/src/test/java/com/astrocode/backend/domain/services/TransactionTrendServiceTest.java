@@ -0,0 +1,120 @@
+package com.astrocode.backend.domain.services;
+
+import com.astrocode.backend.domain.events.MonthlyTotalsChangedEvent;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.domain.repositories.CategoryRepository;
+import com.astrocode.backend.domain.repositories.MonthlyCategoryTotalRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionTrendService")
+class TransactionTrendServiceTest {
+
+    @Mock
+    private MonthlyCategoryTotalRepository monthlyCategoryTotalRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private TransactionTrendService service;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID foodId = UUID.randomUUID();
+    private final UUID salaryId = UUID.randomUUID();
+    private final YearMonth from = YearMonth.of(2024, 1);
+    private final YearMonth to = YearMonth.of(2024, 3);
+
+    @BeforeEach
+    void setUp() {
+        service = new TransactionTrendService(monthlyCategoryTotalRepository, categoryRepository, new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Monta a série em colunas, com zeros nos meses sem lançamentos")
+    void buildsColumnarSeries() {
+        when(monthlyCategoryTotalRepository.findTrendRows(eq(userId), anyInt(), anyInt())).thenReturn(List.<Object[]>of(
+                row(2024, 1, TransactionType.EXPENSE, foodId, false, "100.00"),
+                row(2024, 1, TransactionType.EXPENSE, foodId, true, "50.00"),
+                row(2024, 3, TransactionType.INCOME, salaryId, false, "3000.00"),
+                row(2024, 3, TransactionType.EXPENSE, foodId, false, "40.00")
+        ));
+        when(categoryRepository.findNamesByIds(Set.of(foodId, salaryId))).thenReturn(List.<Object[]>of(
+                new Object[]{foodId, "Alimentação"}, new Object[]{salaryId, "Salário"}));
+
+        var trend = service.getTrend(userId, from, to);
+
+        assertThat(trend.months()).containsExactly("2024-01", "2024-02", "2024-03");
+        assertThat(trend.income()).usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("3000.00"));
+        assertThat(trend.expense()).usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("100.00"), BigDecimal.ZERO, new BigDecimal("40.00"));
+        assertThat(trend.categories()).extracting(s -> s.categoryName()).containsExactly("Alimentação", "Salário");
+        assertThat(trend.categories().get(0).totals()).usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("100.00"), BigDecimal.ZERO, new BigDecimal("40.00"));
+    }
+
+    @Test
+    @DisplayName("Meses encerrados vêm do cache até um lançamento retroativo invalidá-los")
+    void cachesClosedMonthsUntilInvalidated() {
+        when(monthlyCategoryTotalRepository.findTrendRows(eq(userId), anyInt(), anyInt())).thenReturn(List.<Object[]>of(
+                row(2024, 2, TransactionType.EXPENSE, foodId, false, "10.00")));
+        when(categoryRepository.findNamesByIds(Set.of(foodId))).thenReturn(List.<Object[]>of(new Object[]{foodId, "Alimentação"}));
+
+        service.getTrend(userId, from, to);
+        service.getTrend(userId, from, to);
+        verify(monthlyCategoryTotalRepository, times(1)).findTrendRows(eq(userId), anyInt(), anyInt());
+
+        service.onMonthlyTotalsChanged(new MonthlyTotalsChangedEvent(userId, Set.of(YearMonth.of(2024, 2))));
+        service.getTrend(userId, from, to);
+
+        int february = 2024 * 12 + 2;
+        verify(monthlyCategoryTotalRepository).findTrendRows(userId, february, february);
+    }
+
+    @Test
+    @DisplayName("Nome da categoria é lido a cada requisição: renomear não espera o cache dos meses encerrados")
+    void readsCategoryNamesOutsideTheCache() {
+        when(monthlyCategoryTotalRepository.findTrendRows(eq(userId), anyInt(), anyInt())).thenReturn(List.<Object[]>of(
+                row(2024, 2, TransactionType.EXPENSE, foodId, false, "10.00")));
+        when(categoryRepository.findNamesByIds(Set.of(foodId)))
+                .thenReturn(List.<Object[]>of(new Object[]{foodId, "Alimentação"}))
+                .thenReturn(List.<Object[]>of(new Object[]{foodId, "Mercado"}));
+
+        assertThat(service.getTrend(userId, from, to).categories()).extracting(s -> s.categoryName()).containsExactly("Alimentação");
+        assertThat(service.getTrend(userId, from, to).categories()).extracting(s -> s.categoryName()).containsExactly("Mercado");
+        verify(monthlyCategoryTotalRepository, times(1)).findTrendRows(eq(userId), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Rejeita intervalo invertido ou maior que o limite")
+    void rejectsInvalidRange() {
+        assertThatThrownBy(() -> service.getTrend(userId, to, from)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getTrend(userId, from, from.plusMonths(TransactionTrendService.MAX_MONTHS)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Object[] row(int year, int month, TransactionType type, UUID categoryId, boolean goal, String total) {
+        return new Object[]{year, month, type, categoryId, goal, new BigDecimal(total)};
+    }
+}
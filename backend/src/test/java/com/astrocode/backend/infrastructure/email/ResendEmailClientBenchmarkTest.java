@@ -0,0 +1,54 @@
+package com.astrocode.backend.infrastructure.email;
+
+import com.astrocode.backend.support.Benchmarks;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vazão de uma campanha contra um stub local do Resend (latência fixa por requisição), com o mesmo limite de
+ * requisições por segundo nos dois modos: envio avulso, um e-mail por chamada (como era a campanha de reativação),
+ * versus o endpoint de lote. Com o limite do provedor, o lote é o que aumenta a vazão.
+ * <p>
+ * Fora da suíte padrão; rodar com {@code mvn test -Dtest=ResendEmailClientBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - envio avulso vs lote no Resend")
+class ResendEmailClientBenchmarkTest {
+
+    private static final String FROM = "grivy@teste.com";
+    private static final int EMAILS = 300;
+    private static final int REQUESTS_PER_SECOND = 10;
+    private static final long LATENCY_MS = 40;
+
+    @Test
+    @DisplayName("E-mails por segundo sob o mesmo limite: chamadas avulsas e lote")
+    void singleVersusBatchSends() throws Exception {
+        var messages = ResendEmailClientTest.messages(EMAILS, true);
+        double single;
+        double batch;
+        try (var stub = new ResendStubServer(LATENCY_MS, 0)) {
+            var client = new ResendEmailClient("key", stub.baseUrl(), REQUESTS_PER_SECOND);
+            long start = System.nanoTime();
+            for (var message : messages) {
+                client.send(FROM, message);
+            }
+            single = Benchmarks.perSecond(EMAILS, start);
+            assertThat(stub.emailsAccepted()).isEqualTo(EMAILS);
+        }
+        try (var stub = new ResendStubServer(LATENCY_MS, 0)) {
+            var client = new ResendEmailClient("key", stub.baseUrl(), REQUESTS_PER_SECOND);
+            long start = System.nanoTime();
+            for (int from = 0; from < EMAILS; from += ResendEmailClient.MAX_BATCH_SIZE) {
+                client.sendBatch(FROM, messages.subList(from, Math.min(from + ResendEmailClient.MAX_BATCH_SIZE, EMAILS)));
+            }
+            batch = Benchmarks.perSecond(EMAILS, start);
+            assertThat(stub.emailsAccepted()).isEqualTo(EMAILS);
+        }
+
+        Benchmarks.report("campanha no Resend", "avulso", single, "e-mails/s");
+        Benchmarks.report("campanha no Resend", "lote", batch, "e-mails/s");
+    }
+}
@@ -0,0 +1,103 @@
+package com.astrocode.backend.infrastructure.email;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ResendEmailClient - lote, limite de requisições e novas tentativas agendadas")
+class ResendEmailClientTest {
+
+    private static final String FROM = "grivy@teste.com";
+
+    @Test
+    @DisplayName("Lote vai numa única chamada ao endpoint de lote, com chave de idempotência derivada das mensagens")
+    void batchUsesBatchEndpoint() throws Exception {
+        try (var stub = new ResendStubServer(0, 0)) {
+            var client = new ResendEmailClient("key", stub.baseUrl(), 100);
+
+            client.sendBatch(FROM, messages(100, true));
+
+            assertThat(stub.requests).hasSize(1);
+            assertThat(stub.requests.getFirst().path()).isEqualTo("/emails/batch");
+            assertThat(stub.requests.getFirst().emails()).isEqualTo(100);
+            assertThat(stub.requests.getFirst().idempotencyKey()).startsWith("batch-");
+            assertThatThrownBy(() -> client.sendBatch(FROM, messages(101, false)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Só 400/422 contam como lote recusado; 429 e 5xx têm resultado incerto")
+    void onlyContentErrorsAreRejections() throws Exception {
+        for (int status : new int[] {400, 422, 429, 500}) {
+            // mais de uma falha: o cliente HTTP repete sozinho um 429 uma vez
+            try (var stub = new ResendStubServer(0, 3, status)) {
+                var client = new ResendEmailClient("key", stub.baseUrl(), 100);
+
+                assertThatThrownBy(() -> client.sendBatch(FROM, messages(2, true)))
+                        .satisfies(error -> assertThat(ResendEmailClient.isRejected(error)).isEqualTo(status == 400 || status == 422));
+            }
+        }
+        assertThat(ResendEmailClient.isRejected(new IllegalStateException("timeout"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Balde de tokens segura as requisições no limite do provedor")
+    void rateLimitPacesRequests() throws Exception {
+        try (var stub = new ResendStubServer(0, 0)) {
+            var client = new ResendEmailClient("key", stub.baseUrl(), 5);
+
+            long start = System.nanoTime();
+            for (var message : messages(10, false)) {
+                client.send(FROM, message);
+            }
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertThat(stub.requests).hasSize(10);
+            // 5 tokens de saída e reposição de 1 a cada 200 ms: as 5 últimas esperam ~1 s no total
+            assertThat(elapsedMs).isGreaterThanOrEqualTo(800);
+        }
+    }
+
+    @Test
+    @DisplayName("Novas tentativas são agendadas: quem chama recebe o futuro na hora e ele conclui após as falhas")
+    void retriesAreScheduledWithoutBlockingCaller() throws Exception {
+        try (var stub = new ResendStubServer(0, 2)) {
+            var client = new ResendEmailClient("key", stub.baseUrl(), 100);
+
+            long start = System.nanoTime();
+            var result = client.sendWithRetry(FROM, "user@teste.com", "Assunto", null, "oi");
+            long returnedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertThat(returnedMs).isLessThan(400);
+            result.get(5, TimeUnit.SECONDS);
+            assertThat(stub.requests).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Após a última tentativa, o futuro conclui com erro")
+    void givesUpAfterMaxAttempts() throws Exception {
+        try (var stub = new ResendStubServer(0, 3)) {
+            var client = new ResendEmailClient("key", stub.baseUrl(), 100);
+
+            var result = client.sendWithRetry(FROM, "user@teste.com", "Assunto", null, "oi");
+
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+            assertThat(stub.requests).isEmpty();
+        }
+    }
+
+    static List<EmailMessage> messages(int count, boolean withKeys) {
+        return new ArrayList<>(IntStream.range(0, count)
+                .mapToObj(i -> new EmailMessage("user" + i + "@teste.com", "Assunto", "<p>oi</p>", "oi", withKeys ? "k" + i : null))
+                .toList());
+    }
+}
@@ -0,0 +1,74 @@
+package com.astrocode.backend.infrastructure.email;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Stub local da API do Resend: latência fixa por requisição e, opcionalmente, as primeiras N respondendo com erro. */
+final class ResendStubServer implements AutoCloseable {
+
+    record Request(String path, int emails, String idempotencyKey, long atNanos) {}
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final long latencyMs;
+    private final AtomicInteger failuresLeft;
+    private final int failureStatus;
+    final List<Request> requests = new CopyOnWriteArrayList<>();
+
+    ResendStubServer(long latencyMs, int initialFailures) throws IOException {
+        this(latencyMs, initialFailures, 500);
+    }
+
+    ResendStubServer(long latencyMs, int initialFailures, int failureStatus) throws IOException {
+        this.latencyMs = latencyMs;
+        this.failuresLeft = new AtomicInteger(initialFailures);
+        this.failureStatus = failureStatus;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/emails", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    int emailsAccepted() {
+        return requests.stream().mapToInt(Request::emails).sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        var body = MAPPER.readTree(exchange.getRequestBody().readAllBytes());
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int status;
+        if (failuresLeft.getAndDecrement() > 0) {
+            status = failureStatus;
+        } else {
+            status = 200;
+            requests.add(new Request(exchange.getRequestURI().getPath(), body.isArray() ? body.size() : 1,
+                    exchange.getRequestHeaders().getFirst("Idempotency-Key"), System.nanoTime()));
+        }
+        var response = "{\"id\":\"stub\"}".getBytes();
+        exchange.sendResponseHeaders(status, response.length);
+        exchange.getResponseBody().write(response);
+        exchange.close();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
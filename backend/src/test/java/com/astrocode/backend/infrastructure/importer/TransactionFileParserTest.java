@@ -0,0 +1,86 @@
+package com.astrocode.backend.infrastructure.importer;
+
+import com.astrocode.backend.domain.exceptions.InvalidImportFileException;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionFileParserTest {
+
+    @Test
+    void csvComPontoEVirgulaEValorBrasileiro() throws Exception {
+        var csv = """
+                data;descricao;valor;categoria
+                15/01/2025;"Mercado; bairro";-1.234,56;Mercado
+                20/01/2025;Salário;5000,00;
+                """;
+        var rows = new ArrayList<TransactionFileParser.Row>();
+        TransactionFileParser.parseCsv(stream(csv), rows::add);
+
+        assertEquals(2, rows.size());
+        assertEquals(LocalDate.of(2025, 1, 15), rows.get(0).date());
+        assertEquals("Mercado; bairro", rows.get(0).name());
+        assertEquals(new BigDecimal("1234.56"), rows.get(0).amount());
+        assertEquals(TransactionType.EXPENSE, rows.get(0).type());
+        assertEquals("Mercado", rows.get(0).category());
+        assertEquals(TransactionType.INCOME, rows.get(1).type());
+        assertNull(rows.get(1).category());
+    }
+
+    @Test
+    void csvComColunaTipoUsaTipoInformado() throws Exception {
+        var csv = "date,name,amount,type\n2025-02-01,Aluguel,1500.00,EXPENSE\n";
+        List<TransactionFileParser.Row> rows = new ArrayList<>();
+        TransactionFileParser.parseCsv(stream(csv), rows::add);
+
+        assertEquals(TransactionType.EXPENSE, rows.getFirst().type());
+        assertEquals(new BigDecimal("1500.00"), rows.getFirst().amount());
+    }
+
+    @Test
+    void csvComValorInvalidoInformaLinha() {
+        var csv = "data,descricao,valor\n2025-02-01,Cafe,abc\n";
+        var ex = assertThrows(InvalidImportFileException.class,
+                () -> TransactionFileParser.parseCsv(stream(csv), row -> { }));
+        assertTrue(ex.getMessage().startsWith("Linha 2"));
+    }
+
+    @Test
+    void ofxSgmlLeBlocosStmttrn() {
+        var ofx = """
+                OFXHEADER:100
+                CHARSET:1252
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20250310120000[-3:BRT]<TRNAMT>-42.90<MEMO>PADARIA &amp; CAFE</STMTTRN>
+                <STMTTRN>
+                <TRNTYPE>CREDIT
+                <DTPOSTED>20250305
+                <TRNAMT>100,00
+                <NAME>PIX RECEBIDO
+                </STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """;
+        var rows = new ArrayList<TransactionFileParser.Row>();
+        TransactionFileParser.parseOfx(stream(ofx), rows::add);
+
+        assertEquals(2, rows.size());
+        assertEquals(LocalDate.of(2025, 3, 10), rows.get(0).date());
+        assertEquals("PADARIA & CAFE", rows.get(0).name());
+        assertEquals(TransactionType.EXPENSE, rows.get(0).type());
+        assertEquals(new BigDecimal("42.90"), rows.get(0).amount());
+        assertEquals("PIX RECEBIDO", rows.get(1).name());
+        assertEquals(TransactionType.INCOME, rows.get(1).type());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
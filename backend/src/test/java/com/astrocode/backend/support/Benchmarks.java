@@ -0,0 +1,57 @@
+package com.astrocode.backend.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Medição e relatório dos benchmarks (testes com {@code -Dbenchmark=true}). Os números vão para o log do teste;
+ * os benchmarks não comparam tempos entre si, que variam com a máquina e a carga do banco.
+ */
+public final class Benchmarks {
+
+    private static final Logger log = LoggerFactory.getLogger(Benchmarks.class);
+
+    private Benchmarks() {
+    }
+
+    /** Registra um resultado: {@code [BENCH] <benchmark> | <rótulo>: <valor> <unidade>}. */
+    public static void report(String benchmark, String label, double value, String unit) {
+        log.info("[BENCH] {} | {}: {} {}", benchmark, label, String.format(Locale.ROOT, "%.1f", value), unit);
+    }
+
+    /** Operações por segundo desde {@code startNanos} ({@link System#nanoTime()}). */
+    public static double perSecond(long operations, long startNanos) {
+        return operations / ((System.nanoTime() - startNanos) / 1_000_000_000.0);
+    }
+
+    /** Operações por segundo com {@code threads} threads executando {@code operation} {@code opsPerThread} vezes cada. */
+    public static double concurrentThroughput(int threads, int opsPerThread, IntConsumer operation) throws Exception {
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var tasks = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < opsPerThread; i++) {
+                        operation.accept(i);
+                    }
+                    return null;
+                });
+            }
+            long start = System.nanoTime();
+            for (var future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+            return perSecond((long) threads * opsPerThread, start);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.astrocode.backend.support;
+
+import com.astrocode.backend.domain.entities.BankAccount;
+import com.astrocode.backend.domain.entities.Category;
+import com.astrocode.backend.domain.entities.Subscription;
+import com.astrocode.backend.domain.entities.User;
+import com.astrocode.backend.domain.model.enums.AccountType;
+import com.astrocode.backend.domain.model.enums.PlanType;
+import com.astrocode.backend.domain.model.enums.SubscriptionStatus;
+import com.astrocode.backend.domain.model.enums.TransactionType;
+import com.astrocode.backend.domain.repositories.BankAccountRepository;
+import com.astrocode.backend.domain.repositories.CategoryRepository;
+import com.astrocode.backend.domain.repositories.SubscriptionRepository;
+import com.astrocode.backend.domain.repositories.UserRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Dados de teste comuns aos testes de integração: usuário (com ou sem plano anual), conta corrente e categoria.
+ * Testes sem {@code @Transactional} apagam o que criaram com {@link #delete(User)} (o resto sai em cascata).
+ */
+@Component
+public class TestFixtures {
+
+    private final UserRepository userRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public TestFixtures(UserRepository userRepository,
+                        SubscriptionRepository subscriptionRepository,
+                        BankAccountRepository bankAccountRepository,
+                        CategoryRepository categoryRepository,
+                        JdbcTemplate jdbcTemplate) {
+        this.userRepository = userRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Usuário com e-mail verificado e único. */
+    public User user(String name) {
+        return userRepository.save(User.builder()
+                .name(name)
+                .email("fixture-" + UUID.randomUUID() + "@teste.com")
+                .password("x")
+                .emailVerified(true)
+                .build());
+    }
+
+    /** Usuário com assinatura anual ativa, sem a cota mensal do plano Free. */
+    public User annualUser(String name) {
+        var user = user(name);
+        var now = OffsetDateTime.now();
+        subscriptionRepository.save(Subscription.builder()
+                .user(user)
+                .planType(PlanType.ANNUAL)
+                .status(SubscriptionStatus.ACTIVE)
+                .startsAt(now)
+                .expiresAt(now.plusYears(1))
+                .build());
+        return user;
+    }
+
+    public BankAccount account(User user, String name, String balance) {
+        return bankAccountRepository.save(BankAccount.builder()
+                .user(user)
+                .name(name)
+                .initialBalance(new BigDecimal(balance))
+                .currentBalance(new BigDecimal(balance))
+                .type(AccountType.CHECKING)
+                .build());
+    }
+
+    public Category category(User user, String name, TransactionType type) {
+        return categoryRepository.save(Category.builder().user(user).name(name).type(type).build());
+    }
+
+    public void delete(User user) {
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+    }
+}